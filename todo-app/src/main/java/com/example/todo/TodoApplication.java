@@ -12,18 +12,46 @@ public class TodoApplication {
         SpringApplication.run(TodoApplication.class, args);
     }
 
+    /**
+     * Write-behind executor: K ordered partitions (one thread each). Writes are
+     * routed by swim lane, so ordering is strict within a lane while unrelated
+     * lanes and users flush in parallel.
+     */
     @org.springframework.context.annotation.Bean(name = "asyncWriteExecutor")
     @org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean(name = "asyncWriteExecutor")
-    public java.util.concurrent.Executor asyncWriteExecutor() {
-        org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor executor = new org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(1);
-        executor.setMaxPoolSize(1);
-        executor.setQueueCapacity(500);
-        executor.setThreadNamePrefix("AsyncDB-");
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
-        executor.initialize();
-        return executor;
+    public java.util.concurrent.Executor asyncWriteExecutor(
+            @org.springframework.beans.factory.annotation.Value("${app.write-behind.partitions:4}") int partitions,
+            @org.springframework.beans.factory.annotation.Value("${app.write-behind.queue-capacity:500}") int queueCapacity) {
+        return new com.example.todo.config.PartitionedWriteExecutor(partitions, queueCapacity, "AsyncDB-");
     }
 
+    /**
+     * SSE dispatcher: a single thread delivers committed events to the
+     * emitters, so broadcast I/O never runs on a thread holding a DB connection.
+     */
+    @org.springframework.context.annotation.Bean(name = "sseDispatchExecutor", destroyMethod = "shutdown")
+    @org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean(name = "sseDispatchExecutor")
+    public java.util.concurrent.ExecutorService sseDispatchExecutor(
+            @org.springframework.beans.factory.annotation.Value("${app.sse.dispatch-queue-capacity:10000}") int queueCapacity) {
+        return new java.util.concurrent.ThreadPoolExecutor(1, 1, 0L, java.util.concurrent.TimeUnit.MILLISECONDS,
+                new java.util.concurrent.LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "SseDispatch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
 
+    /**
+     * Lane purge: one thread runs the throttled purge off the scheduler thread
+     * (it sleeps between chunks). A trigger while a run is in progress is dropped.
+     */
+    @org.springframework.context.annotation.Bean(name = "lanePurgeExecutor", destroyMethod = "shutdownNow")
+    public java.util.concurrent.ExecutorService lanePurgeExecutor() {
+        return new java.util.concurrent.ThreadPoolExecutor(1, 1, 0L, java.util.concurrent.TimeUnit.MILLISECONDS,
+                new java.util.concurrent.SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "LanePurge");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new java.util.concurrent.ThreadPoolExecutor.DiscardPolicy());
+    }
 }
@@ -0,0 +1,39 @@
+package com.example.todo.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an endpoint that queues a write-behind operation, so it is subject to
+ * admission control, returns the ids of its queued operations in the
+ * {@code X-Operation-Id} header and honours the requested durability
+ * ({@code X-Durability: async | ack-on-journal | sync-commit}).
+ *
+ * <p>
+ * Usage example:
+ *
+ * <pre>
+ * &#64;WriteAdmission
+ * public ResponseEntity&lt;Task&gt; moveTask(...) { ... }
+ *
+ * &#64;WriteAdmission(priority = true)
+ * public ResponseEntity&lt;Void&gt; deleteTask(...) { ... }
+ * </pre>
+ *
+ * <p>
+ * When the write backlog exceeds its thresholds, a
+ * {@link com.example.todo.exception.WriteBacklogException} is thrown before the
+ * method runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WriteAdmission {
+
+    /**
+     * Priority writes bypass the backlog thresholds.
+     * Use for deletes, which discard pending work instead of adding to it.
+     */
+    boolean priority() default false;
+}
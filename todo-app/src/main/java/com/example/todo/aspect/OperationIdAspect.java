@@ -0,0 +1,74 @@
+package com.example.todo.aspect;
+
+import com.example.todo.service.Durability;
+import com.example.todo.service.OperationTracker;
+import com.example.todo.service.WriteDurabilityService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * AOP Aspect that returns the ids of the write-behind operations queued by a
+ * method annotated with @WriteAdmission in the X-Operation-Id response header,
+ * so clients can follow their own writes (operation-status SSE events,
+ * GET /api/operations) instead of re-fetching whole lanes.
+ *
+ * It also applies the durability requested with the X-Durability header or
+ * the durability parameter ({@link Durability}): the method only returns once
+ * its operations meet it. The mode in effect is echoed in X-Durability.
+ */
+@Aspect
+@Component
+public class OperationIdAspect {
+
+    public static final String OPERATION_ID_HEADER = "X-Operation-Id";
+    public static final String DURABILITY_HEADER = "X-Durability";
+    public static final String DURABILITY_PARAM = "durability";
+
+    private final OperationTracker operationTracker;
+    private final WriteDurabilityService durabilityService;
+
+    public OperationIdAspect(OperationTracker operationTracker, WriteDurabilityService durabilityService) {
+        this.operationTracker = operationTracker;
+        this.durabilityService = durabilityService;
+    }
+
+    @Around("@annotation(com.example.todo.annotation.WriteAdmission)")
+    public Object addOperationIds(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServletRequestAttributes attributes =
+                RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servlet ? servlet : null;
+        // Resolved up front so an invalid mode is rejected before anything is queued
+        Durability durability = durabilityService.resolve(
+                attributes != null ? requestedDurability(attributes.getRequest()) : null);
+
+        operationTracker.beginRequest();
+        List<Long> ids;
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } finally {
+            ids = operationTracker.endRequest();
+        }
+        if (attributes != null && attributes.getResponse() != null) {
+            attributes.getResponse().setHeader(DURABILITY_HEADER, durability.getValue());
+            if (!ids.isEmpty()) {
+                attributes.getResponse().setHeader(OPERATION_ID_HEADER,
+                        ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            }
+        }
+        durabilityService.await(durability, ids);
+        return result;
+    }
+
+    private static String requestedDurability(HttpServletRequest request) {
+        String header = request.getHeader(DURABILITY_HEADER);
+        return header != null ? header : request.getParameter(DURABILITY_PARAM);
+    }
+}
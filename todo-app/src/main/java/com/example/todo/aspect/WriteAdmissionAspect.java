@@ -0,0 +1,27 @@
+package com.example.todo.aspect;
+
+import com.example.todo.annotation.WriteAdmission;
+import com.example.todo.service.WriteAdmissionService;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.stereotype.Component;
+
+/**
+ * AOP Aspect that applies write-behind admission control to methods annotated
+ * with @WriteAdmission, before any work is done on the request thread.
+ */
+@Aspect
+@Component
+public class WriteAdmissionAspect {
+
+    private final WriteAdmissionService writeAdmissionService;
+
+    public WriteAdmissionAspect(WriteAdmissionService writeAdmissionService) {
+        this.writeAdmissionService = writeAdmissionService;
+    }
+
+    @Before("@annotation(writeAdmission)")
+    public void admit(WriteAdmission writeAdmission) {
+        writeAdmissionService.admit(writeAdmission.priority());
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.todo.component;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Moves each id sequence past the highest id of its table.
+ *
+ * Rows inserted while ids came from identity columns are unknown to the
+ * sequences that ddl-auto adds (starting at 1), so the first pooled block
+ * would collide with them. Every sequence whose next value is not above its
+ * table's highest id (archived rows included, as they may be moved back) is
+ * restarted just after it, and a sequence that does not exist yet behind a
+ * table with rows is created there (see
+ * {@code db/migration/V5__Pooled_id_sequences.sql} for the same as plain
+ * SQL). Sequences are only ever moved forward, so this is safe to run on
+ * every start and on several instances.
+ *
+ * Runs while the context starts, before the {@code entityManagerFactory}
+ * is built ({@link DependsOnIdSequenceMigration}): Hibernate cannot hand out
+ * a block from a lagging sequence, and ddl-auto finds the sequences already
+ * in place. Tables that ddl-auto has not created yet have no ids to skip.
+ */
+@Component
+@Log4j2
+public class IdSequenceMigration {
+
+    /** Table to the sequence its ids come from (see the entities' {@code @PooledSequence}). */
+    static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("users", "users_seq");
+        SEQUENCES.put("swim_lanes", "swim_lanes_seq");
+        SEQUENCES.put("tasks", "tasks_seq");
+        SEQUENCES.put("comments", "comments_seq");
+    }
+
+    /** Archive table that keeps the ids of a table's archived rows (see {@code TaskArchiveService}). */
+    static final Map<String, String> ARCHIVES = Map.of("tasks", "tasks_archive", "comments", "comments_archive");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int allocationSize;
+
+    public IdSequenceMigration(JdbcTemplate jdbcTemplate,
+            @Value("${app.id.allocation-size:50}") int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.allocationSize = allocationSize;
+    }
+
+    @PostConstruct
+    void migrateOnStartup() {
+        migrate();
+    }
+
+    /**
+     * Restart every sequence that lags behind its table.
+     *
+     * @return the number of sequences moved or created
+     */
+    public int migrate() {
+        boolean postgres = isPostgres();
+        int moved = 0;
+        for (Map.Entry<String, String> entry : SEQUENCES.entrySet()) {
+            if (!exists("TABLES", "TABLE", entry.getKey())) {
+                continue;
+            }
+            String archive = ARCHIVES.get(entry.getKey());
+            Long maxId = jdbcTemplate.queryForObject(archive == null || !exists("TABLES", "TABLE", archive)
+                    ? "SELECT MAX(id) FROM " + entry.getKey()
+                    : "SELECT MAX(id) FROM (SELECT id FROM " + entry.getKey() + " UNION ALL SELECT id FROM "
+                            + archive + ") ids", Long.class);
+            if (maxId == null) {
+                continue;
+            }
+            if (!exists("SEQUENCES", "SEQUENCE", entry.getValue())) {
+                jdbcTemplate.execute("CREATE SEQUENCE " + entry.getValue() + " START WITH " + (maxId + 1)
+                        + " INCREMENT BY " + allocationSize);
+                log.info("[ID SEQUENCE] Created {} at {} (highest id in {})", entry.getValue(), maxId + 1,
+                        entry.getKey());
+                moved++;
+                continue;
+            }
+            long next = nextValue(entry.getValue(), postgres);
+            if (next <= maxId) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + entry.getValue() + " RESTART WITH " + (maxId + 1));
+                log.info("[ID SEQUENCE] Moved {} from {} to {} (highest id in {})", entry.getValue(), next,
+                        maxId + 1, entry.getKey());
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * The value the next {@code nextval} will return, without consuming it.
+     */
+    long nextValue(String sequence, boolean postgres) {
+        if (postgres) {
+            return jdbcTemplate.queryForObject("SELECT CASE WHEN s.is_called THEN s.last_value + p.increment_by "
+                    + "ELSE s.last_value END FROM " + sequence + " s, pg_sequences p "
+                    + "WHERE p.schemaname = current_schema() AND p.sequencename = ?", Long.class, sequence);
+        }
+        return jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE LOWER(SEQUENCE_NAME) = ?", Long.class, sequence);
+    }
+
+    /**
+     * Whether the table or sequence exists in the current schema.
+     */
+    private boolean exists(String view, String kind, String name) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA." + view
+                + " WHERE " + kind + "_SCHEMA = CURRENT_SCHEMA AND LOWER(" + kind + "_NAME) = ?",
+                Integer.class, name);
+        return count != null && count > 0;
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> connection
+                .getMetaData().getDatabaseProductName().toLowerCase().contains("postgres")));
+    }
+
+    /**
+     * Makes the {@code entityManagerFactory} wait for the migration, the way
+     * Spring Boot orders it after Flyway.
+     */
+    @Component
+    static class DependsOnIdSequenceMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+        DependsOnIdSequenceMigration() {
+            super(IdSequenceMigration.class);
+        }
+    }
+}
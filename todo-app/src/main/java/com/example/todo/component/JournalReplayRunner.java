@@ -0,0 +1,34 @@
+package com.example.todo.component;
+
+import com.example.todo.service.AsyncWriteService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Replays write-behind operations left in the write-ahead journal by a crash.
+ * Runners complete before ApplicationReadyEvent, so pending writes are in the
+ * database before the cache is warmed and the app reports ready.
+ */
+@Component
+@Order(3) // After DataInitializer and TaskRankMigration
+@Log4j2
+public class JournalReplayRunner implements ApplicationRunner {
+
+    private final AsyncWriteService asyncWriteService;
+
+    public JournalReplayRunner(AsyncWriteService asyncWriteService) {
+        this.asyncWriteService = asyncWriteService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int replayed = asyncWriteService.replayJournal();
+        if (replayed > 0) {
+            log.info("Recovered {} write-behind operations from the journal", replayed);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.todo.component;
+
+import com.example.todo.service.TaskRanking;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Gives every task without a rank one at the end of its column.
+ *
+ * Tasks from before gapped ranks have only the dense {@code position_order}
+ * index; ddl-auto adds {@code sort_rank} empty, so they are ranked here in
+ * their legacy order, {@link TaskRanking#GAP} apart (see
+ * {@code db/migration/V2__Task_rank_order_keys.sql} for the same backfill as
+ * plain SQL). Runs before the journal is replayed, as replayed moves allocate
+ * ranks between existing ones.
+ */
+@Component
+@Order(2) // After DataInitializer, before JournalReplayRunner
+@Log4j2
+public class TaskRankMigration implements ApplicationRunner {
+
+    private static final String LEGACY_COLUMN = "position_order";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskRankMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        transactionTemplate.executeWithoutResult(status -> migrate());
+    }
+
+    /**
+     * Rank the unranked tasks of every column after its ranked ones.
+     *
+     * @return the number of tasks ranked
+     */
+    public int migrate() {
+        String legacyOrder = hasLegacyColumn() ? LEGACY_COLUMN + " NULLS LAST, " : "";
+        List<Unranked> unranked = jdbcTemplate.query(
+                "SELECT id, swim_lane_id, status FROM tasks WHERE sort_rank IS NULL "
+                        + "ORDER BY swim_lane_id, status, " + legacyOrder + "id",
+                (rs, row) -> new Unranked(rs.getLong("id"), rs.getObject("swim_lane_id", Long.class),
+                        rs.getString("status")));
+        if (unranked.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> updates = new ArrayList<>(unranked.size());
+        Unranked previous = null;
+        long rank = 0;
+        for (Unranked task : unranked) {
+            if (previous == null || !task.sameColumn(previous)) {
+                Long max = maxRank(task);
+                rank = max != null ? max : 0;
+            }
+            rank += TaskRanking.GAP;
+            updates.add(new Object[] { rank, task.id() });
+            previous = task;
+        }
+        jdbcTemplate.batchUpdate("UPDATE tasks SET sort_rank = ? WHERE id = ?", updates);
+        log.info("[RANKING] Assigned ranks to {} unranked tasks (ordered by {}id)", updates.size(), legacyOrder);
+        return updates.size();
+    }
+
+    private Long maxRank(Unranked task) {
+        return task.laneId() != null
+                ? jdbcTemplate.queryForObject(
+                        "SELECT MAX(sort_rank) FROM tasks WHERE swim_lane_id = ? AND status = ?", Long.class,
+                        task.laneId(), task.status())
+                : jdbcTemplate.queryForObject(
+                        "SELECT MAX(sort_rank) FROM tasks WHERE swim_lane_id IS NULL AND status = ?", Long.class,
+                        task.status());
+    }
+
+    private boolean hasLegacyColumn() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE LOWER(table_name) = 'tasks' AND LOWER(column_name) = ?", Integer.class, LEGACY_COLUMN);
+        return count != null && count > 0;
+    }
+
+    private record Unranked(long id, Long laneId, String status) {
+        boolean sameColumn(Unranked other) {
+            return Objects.equals(laneId, other.laneId) && Objects.equals(status, other.status);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.todo.component;
+
+import com.example.todo.model.TagListDeserializer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies tags from the legacy {@code tags} large object (a JSON array string)
+ * into the {@code tag_list} array column, and creates the GIN indexes (of
+ * {@code tasks} and {@code tasks_archive}) that ddl-auto cannot express on
+ * Postgres.
+ *
+ * ddl-auto adds {@code tag_list} empty, so every task whose legacy column is
+ * set and whose array is still null is converted here (see
+ * {@code db/migration/V4__Task_tag_array.sql} for the same backfill as plain
+ * SQL). Tasks that already have an array are left alone, so a restart does
+ * nothing. Runs before the journal is replayed, as replayed saves overwrite
+ * tags.
+ */
+@Component
+@Order(2) // After DataInitializer, before JournalReplayRunner
+@Log4j2
+public class TaskTagMigration implements ApplicationRunner {
+
+    private static final String LEGACY_COLUMN = "tags";
+    private static final TypeReference<List<String>> TAG_LIST = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TaskTagMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        transactionTemplate.executeWithoutResult(status -> migrate());
+        if (isPostgres()) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tasks_tag_list ON tasks USING GIN (tag_list)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tasks_archive_tag_list ON tasks_archive "
+                    + "USING GIN (tag_list)");
+        }
+    }
+
+    /**
+     * Convert the legacy tags of every task that has no tag array yet.
+     *
+     * @return the number of tasks converted
+     */
+    public int migrate() {
+        String legacyType = legacyColumnType();
+        if (legacyType == null) {
+            return 0;
+        }
+        // On Postgres a @Lob String is an oid referencing a large object
+        String legacy = "oid".equalsIgnoreCase(legacyType)
+                ? "convert_from(lo_get(" + LEGACY_COLUMN + "), 'UTF8')"
+                : LEGACY_COLUMN;
+        List<Object[]> legacyTags = jdbcTemplate.query("SELECT id, " + legacy + " AS legacy FROM tasks "
+                + "WHERE tag_list IS NULL AND " + LEGACY_COLUMN + " IS NOT NULL",
+                (rs, row) -> new Object[] { rs.getLong("id"), rs.getString("legacy") });
+        if (legacyTags.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> updates = new ArrayList<>(legacyTags.size());
+        for (Object[] task : legacyTags) {
+            updates.add(new Object[] { parse((Long) task[0], (String) task[1]), task[0] });
+        }
+        jdbcTemplate.execute((ConnectionCallback<int[]>) connection -> {
+            try (var statement = connection.prepareStatement("UPDATE tasks SET tag_list = ? WHERE id = ?")) {
+                for (Object[] update : updates) {
+                    statement.setArray(1, connection.createArrayOf("varchar", (String[]) update[0]));
+                    statement.setLong(2, (Long) update[1]);
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+        log.info("[TAGS] Converted legacy tags of {} tasks to tag arrays", updates.size());
+        return updates.size();
+    }
+
+    private String[] parse(Long taskId, String json) {
+        if (json == null || json.isBlank()) {
+            return new String[0];
+        }
+        try {
+            return TagListDeserializer.normalize(objectMapper.readValue(json, TAG_LIST)).toArray(String[]::new);
+        } catch (JsonProcessingException e) {
+            log.warn("[TAGS] Task {} has unreadable legacy tags, leaving it untagged: {}", taskId, e.getMessage());
+            return new String[0];
+        }
+    }
+
+    private String legacyColumnType() {
+        List<String> types = jdbcTemplate.queryForList("SELECT data_type FROM information_schema.columns "
+                + "WHERE LOWER(table_name) = 'tasks' AND LOWER(column_name) = ?", String.class, LEGACY_COLUMN);
+        return types.isEmpty() ? null : types.get(0);
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> connection
+                .getMetaData().getDatabaseProductName().toLowerCase().contains("postgres")));
+    }
+}
@@ -29,12 +29,13 @@ public class CacheConfig {
     public CacheManager cacheManager() {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(caffeineCacheBuilder());
-        // Only 2 caches needed:
         // - lanesByUser: Swimlanes per user
         // - tasksByLane: Tasks grouped by lane ID (lazy-loaded)
+        // - pageWindows: Keyset pages of lanes and tasks (see PageCache)
         cacheManager.setCacheNames(java.util.List.of(
                 "lanesByUser",  // Active lanes per user
-                "tasksByLane"   // Tasks grouped by lane ID
+                "tasksByLane",  // Tasks grouped by lane ID
+                "pageWindows"   // One entry per page window
         ));
         return cacheManager;
     }
@@ -7,6 +7,11 @@ import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
 /**
  * CacheLoggingConfig - Logs cache statistics for monitoring cache hit/miss
  * rates.
@@ -16,15 +21,20 @@ import org.springframework.scheduling.annotation.Scheduled;
  * - Miss count
  * - Hit rate percentage
  * - Eviction count
+ *
+ * The Hibernate second-level cache regions (see {@link HibernateConfig}) are
+ * logged the same way, from their JCache statistics MBeans.
  */
 @Configuration
 @Log4j2
 public class CacheLoggingConfig {
 
     private final CacheManager cacheManager;
+    private final javax.cache.CacheManager secondLevelCacheManager;
 
-    public CacheLoggingConfig(CacheManager cacheManager) {
+    public CacheLoggingConfig(CacheManager cacheManager, javax.cache.CacheManager secondLevelCacheManager) {
         this.cacheManager = cacheManager;
+        this.secondLevelCacheManager = secondLevelCacheManager;
     }
 
     @Scheduled(fixedRate = 30000) // Log every 30 seconds
@@ -46,4 +56,37 @@ public class CacheLoggingConfig {
             }
         });
     }
+
+    @Scheduled(fixedRate = 30000)
+    public void logSecondLevelCacheStats() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (String region : secondLevelCacheManager.getCacheNames()) {
+            try {
+                ObjectName name = new ObjectName("javax.cache:type=CacheStatistics,CacheManager="
+                        + mbeanKey(secondLevelCacheManager.getURI().toString()) + ",Cache=" + mbeanKey(region));
+                if (!server.isRegistered(name)) {
+                    continue;
+                }
+                long hits = (Long) server.getAttribute(name, "CacheHits");
+                long misses = (Long) server.getAttribute(name, "CacheMisses");
+                if (hits > 0 || misses > 0) {
+                    log.info("[L2 CACHE STATS] {} - Hits: {}, Misses: {}, HitRate: {}%, Evictions: {}",
+                            region,
+                            hits,
+                            misses,
+                            String.format("%.1f", (Float) server.getAttribute(name, "CacheHitPercentage")),
+                            server.getAttribute(name, "CacheEvictions"));
+                }
+            } catch (JMException e) {
+                log.debug("No statistics for second-level cache region {}: {}", region, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * JCache providers register statistics with these characters replaced.
+     */
+    private static String mbeanKey(String value) {
+        return value.replaceAll("[,:=\n]", ".");
+    }
 }
@@ -1,7 +1,10 @@
 package com.example.todo.config;
 
 import com.example.todo.exception.DuplicateOperationException;
+import com.example.todo.exception.WriteBacklogException;
+import com.example.todo.exception.WriteNotCommittedException;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -39,6 +42,43 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 
+    /**
+     * Handle write admission rejections.
+     * Returns 503 Service Unavailable with a Retry-After header.
+     */
+    @ExceptionHandler(WriteBacklogException.class)
+    public ResponseEntity<Map<String, Object>> handleWriteBacklog(WriteBacklogException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", "Too many pending writes. Please retry shortly.");
+        body.put("retryAfterSeconds", ex.getRetryAfterSeconds());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
+    /**
+     * Handle sync-commit writes that could not be confirmed.
+     * Returns 504 Gateway Timeout if the operations are still pending, or 500
+     * Internal Server Error if they failed.
+     */
+    @ExceptionHandler(WriteNotCommittedException.class)
+    public ResponseEntity<Map<String, Object>> handleWriteNotCommitted(WriteNotCommittedException ex) {
+        log.warn("[ExceptionHandler] Write not committed: {}", ex.getMessage());
+        HttpStatus status = ex.isTimedOut() ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.INTERNAL_SERVER_ERROR;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", ex.getMessage());
+        body.put("operationIds", ex.getOperationIds());
+
+        return ResponseEntity.status(status).body(body);
+    }
+
     /**
      * Handle IllegalArgumentException.
      * Returns 400 Bad Request.
@@ -0,0 +1,88 @@
+package com.example.todo.config;
+
+import com.example.todo.model.PooledSequenceGenerator;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HibernateConfig - Hands application settings to Hibernate that its own
+ * {@code spring.jpa.properties.*} keys cannot express.
+ *
+ * {@code app.id.allocation-size} is the number of ids each sequence
+ * round trip reserves ({@link PooledSequenceGenerator}). It must match the
+ * {@code INCREMENT BY} of the existing sequences; ddl-auto does not alter them.
+ *
+ * Second-level cache: {@link User} (by id and by email) and {@link SwimLane}
+ * (by id) are cached by Hibernate in bounded Caffeine regions behind JCache,
+ * so the current-user and lane-ownership lookups of each request stop hitting
+ * the database. Regions are {@code READ_WRITE}: Hibernate updates them when
+ * an entity is written through a session (the async writers included) and
+ * invalidates them for JPQL bulk updates and native statements that declare
+ * their entity class. Statements run over plain JDBC must evict the rows
+ * themselves (see {@code BoardImportService} and the lane reorder in
+ * {@code SwimLaneRepositoryCustomImpl}).
+ */
+@Configuration
+public class HibernateConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSizeCustomizer(
+            @Value("${app.id.allocation-size:" + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+        return properties -> properties.put(PooledSequenceGenerator.ALLOCATION_SIZE, allocationSize);
+    }
+
+    /**
+     * The JCache manager holding the second-level cache regions, with
+     * statistics. A manager of its own rather than the provider's default one,
+     * which is shared by every application context of the JVM.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${app.l2-cache.users.max-size:1000}") long usersMaxSize,
+            @Value("${app.l2-cache.swim-lanes.max-size:10000}") long swimLanesMaxSize,
+            @Value("${app.l2-cache.expire-after-access-minutes:30}") long expireAfterAccessMinutes) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("hibernate-l2-" + UUID.randomUUID()),
+                HibernateConfig.class.getClassLoader());
+        createRegion(cacheManager, User.CACHE_REGION, usersMaxSize, expireAfterAccessMinutes);
+        createRegion(cacheManager, User.EMAIL_CACHE_REGION, usersMaxSize, expireAfterAccessMinutes);
+        createRegion(cacheManager, SwimLane.CACHE_REGION, swimLanesMaxSize, expireAfterAccessMinutes);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            // Only the regions created above: an unknown region is a mapping error, not a new unbounded cache
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, long maximumSize,
+            long expireAfterAccessMinutes) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterAccess(OptionalLong.of(TimeUnit.MINUTES.toNanos(expireAfterAccessMinutes)));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.todo.config;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PartitionedWriteExecutor - K ordered single-thread queues for write-behind
+ * flushes.
+ *
+ * A {@link PartitionedTask} always runs on the partition it names, so work for
+ * the same partition (same swim lane) stays strictly ordered while different
+ * lanes and users are written in parallel. Plain runnables go to partition 0.
+ *
+ * Tasks are flush signals: a queued flush drains everything that is dirty in
+ * its partition, so when a partition queue is full the new signal is dropped
+ * instead of running the DB write on the caller (request) thread.
+ */
+@Log4j2
+public class PartitionedWriteExecutor implements Executor, DisposableBean {
+
+    /**
+     * A runnable bound to one partition of the executor.
+     */
+    public record PartitionedTask(int partition, Runnable task) implements Runnable {
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * Point-in-time metrics of one partition.
+     */
+    public record PartitionStats(int partition, int queued, int active, long completed, long dropped) {
+    }
+
+    private final ThreadPoolExecutor[] partitions;
+    private final AtomicLong[] dropped;
+
+    public PartitionedWriteExecutor(int partitionCount, int queueCapacity, String threadNamePrefix) {
+        int count = Math.max(1, partitionCount);
+        this.partitions = new ThreadPoolExecutor[count];
+        this.dropped = new AtomicLong[count];
+        for (int i = 0; i < count; i++) {
+            AtomicLong droppedCounter = new AtomicLong();
+            RejectedExecutionHandler dropWhenFull = (task, executor) -> droppedCounter.incrementAndGet();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(Math.max(1, queueCapacity)),
+                    new CustomizableThreadFactory(threadNamePrefix + i + "-"), dropWhenFull);
+            this.partitions[i] = executor;
+            this.dropped[i] = droppedCounter;
+        }
+        log.info("[WRITE-BEHIND] Started {} ordered write partitions (queue capacity {} each)", count,
+                queueCapacity);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        int partition = task instanceof PartitionedTask partitioned ? partitioned.partition() : 0;
+        partitions[Math.floorMod(partition, partitions.length)].execute(task);
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    public List<PartitionStats> getStats() {
+        List<PartitionStats> stats = new ArrayList<>(partitions.length);
+        for (int i = 0; i < partitions.length; i++) {
+            ThreadPoolExecutor executor = partitions[i];
+            stats.add(new PartitionStats(i, executor.getQueue().size(), executor.getActiveCount(),
+                    executor.getCompletedTaskCount(), dropped[i].get()));
+        }
+        return stats;
+    }
+
+    @Scheduled(fixedRate = 30000) // Log every 30 seconds
+    public void logStats() {
+        getStats().stream()
+                .filter(s -> s.queued() > 0 || s.active() > 0 || s.dropped() > 0)
+                .forEach(s -> log.info("[WRITE STATS] partition {} - Queued: {}, Active: {}, Completed: {}, Dropped: {}",
+                        s.partition(), s.queued(), s.active(), s.completed(), s.dropped()));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ThreadPoolExecutor executor : partitions) {
+            executor.shutdown();
+        }
+        for (ThreadPoolExecutor executor : partitions) {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("[WRITE-BEHIND] Write partition did not drain within 10s, forcing shutdown");
+                executor.shutdownNow();
+            }
+        }
+    }
+}
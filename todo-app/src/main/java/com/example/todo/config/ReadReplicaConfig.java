@@ -0,0 +1,91 @@
+package com.example.todo.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReadReplicaConfig - Sends read-only transactions to read replicas and
+ * everything else to the primary. Active when
+ * {@code app.datasource.replica.urls} lists at least one replica; without it
+ * Spring Boot's single pool is used as before.
+ *
+ * The application {@link DataSource} is a {@link LazyConnectionDataSourceProxy}
+ * over the primary pool ({@code spring.datasource.*}). It fetches the physical
+ * connection on the first statement, after the transaction manager has marked
+ * it read-only for {@code @Transactional(readOnly = true)} methods and Spring
+ * Data's read methods, and then takes it from {@link ReplicaRoutingDataSource}.
+ * Writes, and reads joining a read-write transaction, stay on the primary.
+ *
+ * Replica pools copy the primary's Hikari settings (credentials included
+ * unless {@code app.datasource.replica.username/password} are set), are
+ * read-only, and connect lazily with a short timeout so an unreachable
+ * replica neither blocks startup nor stalls a request for long.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            ReplicaLagGuard replicaLagGuard,
+            @Value("${app.datasource.replica.urls}") List<String> urls,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.replica.max-pool-size:10}") int maxPoolSize,
+            @Value("${app.datasource.replica.connection-timeout-ms:2000}") long connectionTimeoutMs,
+            @Value("${app.datasource.replica.retry-after-ms:30000}") long retryAfterMs) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            if (StringUtils.hasText(username)) {
+                config.setUsername(username);
+                config.setPassword(password);
+            }
+            config.setMaximumPoolSize(maxPoolSize);
+            if (config.getMinimumIdle() > maxPoolSize) {
+                config.setMinimumIdle(maxPoolSize);
+            }
+            config.setConnectionTimeout(connectionTimeoutMs);
+            config.setReadOnly(true);
+            // Start without connecting: a replica that is down at startup is skipped like any other
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaLagGuard, retryAfterMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+            ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
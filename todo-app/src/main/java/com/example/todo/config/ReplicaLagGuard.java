@@ -0,0 +1,85 @@
+package com.example.todo.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * ReplicaLagGuard - Keeps a user's reads on the primary for a short window
+ * after they wrote, so they never read a replica that has not caught up yet.
+ *
+ * Any mutating {@code /api/**} request (not GET/HEAD/OPTIONS) marks its user
+ * when it starts and again when it completes, and {@code AsyncWriteService}
+ * marks the users of a write-behind flush once it commits, which may be well
+ * after the response. The window
+ * ({@code app.datasource.replica.sticky-window-ms}) must cover the replica lag.
+ * Requests without a user (startup warmup, background jobs) may always use
+ * a replica.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "urls")
+public class ReplicaLagGuard implements HandlerInterceptor {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaLagGuard(@Value("${app.datasource.replica.sticky-window-ms:5000}") long stickyWindowMs) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(stickyWindowMs))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * Whether the current thread's user wrote within the sticky window.
+     */
+    public boolean mustReadPrimary() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    public void recordWrite(String user) {
+        recentWriters.put(user, Boolean.TRUE);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        recordIfWrite(request);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+            Object handler, Exception ex) {
+        // Restart the window: the request's own commit may have taken a while
+        recordIfWrite(request);
+    }
+
+    private void recordIfWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return;
+        }
+        String user = currentUser();
+        if (user != null) {
+            recordWrite(user);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.todo.config;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ReplicaRoutingDataSource - Hands out connections for read-only transactions.
+ *
+ * Replicas are used round-robin. A replica that fails to give a connection is
+ * skipped for {@code retryAfterMs} before it is tried again; while no replica
+ * is up, and while {@link ReplicaLagGuard} keeps the current user on the
+ * primary, connections come from the primary.
+ *
+ * Only used as the read-only target of the application's
+ * {@code LazyConnectionDataSourceProxy} (see {@link ReadReplicaConfig}).
+ */
+@Log4j2
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaLagGuard lagGuard;
+    private final long retryAfterMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaLagGuard lagGuard,
+            long retryAfterMs) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.lagGuard = lagGuard;
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (lagGuard.mustReadPrimary()) {
+            return primary.getConnection();
+        }
+        int count = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.isDown()) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.markUp();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown(retryAfterMs, e);
+            }
+        }
+        log.debug("[REPLICA] No replica available, reading from the primary");
+        return primary.getConnection();
+    }
+
+    /**
+     * Connections for explicit credentials come from the primary: replica
+     * pools are opened with the primary's credentials and cannot switch user.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile long downUntil;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        boolean isDown() {
+            return downUntil != 0 && System.currentTimeMillis() < downUntil;
+        }
+
+        void markDown(long retryAfterMs, SQLException cause) {
+            downUntil = System.currentTimeMillis() + retryAfterMs;
+            log.warn("[REPLICA] {} unavailable, retrying it in {}ms: {}", dataSource, retryAfterMs,
+                    cause.getMessage());
+        }
+
+        void markUp() {
+            if (downUntil != 0) {
+                downUntil = 0;
+                log.info("[REPLICA] {} is back", dataSource);
+            }
+        }
+    }
+}
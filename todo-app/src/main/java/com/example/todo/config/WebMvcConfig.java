@@ -1,5 +1,6 @@
 package com.example.todo.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -14,20 +15,27 @@ import java.util.concurrent.TimeUnit;
  * PERFORMANCE OPTIMIZATION:
  * Adds Cache-Control headers to static resources for efficient browser caching.
  * This improves Lighthouse "Use efficient cache lifetimes" score.
+ *
+ * With read replicas configured, {@link ReplicaLagGuard} watches API writes
+ * to keep their users' reads on the primary.
  */
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final CacheLoggingInterceptor cacheLoggingInterceptor;
+    private final ObjectProvider<ReplicaLagGuard> replicaLagGuard;
 
-    public WebMvcConfig(CacheLoggingInterceptor cacheLoggingInterceptor) {
+    public WebMvcConfig(CacheLoggingInterceptor cacheLoggingInterceptor,
+            ObjectProvider<ReplicaLagGuard> replicaLagGuard) {
         this.cacheLoggingInterceptor = cacheLoggingInterceptor;
+        this.replicaLagGuard = replicaLagGuard;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(cacheLoggingInterceptor)
                 .addPathPatterns("/", "/api/**");
+        replicaLagGuard.ifAvailable(guard -> registry.addInterceptor(guard).addPathPatterns("/api/**"));
     }
 
     @Override
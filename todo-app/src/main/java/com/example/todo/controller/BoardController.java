@@ -0,0 +1,43 @@
+package com.example.todo.controller;
+
+import com.example.todo.service.BoardSnapshotService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * BoardController - The whole active board in one round trip.
+ *
+ * The snapshot is written straight to the response as it is read (see
+ * {@link BoardSnapshotService}), on the request thread: it is served from
+ * the caches and set-based queries, so it is short, and it needs the
+ * current user.
+ */
+@RestController
+@RequestMapping("/api/board")
+@Log4j2
+public class BoardController {
+
+    private final BoardSnapshotService boardSnapshotService;
+
+    public BoardController(BoardSnapshotService boardSnapshotService) {
+        this.boardSnapshotService = boardSnapshotService;
+    }
+
+    /**
+     * Active lanes of the current user and all their tasks:
+     * {@code {"lanes":[...],"tasks":[...]}}.
+     */
+    @GetMapping
+    public void getBoard(HttpServletResponse response) throws IOException {
+        log.info("Fetching board snapshot");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        boardSnapshotService.write(response.getOutputStream());
+    }
+}
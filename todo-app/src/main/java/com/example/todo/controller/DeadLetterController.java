@@ -0,0 +1,68 @@
+package com.example.todo.controller;
+
+import com.example.todo.annotation.WriteAdmission;
+import com.example.todo.service.AsyncWriteService;
+import com.example.todo.service.DeadLetterStore;
+import com.example.todo.service.DeadLetterStore.DeadLetter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DeadLetterController - Review of write-behind operations that exhausted
+ * their retries: inspect, replay or discard.
+ */
+@RestController
+@RequestMapping("/api/write-behind/dead-letters")
+@Log4j2
+public class DeadLetterController {
+
+    private final DeadLetterStore deadLetterStore;
+    private final AsyncWriteService asyncWriteService;
+
+    public DeadLetterController(DeadLetterStore deadLetterStore, AsyncWriteService asyncWriteService) {
+        this.deadLetterStore = deadLetterStore;
+        this.asyncWriteService = asyncWriteService;
+    }
+
+    @GetMapping
+    public List<DeadLetter> getDeadLetters() {
+        log.debug("Fetching dead letters");
+        return deadLetterStore.list();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DeadLetter> getDeadLetter(@PathVariable Long id) {
+        return deadLetterStore.get(id).map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Queue the operations of a dead letter again. The new operation ids are
+     * returned in the {@code X-Operation-Id} header.
+     */
+    @PostMapping("/{id}/replay")
+    @WriteAdmission
+    public ResponseEntity<Map<String, Object>> replayDeadLetter(@PathVariable Long id) {
+        log.info("Replaying dead letter #{}", id);
+        return asyncWriteService.replayDeadLetter(id)
+                .map(queued -> ResponseEntity.accepted().body(Map.<String, Object>of("queued", queued)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> discardDeadLetter(@PathVariable Long id) {
+        log.warn("Discarding dead letter #{}", id);
+        return deadLetterStore.remove(id).isPresent()
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.todo.controller;
+
+import com.example.todo.service.BoardExportService;
+import com.example.todo.service.SwimLaneService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * ExportController - Download of the current user's board as NDJSON.
+ *
+ * The body is a {@link StreamingResponseBody}: rows are written while they
+ * are read from the database (see {@link BoardExportService}), on an async
+ * request thread.
+ */
+@RestController
+@RequestMapping("/api/export")
+@Log4j2
+public class ExportController {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final BoardExportService boardExportService;
+    private final SwimLaneService swimLaneService;
+
+    public ExportController(BoardExportService boardExportService, SwimLaneService swimLaneService) {
+        this.boardExportService = boardExportService;
+        this.swimLaneService = swimLaneService;
+    }
+
+    /**
+     * Stream the board (lanes, tasks, comments). With {@code gzip=true} the
+     * download is a gzip file instead of being left to transport compression.
+     * Answers 503 with {@code Retry-After} while the maximum number of exports
+     * is running.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportBoard(@RequestParam(defaultValue = "false") boolean gzip) {
+        // Resolved here: the body is written on another thread, without the security context
+        Long userId = swimLaneService.getCurrentUserId();
+        if (!boardExportService.tryAcquire()) {
+            log.warn("[EXPORT] Rejected export for user {}: too many exports running", userId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        log.info("[EXPORT] Starting export for user {} (gzip={})", userId, gzip);
+        StreamingResponseBody body = out -> {
+            try {
+                boardExportService.export(userId, out, gzip);
+            } finally {
+                boardExportService.release();
+            }
+        };
+        String filename = gzip ? "board-export.ndjson.gz" : "board-export.ndjson";
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.todo.controller;
 
-import com.example.todo.model.SwimLane;
+import com.example.todo.model.SwimLaneView;
 import com.example.todo.service.SwimLaneService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,7 +25,7 @@ import java.util.Collections;
  * This reduces initial payload and speeds up time-to-interactive.
  * 
  * Caches used:
- * - lanes: Swimlanes per user
+ * - lanesByUser: Swimlanes per user (immutable SwimLaneView read models)
  * - tasksByLane: Tasks fetched on-demand when lane is expanded
  */
 @Controller
@@ -48,7 +48,7 @@ public class HomeController {
         log.info("[HomeController] Serving index page with initial data");
 
         // Fetch only lanes (tasks are lazy-loaded when lane is expanded)
-        List<SwimLane> lanes = swimLaneService.getActiveSwimLanes();
+        List<SwimLaneView> lanes = swimLaneService.getActiveSwimLanes();
 
         log.info("[HomeController] Loaded {} lanes (tasks will be lazy-loaded)", lanes.size());
 
@@ -61,6 +61,7 @@ public class HomeController {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User currentUser = userRepository.findByEmail(username).orElseThrow();
         Map<String, String> userSafe = new HashMap<>();
+        userSafe.put("id", String.valueOf(currentUser.getId()));
         userSafe.put("name", currentUser.getName());
         userSafe.put("firstName", currentUser.getName().split(" ")[0]);
         userSafe.put("email", currentUser.getEmail());
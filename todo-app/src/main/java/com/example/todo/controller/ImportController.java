@@ -0,0 +1,61 @@
+package com.example.todo.controller;
+
+import com.example.todo.service.BoardImportService;
+import com.example.todo.service.SwimLaneService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * ImportController - Bulk import of a board for the current user.
+ *
+ * The request body is read as a stream (see {@link BoardImportService}); it
+ * may be sent with {@code Content-Encoding: gzip}, e.g. a gzipped export.
+ */
+@RestController
+@RequestMapping("/api/import")
+@Log4j2
+public class ImportController {
+
+    private final BoardImportService boardImportService;
+    private final SwimLaneService swimLaneService;
+
+    public ImportController(BoardImportService boardImportService, SwimLaneService swimLaneService) {
+        this.boardImportService = boardImportService;
+        this.swimLaneService = swimLaneService;
+    }
+
+    /**
+     * Import NDJSON (or a JSON array) in the export format. Answers with the
+     * counts once the imported lanes are visible, or 409 while another import
+     * of the same user is running.
+     */
+    @PostMapping
+    public ResponseEntity<BoardImportService.ImportSummary> importBoard(HttpServletRequest request) throws IOException {
+        Long userId = swimLaneService.getCurrentUserId();
+        log.info("[IMPORT] Starting import for user {} ({} bytes)", userId, request.getContentLengthLong());
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            body = new GZIPInputStream(body, 8192);
+        }
+        return ResponseEntity.ok(boardImportService.importBoard(userId, body));
+    }
+
+    /**
+     * Counts of the running import (committed rows so far), or of the last one.
+     */
+    @GetMapping("/progress")
+    public ResponseEntity<BoardImportService.ImportSummary> getProgress() {
+        BoardImportService.ImportSummary summary = boardImportService.getProgress(swimLaneService.getCurrentUserId());
+        return summary != null ? ResponseEntity.ok(summary) : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.todo.controller;
+
+import com.example.todo.service.OperationTracker;
+import com.example.todo.service.OperationTracker.OperationStatus;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * OperationController - Completion status of optimistic (write-behind) writes.
+ */
+@RestController
+@RequestMapping("/api/operations")
+@Log4j2
+public class OperationController {
+
+    private static final int MAX_IDS = 500;
+
+    private final OperationTracker operationTracker;
+
+    public OperationController(OperationTracker operationTracker) {
+        this.operationTracker = operationTracker;
+    }
+
+    /**
+     * Bulk status lookup: {@code GET /api/operations?ids=1,2,3}.
+     */
+    @GetMapping
+    public List<OperationStatus> getStatuses(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " operation ids per request");
+        }
+        log.debug("Fetching status of {} operations", ids.size());
+        return operationTracker.getStatuses(ids);
+    }
+}
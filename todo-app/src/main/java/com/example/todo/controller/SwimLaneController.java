@@ -1,6 +1,8 @@
 package com.example.todo.controller;
 
+import com.example.todo.annotation.WriteAdmission;
 import com.example.todo.model.SwimLane;
+import com.example.todo.model.SwimLaneView;
 import com.example.todo.service.SwimLaneService;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,37 +22,61 @@ public class SwimLaneController {
     }
 
     @GetMapping
-    public List<SwimLane> getAllSwimLanes() {
+    public List<SwimLaneView> getAllSwimLanes() {
         log.info("Fetching all swimlanes");
         return swimLaneService.getAllSwimLanes();
     }
 
+    /**
+     * Keyset page of the lanes in board order: requested by {@code limit}; pass
+     * the returned {@code next} as {@code after} to get the following page.
+     */
+    @GetMapping(params = "limit")
+    public SwimLaneService.LanePage getSwimLanePage(@RequestParam(required = false) String after,
+            @RequestParam Integer limit) {
+        return swimLaneService.getLanePage(null, after, limit);
+    }
+
     @GetMapping("/active")
-    public List<SwimLane> getActiveSwimLanes() {
+    public List<SwimLaneView> getActiveSwimLanes() {
         return swimLaneService.getActiveSwimLanes();
     }
 
+    @GetMapping(value = "/active", params = "limit")
+    public SwimLaneService.LanePage getActiveSwimLanePage(@RequestParam(required = false) String after,
+            @RequestParam Integer limit) {
+        return swimLaneService.getLanePage(false, after, limit);
+    }
+
     @GetMapping("/completed")
-    public List<SwimLane> getCompletedSwimLanes() {
+    public List<SwimLaneView> getCompletedSwimLanes() {
         return swimLaneService.getCompletedSwimLanes();
     }
 
+    @GetMapping(value = "/completed", params = "limit")
+    public SwimLaneService.LanePage getCompletedSwimLanePage(@RequestParam(required = false) String after,
+            @RequestParam Integer limit) {
+        return swimLaneService.getLanePage(true, after, limit);
+    }
+
     @PostMapping
-    public SwimLane createSwimLane(@RequestBody SwimLane swimLane) {
+    public SwimLaneView createSwimLane(@RequestBody SwimLane swimLane) {
         log.info("Creating new swimlane: {}", swimLane.getName());
-        return swimLaneService.createSwimLane(swimLane);
+        return SwimLaneView.of(swimLaneService.createSwimLane(swimLane));
     }
 
     @PatchMapping("/{id}/complete")
-    public SwimLane completeSwimLane(@PathVariable Long id) {
+    @WriteAdmission
+    public SwimLaneView completeSwimLane(@PathVariable Long id) {
         log.info("Completing swimlane with id: {}", id);
-        return swimLaneService.completeSwimLane(id);
+        return SwimLaneView.of(swimLaneService.completeSwimLane(id));
     }
 
     @PatchMapping("/{id}/uncomplete")
-    public SwimLane uncompleteSwimLane(@PathVariable Long id) {
+    @WriteAdmission
+    public SwimLaneView uncompleteSwimLane(@PathVariable Long id) {
         log.info("Reactivating swimlane with id: {}", id);
-        return swimLaneService.uncompleteSwimLane(id);
+        return SwimLaneView.of(swimLaneService.uncompleteSwimLane(id));
     }
 
     @PatchMapping("/reorder")
@@ -60,6 +86,7 @@ public class SwimLaneController {
     }
 
     @DeleteMapping("/{id}")
+    @WriteAdmission(priority = true)
     public void deleteSwimLane(@PathVariable Long id) {
         log.info("Deleting swimlane with id: {}", id);
         swimLaneService.deleteSwimLane(id);
@@ -1,8 +1,11 @@
 package com.example.todo.controller;
 
+import com.example.todo.annotation.WriteAdmission;
 import com.example.todo.model.Comment;
 import com.example.todo.model.Task;
 import com.example.todo.model.TaskStatus;
+import com.example.todo.model.TaskView;
+import com.example.todo.service.SwimLaneService;
 import com.example.todo.service.TaskService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,39 +21,68 @@ import lombok.extern.log4j.Log4j2;
 public class TaskController {
 
     private final TaskService taskService;
+    private final SwimLaneService swimLaneService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, SwimLaneService swimLaneService) {
         this.taskService = taskService;
+        this.swimLaneService = swimLaneService;
     }
 
     // Note: getAllTasks() endpoint removed - use /swimlane/{id} instead
     // Tasks are now only fetched per lane for better performance and caching
 
+    /**
+     * Tasks of the current user carrying a tag, across all live lanes, in board
+     * order (one indexed query; see TaskRepository#findByUserIdAndTag).
+     */
+    @GetMapping(params = "tag")
+    public ResponseEntity<List<TaskView>> getTasksByTag(@RequestParam String tag) {
+        if (tag.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Fetching tasks tagged '{}'", tag);
+        return ResponseEntity.ok(taskService.getTasksByTag(swimLaneService.getCurrentUserId(), tag));
+    }
+
     @GetMapping("/swimlane/{swimLaneId}")
-    public List<Task> getTasksBySwimLane(@PathVariable Long swimLaneId) {
+    public List<TaskView> getTasksBySwimLane(@PathVariable Long swimLaneId) {
         log.info("Fetching tasks for swimlane: {}", swimLaneId);
         return taskService.getTasksBySwimLaneId(swimLaneId);
     }
 
+    /**
+     * Keyset page of a lane's tasks, column by column (one column with
+     * {@code status}): requested by {@code limit}; pass the returned
+     * {@code next} as {@code after} to get the following page.
+     */
+    @GetMapping(value = "/swimlane/{swimLaneId}", params = "limit")
+    public TaskService.TaskPage getTaskPageBySwimLane(@PathVariable Long swimLaneId,
+            @RequestParam(required = false) TaskStatus status, @RequestParam(required = false) String after,
+            @RequestParam Integer limit) {
+        log.info("Fetching tasks for swimlane {} after {} (status={}, limit={})", swimLaneId, after, status, limit);
+        return taskService.getTaskPage(swimLaneId, status, after, limit);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTask(@PathVariable Long id) {
+    public ResponseEntity<TaskView> getTask(@PathVariable Long id) {
         Optional<Task> task = taskService.getTask(id);
-        return task.map(ResponseEntity::ok)
+        return task.map(TaskView::of).map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public Task createTask(@RequestBody Task task) {
+    public TaskView createTask(@RequestBody Task task) {
         log.info("Creating new task: {}", task.getName());
-        return taskService.createTask(task);
+        return TaskView.of(taskService.createTask(task));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task task) {
+    @WriteAdmission
+    public ResponseEntity<TaskView> updateTask(@PathVariable Long id, @RequestBody Task task) {
         log.info("Updating task with id: {}", id);
         try {
             Task updated = taskService.updateTask(id, task);
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok(TaskView.of(updated));
         } catch (IllegalArgumentException e) {
             log.error("Failed to update task with id: {}", id, e);
             return ResponseEntity.notFound().build();
@@ -58,6 +90,7 @@ public class TaskController {
     }
 
     @DeleteMapping("/{id}")
+    @WriteAdmission(priority = true)
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
         log.info("Deleting task with id: {}", id);
         taskService.deleteTask(id);
@@ -65,7 +98,8 @@ public class TaskController {
     }
 
     @PatchMapping("/{id}/move")
-    public ResponseEntity<Task> moveTask(
+    @WriteAdmission
+    public ResponseEntity<TaskView> moveTask(
             @PathVariable Long id,
             @RequestParam TaskStatus status,
             @RequestParam(required = false) Long swimLaneId,
@@ -73,17 +107,48 @@ public class TaskController {
         log.info("Moving task {} to status {} in swimlane {} at position {}", id, status, swimLaneId, position);
         try {
             Task moved = taskService.moveTask(id, status, swimLaneId, position);
-            return ResponseEntity.ok(moved);
+            return ResponseEntity.ok(TaskView.of(moved));
         } catch (IllegalArgumentException e) {
             log.error("Failed to move task {}", id, e);
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Batch move: every entry is applied like a single move, in order, and the
+     * moves into each column are written together. One X-Operation-Id per move.
+     */
+    @PatchMapping("/move")
+    @WriteAdmission
+    public ResponseEntity<List<TaskView>> moveTasks(@RequestBody List<TaskService.TaskMove> moves) {
+        log.info("Moving {} tasks", moves.size());
+        try {
+            return ResponseEntity.ok(taskService.moveTasks(moves).stream().map(TaskView::of).toList());
+        } catch (IllegalArgumentException e) {
+            log.error("Failed to move tasks: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // =========================================================================
     // COMMENT ENDPOINTS
     // =========================================================================
 
+    /**
+     * Comments of a task, oldest first, {@code limit} at a time; pass the
+     * returned {@code next} as {@code after} to get the following page.
+     */
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<TaskService.CommentPage> getComments(@PathVariable Long id,
+            @RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit) {
+        log.debug("Fetching comments of task {} after {}", id, after);
+        try {
+            return ResponseEntity.ok(taskService.getComments(id, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PostMapping("/{id}/comments")
     public ResponseEntity<Comment> addComment(@PathVariable Long id, @RequestBody String text) {
         log.info("Adding comment to task {}", id);
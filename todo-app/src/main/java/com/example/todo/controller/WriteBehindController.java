@@ -0,0 +1,58 @@
+package com.example.todo.controller;
+
+import com.example.todo.service.AsyncWriteService;
+import com.example.todo.service.LanePurgeService;
+import com.example.todo.service.OperationTracker;
+import com.example.todo.service.SseEventPublisher;
+import com.example.todo.service.TaskArchiveService;
+import com.example.todo.service.TaskRanking;
+import com.example.todo.service.WriteAdmissionService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * WriteBehindController - Monitoring endpoints for the async write pipeline.
+ */
+@RestController
+@RequestMapping("/api/write-behind")
+@Log4j2
+public class WriteBehindController {
+
+    private final AsyncWriteService asyncWriteService;
+    private final WriteAdmissionService writeAdmissionService;
+    private final OperationTracker operationTracker;
+    private final SseEventPublisher eventPublisher;
+    private final TaskRanking taskRanking;
+    private final TaskArchiveService taskArchiveService;
+    private final LanePurgeService lanePurgeService;
+
+    public WriteBehindController(AsyncWriteService asyncWriteService, WriteAdmissionService writeAdmissionService,
+            OperationTracker operationTracker, SseEventPublisher eventPublisher, TaskRanking taskRanking,
+            TaskArchiveService taskArchiveService, LanePurgeService lanePurgeService) {
+        this.asyncWriteService = asyncWriteService;
+        this.writeAdmissionService = writeAdmissionService;
+        this.operationTracker = operationTracker;
+        this.eventPublisher = eventPublisher;
+        this.taskRanking = taskRanking;
+        this.taskArchiveService = taskArchiveService;
+        this.lanePurgeService = lanePurgeService;
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        log.debug("Fetching write-behind stats");
+        Map<String, Object> stats = new LinkedHashMap<>(asyncWriteService.getStats());
+        stats.put("admission", writeAdmissionService.getStats());
+        stats.put("operations", operationTracker.getStats());
+        stats.put("events", eventPublisher.getStats());
+        stats.put("ranking", taskRanking.getStats());
+        stats.put("archive", taskArchiveService.getStats());
+        stats.put("purge", lanePurgeService.getStats());
+        return stats;
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.todo.dao;
 
 import com.example.todo.model.SwimLane;
+import com.example.todo.repository.PageCursor;
 import com.example.todo.repository.SwimLaneRepository;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
@@ -67,6 +69,19 @@ public class SwimLaneDAO {
         return swimLaneRepository.findAllById(ids);
     }
 
+    /**
+     * Reposition the given lanes of a user in one statement.
+     *
+     * @return the number of lanes updated (foreign or missing ids are skipped)
+     */
+    public List<SwimLane> findPage(Long userId, Boolean completed, PageCursor after, int limit) {
+        return swimLaneRepository.findPage(userId, completed, after, limit);
+    }
+
+    public int updatePositions(Long userId, Map<Long, Integer> positions) {
+        return swimLaneRepository.updatePositions(userId, positions);
+    }
+
     public void deleteById(Long id) {
         swimLaneRepository.deleteById(id);
     }
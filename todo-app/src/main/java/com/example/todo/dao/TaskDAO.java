@@ -1,10 +1,13 @@
 package com.example.todo.dao;
 
 import com.example.todo.model.Task;
+import com.example.todo.repository.PageCursor;
 import com.example.todo.repository.TaskRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
@@ -34,21 +37,69 @@ public class TaskDAO {
         taskRepository.deleteById(id);
     }
 
-    public void updatePosition(Long id, com.example.todo.model.TaskStatus status, Long laneId, Integer position) {
+    public List<Task> saveAll(List<Task> tasks) {
+        return taskRepository.saveAll(tasks);
+    }
+
+    public List<Task> findAllById(List<Long> ids) {
+        return taskRepository.findByIdIn(ids);
+    }
+
+    public boolean existsById(Long id) {
+        return taskRepository.existsById(id);
+    }
+
+    public void updatePosition(Long id, com.example.todo.model.TaskStatus status, Long laneId, Long position) {
         taskRepository.updatePosition(id, status, laneId, position);
     }
 
+    public List<Task> findByUserIdAndTag(Long userId, String tag) {
+        return taskRepository.findByUserIdAndTag(userId, tag);
+    }
+
     public List<Task> findBySwimLaneId(Long swimLaneId) {
         return taskRepository.findBySwimLaneId(swimLaneId);
     }
 
+    public List<Task> findBySwimLaneIdIn(java.util.Collection<Long> swimLaneIds) {
+        return taskRepository.findBySwimLaneIdIn(swimLaneIds);
+    }
+
+    /**
+     * One keyset page of a lane's tasks (see {@code TaskRepositoryCustom#findPage}).
+     */
+    public List<Task> findPage(Long laneId, com.example.todo.model.TaskStatus status, PageCursor after, int limit) {
+        return taskRepository.findPage(laneId, status, after, limit);
+    }
+
+    /**
+     * Ranks of a column in order, skipping the first {@code offset} and
+     * ignoring the given task.
+     */
+    public List<Long> findColumnRanks(Long laneId, com.example.todo.model.TaskStatus status, Long excludeTaskId,
+            int offset, int limit) {
+        return taskRepository.findColumnRanks(laneId, status.name(), excludeTaskId, offset, limit);
+    }
+
+    public Long findMaxRank(Long laneId, com.example.todo.model.TaskStatus status, Long excludeTaskId) {
+        return taskRepository.findMaxRank(laneId, status, excludeTaskId);
+    }
+
+    /**
+     * Ranked tasks of a column in order, as task id to rank.
+     */
+    public Map<Long, Long> findColumn(Long laneId, com.example.todo.model.TaskStatus status) {
+        Map<Long, Long> column = new LinkedHashMap<>();
+        for (Object[] row : taskRepository.findColumn(laneId, status)) {
+            column.put((Long) row[0], (Long) row[1]);
+        }
+        return column;
+    }
+
     /**
-     * Shift positions of existing tasks to make room for a task at the target
-     * position.
-     * Returns the number of tasks shifted.
+     * Move the given tasks into a column with their new ranks, in one statement.
      */
-    public int shiftPositionsDown(Long laneId, com.example.todo.model.TaskStatus status, Integer targetPosition,
-            Long excludeTaskId) {
-        return taskRepository.shiftPositionsDown(laneId, status, targetPosition, excludeTaskId);
+    public int updateColumn(Long laneId, com.example.todo.model.TaskStatus status, Map<Long, Long> ranks) {
+        return taskRepository.updateColumn(laneId, status, ranks);
     }
 }
@@ -0,0 +1,21 @@
+package com.example.todo.exception;
+
+/**
+ * Exception thrown when a write is refused because the write-behind backlog is
+ * too deep or too old.
+ * This results in a 503 Service Unavailable HTTP response with a Retry-After
+ * header.
+ */
+public class WriteBacklogException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public WriteBacklogException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todo.exception;
+
+import java.util.List;
+
+/**
+ * Exception thrown when a {@code sync-commit} write could not be confirmed:
+ * its operations failed, or were still pending when the wait timed out.
+ * This results in a 500 Internal Server Error or 504 Gateway Timeout HTTP
+ * response listing the operation ids, which can still be followed via
+ * GET /api/operations.
+ */
+public class WriteNotCommittedException extends RuntimeException {
+
+    private final List<Long> operationIds;
+    private final boolean timedOut;
+
+    public WriteNotCommittedException(String message, List<Long> operationIds, boolean timedOut) {
+        super(message);
+        this.operationIds = operationIds;
+        this.timedOut = timedOut;
+    }
+
+    public List<Long> getOperationIds() {
+        return operationIds;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+}
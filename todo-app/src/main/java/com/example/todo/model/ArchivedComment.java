@@ -0,0 +1,44 @@
+package com.example.todo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment of an {@link ArchivedTask}, moved to the cold tier with its task.
+ */
+@Entity
+@Table(name = "comments_archive", indexes = {
+    @Index(name = "idx_comments_archive_task_id_id", columnList = "task_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedComment {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String text;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    /**
+     * A detached, read-only {@link Comment} with this comment's state (same
+     * JSON as a live comment). Never to be saved.
+     */
+    public Comment toComment() {
+        return Comment.builder().id(id).text(text).createdAt(createdAt).updatedAt(updatedAt).build();
+    }
+}
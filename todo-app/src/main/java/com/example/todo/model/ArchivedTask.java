@@ -0,0 +1,66 @@
+package com.example.todo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A DONE task of a completed lane, moved out of {@code tasks} into the cold
+ * tier by {@code TaskArchiveService}. Same columns and id as the task it was,
+ * so it can be moved back unchanged; read-only while archived.
+ *
+ * The lane is a plain id (no foreign key): archived rows go when their lane
+ * is deleted or reactivated.
+ */
+@Entity
+@Table(name = "tasks_archive", indexes = {
+    @Index(name = "idx_tasks_archive_lane_status_rank", columnList = "swim_lane_id, status, sort_rank")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "tag_list")
+    private List<String> tags;
+
+    @Column(name = "swim_lane_id", nullable = false)
+    private Long swimLaneId;
+
+    @Column(name = "sort_rank")
+    private Long position;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Formula("(SELECT COUNT(*) FROM comments_archive c WHERE c.task_id = id)")
+    private Integer commentCount;
+
+    /**
+     * A detached, read-only {@link Task} with this task's state, for code that
+     * reads hot and archived tasks alike. Never to be saved.
+     */
+    public Task toTask(SwimLane lane) {
+        return Task.builder().id(id).name(name).status(status).tags(tags).position(position)
+                .swimLane(lane != null ? lane : SwimLane.builder().id(swimLaneId).build())
+                .commentCount(commentCount).build();
+    }
+}
@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "comments", indexes = {
-    @Index(name = "idx_comments_task_id", columnList = "task_id")
+    @Index(name = "idx_comments_task_id_id", columnList = "task_id, id")
 })
 @Getter
 @Setter
@@ -19,7 +19,7 @@ import java.time.LocalDateTime;
 @ToString(exclude = "task")
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("comments_seq")
     private Long id;
 
     @Column(nullable = false, columnDefinition = "TEXT")
@@ -0,0 +1,21 @@
+package com.example.todo.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated id from a database sequence, handing out blocks of
+ * ids per round trip (see {@link PooledSequenceGenerator}).
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface PooledSequence {
+
+    /** Name of the database sequence. */
+    String value();
+}
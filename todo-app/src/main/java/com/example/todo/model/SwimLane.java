@@ -1,13 +1,21 @@
 package com.example.todo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.time.LocalDateTime;
+
+// Loaded by id for every ownership check: rows are kept in the second-level cache
 @Entity
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SwimLane.CACHE_REGION)
 @Table(name = "swim_lanes", indexes = {
         @Index(name = "idx_swim_lanes_user_id", columnList = "user_id"),
         @Index(name = "idx_swim_lanes_user_deleted_position", columnList = "user_id, is_deleted, position_order"),
-        @Index(name = "idx_swim_lanes_user_completed_deleted", columnList = "user_id, is_completed, is_deleted, position_order")
+        @Index(name = "idx_swim_lanes_user_completed_deleted", columnList = "user_id, is_completed, is_deleted, position_order"),
+        @Index(name = "idx_swim_lanes_deleted_at", columnList = "is_deleted, deleted_at")
 })
 @Getter
 @Setter
@@ -15,8 +23,12 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 public class SwimLane {
+
+    /** Second-level cache region (see {@code HibernateConfig}). */
+    public static final String CACHE_REGION = "swim-lanes";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("swim_lanes_seq")
     private Long id;
 
     @Column(nullable = false)
@@ -33,7 +45,14 @@ public class SwimLane {
     @Column(name = "position_order")
     private Integer position;
 
-    @ManyToOne
+    // When the lane was soft-deleted; purged after the retention (see LanePurgeService)
+    @Column(name = "deleted_at")
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
+    // Lazy and not serialised: only the owner id is needed for access checks
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @JsonIgnore
     private User user;
 }
@@ -0,0 +1,18 @@
+package com.example.todo.model;
+
+/**
+ * SwimLaneView - Immutable read model of a lane, as cached in
+ * {@code lanesByUser} and returned by the lane endpoints. The owner is not
+ * part of it: lanes are only ever listed for their owner.
+ */
+public record SwimLaneView(Long id, String name, Boolean isCompleted, Boolean isDeleted, Integer position) {
+
+    public static SwimLaneView of(SwimLane lane) {
+        return new SwimLaneView(lane.getId(), lane.getName(), lane.getIsCompleted(), lane.getIsDeleted(),
+                lane.getPosition());
+    }
+
+    public SwimLaneView withPosition(Integer position) {
+        return new SwimLaneView(id, name, isCompleted, isDeleted, position);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.todo.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads task tags either as a JSON array or in the legacy form, a string
+ * holding a JSON array ({@code "[\"a\",\"b\"]"}), as sent by older clients
+ * and found in journals written before tags became an array column.
+ * Tags are trimmed, blanks dropped and duplicates removed (order kept).
+ */
+public class TagListDeserializer extends JsonDeserializer<List<String>> {
+
+    private static final TypeReference<List<String>> LIST = new TypeReference<>() {
+    };
+
+    @Override
+    public List<String> deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        List<String> tags;
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            String legacy = parser.getText().trim();
+            if (legacy.isEmpty() || legacy.equals("null")) {
+                return List.of();
+            }
+            try (JsonParser nested = parser.getCodec().getFactory().createParser(legacy)) {
+                nested.setCodec(parser.getCodec());
+                tags = nested.readValueAs(LIST);
+            }
+        } else {
+            tags = context.readValue(parser, context.getTypeFactory().constructCollectionType(List.class,
+                    String.class));
+        }
+        return normalize(tags);
+    }
+
+    /**
+     * Trimmed, non-blank, distinct tags in their original order.
+     */
+    public static List<String> normalize(List<String> tags) {
+        if (tags == null) {
+            return List.of();
+        }
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        tags.stream().filter(Objects::nonNull).map(String::trim).filter(tag -> !tag.isEmpty())
+                .forEach(distinct::add);
+        return new ArrayList<>(distinct);
+    }
+}
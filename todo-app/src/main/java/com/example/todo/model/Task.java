@@ -2,7 +2,12 @@ package com.example.todo.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,16 +16,21 @@ import java.util.List;
 @Table(name = "tasks", indexes = {
     @Index(name = "idx_tasks_swim_lane_id", columnList = "swim_lane_id"),
     @Index(name = "idx_tasks_status", columnList = "status"),
-    @Index(name = "idx_tasks_lane_status_position", columnList = "swim_lane_id, status, position_order")
+    @Index(name = "idx_tasks_lane_status_rank", columnList = "swim_lane_id, status, sort_rank")
 })
+@NamedEntityGraph(name = Task.WITH_LANE, attributeNodes = @NamedAttributeNode("swimLane"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Task {
+
+    /** Fetch plan for lane listings and reloads: the lane in the same query, no comments. */
+    public static final String WITH_LANE = "Task.withLane";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("tasks_seq")
     private Long id;
 
     @Column(nullable = false)
@@ -30,19 +40,29 @@ public class Task {
     @Column(nullable = false)
     private TaskStatus status;
 
-    @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Lazy and not serialised: comments are paged via GET /api/tasks/{id}/comments
+    @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonManagedReference
+    @JsonIgnore
     @Builder.Default
     private List<Comment> comments = new ArrayList<>();
 
-    @Lob
-    private String tags; // JSON array string
+    // Read-only, counted by the same query that loads the task (index on comments.task_id)
+    @Formula("(SELECT COUNT(*) FROM comments c WHERE c.task_id = id)")
+    private Integer commentCount;
+
+    // Plain array column (text[] on Postgres, GIN-indexed; ARRAY on H2), read inline with the row.
+    // Accepts the legacy JSON-string form on input (see TagListDeserializer)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "tag_list")
+    @JsonDeserialize(using = TagListDeserializer.class)
+    private List<String> tags;
 
     @ManyToOne
     @JoinColumn(name = "swim_lane_id")
     private SwimLane swimLane;
 
-    // Position within the column (for ordering)
-    @Column(name = "position_order")
-    private Integer position;
+    // Sparse order key within the column (see TaskRanking); only compared, never an index
+    @Column(name = "sort_rank")
+    private Long position;
 }
@@ -0,0 +1,40 @@
+package com.example.todo.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * TaskView - Immutable read model of a task, as cached in {@code tasksByLane},
+ * published over SSE and returned by the task endpoints.
+ *
+ * Built from the entity when it is loaded, so caches and other threads never
+ * hold (detached) Hibernate entities. The lane is referenced by id instead of
+ * being nested, and tag strings are interned as most tasks share a few tags.
+ * Null fields are left out of the JSON, so clients merging an update over a
+ * task they hold keep what the update does not carry; tags are therefore
+ * never null (empty when there are none), so removing the last tag reaches
+ * them too.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskView(Long id, String name, TaskStatus status, List<String> tags, Long position, Long laneId,
+        Integer commentCount) {
+
+    public static TaskView of(Task task) {
+        return new TaskView(task.getId(), task.getName(), task.getStatus(),
+                tags(task.getTags()), task.getPosition(),
+                task.getSwimLane() != null ? task.getSwimLane().getId() : null, task.getCommentCount());
+    }
+
+    private static List<String> tags(List<String> tags) {
+        return tags == null ? List.of() : tags.stream().map(String::intern).toList();
+    }
+
+    public TaskView withPlacement(TaskStatus status, Long laneId, Long position) {
+        return new TaskView(id, name, status, tags, position, laneId, commentCount);
+    }
+
+    public TaskView withPosition(Long position) {
+        return new TaskView(id, name, status, tags, position, laneId, commentCount);
+    }
+}
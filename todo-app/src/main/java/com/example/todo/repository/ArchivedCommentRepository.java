@@ -0,0 +1,18 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.ArchivedComment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedCommentRepository extends JpaRepository<ArchivedComment, Long> {
+
+    /**
+     * One page of an archived task's comments after the given comment id,
+     * oldest first (keyset on the task_id, id index).
+     */
+    List<ArchivedComment> findByTaskIdAndIdGreaterThanOrderByIdAsc(Long taskId, Long afterId, Limit limit);
+}
@@ -0,0 +1,60 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.ArchivedTask;
+import com.example.todo.model.TaskStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads of the cold tier ({@code tasks_archive}). Rows are moved in and out
+ * with set-based SQL by {@code TaskArchiveService}, never saved one by one.
+ */
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    /**
+     * Archived tasks of several lanes, by lane and then rank like the hot lane
+     * listing (range scans of the lane, status, rank index).
+     */
+    @Query("SELECT a FROM ArchivedTask a WHERE a.swimLaneId IN :swimLaneIds " +
+            "ORDER BY a.swimLaneId ASC, a.position ASC NULLS LAST, a.id ASC")
+    List<ArchivedTask> findBySwimLaneIdIn(@Param("swimLaneIds") Collection<Long> swimLaneIds);
+
+    /**
+     * Ranked archived tasks of a column after a (rank, id) cursor, in order;
+     * a null rank starts at the top.
+     */
+    @Query("SELECT a FROM ArchivedTask a WHERE a.swimLaneId = :laneId AND a.status = :status " +
+            "AND a.position IS NOT NULL " +
+            "AND (:rank IS NULL OR (a.position >= :rank AND (a.position > :rank OR a.id > :afterId))) " +
+            "ORDER BY a.position ASC, a.id ASC")
+    List<ArchivedTask> findRankedAfter(@Param("laneId") Long laneId, @Param("status") TaskStatus status,
+            @Param("rank") Long rank, @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Unranked archived tasks of a column after the given id, by id.
+     */
+    @Query("SELECT a FROM ArchivedTask a WHERE a.swimLaneId = :laneId AND a.status = :status " +
+            "AND a.position IS NULL AND a.id > :afterId ORDER BY a.id ASC")
+    List<ArchivedTask> findUnrankedAfter(@Param("laneId") Long laneId, @Param("status") TaskStatus status,
+            @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Archived tasks carrying a tag in the live lanes of a user, each with its
+     * lane (as {@code [ArchivedTask, SwimLane]}).
+     */
+    @Query("SELECT a, l FROM ArchivedTask a, SwimLane l WHERE l.id = a.swimLaneId " +
+            "AND l.user.id = :userId AND l.isDeleted = false AND array_contains(a.tags, :tag)")
+    List<Object[]> findByUserIdAndTag(@Param("userId") Long userId, @Param("tag") String tag);
+
+    @Query("SELECT MAX(a.position) FROM ArchivedTask a WHERE a.swimLaneId = :laneId AND a.status = :status")
+    Long findMaxRank(@Param("laneId") Long laneId, @Param("status") TaskStatus status);
+
+    boolean existsBySwimLaneId(Long swimLaneId);
+}
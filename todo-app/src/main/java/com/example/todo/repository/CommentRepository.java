@@ -1,6 +1,7 @@
 package com.example.todo.repository;
 
 import com.example.todo.model.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,5 +12,11 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findByTaskIdOrderByCreatedAtAsc(Long taskId);
 
+    /**
+     * One page of a task's comments after the given comment id, oldest first
+     * (keyset on the task_id, id index, no offset scan).
+     */
+    List<Comment> findByTaskIdAndIdGreaterThanOrderByIdAsc(Long taskId, Long afterId, Limit limit);
+
     void deleteByTaskId(Long taskId);
 }
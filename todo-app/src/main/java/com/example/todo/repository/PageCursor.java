@@ -0,0 +1,57 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.TaskStatus;
+
+/**
+ * Position of the last row of a keyset page: the sort key of that row, so
+ * the next page starts right after it with an index range scan instead of
+ * an OFFSET. Rows are ordered by position (nulls last), then id; task pages
+ * are additionally ordered by status column first.
+ *
+ * Clients get it as an opaque string ({@link #encode()}) and pass it back
+ * unchanged as {@code after}.
+ *
+ * @param status   status column of the row (tasks only)
+ * @param position position or rank of the row, null if it has none
+ * @param id       id of the row
+ */
+public record PageCursor(TaskStatus status, Long position, long id) {
+
+    public static PageCursor after(Long position, long id) {
+        return new PageCursor(null, position, id);
+    }
+
+    public static PageCursor after(TaskStatus status, Long position, long id) {
+        return new PageCursor(status, position, id);
+    }
+
+    /**
+     * {@code status:position:id}, with empty parts for a missing status or
+     * position.
+     */
+    public String encode() {
+        return (status != null ? status.name() : "") + ":" + (position != null ? position : "") + ":" + id;
+    }
+
+    /**
+     * Read a cursor returned by {@link #encode()}.
+     *
+     * @return null for a null or empty cursor (first page)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static PageCursor parse(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] parts = cursor.split(":", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+        try {
+            return new PageCursor(parts[0].isEmpty() ? null : TaskStatus.valueOf(parts[0]),
+                    parts[1].isEmpty() ? null : Long.valueOf(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+    }
+}
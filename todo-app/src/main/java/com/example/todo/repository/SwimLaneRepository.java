@@ -7,7 +7,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface SwimLaneRepository extends JpaRepository<SwimLane, Long> {
+public interface SwimLaneRepository extends JpaRepository<SwimLane, Long>, SwimLaneRepositoryCustom {
     // Legacy methods (without user filter) - keep for backward compatibility
     List<SwimLane> findByIsCompletedFalseAndIsDeletedFalseOrderByPositionAsc();
     List<SwimLane> findByIsCompletedTrueAndIsDeletedFalseOrderByPositionAsc();
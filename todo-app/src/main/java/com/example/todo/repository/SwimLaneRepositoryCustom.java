@@ -0,0 +1,32 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.SwimLane;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Swim lane queries that are built at runtime and cannot be declared with @Query.
+ */
+public interface SwimLaneRepositoryCustom {
+
+    /**
+     * Set the positions of a user's lanes in a single UPDATE statement. Lanes
+     * that do not exist or belong to another user are not matched by the
+     * statement and stay untouched.
+     *
+     * @param positions lane id to its new position
+     * @return the number of updated lanes
+     */
+    int updatePositions(Long userId, Map<Long, Integer> positions);
+
+    /**
+     * One keyset page of a user's live lanes in board order (position, nulls
+     * last, then id), starting after the cursor.
+     *
+     * @param completed only completed (true) or active (false) lanes, or all if null
+     * @param after     last row of the previous page, or null for the first page
+     * @param limit     maximum number of lanes
+     */
+    List<SwimLane> findPage(Long userId, Boolean completed, PageCursor after, int limit);
+}
@@ -0,0 +1,134 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.SwimLane;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based lane reorder, scoped by owner: the {@code user_id} predicate is
+ * the ownership check, so foreign lane ids simply match no row.
+ *
+ * Postgres joins the new positions as a VALUES list
+ * ({@code UPDATE ... FROM (VALUES ...)}); other databases (H2 in tests) get
+ * the equivalent {@code CASE id WHEN ... END} form. The statement runs over
+ * the session's JDBC connection and evicts only the reordered lanes from the
+ * second-level cache.
+ */
+public class SwimLaneRepositoryCustomImpl implements SwimLaneRepositoryCustom {
+
+    private final EntityManager entityManager;
+    private Boolean postgres;
+
+    public SwimLaneRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public int updatePositions(Long userId, Map<Long, Integer> positions) {
+        if (positions.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        if (isPostgres()) {
+            sql.append("UPDATE swim_lanes AS s SET position_order = v.position FROM (VALUES ");
+            for (Map.Entry<Long, Integer> position : positions.entrySet()) {
+                sql.append(params.isEmpty() ? "" : ", ").append("(CAST(? AS BIGINT), CAST(? AS INTEGER))");
+                params.add(position.getKey());
+                params.add(position.getValue());
+            }
+            sql.append(") AS v(id, position) WHERE s.id = v.id AND s.user_id = ?");
+            params.add(userId);
+        } else {
+            sql.append("UPDATE swim_lanes SET position_order = CASE id");
+            for (Map.Entry<Long, Integer> position : positions.entrySet()) {
+                sql.append(" WHEN ? THEN ?");
+                params.add(position.getKey());
+                params.add(position.getValue());
+            }
+            sql.append(" END WHERE user_id = ? AND id IN (")
+                    .append(String.join(", ", Collections.nCopies(positions.size(), "?"))).append(")");
+            params.add(userId);
+            params.addAll(positions.keySet());
+        }
+
+        // Write out earlier changes before the context is cleared
+        entityManager.flush();
+        // Run over the session's connection: a native query would invalidate the whole lane region
+        int updated = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                return statement.executeUpdate();
+            }
+        });
+        entityManager.clear();
+        // Only the reordered lanes changed; the rest of the region stays cached
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        positions.keySet().forEach(id -> cache.evict(SwimLane.class, id));
+        return updated;
+    }
+
+    /**
+     * Lanes with a position come first, read as a range of the
+     * {@code (user_id, [is_completed,] is_deleted, position_order)} index; the
+     * redundant {@code position >= :position} bounds that range. Lanes without
+     * a position follow by id.
+     */
+    @Override
+    public List<SwimLane> findPage(Long userId, Boolean completed, PageCursor after, int limit) {
+        String owner = "l.user.id = :userId AND l.isDeleted = false"
+                + (completed != null ? " AND l.isCompleted = :completed" : "");
+        List<SwimLane> page = new ArrayList<>();
+        if (after == null || after.position() != null) {
+            TypedQuery<SwimLane> ranked = entityManager.createQuery("SELECT l FROM SwimLane l WHERE " + owner
+                    + " AND l.position IS NOT NULL"
+                    + (after != null ? " AND l.position >= :position AND (l.position > :position OR l.id > :id)" : "")
+                    + " ORDER BY l.position, l.id", SwimLane.class);
+            if (after != null) {
+                ranked.setParameter("position", after.position().intValue()).setParameter("id", after.id());
+            }
+            page.addAll(bind(ranked, userId, completed).setMaxResults(limit).getResultList());
+        }
+        if (page.size() < limit) {
+            boolean afterUnranked = after != null && after.position() == null;
+            TypedQuery<SwimLane> unranked = entityManager.createQuery("SELECT l FROM SwimLane l WHERE " + owner
+                    + " AND l.position IS NULL" + (afterUnranked ? " AND l.id > :id" : "") + " ORDER BY l.id",
+                    SwimLane.class);
+            if (afterUnranked) {
+                unranked.setParameter("id", after.id());
+            }
+            page.addAll(bind(unranked, userId, completed).setMaxResults(limit - page.size()).getResultList());
+        }
+        return page;
+    }
+
+    private static TypedQuery<SwimLane> bind(TypedQuery<SwimLane> query, Long userId, Boolean completed) {
+        query.setParameter("userId", userId);
+        if (completed != null) {
+            query.setParameter("completed", completed);
+        }
+        return query;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+}
@@ -5,43 +5,94 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
         /**
-         * Update a single task's status, lane, and position
+         * Update a single task's status, lane, and rank. This is the only row a
+         * move writes: the rank is chosen between the new neighbours, so no
+         * other task has to be shifted.
          */
         @org.springframework.data.jpa.repository.Modifying(clearAutomatically = true)
         @org.springframework.data.jpa.repository.Query("UPDATE Task t SET t.status = :status, t.swimLane.id = :laneId, t.position = :position WHERE t.id = :id")
         void updatePosition(@org.springframework.data.repository.query.Param("id") Long id,
                         @org.springframework.data.repository.query.Param("status") com.example.todo.model.TaskStatus status,
                         @org.springframework.data.repository.query.Param("laneId") Long laneId,
-                        @org.springframework.data.repository.query.Param("position") Integer position);
+                        @org.springframework.data.repository.query.Param("position") Long position);
 
         /**
-         * BULK UPDATE: Shift all tasks at position >= targetPosition down by 1
-         * (increment their positions)
-         * This is called BEFORE inserting a task at targetPosition to make room.
-         * Only affects tasks in the same lane AND status column.
-         * Excludes the task being moved (excludeTaskId).
+         * Ranks of a column in order, starting at the given offset (index scan on
+         * lane, status, rank). Used to find the neighbours of a drop index.
          */
-        @org.springframework.data.jpa.repository.Modifying(clearAutomatically = true)
-        @org.springframework.data.jpa.repository.Query("UPDATE Task t SET t.position = t.position + 1 " +
-                        "WHERE t.swimLane.id = :laneId " +
-                        "AND t.status = :status " +
-                        "AND t.position >= :targetPosition " +
-                        "AND t.position IS NOT NULL " +
-                        "AND t.id != :excludeTaskId")
-        int shiftPositionsDown(
+        @org.springframework.data.jpa.repository.Query(value = "SELECT sort_rank FROM tasks " +
+                        "WHERE swim_lane_id = :laneId AND status = :status AND id <> :excludeTaskId " +
+                        "AND sort_rank IS NOT NULL " +
+                        "ORDER BY sort_rank, id LIMIT :limit OFFSET :offset", nativeQuery = true)
+        java.util.List<Long> findColumnRanks(
+                        @org.springframework.data.repository.query.Param("laneId") Long laneId,
+                        @org.springframework.data.repository.query.Param("status") String status,
+                        @org.springframework.data.repository.query.Param("excludeTaskId") Long excludeTaskId,
+                        @org.springframework.data.repository.query.Param("offset") int offset,
+                        @org.springframework.data.repository.query.Param("limit") int limit);
+
+        /**
+         * Highest rank in a column, ignoring the given task (null to ignore none).
+         */
+        @org.springframework.data.jpa.repository.Query("SELECT MAX(t.position) FROM Task t " +
+                        "WHERE t.swimLane.id = :laneId AND t.status = :status " +
+                        "AND (:excludeTaskId IS NULL OR t.id <> :excludeTaskId)")
+        Long findMaxRank(
                         @org.springframework.data.repository.query.Param("laneId") Long laneId,
                         @org.springframework.data.repository.query.Param("status") com.example.todo.model.TaskStatus status,
-                        @org.springframework.data.repository.query.Param("targetPosition") Integer targetPosition,
                         @org.springframework.data.repository.query.Param("excludeTaskId") Long excludeTaskId);
 
+        /**
+         * Ids and ranks of the ranked tasks of a column, in order. Lets several
+         * moves into the column be placed from one read.
+         */
+        @org.springframework.data.jpa.repository.Query("SELECT t.id, t.position FROM Task t " +
+                        "WHERE t.swimLane.id = :laneId AND t.status = :status AND t.position IS NOT NULL " +
+                        "ORDER BY t.position ASC, t.id ASC")
+        java.util.List<Object[]> findColumn(
+                        @org.springframework.data.repository.query.Param("laneId") Long laneId,
+                        @org.springframework.data.repository.query.Param("status") com.example.todo.model.TaskStatus status);
+
     /**
-     * Fetch tasks for a lane, ordered by position (nulls last).
+     * Fetch tasks for a lane, ordered by rank (nulls last, ties by id). The lane
+     * is joined by the entity graph; comments are not loaded (only counted).
      */
-    @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t WHERE t.swimLane.id = :swimLaneId ORDER BY t.position ASC NULLS LAST")
+    @org.springframework.data.jpa.repository.EntityGraph(Task.WITH_LANE)
+    @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t WHERE t.swimLane.id = :swimLaneId ORDER BY t.position ASC NULLS LAST, t.id ASC")
     java.util.List<Task> findBySwimLaneId(
             @org.springframework.data.repository.query.Param("swimLaneId") Long swimLaneId);
 
+    /**
+     * Tasks of several lanes in one query (board snapshot), by lane and then
+     * rank like {@link #findBySwimLaneId}, with the same fetch plan.
+     */
+    @org.springframework.data.jpa.repository.EntityGraph(Task.WITH_LANE)
+    @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t WHERE t.swimLane.id IN :swimLaneIds " +
+            "ORDER BY t.swimLane.id ASC, t.position ASC NULLS LAST, t.id ASC")
+    java.util.List<Task> findBySwimLaneIdIn(
+            @org.springframework.data.repository.query.Param("swimLaneIds") java.util.Collection<Long> swimLaneIds);
+
+    /**
+     * Tasks by id with their lanes in the same query (reloads after batch moves).
+     */
+    @org.springframework.data.jpa.repository.EntityGraph(Task.WITH_LANE)
+    java.util.List<Task> findByIdIn(java.util.Collection<Long> ids);
+
+    /**
+     * Tasks carrying a tag across all live lanes of a user, in board order. One
+     * query: {@code array_contains} renders as {@code tag_list @> ARRAY[?]} on
+     * Postgres (served by the GIN index on tag_list) and ARRAY_CONTAINS on H2;
+     * the owner is checked through the (user_id, is_deleted) lane index.
+     */
+    @org.springframework.data.jpa.repository.EntityGraph(Task.WITH_LANE)
+    @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t JOIN t.swimLane l " +
+            "WHERE l.user.id = :userId AND l.isDeleted = false AND array_contains(t.tags, :tag) " +
+            "ORDER BY l.position ASC NULLS LAST, l.id ASC, t.position ASC NULLS LAST, t.id ASC")
+    java.util.List<Task> findByUserIdAndTag(
+            @org.springframework.data.repository.query.Param("userId") Long userId,
+            @org.springframework.data.repository.query.Param("tag") String tag);
+
 }
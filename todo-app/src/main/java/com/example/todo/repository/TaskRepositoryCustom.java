@@ -0,0 +1,33 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task queries that are built at runtime and cannot be declared with @Query.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Move a set of tasks into one column and give each its rank, in a single
+     * UPDATE statement.
+     *
+     * @param ranks task id to its new rank
+     * @return the number of updated rows
+     */
+    int updateColumn(Long laneId, TaskStatus status, Map<Long, Long> ranks);
+
+    /**
+     * One keyset page of a lane's tasks, column by column in board order
+     * ({@link TaskStatus} declaration order), each by rank (nulls last), then
+     * id, starting after the cursor. The lane is fetched with each task.
+     *
+     * @param status only this column, or every column if null
+     * @param after  last row of the previous page, or null for the first page
+     * @param limit  maximum number of tasks
+     */
+    List<Task> findPage(Long laneId, TaskStatus status, PageCursor after, int limit);
+}
@@ -0,0 +1,114 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based column update: one {@code UPDATE ... SET sort_rank = CASE id ...}
+ * for every task moved into the column, instead of one statement per task.
+ * Plain CASE runs the same on H2 and Postgres.
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public TaskRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int updateColumn(Long laneId, TaskStatus status, Map<Long, Long> ranks) {
+        if (ranks.isEmpty()) {
+            return 0;
+        }
+        StringBuilder jpql = new StringBuilder(
+                "UPDATE Task t SET t.status = :status, t.swimLane.id = :laneId, t.position = CASE t.id");
+        for (int i = 0; i < ranks.size(); i++) {
+            jpql.append(" WHEN :id").append(i).append(" THEN :rank").append(i);
+        }
+        jpql.append(" END WHERE t.id IN :ids");
+
+        Query query = entityManager.createQuery(jpql.toString())
+                .setParameter("status", status)
+                .setParameter("laneId", laneId)
+                .setParameter("ids", ranks.keySet());
+        int i = 0;
+        for (Map.Entry<Long, Long> rank : ranks.entrySet()) {
+            query.setParameter("id" + i, rank.getKey());
+            query.setParameter("rank" + i, rank.getValue());
+            i++;
+        }
+        // Write out earlier changes of the transaction before the context is cleared
+        entityManager.flush();
+        int updated = query.executeUpdate();
+        // Same as clearAutomatically on the @Modifying queries: drop stale copies of the moved tasks
+        entityManager.clear();
+        return updated;
+    }
+
+    /**
+     * Each column is read as a range of {@code idx_tasks_lane_status_rank}
+     * (ranked tasks, bounded by the redundant {@code position >= :rank}), then
+     * its unranked tasks by id, until the page is full.
+     */
+    @Override
+    public List<Task> findPage(Long laneId, TaskStatus status, PageCursor after, int limit) {
+        List<Task> page = new ArrayList<>();
+        for (TaskStatus column : TaskStatus.values()) {
+            if (page.size() >= limit) {
+                break;
+            }
+            if ((status != null && column != status)
+                    || (after != null && after.status() != null && column.compareTo(after.status()) < 0)) {
+                continue;
+            }
+            // The cursor only applies within its own column; later columns start from the top
+            PageCursor from = after != null && column == after.status() ? after : null;
+            if (from == null || from.position() != null) {
+                page.addAll(columnQuery(laneId, column, from, true).setMaxResults(limit - page.size())
+                        .getResultList());
+            }
+            if (page.size() < limit) {
+                page.addAll(columnQuery(laneId, column, from, false).setMaxResults(limit - page.size())
+                        .getResultList());
+            }
+        }
+        return page;
+    }
+
+    private TypedQuery<Task> columnQuery(Long laneId, TaskStatus column, PageCursor from, boolean ranked) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT t FROM Task t WHERE t.swimLane.id = :laneId AND t.status = :status");
+        if (ranked) {
+            jpql.append(" AND t.position IS NOT NULL");
+            if (from != null) {
+                jpql.append(" AND t.position >= :rank AND (t.position > :rank OR t.id > :id)");
+            }
+            jpql.append(" ORDER BY t.position, t.id");
+        } else {
+            jpql.append(" AND t.position IS NULL");
+            if (from != null && from.position() == null) {
+                jpql.append(" AND t.id > :id");
+            }
+            jpql.append(" ORDER BY t.id");
+        }
+        TypedQuery<Task> query = entityManager.createQuery(jpql.toString(), Task.class)
+                .setParameter("laneId", laneId)
+                .setParameter("status", column)
+                .setHint("jakarta.persistence.fetchgraph", entityManager.getEntityGraph(Task.WITH_LANE));
+        if (from != null && (ranked || from.position() == null)) {
+            query.setParameter("id", from.id());
+        }
+        if (from != null && ranked) {
+            query.setParameter("rank", from.position());
+        }
+        return query;
+    }
+}
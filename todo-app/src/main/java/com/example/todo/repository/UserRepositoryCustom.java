@@ -0,0 +1,17 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.User;
+
+import java.util.Optional;
+
+/**
+ * User lookups that must go through the Hibernate session API.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * The user with this email, resolved through the natural-id cache: once
+     * cached, neither the email nor the row is read from the database again.
+     */
+    Optional<User> findByEmail(String email);
+}
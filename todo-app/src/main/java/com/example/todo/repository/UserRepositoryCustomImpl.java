@@ -0,0 +1,32 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Email lookups by natural id ({@code Session#bySimpleNaturalId}) instead of a
+ * derived query: a JPQL query always runs against the database, a natural-id
+ * load is answered from the {@code users-by-email} and {@code users} regions
+ * of the second-level cache.
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public UserRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(email);
+    }
+}
@@ -1,101 +1,732 @@
 package com.example.todo.service;
 
+import com.example.todo.config.PartitionedWriteExecutor;
+import com.example.todo.config.PartitionedWriteExecutor.PartitionStats;
+import com.example.todo.config.PartitionedWriteExecutor.PartitionedTask;
+import com.example.todo.config.ReplicaLagGuard;
 import com.example.todo.dao.SwimLaneDAO;
 import com.example.todo.dao.TaskDAO;
 import com.example.todo.model.SwimLane;
+import com.example.todo.model.SwimLaneView;
 import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.model.TaskView;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * AsyncWriteService - Write-behind stage for optimistic UI operations.
+ *
+ * Every mutation is first added to the {@link WriteBehindBuffer}, which merges
+ * pending mutations of the same entity. A flush is only scheduled on the
+ * asyncWriteExecutor when an entity becomes dirty, so N rapid edits of one
+ * card cost one transaction and one simulated latency.
+ * Each flush group-commits every entity that is dirty at that point.
+ * Flushes run on the partition of the lane they write to, so lanes are
+ * written in parallel while each lane keeps its write order.
+ *
+ * Moves: a move carries the drop index the client saw; its flush turns it
+ * into a rank between the neighbours at that index ({@link TaskRanking}) and
+ * updates that one row. Moves of several tasks into the same column within
+ * one flush (batch moves) are ranked together and written by one statement
+ * per column.
+ *
+ * Durability: every operation is appended to the {@link WriteAheadJournal}
+ * before the request returns and marked committed once its transaction
+ * commits. Operations still pending after a crash are replayed on startup.
+ *
+ * Archive: a flush first moves the tasks it writes back from the archive
+ * ({@link TaskArchiveService}; only tasks of completed lanes can be there),
+ * while a move into a partly archived DONE column is ranked against the
+ * archived tasks by {@link TaskRanking} without restoring them. Reopening a
+ * lane restores it; deleting one drops its archive.
+ *
+ * Read-your-writes: queued task operations are indexed by the
+ * {@link PendingWriteOverlay} until they commit, which is also when the
+ * affected lane caches are finalised.
+ *
+ * Events: SSE events are published through the {@link SseEventPublisher}
+ * outbox, so they are only delivered once their transaction commits and the
+ * broadcast runs on its dispatcher thread, not while a connection is held.
+ *
+ * Failures: an entity that cannot be written is retried with backoff by the
+ * {@link WriteRetryPolicy} (its operations stay pending, journaled and visible
+ * to reads meanwhile) and moved to the {@link DeadLetterStore} once its
+ * attempts are exhausted.
+ *
+ * Completion: every operation gets a monotonic id, tracked by the
+ * {@link OperationTracker} until it commits or fails, at which point an
+ * {@code operation-status} SSE event names the resolved ids.
+ *
+ * Read replicas: once a flush commits, the {@link ReplicaLagGuard} window of
+ * the users whose operations it wrote restarts, as the commit may come long
+ * after their requests returned.
+ */
 @Service
 @Log4j2
 public class AsyncWriteService {
 
     private final TaskDAO taskDAO;
     private final SwimLaneDAO swimLaneDAO;
-    private final SseService sseService;
+    private final SseEventPublisher eventPublisher;
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final Executor asyncWriteExecutor;
+    private final WriteAheadJournal journal;
+    private final PendingWriteOverlay overlay;
+    private final OperationTracker operationTracker;
+    private final WriteRetryPolicy retryPolicy;
+    private final DeadLetterStore deadLetterStore;
+    private final TaskRanking taskRanking;
+    private final TransactionTemplate transactionTemplate;
+    private final PageCache pageCache;
+    private final TaskArchiveService taskArchiveService;
+    private final ObjectProvider<ReplicaLagGuard> replicaLagGuard;
+    // Seeded from the clock so operation ids are not reused after a restart
+    private final AtomicLong nextSequence = new AtomicLong(System.currentTimeMillis() * 1000);
 
-    public AsyncWriteService(TaskDAO taskDAO, SwimLaneDAO swimLaneDAO, SseService sseService) {
+    public AsyncWriteService(TaskDAO taskDAO, SwimLaneDAO swimLaneDAO, SseEventPublisher eventPublisher,
+            WriteBehindBuffer writeBehindBuffer, WriteAheadJournal journal, PendingWriteOverlay overlay,
+            OperationTracker operationTracker, WriteRetryPolicy retryPolicy, DeadLetterStore deadLetterStore,
+            TaskRanking taskRanking, @Qualifier("asyncWriteExecutor") Executor asyncWriteExecutor,
+            PlatformTransactionManager transactionManager, PageCache pageCache,
+            TaskArchiveService taskArchiveService, ObjectProvider<ReplicaLagGuard> replicaLagGuard) {
         this.taskDAO = taskDAO;
         this.swimLaneDAO = swimLaneDAO;
-        this.sseService = sseService;
+        this.eventPublisher = eventPublisher;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.journal = journal;
+        this.overlay = overlay;
+        this.operationTracker = operationTracker;
+        this.retryPolicy = retryPolicy;
+        this.deadLetterStore = deadLetterStore;
+        this.taskRanking = taskRanking;
+        this.asyncWriteExecutor = asyncWriteExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageCache = pageCache;
+        this.taskArchiveService = taskArchiveService;
+        this.replicaLagGuard = replicaLagGuard;
     }
 
-    @Async("asyncWriteExecutor")
-    @Transactional
     public void saveTask(Task task) {
+        saveTask(task, null);
+    }
+
+    /**
+     * @param fromLaneId lane the task was in before the update, so its cache is
+     *                   finalised on commit
+     */
+    public void saveTask(Task task, Long fromLaneId) {
+        enqueue(WriteOperation.saveTask(task).withFromLaneId(fromLaneId));
+    }
+
+    public void moveTask(Long id, TaskStatus status, Long laneId, Integer position) {
+        moveTask(id, status, laneId, position, null);
+    }
+
+    public void moveTask(Long id, TaskStatus status, Long laneId, Integer position,
+            Long fromLaneId) {
+        enqueue(WriteOperation.moveTask(id, status, laneId, position).withFromLaneId(fromLaneId));
+    }
+
+    /**
+     * Queue several moves together (multi-select drags, column reorders).
+     * They are flushed in one group commit per lane partition, where the moves
+     * into each column are written by one set-based statement and published
+     * as a single {@code tasks-moved} event.
+     *
+     * @param moves move operations, see {@link WriteOperation#moveTask}
+     */
+    public void moveTasks(List<WriteOperation> moves) {
+        enqueueAll(moves);
+    }
+
+    public void deleteTask(Long id) {
+        deleteTask(id, null);
+    }
+
+    public void deleteTask(Long id, Long fromLaneId) {
+        enqueue(WriteOperation.deleteTask(id).withFromLaneId(fromLaneId));
+    }
+
+    public void saveSwimLane(SwimLane lane) {
+        enqueue(WriteOperation.saveSwimLane(lane));
+    }
+
+    public void deleteSwimLane(Long id) {
+        enqueue(WriteOperation.deleteSwimLane(id));
+    }
+
+    /**
+     * Write-behind queue metrics: per-partition dirty entities and flush queue
+     * depth, plus global coalescing counters.
+     */
+    public Map<String, Object> getStats() {
+        Map<Integer, PartitionStats> executorStats = new HashMap<>();
+        if (asyncWriteExecutor instanceof PartitionedWriteExecutor partitioned) {
+            partitioned.getStats().forEach(stats -> executorStats.put(stats.partition(), stats));
+        }
+
+        List<Map<String, Object>> partitions = new ArrayList<>();
+        for (int i = 0; i < writeBehindBuffer.getPartitionCount(); i++) {
+            Map<String, Object> partition = new LinkedHashMap<>();
+            partition.put("partition", i);
+            partition.put("dirtyEntities", writeBehindBuffer.getDirtyCount(i));
+            PartitionStats stats = executorStats.get(i);
+            if (stats != null) {
+                partition.put("queuedFlushes", stats.queued());
+                partition.put("activeFlushes", stats.active());
+                partition.put("completedFlushes", stats.completed());
+                partition.put("droppedSignals", stats.dropped());
+            }
+            partitions.add(partition);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pendingEntities", writeBehindBuffer.getPendingEntityCount());
+        result.put("oldestPendingAgeMs", writeBehindBuffer.getOldestPendingAgeMillis());
+        result.put("coalescedOperations", writeBehindBuffer.getCoalescedCount());
+        result.put("journalPending", journal.getPendingCount());
+        Map<String, Object> retry = new LinkedHashMap<>(retryPolicy.getStats());
+        retry.put("deadLetters", deadLetterStore.size());
+        result.put("retry", retry);
+        result.put("partitions", partitions);
+        return result;
+    }
+
+    // =========================================================================
+    // WRITE-BEHIND FLUSH
+    // =========================================================================
+
+    /**
+     * Journal the operation (so it survives a crash once this returns), expose
+     * it to reads through the overlay, then hand it to the write-behind buffer.
+     */
+    private void enqueue(WriteOperation op) {
+        schedule(writeBehindBuffer.add(accept(op)));
+    }
+
+    /**
+     * Enqueue operations so that they become dirty together and are taken by
+     * the same flush of their partition.
+     */
+    private void enqueueAll(List<WriteOperation> ops) {
+        writeBehindBuffer.addAll(ops.stream().map(this::accept).toList()).forEach(this::schedule);
+    }
+
+    private WriteOperation accept(WriteOperation op) {
+        op = op.withSequence(nextSequence.incrementAndGet());
+        op = op.withJournalSequence(journal.append(op));
+        operationTracker.accepted(op);
+        overlay.record(op);
+        return op;
+    }
+
+    private void schedule(int partition) {
+        if (partition != WriteBehindBuffer.ALREADY_SCHEDULED) {
+            asyncWriteExecutor.execute(new PartitionedTask(partition, () -> flushPartition(partition)));
+        }
+    }
+
+    /**
+     * Drain a partition: group-commit its dirty entities batch by batch until
+     * nothing is left, so a single queued flush covers every write that arrived
+     * before it started.
+     */
+    private void flushPartition(int partition) {
+        Map<String, List<WriteOperation>> batch;
+        while (!(batch = writeBehindBuffer.nextBatch(partition)).isEmpty()) {
+            try {
+                flushBatch(batch);
+            } finally {
+                // Operations that waited for this flush on another partition
+                writeBehindBuffer.complete(batch.keySet()).stream()
+                        .filter(p -> p != partition)
+                        .forEach(this::schedule);
+            }
+        }
+    }
+
+    /**
+     * Group commit: apply a batch of dirty entities in one transaction
+     * (Hibernate batches the resulting statements, see hibernate.jdbc.batch_size).
+     * Their SSE events leave the outbox only if the commit succeeded.
+     * If the batch fails, each entity is retried in its own transaction so one
+     * bad operation cannot take the rest of the batch down with it; a failed
+     * single-entity batch goes straight to the retry policy.
+     */
+    private void flushBatch(Map<String, List<WriteOperation>> batch) {
+        long start = System.currentTimeMillis();
+        log.info("AsyncDB: Group commit of {} entities ({} operations)", batch.size(),
+                batch.values().stream().mapToInt(List::size).sum());
+        try {
+            applyInTransaction(batch.values());
+            // Each lane written by the batch is finalised once
+            Map<Long, Long> committedTasks = new LinkedHashMap<>();
+            batch.values().stream()
+                    .map(ops -> ops.get(ops.size() - 1))
+                    .filter(WriteOperation::isTaskOperation)
+                    .forEach(last -> committedTasks.put(last.getEntityId(), last.getSequence()));
+            overlay.release(committedTasks);
+            List<Long> operationIds = new ArrayList<>();
+            batch.forEach((key, ops) -> {
+                retryPolicy.onSuccess(key);
+                operationIds.addAll(complete(key, ops, null));
+            });
+            restartStickyWindows(operationIds);
+            broadcastStatus(operationIds, null);
+            log.info("[TIMING] AsyncDB: Group commit of {} entities completed in {}ms", batch.size(),
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.forEach((key, ops) -> onFlushFailure(key, ops, e));
+                return;
+            }
+            log.warn("AsyncDB: Group commit of {} entities failed, retrying individually: {}", batch.size(),
+                    e.getMessage());
+            batch.forEach(this::flushEntity);
+        }
+    }
+
+    private void flushEntity(String key, List<WriteOperation> ops) {
+        try {
+            applyInTransaction(List.of(ops));
+            retryPolicy.onSuccess(key);
+            List<Long> operationIds = release(key, ops, null);
+            restartStickyWindows(operationIds);
+            broadcastStatus(operationIds, null);
+        } catch (RuntimeException e) {
+            onFlushFailure(key, ops, e);
+        }
+    }
+
+    /**
+     * Schedule a retry of a failed entity, keeping its operations pending, or
+     * dead-letter them once its attempts are exhausted.
+     */
+    private void onFlushFailure(String key, List<WriteOperation> ops, RuntimeException e) {
+        WriteOperation.Type type = ops.get(ops.size() - 1).getType();
+        writeBehindBuffer.holdForRetry(key);
+        if (retryPolicy.onFailure(key, type, () -> retry(key, ops))) {
+            return;
+        }
+        // Not retried: let newer operations of the entity flush again
+        schedule(writeBehindBuffer.requeue(key, List.of()));
+        log.error("AsyncDB: Giving up on {} operation(s) for {}", ops.size(), key, e);
+        String error = e.getMessage();
+        List<Long> operationIds = release(key, ops, error);
+        try {
+            deadLetterStore.add(key, ops, retryPolicy.getSettings(type).maxAttempts(), error);
+            // The dead letter is now the durable record of these operations
+            long lastJournalSequence = ops.stream().mapToLong(WriteOperation::getJournalSequence).max().orElse(0);
+            if (lastJournalSequence > 0) {
+                journal.commit(key, lastJournalSequence);
+            }
+        } catch (RuntimeException storeFailure) {
+            log.error("AsyncDB: Failed to dead-letter {}, operations stay in the journal", key, storeFailure);
+        }
+        broadcastStatus(operationIds, error);
+    }
+
+    /**
+     * Backoff expired: put the failed operations back in front of any newer
+     * ones and flush the entity on its partition again.
+     */
+    private void retry(String key, List<WriteOperation> ops) {
+        schedule(writeBehindBuffer.requeue(key, ops));
+    }
+
+    /**
+     * Finish flushed operations of an entity, including earlier operations that
+     * were coalesced into them: drop their read overlay (finalising the lane
+     * caches), resolve their operation ids and, if they committed, mark their
+     * journal records committed. Failed operations stay in the journal and are
+     * replayed on restart.
+     *
+     * @param error null if the operations committed
+     * @return the resolved operation ids
+     */
+    private List<Long> release(String key, List<WriteOperation> ops, String error) {
+        WriteOperation last = ops.get(ops.size() - 1);
+        if (last.isTaskOperation()) {
+            overlay.release(last.getEntityId(), last.getSequence());
+        }
+        return complete(key, ops, error);
+    }
+
+    /**
+     * {@link #release} without the overlay, for entities whose overlay was
+     * already released with the rest of their batch.
+     */
+    private List<Long> complete(String key, List<WriteOperation> ops, String error) {
+        WriteOperation last = ops.get(ops.size() - 1);
+        long lastJournalSequence = ops.stream().mapToLong(WriteOperation::getJournalSequence).max().orElse(0);
+        if (error == null && lastJournalSequence > 0) {
+            journal.commit(key, lastJournalSequence);
+        }
+        return operationTracker.complete(key, last.getSequence(), error == null, error);
+    }
+
+    /**
+     * Keep the users whose operations just committed on the primary for a
+     * full sticky window from now, so they do not read a replica that lags
+     * behind this commit.
+     */
+    private void restartStickyWindows(List<Long> operationIds) {
+        replicaLagGuard.ifAvailable(guard -> operationTracker.getOwners(operationIds).forEach(guard::recordWrite));
+    }
+
+    /**
+     * Acknowledge resolved operations to the clients that issued them.
+     */
+    private void broadcastStatus(List<Long> operationIds, String error) {
+        if (operationIds.isEmpty()) {
+            return;
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("operationIds", operationIds);
+        status.put("status", error == null ? OperationTracker.Status.COMMITTED : OperationTracker.Status.FAILED);
+        if (error != null) {
+            status.put("error", error);
+        }
+        eventPublisher.publish("operation-status", status);
+    }
+
+    // =========================================================================
+    // JOURNAL REPLAY
+    // =========================================================================
+
+    /**
+     * Re-apply operations that were journaled but not committed before the last
+     * shutdown/crash. Runs synchronously at startup, before the app reports
+     * ready, one transaction per entity. An entity that cannot be replayed
+     * keeps its journal records and is retried like a failed flush (see
+     * {@link #onReplayFailure}), so a database that is briefly unavailable at
+     * startup loses nothing and cannot block the startup either.
+     *
+     * @return number of replayed operations
+     */
+    public int replayJournal() {
+        Map<String, List<WriteAheadJournal.Entry>> byEntity = journal.takeRecovered().stream()
+                .collect(Collectors.groupingBy(WriteAheadJournal.Entry::key, LinkedHashMap::new,
+                        Collectors.toList()));
+        if (byEntity.isEmpty()) {
+            return 0;
+        }
+        log.info("AsyncDB: Replaying journaled operations for {} entities...", byEntity.size());
+        int replayed = 0;
+        for (Map.Entry<String, List<WriteAheadJournal.Entry>> entity : byEntity.entrySet()) {
+            if (replayEntity(entity.getKey(), entity.getValue())) {
+                replayed += entity.getValue().size();
+            }
+        }
+        log.info("AsyncDB: Replayed {} journaled operations", replayed);
+        return replayed;
+    }
+
+    /**
+     * Re-apply the journaled operations of one entity in a transaction and
+     * commit their records only once it committed.
+     *
+     * @return false if the replay failed and was handed to the retry policy
+     */
+    private boolean replayEntity(String key, List<WriteAheadJournal.Entry> entries) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> entries.forEach(entry -> {
+                WriteOperation op = toOperation(entry);
+                if (op != null) {
+                    apply(op);
+                }
+            }));
+        } catch (RuntimeException e) {
+            onReplayFailure(key, entries, e);
+            return false;
+        }
+        journal.commit(key, entries.get(entries.size() - 1).sequence());
+        return true;
+    }
+
+    /**
+     * Keep the records of an entity whose replay failed in the journal, hold
+     * its new writes (they must not overtake the replay) and retry the replay
+     * with backoff on the entity's partition. Once the attempts are exhausted
+     * the records are dead-lettered with their journal sequences.
+     */
+    private void onReplayFailure(String key, List<WriteAheadJournal.Entry> entries, RuntimeException e) {
+        WriteAheadJournal.Entry last = entries.get(entries.size() - 1);
+        writeBehindBuffer.holdForRetry(key);
+        if (retryPolicy.onFailure(key, last.type(), () -> asyncWriteExecutor.execute(new PartitionedTask(
+                writeBehindBuffer.partitionFor(routingKeyOf(last)), () -> retryReplay(key, entries))))) {
+            return;
+        }
+        // Not retried: let newer operations of the entity flush
+        schedule(writeBehindBuffer.requeue(key, List.of()));
+        log.error("AsyncDB: Giving up on replaying {} journaled operation(s) for {}", entries.size(), key, e);
+        try {
+            deadLetterStore.addEntries(key, entries, retryPolicy.getSettings(last.type()).maxAttempts(),
+                    e.getMessage());
+            // The dead letter is now the durable record of these operations
+            journal.commit(key, last.sequence());
+        } catch (RuntimeException storeFailure) {
+            log.error("AsyncDB: Failed to dead-letter {}, operations stay in the journal", key, storeFailure);
+        }
+    }
+
+    private void retryReplay(String key, List<WriteAheadJournal.Entry> entries) {
+        if (replayEntity(key, entries)) {
+            retryPolicy.onSuccess(key);
+            log.info("AsyncDB: Replayed {} journaled operation(s) for {}", entries.size(), key);
+            schedule(writeBehindBuffer.requeue(key, List.of()));
+        }
+    }
+
+    /**
+     * Same routing as the {@link WriteOperation#getRoutingKey()} of the
+     * journaled operation: task writes into a lane go to its partition.
+     */
+    private static String routingKeyOf(WriteAheadJournal.Entry entry) {
+        boolean intoLane = entry.type() == WriteOperation.Type.MOVE_TASK
+                || entry.type() == WriteOperation.Type.SAVE_TASK;
+        return intoLane && entry.laneId() != null ? "lane:" + entry.laneId() : entry.key();
+    }
+
+    /**
+     * Queue the operations of a dead letter again, as new write-behind
+     * operations, and remove it from the store. Operations whose entity no
+     * longer exists are skipped.
+     *
+     * @return the number of queued operations, or empty if there is no such
+     *         dead letter
+     */
+    public Optional<Integer> replayDeadLetter(long id) {
+        return deadLetterStore.get(id).map(deadLetter -> {
+            int queued = 0;
+            for (WriteAheadJournal.Entry entry : deadLetter.operations()) {
+                Long fromLaneId = entry.key().startsWith("task:")
+                        ? taskDAO.findById(entry.entityId())
+                                .map(task -> task.getSwimLane() != null ? task.getSwimLane().getId() : null)
+                                .orElse(null)
+                        : null;
+                WriteOperation op = toOperation(entry);
+                if (op != null) {
+                    enqueue(op.withFromLaneId(fromLaneId));
+                    queued++;
+                }
+            }
+            deadLetterStore.remove(id);
+            log.info("AsyncDB: Replayed dead letter #{} of {} ({} operation(s) queued)", id, deadLetter.key(),
+                    queued);
+            return queued;
+        });
+    }
+
+    /**
+     * Rebuild an operation from its journal record. Saves are re-applied on top
+     * of the current entity so that untouched state (comments, owner) is kept.
+     *
+     * @return the operation, or null if its entity no longer exists
+     */
+    private WriteOperation toOperation(WriteAheadJournal.Entry entry) {
+        return switch (entry.type()) {
+            case SAVE_TASK -> taskDAO.findById(entry.entityId()).map(task -> {
+                task.setName(entry.name());
+                task.setStatus(entry.status());
+                task.setTags(entry.tags());
+                if (entry.rank() != null) {
+                    task.setPosition(entry.rank());
+                }
+                if (entry.laneId() != null) {
+                    swimLaneDAO.findById(entry.laneId()).ifPresent(task::setSwimLane);
+                }
+                return WriteOperation.saveTask(task);
+            }).orElse(null);
+            case MOVE_TASK -> WriteOperation.moveTask(entry.entityId(), entry.status(), entry.laneId(),
+                    entry.position());
+            case DELETE_TASK -> WriteOperation.deleteTask(entry.entityId());
+            case SAVE_LANE -> swimLaneDAO.findById(entry.entityId()).map(lane -> {
+                lane.setName(entry.name());
+                lane.setPosition(entry.position());
+                lane.setIsCompleted(entry.completed());
+                lane.setIsDeleted(entry.deleted());
+                return WriteOperation.saveSwimLane(lane);
+            }).orElse(null);
+            case DELETE_LANE -> WriteOperation.deleteSwimLane(entry.entityId());
+        };
+    }
+
+    /**
+     * Apply the operations of each entity in one transaction. Only the final
+     * state of each entity is published, after commit. Entities whose only
+     * operation is a move into a column that other moves of the batch also
+     * target are applied per column instead (see {@link #applyColumnMoves}).
+     */
+    private void applyInTransaction(Collection<List<WriteOperation>> entities) {
+        transactionTemplate.executeWithoutResult(status -> {
+            simulateLatency();
+            Map<TaskRanking.Column, List<WriteOperation>> columnMoves = columnMoves(entities);
+            for (List<WriteOperation> ops : entities) {
+                if (ops.size() == 1 && columnMoves.containsKey(columnOf(ops.get(0)))) {
+                    continue;
+                }
+                for (int i = 0; i < ops.size(); i++) {
+                    apply(ops.get(i), i == ops.size() - 1);
+                }
+            }
+            applyColumnMoves(columnMoves);
+        });
+    }
+
+    /**
+     * Moves of the batch grouped by target column, for columns that at least
+     * two entities move into with nothing else pending.
+     */
+    private static Map<TaskRanking.Column, List<WriteOperation>> columnMoves(
+            Collection<List<WriteOperation>> entities) {
+        Map<TaskRanking.Column, List<WriteOperation>> columns = entities.stream()
+                .filter(ops -> ops.size() == 1 && columnOf(ops.get(0)) != null)
+                .map(ops -> ops.get(0))
+                .sorted(Comparator.comparingLong(WriteOperation::getSequence))
+                .collect(Collectors.groupingBy(AsyncWriteService::columnOf, LinkedHashMap::new,
+                        Collectors.toList()));
+        columns.values().removeIf(moves -> moves.size() < 2);
+        return columns;
+    }
+
+    private static TaskRanking.Column columnOf(WriteOperation op) {
+        return op.getType() == WriteOperation.Type.MOVE_TASK && op.getLaneId() != null
+                ? new TaskRanking.Column(op.getLaneId(), op.getStatus())
+                : null;
+    }
+
+    /**
+     * Set-based moves: rank the moves into each column together, in the order
+     * they were accepted, write them (and any tasks re-spaced to make room)
+     * with one statement per column, and publish every moved task in a single
+     * {@code tasks-moved} event.
+     */
+    private void applyColumnMoves(Map<TaskRanking.Column, List<WriteOperation>> columnMoves) {
+        if (columnMoves.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<Long> movedIds = new ArrayList<>();
+        columnMoves.forEach((column, moves) -> {
+            log.info("AsyncDB: Start processing MOVE of {} tasks to Status {} Lane {}...", moves.size(),
+                    column.status(), column.laneId());
+            taskArchiveService.restoreForMoves(moves);
+            Map<Long, Long> ranks = taskRanking.ranksFor(column.laneId(), column.status(), moves.stream()
+                    .map(op -> new TaskRanking.Drop(op.getEntityId(), op.getPosition()))
+                    .toList());
+            int updated = taskDAO.updateColumn(column.laneId(), column.status(), ranks);
+            movedIds.addAll(ranks.keySet());
+            log.info("AsyncDB: Updated {} rows of Lane {} column {} in one statement", updated, column.laneId(),
+                    column.status());
+        });
+        eventPublisher.publish("tasks-moved", taskDAO.findAllById(movedIds).stream().map(TaskView::of).toList());
+        log.info("[TIMING] AsyncDB: MOVE of {} tasks into {} columns completed in {}ms", movedIds.size(),
+                columnMoves.size(), System.currentTimeMillis() - start);
+    }
+
+    private void apply(WriteOperation op, boolean publish) {
+        SseEvent event = apply(op);
+        if (publish && event != null) {
+            eventPublisher.publish(event.name(), event.data());
+        }
+    }
+
+    private SseEvent apply(WriteOperation op) {
+        return switch (op.getType()) {
+            case SAVE_TASK -> applySaveTask(op.getTask(), op.getFromLaneId());
+            case MOVE_TASK -> applyMoveTask(op.getEntityId(), op.getStatus(), op.getLaneId(), op.getPosition(),
+                    op.getFromLaneId());
+            case DELETE_TASK -> applyDeleteTask(op.getEntityId(), op.getFromLaneId());
+            case SAVE_LANE -> applySaveSwimLane(op.getLane());
+            case DELETE_LANE -> applyDeleteSwimLane(op.getEntityId());
+        };
+    }
+
+    private SseEvent applySaveTask(Task task, Long fromLaneId) {
         log.info("AsyncDB: Start processing SAVE for Task ID {}...", task.getId());
-        simulateLatency();
+        if (task.getId() != null) {
+            taskArchiveService.restoreForWrite(task.getId(), fromLaneId != null ? fromLaneId
+                    : task.getSwimLane() != null ? task.getSwimLane().getId() : null);
+        }
         Task savedTask = taskDAO.save(task);
         log.info("AsyncDB: Completed SAVE for Task ID {}", task.getId());
-
-        sseService.broadcast("task-updated", savedTask);
+        return new SseEvent("task-updated", TaskView.of(savedTask));
     }
 
-    @Async("asyncWriteExecutor")
-    @Transactional
-    public void moveTask(Long id, com.example.todo.model.TaskStatus status, Long laneId, Integer position) {
+    private SseEvent applyMoveTask(Long id, TaskStatus status, Long laneId, Integer position, Long fromLaneId) {
         long start = System.currentTimeMillis();
-        log.info("AsyncDB: Start processing MOVE for Task ID {} to Status {} Lane {} Position {}...", id,
+        log.info("AsyncDB: Start processing MOVE for Task ID {} to Status {} Lane {} Index {}...", id,
                 status, laneId, position);
-        simulateLatency();
 
-        // STEP 1: Shift existing tasks to make room (single bulk UPDATE)
-        if (position != null && laneId != null) {
-            int shifted = taskDAO.shiftPositionsDown(laneId, status, position, id);
-            log.info("AsyncDB: Shifted {} tasks at position >= {} in lane {} column {}",
-                    shifted, position, laneId, status);
-        }
+        // STEP 0: Bring the task back if it was archived
+        taskArchiveService.restoreForWrite(id, fromLaneId);
 
-        // STEP 2: Update the moved task's position
-        taskDAO.updatePosition(id, status, laneId, position);
+        // STEP 1: Rank between the new neighbours (index reads only, archived tasks of the column included)
+        Long rank = laneId != null ? taskRanking.rankFor(laneId, status, position, id) : null;
 
-        // STEP 3: Broadcast update to all clients via SSE
-        taskDAO.findById(id).ifPresent(task -> {
-            log.info("AsyncDB: Task updated: ID={}, Name={}, Status={}, Lane={}, Position={}",
+        // STEP 2: Update the moved task - the only row written
+        taskDAO.updatePosition(id, status, laneId, rank);
+
+        // STEP 3: Reload for the SSE broadcast to all clients
+        SseEvent event = taskDAO.findById(id).map(task -> {
+            log.info("AsyncDB: Task updated: ID={}, Name={}, Status={}, Lane={}, Rank={}",
                     task.getId(), task.getName(), task.getStatus(),
                     task.getSwimLane() != null ? task.getSwimLane().getId() : "null",
                     task.getPosition());
-            sseService.broadcast("task-updated", task);
-        });
+            return new SseEvent("task-updated", TaskView.of(task));
+        }).orElse(null);
 
         log.info("[TIMING] AsyncDB: MOVE for Task ID {} completed in {}ms", id, System.currentTimeMillis() - start);
+        return event;
     }
 
-    @Async("asyncWriteExecutor")
-    @Transactional
-    public void deleteTask(Long id) {
+    private SseEvent applyDeleteTask(Long id, Long fromLaneId) {
         log.info("AsyncDB: Start processing DELETE for Task ID {}...", id);
-        simulateLatency();
+        taskArchiveService.restoreForWrite(id, fromLaneId);
         taskDAO.deleteById(id);
         log.info("AsyncDB: Completed DELETE for Task ID {}", id);
-        sseService.broadcast("task-deleted", id);
+        return new SseEvent("task-deleted", id);
     }
 
-    @Async("asyncWriteExecutor")
-    @Transactional
-    public void saveSwimLane(SwimLane lane) {
+    private SseEvent applySaveSwimLane(SwimLane lane) {
         log.info("AsyncDB: Start processing SAVE for SwimLane ID {}...", lane.getId());
-        simulateLatency();
+        if (lane.getId() != null && !Boolean.TRUE.equals(lane.getIsCompleted())) {
+            taskArchiveService.restoreLane(lane.getId()); // reopened
+        }
         SwimLane savedLane = swimLaneDAO.save(lane);
+        if (savedLane.getUser() != null) {
+            pageCache.invalidate(PageCache.userOwner(savedLane.getUser().getId()));
+        }
         log.info("AsyncDB: Completed SAVE for SwimLane ID {}", lane.getId());
-        sseService.broadcast("lane-updated", savedLane);
+        return new SseEvent("lane-updated", SwimLaneView.of(savedLane));
     }
 
-    @Async("asyncWriteExecutor")
-    @Transactional
-    public void deleteSwimLane(Long id) {
+    private SseEvent applyDeleteSwimLane(Long id) {
         log.info("AsyncDB: Start processing DELETE for SwimLane ID {}...", id);
-        simulateLatency();
-        swimLaneDAO.deleteById(id); // Note: Service calls this with ID, but original code might have been object.
-        // Checking original code: deleteSwimLane(Long id) calls
-        // swimLaneDAO.deleteById(id).
-        // Wait, previous view showed deleteSwimLane(Long id).
-        // Let's stick to the signature in the file.
+        swimLaneDAO.findById(id).map(SwimLane::getUser)
+                .ifPresent(user -> pageCache.invalidate(PageCache.userOwner(user.getId())));
+        taskArchiveService.deleteLane(id);
+        swimLaneDAO.deleteById(id);
         log.info("AsyncDB: Completed DELETE for SwimLane ID {}", id);
-        sseService.broadcast("lane-updated", SwimLane.builder().id(id).isDeleted(true).build()); // Broadcast deletion
+        return new SseEvent("lane-updated", SwimLaneView.of(SwimLane.builder().id(id).isDeleted(true).build())); // Broadcast deletion
     }
 
     private void simulateLatency() {
@@ -105,4 +736,10 @@ public class AsyncWriteService {
             Thread.currentThread().interrupt();
         }
     }
+
+    /**
+     * SSE event produced by a flushed operation.
+     */
+    private record SseEvent(String name, Object data) {
+    }
 }
@@ -0,0 +1,226 @@
+package com.example.todo.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * BoardExportService - Streams a user's board as NDJSON, one record per line.
+ *
+ * Lanes, tasks and comments are read with plain JDBC through forward-only
+ * cursors ({@code app.export.fetch-size} rows per round trip; Postgres only
+ * uses a cursor inside a transaction, hence the read-only transaction) and
+ * each row is written to the response as soon as it is read. Nothing is
+ * collected, no entity is loaded and no cache is touched, so heap use does
+ * not grow with the size of the board. Each export holds a connection for
+ * its duration, so at most {@code app.export.max-concurrent} run at once.
+ *
+ * Records:
+ * <pre>
+ * {"type":"board","version":1,"exportedAt":"..."}
+ * {"type":"lane","id":1,"name":"...","isCompleted":false,"position":0}
+ * {"type":"task","id":7,"laneId":1,"name":"...","status":"TODO","position":65536,"tags":["a"]}
+ * {"type":"comment","id":3,"taskId":7,"text":"...","createdAt":"..."}
+ * </pre>
+ * Lanes come first, then tasks (by lane, column and rank), then comments (by
+ * task and id), each in the order of an existing index; tasks and comments
+ * in the archive tables follow the hot ones of their kind. The export reflects
+ * committed data; queued write-behind operations are not included.
+ * {@link BoardImportService} reads this format back.
+ */
+@Service
+@Log4j2
+public class BoardExportService {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final String LANES_SQL = "SELECT id, name, is_completed, position_order FROM swim_lanes "
+            + "WHERE user_id = ? AND is_deleted = false ORDER BY position_order, id";
+
+    private static final String TASKS_SQL = "SELECT t.id, t.swim_lane_id, t.name, t.status, t.sort_rank, t.tag_list "
+            + "FROM tasks t JOIN swim_lanes l ON l.id = t.swim_lane_id "
+            + "WHERE l.user_id = ? AND l.is_deleted = false ORDER BY t.swim_lane_id, t.status, t.sort_rank, t.id";
+
+    private static final String COMMENTS_SQL = "SELECT c.id, c.task_id, c.text, c.created_at FROM comments c "
+            + "JOIN tasks t ON t.id = c.task_id JOIN swim_lanes l ON l.id = t.swim_lane_id "
+            + "WHERE l.user_id = ? AND l.is_deleted = false ORDER BY c.task_id, c.id";
+
+    private static final String ARCHIVED_TASKS_SQL = "SELECT t.id, t.swim_lane_id, t.name, t.status, t.sort_rank, "
+            + "t.tag_list FROM tasks_archive t JOIN swim_lanes l ON l.id = t.swim_lane_id "
+            + "WHERE l.user_id = ? AND l.is_deleted = false ORDER BY t.swim_lane_id, t.status, t.sort_rank, t.id";
+
+    private static final String ARCHIVED_COMMENTS_SQL = "SELECT c.id, c.task_id, c.text, c.created_at "
+            + "FROM comments_archive c JOIN tasks_archive t ON t.id = c.task_id "
+            + "JOIN swim_lanes l ON l.id = t.swim_lane_id "
+            + "WHERE l.user_id = ? AND l.is_deleted = false ORDER BY c.task_id, c.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Semaphore slots;
+
+    public BoardExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${app.export.fetch-size:500}") int fetchSize,
+            @Value("${app.export.max-concurrent:2}") int maxConcurrent) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // One snapshot for all queries, so no task is missed or doubled while it moves to or from the archive
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    /**
+     * Reserve one of the export slots; the caller must {@link #release()} it
+     * once the export has been written.
+     *
+     * @return false if the maximum number of exports is already running
+     */
+    public boolean tryAcquire() {
+        return slots.tryAcquire();
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    /**
+     * Counts of the records written by one export.
+     */
+    public record ExportSummary(long lanes, long tasks, long comments) {
+    }
+
+    /**
+     * Write the board of a user to the stream as NDJSON, gzipped if asked.
+     * The stream itself is left open.
+     */
+    public ExportSummary export(Long userId, OutputStream out, boolean gzip) throws IOException {
+        long start = System.currentTimeMillis();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 8192) : null;
+        ExportSummary summary;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(compressed != null ? compressed : out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are separated by the newlines written after them, not by the default space
+            json.setRootValueSeparator(null);
+            summary = transactionTemplate.execute(status -> write(userId, json));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+        log.info("[EXPORT] Exported {} lanes, {} tasks, {} comments for user {} in {}ms", summary.lanes(),
+                summary.tasks(), summary.comments(), userId, System.currentTimeMillis() - start);
+        return summary;
+    }
+
+    private ExportSummary write(Long userId, JsonGenerator json) {
+        try {
+            json.writeStartObject();
+            json.writeStringField("type", "board");
+            json.writeNumberField("version", FORMAT_VERSION);
+            json.writeStringField("exportedAt", Instant.now().toString());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long lanes = stream(LANES_SQL, userId, json, rs -> {
+            json.writeStringField("type", "lane");
+            json.writeNumberField("id", rs.getLong("id"));
+            json.writeStringField("name", rs.getString("name"));
+            json.writeBooleanField("isCompleted", rs.getBoolean("is_completed"));
+            writeNumber(json, "position", rs.getObject("position_order", Integer.class));
+        });
+        RecordWriter task = rs -> {
+            json.writeStringField("type", "task");
+            json.writeNumberField("id", rs.getLong("id"));
+            json.writeNumberField("laneId", rs.getLong("swim_lane_id"));
+            json.writeStringField("name", rs.getString("name"));
+            json.writeStringField("status", rs.getString("status"));
+            writeNumber(json, "position", rs.getObject("sort_rank", Long.class));
+            json.writeArrayFieldStart("tags");
+            Array tags = rs.getArray("tag_list");
+            if (tags != null) {
+                for (Object tag : (Object[]) tags.getArray()) {
+                    json.writeString(String.valueOf(tag));
+                }
+                tags.free();
+            }
+            json.writeEndArray();
+        };
+        RecordWriter comment = rs -> {
+            json.writeStringField("type", "comment");
+            json.writeNumberField("id", rs.getLong("id"));
+            json.writeNumberField("taskId", rs.getLong("task_id"));
+            json.writeStringField("text", rs.getString("text"));
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            if (createdAt != null) {
+                json.writeStringField("createdAt", createdAt.toLocalDateTime().toString());
+            }
+        };
+        // Archived tasks after the hot ones, and all tasks before any comment
+        long tasks = stream(TASKS_SQL, userId, json, task) + stream(ARCHIVED_TASKS_SQL, userId, json, task);
+        long comments = stream(COMMENTS_SQL, userId, json, comment)
+                + stream(ARCHIVED_COMMENTS_SQL, userId, json, comment);
+        return new ExportSummary(lanes, tasks, comments);
+    }
+
+    /**
+     * Writes the fields of one row into an already opened record.
+     */
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    /**
+     * Run a query and write one NDJSON line per row as it is fetched.
+     *
+     * @return the number of rows written
+     */
+    private long stream(String sql, Long userId, JsonGenerator json, RecordWriter writer) {
+        long[] rows = { 0 };
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            try {
+                json.writeStartObject();
+                writer.write(rs);
+                json.writeEndObject();
+                json.writeRaw('\n');
+                rows[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, userId);
+        return rows[0];
+    }
+
+    private static void writeNumber(JsonGenerator json, String field, Number value) throws IOException {
+        if (value != null) {
+            json.writeNumberField(field, value.longValue());
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.example.todo.service;
+
+import com.example.todo.exception.DuplicateOperationException;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.TagListDeserializer;
+import com.example.todo.model.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * BoardImportService - Bulk import of lanes, tasks and comments for one user.
+ *
+ * Reads the format written by {@link BoardExportService} (one record per
+ * line, or the same records in a JSON array) with Jackson's streaming parser,
+ * one record at a time, so the payload is never held in memory. Records are
+ * buffered up to {@code app.import.chunk-size} rows and written per chunk in
+ * one transaction with batched JDBC inserts; ids are taken in blocks from the
+ * same pooled-lo sequences the entities use, so no row is read back.
+ *
+ * Lanes are inserted as deleted and only made visible, together, once every
+ * chunk has committed: readers never see a half-imported board, a failed
+ * import leaves nothing visible behind, and the {@code lanesByUser} cache
+ * (and the lanes' second-level cache entries, which JDBC writes bypass) is
+ * evicted and a single {@code board-imported} SSE event published once at the
+ * end instead of per row.
+ *
+ * Records refer to each other by the ids of the source board ({@code laneId},
+ * {@code taskId}) and must come after what they refer to; only those source
+ * ids are kept in memory. Imported lanes are appended after the user's
+ * existing lanes, and tasks are ranked in file order within their column.
+ * Records that cannot be imported (unknown type, missing name, unknown
+ * status, dangling reference) are skipped and counted.
+ */
+@Service
+@Log4j2
+public class BoardImportService {
+
+    private static final String INSERT_LANE = "INSERT INTO swim_lanes "
+            + "(id, name, is_completed, is_deleted, position_order, user_id) VALUES (?, ?, ?, true, ?, ?)";
+
+    private static final String INSERT_TASK = "INSERT INTO tasks "
+            + "(id, name, status, swim_lane_id, sort_rank, tag_list) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_COMMENT = "INSERT INTO comments "
+            + "(id, text, created_at, updated_at, task_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String PUBLISH_LANE = "UPDATE swim_lanes SET is_deleted = false, deleted_at = NULL WHERE id = ?";
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final SseEventPublisher sseEventPublisher;
+    private final PageCache pageCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int chunkSize;
+    private final int allocationSize;
+
+    /** Whether the database is Postgres (nextval syntax), resolved on first use. */
+    private volatile Boolean postgres;
+
+    /** Progress of the running (or last) import per user. */
+    private final Map<Long, ImportProgress> progress = new ConcurrentHashMap<>();
+
+    public BoardImportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, CacheManager cacheManager, SseEventPublisher sseEventPublisher,
+            PageCache pageCache, EntityManagerFactory entityManagerFactory,
+            @Value("${app.import.chunk-size:1000}") int chunkSize,
+            @Value("${app.id.allocation-size:50}") int allocationSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+        this.sseEventPublisher = sseEventPublisher;
+        this.pageCache = pageCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.allocationSize = allocationSize;
+    }
+
+    /**
+     * One line of the import, as written by the export. Fields that do not
+     * apply to a type are ignored.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ImportRecord(String type, Integer version, Long id, Long laneId, Long taskId, String name,
+            Boolean isCompleted, String status,
+            @JsonDeserialize(using = TagListDeserializer.class) List<String> tags,
+            String text, String createdAt) {
+    }
+
+    /**
+     * Counts of an import; {@code running} until the lanes are published.
+     */
+    public record ImportSummary(boolean running, long lanes, long tasks, long comments, long skipped,
+            long elapsedMs) {
+    }
+
+    /**
+     * Live counters of one import, readable while it runs.
+     */
+    private static final class ImportProgress {
+        private final long start = System.currentTimeMillis();
+        private final AtomicLong lanes = new AtomicLong();
+        private final AtomicLong tasks = new AtomicLong();
+        private final AtomicLong comments = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private volatile long finishedAt;
+
+        ImportSummary summary() {
+            long end = finishedAt != 0 ? finishedAt : System.currentTimeMillis();
+            return new ImportSummary(finishedAt == 0, lanes.get(), tasks.get(), comments.get(), skipped.get(),
+                    end - start);
+        }
+    }
+
+    /**
+     * Progress of the user's running import, or the result of the last one
+     * (null if none ran since startup). Counts are of committed rows.
+     */
+    public ImportSummary getProgress(Long userId) {
+        ImportProgress current = progress.get(userId);
+        return current != null ? current.summary() : null;
+    }
+
+    /**
+     * Users with an import still running: their lanes are hidden as deleted
+     * until it publishes them, so the purge leaves them alone.
+     */
+    public Set<Long> getImportingUserIds() {
+        return progress.entrySet().stream()
+                .filter(entry -> entry.getValue().finishedAt == 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Import a board into the account of a user.
+     *
+     * @throws DuplicateOperationException if an import of the same user is running
+     * @throws IllegalArgumentException if the payload is not valid JSON;
+     *         nothing becomes visible in that case
+     */
+    public ImportSummary importBoard(Long userId, InputStream in) throws IOException {
+        ImportProgress current = new ImportProgress();
+        ImportProgress previous = progress.get(userId);
+        boolean started = previous == null
+                ? progress.putIfAbsent(userId, current) == null
+                : previous.finishedAt != 0 && progress.replace(userId, previous, current);
+        if (!started) {
+            throw new DuplicateOperationException("An import is already running for this user",
+                    "import:" + userId);
+        }
+        try {
+            ImportSummary summary = run(userId, in, current);
+            log.info("[IMPORT] Imported {} lanes, {} tasks, {} comments ({} skipped) for user {} in {}ms",
+                    summary.lanes(), summary.tasks(), summary.comments(), summary.skipped(), userId,
+                    summary.elapsedMs());
+            return summary;
+        } finally {
+            current.finishedAt = System.currentTimeMillis();
+        }
+    }
+
+    private ImportSummary run(Long userId, InputStream in, ImportProgress counters) throws IOException {
+        Chunk chunk = new Chunk(userId, nextLanePosition(userId));
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Expected a record object at line "
+                            + parser.currentLocation().getLineNr());
+                }
+                if (!chunk.add(parser.readValueAs(ImportRecord.class))) {
+                    counters.skipped.incrementAndGet();
+                }
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, counters);
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("[IMPORT] Aborted import for user {}: {}", userId, e.getOriginalMessage());
+            String at = e.getLocation() != null ? " at line " + e.getLocation().getLineNr() : "";
+            throw new IllegalArgumentException("Malformed import" + at + ": " + e.getOriginalMessage());
+        }
+        flush(chunk, counters);
+        publish(userId, chunk.laneIds, counters);
+        counters.finishedAt = System.currentTimeMillis();
+        return counters.summary();
+    }
+
+    /**
+     * Write the buffered rows in one transaction: lanes, then tasks, then
+     * comments, so every reference is already inserted.
+     */
+    private void flush(Chunk chunk, ImportProgress counters) {
+        if (chunk.size() == 0) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_LANE, chunk.lanes);
+            jdbcTemplate.batchUpdate(INSERT_TASK, chunk.tasks, chunk.tasks.size(), (statement, row) -> {
+                for (int i = 0; i < 5; i++) {
+                    statement.setObject(i + 1, row[i]);
+                }
+                statement.setArray(6, statement.getConnection().createArrayOf("varchar", (String[]) row[5]));
+            });
+            jdbcTemplate.batchUpdate(INSERT_COMMENT, chunk.comments);
+        });
+        counters.lanes.addAndGet(chunk.lanes.size());
+        counters.tasks.addAndGet(chunk.tasks.size());
+        counters.comments.addAndGet(chunk.comments.size());
+        log.info("[IMPORT] Chunk of {} rows committed in {}ms ({} lanes, {} tasks, {} comments so far)",
+                chunk.size(), System.currentTimeMillis() - start, counters.lanes.get(), counters.tasks.get(),
+                counters.comments.get());
+        chunk.clear();
+    }
+
+    /**
+     * Make the imported lanes visible in one transaction, then evict the
+     * user's lane lists and notify clients once.
+     */
+    private void publish(Long userId, List<Long> laneIds, ImportProgress counters) {
+        if (laneIds.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(PUBLISH_LANE, laneIds.stream().map(id -> new Object[] { id }).toList());
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("userId", userId);
+            event.put("lanes", counters.lanes.get());
+            event.put("tasks", counters.tasks.get());
+            event.put("comments", counters.comments.get());
+            sseEventPublisher.publish("board-imported", event);
+            pageCache.invalidate(PageCache.userOwner(userId));
+        });
+        Cache cache = cacheManager.getCache("lanesByUser");
+        if (cache != null) {
+            cache.evict(userId);
+            cache.evict("active-" + userId);
+            log.info("[CACHE EVICT] Evicted lanesByUser for user {} after import", userId);
+        }
+        // Published with JDBC: drop any copy Hibernate cached while the lanes were hidden
+        laneIds.forEach(id -> entityManagerFactory.getCache().evict(SwimLane.class, id));
+    }
+
+    private int nextLanePosition(Long userId) {
+        Integer max = jdbcTemplate.queryForObject("SELECT MAX(position_order) FROM swim_lanes WHERE user_id = ?",
+                Integer.class, userId);
+        return max == null ? 0 : max + 1;
+    }
+
+    /**
+     * Rows waiting for the next flush, plus what must outlive a chunk: the
+     * new ids of source lanes and tasks, and the last rank of each column.
+     */
+    private final class Chunk {
+        private final Long userId;
+        private int nextLanePosition;
+        private final List<Object[]> lanes = new ArrayList<>();
+        private final List<Object[]> tasks = new ArrayList<>();
+        private final List<Object[]> comments = new ArrayList<>();
+        private final List<Long> laneIds = new ArrayList<>();
+        private final Map<Long, Long> laneIdsBySource = new HashMap<>();
+        private final Map<Long, Long> taskIdsBySource = new HashMap<>();
+        private final Map<String, Long> columnRanks = new HashMap<>();
+        private final Map<String, IdBlock> idBlocks = new HashMap<>();
+
+        Chunk(Long userId, int nextLanePosition) {
+            this.userId = userId;
+            this.nextLanePosition = nextLanePosition;
+        }
+
+        /**
+         * Buffer the row for one record.
+         *
+         * @return false if the record was skipped
+         */
+        boolean add(ImportRecord record) {
+            String type = record.type() == null ? "" : record.type();
+            switch (type) {
+                case "board":
+                    if (record.version() != null && record.version() > BoardExportService.FORMAT_VERSION) {
+                        throw new IllegalArgumentException("Unsupported export version " + record.version());
+                    }
+                    return true;
+                case "lane":
+                    return addLane(record);
+                case "task":
+                    return addTask(record);
+                case "comment":
+                    return addComment(record);
+                default:
+                    log.debug("[IMPORT] Skipping record of unknown type '{}'", type);
+                    return false;
+            }
+        }
+
+        private boolean addLane(ImportRecord record) {
+            if (!validName(record.name())) {
+                return false;
+            }
+            long id = nextId("swim_lanes_seq");
+            lanes.add(new Object[] { id, record.name(), Boolean.TRUE.equals(record.isCompleted()),
+                    nextLanePosition++, userId });
+            laneIds.add(id);
+            if (record.id() != null) {
+                laneIdsBySource.put(record.id(), id);
+            }
+            return true;
+        }
+
+        private boolean addTask(ImportRecord record) {
+            Long laneId = laneIdsBySource.get(record.laneId());
+            TaskStatus status = status(record.status());
+            if (laneId == null || status == null || !validName(record.name())) {
+                return false;
+            }
+            long id = nextId("tasks_seq");
+            Long rank = TaskRanking.after(columnRanks.get(laneId + ":" + status));
+            columnRanks.put(laneId + ":" + status, rank);
+            tasks.add(new Object[] { id, record.name(), status.name(), laneId, rank,
+                    TagListDeserializer.normalize(record.tags()).toArray(String[]::new) });
+            if (record.id() != null) {
+                taskIdsBySource.put(record.id(), id);
+            }
+            return true;
+        }
+
+        private boolean addComment(ImportRecord record) {
+            Long taskId = taskIdsBySource.get(record.taskId());
+            if (taskId == null || record.text() == null || record.text().isBlank()) {
+                return false;
+            }
+            Timestamp createdAt = Timestamp.valueOf(createdAt(record.createdAt()));
+            comments.add(new Object[] { nextId("comments_seq"), record.text(), createdAt, createdAt, taskId });
+            return true;
+        }
+
+        int size() {
+            return lanes.size() + tasks.size() + comments.size();
+        }
+
+        void clear() {
+            lanes.clear();
+            tasks.clear();
+            comments.clear();
+        }
+
+        private long nextId(String sequence) {
+            return idBlocks.computeIfAbsent(sequence, IdBlock::new).next();
+        }
+    }
+
+    /**
+     * Ids handed out from one pooled-lo block: a single {@code nextval}
+     * reserves {@code app.id.allocation-size} ids starting at its value,
+     * exactly as {@code PooledSequenceGenerator} does for the entities.
+     */
+    private final class IdBlock {
+        private final String sequence;
+        private long next;
+        private long remaining;
+
+        IdBlock(String sequence) {
+            this.sequence = sequence;
+        }
+
+        long next() {
+            if (remaining == 0) {
+                next = jdbcTemplate.queryForObject(nextValueSql(sequence), Long.class);
+                remaining = allocationSize;
+            }
+            remaining--;
+            return next++;
+        }
+    }
+
+    private String nextValueSql(String sequence) {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres"));
+        }
+        return Boolean.TRUE.equals(postgres) ? "SELECT nextval('" + sequence + "')"
+                : "SELECT NEXT VALUE FOR " + sequence;
+    }
+
+    private static boolean validName(String name) {
+        return name != null && !name.isBlank() && name.length() <= MAX_NAME_LENGTH;
+    }
+
+    private static TaskStatus status(String status) {
+        if (status == null) {
+            return TaskStatus.TODO;
+        }
+        try {
+            return TaskStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime createdAt(String value) {
+        if (value != null) {
+            try {
+                return LocalDateTime.parse(value);
+            } catch (DateTimeParseException e) {
+                log.debug("[IMPORT] Unreadable comment timestamp '{}', using now", value);
+            }
+        }
+        return LocalDateTime.now();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.todo.service;
+
+import com.example.todo.model.SwimLaneView;
+import com.example.todo.model.TaskView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * BoardSnapshotService - The current user's active board in one response.
+ *
+ * Writes {@code {"lanes":[...],"tasks":[...]}} (the shape of the index page's
+ * initial data) instead of the client asking for each lane's tasks. Tasks are
+ * read {@code app.board.lane-batch-size} lanes at a time through
+ * {@link TaskService#getTasksBySwimLaneIds}, one query per batch for the
+ * lanes not already cached, which also fills {@code tasksByLane} for them.
+ * Each batch is written and flushed before the next is read, so the board is
+ * never held as one list. Queued writes are applied like on the per-lane
+ * endpoint.
+ */
+@Service
+@Log4j2
+public class BoardSnapshotService {
+
+    private final SwimLaneService swimLaneService;
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final int laneBatchSize;
+
+    public BoardSnapshotService(SwimLaneService swimLaneService, TaskService taskService, ObjectMapper objectMapper,
+            @Value("${app.board.lane-batch-size:100}") int laneBatchSize) {
+        this.swimLaneService = swimLaneService;
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.laneBatchSize = Math.max(1, laneBatchSize);
+    }
+
+    /**
+     * Write the snapshot to the stream, which is left open.
+     */
+    public void write(OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        List<SwimLaneView> lanes = swimLaneService.getActiveSwimLanes();
+        long tasks = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeArrayFieldStart("lanes");
+            for (SwimLaneView lane : lanes) {
+                json.writePOJO(lane);
+            }
+            json.writeEndArray();
+            json.writeArrayFieldStart("tasks");
+            for (int from = 0; from < lanes.size(); from += laneBatchSize) {
+                List<Long> laneIds = lanes.subList(from, Math.min(from + laneBatchSize, lanes.size())).stream()
+                        .map(SwimLaneView::id)
+                        .toList();
+                for (List<TaskView> laneTasks : taskService.getTasksBySwimLaneIds(laneIds).values()) {
+                    for (TaskView task : laneTasks) {
+                        json.writePOJO(task);
+                        tasks++;
+                    }
+                }
+                json.flush();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        out.flush();
+        log.info("[TIMING] Board snapshot with {} lanes and {} tasks written in {}ms", lanes.size(), tasks,
+                System.currentTimeMillis() - start);
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.todo.service;
 
 import com.example.todo.dao.UserDAO;
-import com.example.todo.model.SwimLane;
+import com.example.todo.model.SwimLaneView;
 import com.example.todo.model.User;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -51,7 +51,7 @@ public class CacheWarmupService {
 
             // Pre-warm lanesByUser cache (parallel calls)
             long start = System.currentTimeMillis();
-            List<SwimLane> allLanes = users.parallelStream()
+            List<SwimLaneView> allLanes = users.parallelStream()
                     .flatMap(user -> swimLaneService.getActiveSwimLanesForUser(user.getId()).stream())
                     .collect(Collectors.toList());
             log.info("[CACHE WARMUP] Cached {} total lanes for {} users in {}ms (parallel)", 
@@ -62,7 +62,7 @@ public class CacheWarmupService {
             start = System.currentTimeMillis();
             AtomicInteger totalTasks = new AtomicInteger(0);
             allLanes.parallelStream().forEach(lane -> {
-                int taskCount = taskService.getTasksBySwimLaneId(lane.getId()).size();
+                int taskCount = taskService.getTasksBySwimLaneId(lane.id()).size();
                 totalTasks.addAndGet(taskCount);
             });
             log.info("[CACHE WARMUP] Cached {} total tasks across {} lanes in {}ms (parallel)", 
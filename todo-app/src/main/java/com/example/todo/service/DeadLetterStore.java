@@ -0,0 +1,127 @@
+package com.example.todo.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * DeadLetterStore - Write-behind operations that exhausted their retries.
+ *
+ * Entries are kept in a local JSON file ({@code app.dead-letter.file}) rather
+ * than in the database, because they are typically produced while the
+ * database is unavailable. Each change rewrites the file atomically; an empty
+ * path keeps the store in memory only. Entries stay until an admin replays or
+ * discards them via {@code /api/write-behind/dead-letters}.
+ */
+@Component
+@Log4j2
+public class DeadLetterStore {
+
+    /**
+     * Operations of one entity that could not be written.
+     */
+    public record DeadLetter(long id, String key, List<WriteAheadJournal.Entry> operations, int attempts,
+            String error, Instant failedAt) {
+    }
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final TreeMap<Long, DeadLetter> entries = new TreeMap<>();
+    private long nextId = 1;
+
+    public DeadLetterStore(@Value("${app.dead-letter.file:data/dead-letters.json}") String file,
+            ObjectMapper objectMapper) {
+        this.file = file == null || file.isBlank() ? null : Paths.get(file);
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        if (file == null || !Files.exists(file)) {
+            return;
+        }
+        try {
+            List<DeadLetter> stored = objectMapper.readValue(file.toFile(), new TypeReference<>() {
+            });
+            stored.forEach(entry -> entries.put(entry.id(), entry));
+            nextId = entries.isEmpty() ? 1 : entries.lastKey() + 1;
+            if (!entries.isEmpty()) {
+                log.warn("[DEAD LETTER] {} dead-lettered write(s) waiting for review in {}", entries.size(), file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load dead letters from " + file, e);
+        }
+    }
+
+    /**
+     * Persist the operations of an entity that failed for good.
+     */
+    public synchronized DeadLetter add(String key, List<WriteOperation> ops, int attempts, String error) {
+        return addEntries(key, ops.stream().map(op -> WriteAheadJournal.Entry.of(op.getSequence(), op)).toList(),
+                attempts, error);
+    }
+
+    /**
+     * Persist journal records of an entity that failed for good, e.g. when
+     * their replay kept failing.
+     */
+    public synchronized DeadLetter addEntries(String key, List<WriteAheadJournal.Entry> operations, int attempts,
+            String error) {
+        DeadLetter entry = new DeadLetter(nextId++, key, operations, attempts, error, Instant.now());
+        entries.put(entry.id(), entry);
+        save();
+        log.error("[DEAD LETTER] {} operation(s) of {} dead-lettered as #{} after {} attempt(s): {}",
+                operations.size(), key, entry.id(), attempts, error);
+        return entry;
+    }
+
+    public synchronized List<DeadLetter> list() {
+        return new ArrayList<>(entries.values());
+    }
+
+    public synchronized Optional<DeadLetter> get(long id) {
+        return Optional.ofNullable(entries.get(id));
+    }
+
+    public synchronized Optional<DeadLetter> remove(long id) {
+        DeadLetter removed = entries.remove(id);
+        if (removed != null) {
+            save();
+        }
+        return Optional.ofNullable(removed);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void save() {
+        if (file == null) {
+            return;
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, "dead-letters", ".tmp");
+            objectMapper.writeValue(tmp.toFile(), entries.values());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to persist dead letters to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.todo.service;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Durability of a write-behind mutation at the time its request returns.
+ * Requested per request with the {@code X-Durability} header or the
+ * {@code durability} parameter.
+ */
+public enum Durability {
+
+    /** Queued and journaled; the journal is flushed by the OS (default). */
+    ASYNC("async"),
+
+    /** Queued and journaled, with the journal forced to disk. */
+    ACK_ON_JOURNAL("ack-on-journal"),
+
+    /** Committed to the database. */
+    SYNC_COMMIT("sync-commit");
+
+    private final String value;
+
+    Durability(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not a known mode
+     */
+    public static Durability fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.value.equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown durability '" + value + "', expected one of "
+                        + Arrays.stream(values()).map(Durability::getValue).collect(Collectors.joining(", "))));
+    }
+}
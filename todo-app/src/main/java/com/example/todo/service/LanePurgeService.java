@@ -0,0 +1,320 @@
+package com.example.todo.service;
+
+import com.example.todo.model.SwimLane;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+
+/**
+ * LanePurgeService - Hard-deletes soft-deleted lanes after a retention period.
+ *
+ * Deleting a lane only flags it ({@code is_deleted}, {@code deleted_at}); its
+ * tasks and comments stay in the hot and archive tables. Every
+ * {@code app.purge.interval-ms} the lanes deleted more than
+ * {@code app.purge.retention-days} ago are removed for good: their tasks in
+ * chunks of {@code app.purge.chunk-size}, comments first, each chunk in its
+ * own short transaction with set-based {@code DELETE}s, then the lane rows.
+ *
+ * The purge runs on its own thread ({@code lanePurgeExecutor}), never on the
+ * scheduler thread, and gives way to user traffic: it pauses
+ * {@code app.purge.pause-ms} between chunks, and backs off for
+ * {@code app.purge.backoff-ms} when a chunk took longer than
+ * {@code app.purge.slow-chunk-ms} or requests are waiting for a connection.
+ * A run stops after {@code app.purge.max-run-ms}; the next one picks up
+ * where it left off.
+ */
+@Service
+@Log4j2
+public class LanePurgeService {
+
+    private static final String UNSTAMPED_LANES = "SELECT id FROM swim_lanes "
+            + "WHERE is_deleted = true AND deleted_at IS NULL";
+
+    private static final String STAMP_LANES = "UPDATE swim_lanes SET deleted_at = :now "
+            + "WHERE id IN (:laneIds) AND is_deleted = true AND deleted_at IS NULL";
+
+    private static final String EXPIRED_LANES = "SELECT id FROM swim_lanes "
+            + "WHERE is_deleted = true AND deleted_at < :cutoff ORDER BY deleted_at, id LIMIT :limit";
+
+    private static final String COUNT_EXPIRED_LANES = "SELECT COUNT(*) FROM swim_lanes "
+            + "WHERE is_deleted = true AND deleted_at < :cutoff";
+
+    private static final String DELETE_LANES = "DELETE FROM swim_lanes WHERE id IN (:laneIds) AND is_deleted = true";
+
+    /** Task and comment tables of one tier; lanes are purged from both. */
+    private record Tier(boolean archive, String tasks, String comments) {
+
+        String selectTasks() {
+            return "SELECT id FROM " + tasks + " WHERE swim_lane_id IN (:laneIds) LIMIT :limit";
+        }
+
+        String deleteComments() {
+            return "DELETE FROM " + comments + " WHERE task_id IN (:ids)";
+        }
+
+        String deleteTasks() {
+            return "DELETE FROM " + tasks + " WHERE id IN (:ids)";
+        }
+    }
+
+    private static final List<Tier> TIERS = List.of(
+            new Tier(false, "tasks", "comments"),
+            new Tier(true, "tasks_archive", "comments_archive"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final BoardImportService boardImportService;
+    private final DataSource dataSource;
+    private final Executor lanePurgeExecutor;
+    private final long retentionDays;
+    private final int chunkSize;
+    private final int lanesPerChunk;
+    private final long pauseMs;
+    private final long slowChunkMs;
+    private final long backoffMs;
+    private final long maxRunMs;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong purgedLanes = new AtomicLong();
+    private final AtomicLong purgedTasks = new AtomicLong();
+    private final AtomicLong purgedComments = new AtomicLong();
+    private final AtomicLong purgedArchivedTasks = new AtomicLong();
+    private final AtomicLong purgedArchivedComments = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong backoffs = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicReference<LocalDateTime> lastRunAt = new AtomicReference<>();
+    private final AtomicLong lastRunMs = new AtomicLong();
+
+    public LanePurgeService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory, BoardImportService boardImportService,
+            DataSource dataSource,
+            @Qualifier("lanePurgeExecutor") Executor lanePurgeExecutor,
+            @Value("${app.purge.retention-days:30}") long retentionDays,
+            @Value("${app.purge.chunk-size:500}") int chunkSize,
+            @Value("${app.purge.lanes-per-chunk:50}") int lanesPerChunk,
+            @Value("${app.purge.pause-ms:100}") long pauseMs,
+            @Value("${app.purge.slow-chunk-ms:500}") long slowChunkMs,
+            @Value("${app.purge.backoff-ms:5000}") long backoffMs,
+            @Value("${app.purge.max-run-ms:300000}") long maxRunMs) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.boardImportService = boardImportService;
+        this.dataSource = dataSource;
+        this.lanePurgeExecutor = lanePurgeExecutor;
+        this.retentionDays = Math.max(0, retentionDays);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.lanesPerChunk = Math.max(1, lanesPerChunk);
+        this.pauseMs = Math.max(0, pauseMs);
+        this.slowChunkMs = slowChunkMs;
+        this.backoffMs = Math.max(0, backoffMs);
+        this.maxRunMs = maxRunMs;
+    }
+
+    /**
+     * Hand a purge run to the purge thread; dropped if one is still running.
+     */
+    @Scheduled(initialDelayString = "${app.purge.interval-ms:3600000}",
+            fixedDelayString = "${app.purge.interval-ms:3600000}")
+    public void schedulePurge() {
+        lanePurgeExecutor.execute(() -> {
+            try {
+                purgeExpiredLanes();
+            } catch (RuntimeException e) {
+                failedRuns.incrementAndGet();
+                log.error("[PURGE] Purge run failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Purge the lanes deleted before the retention period, with their tasks
+     * and comments in both tiers, until none are left or the run's time
+     * budget is spent.
+     *
+     * @return the number of lanes purged
+     */
+    public int purgeExpiredLanes() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        int lanes = 0;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("now", Timestamp.valueOf(now))
+                    .addValue("cutoff", Timestamp.valueOf(now.minusDays(retentionDays)))
+                    .addValue("limit", lanesPerChunk);
+            int stamped = stampDeletedLanes(params);
+            if (stamped > 0) {
+                log.info("[PURGE] Stamped {} deleted lanes without a deletion time", stamped);
+            }
+            List<Long> laneIds;
+            while (!outOfTime(start)
+                    && !(laneIds = jdbcTemplate.queryForList(EXPIRED_LANES, params, Long.class)).isEmpty()) {
+                if (!purgeTasks(laneIds, start)) {
+                    break;
+                }
+                List<Long> batch = laneIds;
+                int deleted = chunk(() -> jdbcTemplate.update(DELETE_LANES,
+                        new MapSqlParameterSource("laneIds", batch)));
+                batch.forEach(id -> entityManagerFactory.getCache().evict(SwimLane.class, id));
+                purgedLanes.addAndGet(deleted);
+                lanes += deleted;
+            }
+            backlog.set(jdbcTemplate.queryForObject(COUNT_EXPIRED_LANES, params, Long.class));
+        } finally {
+            long elapsed = System.currentTimeMillis() - start;
+            lastRunAt.set(LocalDateTime.now());
+            lastRunMs.set(elapsed);
+            running.set(false);
+            if (lanes > 0) {
+                log.info("[PURGE] Purged {} lanes in {}ms, {} expired lanes left", lanes, elapsed, backlog.get());
+            }
+        }
+        return lanes;
+    }
+
+    /**
+     * Stamp deleted lanes without a deletion time (older rows, replayed
+     * deletes, lanes of a failed import) so their retention starts now, and
+     * evict them from the second-level cache, which JDBC writes bypass. Lanes
+     * of an import still running are hidden, not deleted, and are skipped.
+     *
+     * @return the number of lanes stamped
+     */
+    private int stampDeletedLanes(MapSqlParameterSource params) {
+        Set<Long> importing = boardImportService.getImportingUserIds();
+        String unstamped = UNSTAMPED_LANES + (importing.isEmpty() ? "" : " AND user_id NOT IN (:importing)")
+                + " LIMIT :limit";
+        MapSqlParameterSource query = new MapSqlParameterSource(params.getValues())
+                .addValue("importing", importing);
+        int stamped = 0;
+        List<Long> laneIds;
+        while (!(laneIds = jdbcTemplate.queryForList(unstamped, query, Long.class)).isEmpty()) {
+            MapSqlParameterSource batch = new MapSqlParameterSource(params.getValues()).addValue("laneIds", laneIds);
+            stamped += transactionTemplate.execute(status -> jdbcTemplate.update(STAMP_LANES, batch));
+            laneIds.forEach(id -> entityManagerFactory.getCache().evict(SwimLane.class, id));
+        }
+        return stamped;
+    }
+
+    /** Delete the tasks of the lanes chunk by chunk; false if the run ran out of time first. */
+    private boolean purgeTasks(List<Long> laneIds, long start) {
+        for (Tier tier : TIERS) {
+            MapSqlParameterSource select = new MapSqlParameterSource()
+                    .addValue("laneIds", laneIds)
+                    .addValue("limit", chunkSize);
+            int deleted;
+            do {
+                if (outOfTime(start)) {
+                    return false;
+                }
+                deleted = chunk(() -> purgeChunk(tier, select));
+            } while (deleted == chunkSize);
+        }
+        return true;
+    }
+
+    private int purgeChunk(Tier tier, MapSqlParameterSource select) {
+        List<Long> ids = jdbcTemplate.queryForList(tier.selectTasks(), select, Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        int comments = jdbcTemplate.update(tier.deleteComments(), params);
+        int tasks = jdbcTemplate.update(tier.deleteTasks(), params);
+        (tier.archive() ? purgedArchivedTasks : purgedTasks).addAndGet(tasks);
+        (tier.archive() ? purgedArchivedComments : purgedComments).addAndGet(comments);
+        log.debug("[PURGE] Deleted {} tasks and {} comments from {}", tasks, comments, tier.tasks());
+        return ids.size();
+    }
+
+    /** Run one chunk in its own transaction, then pause or back off before the next. */
+    private int chunk(IntSupplier work) {
+        long start = System.currentTimeMillis();
+        int result = transactionTemplate.execute(status -> work.getAsInt());
+        chunks.incrementAndGet();
+        long elapsed = System.currentTimeMillis() - start;
+        long pause = pauseMs;
+        if (elapsed > slowChunkMs || connectionsContended()) {
+            backoffs.incrementAndGet();
+            pause = Math.max(pause, backoffMs);
+            log.debug("[PURGE] Backing off for {}ms (chunk took {}ms)", pause, elapsed);
+        }
+        sleep(pause);
+        return result;
+    }
+
+    private boolean connectionsContended() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                return pool != null && pool.getThreadsAwaitingConnection() > 0;
+            }
+        } catch (SQLException e) {
+            log.debug("[PURGE] Could not read the pool state: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    private boolean outOfTime(long start) {
+        return System.currentTimeMillis() - start >= maxRunMs || Thread.currentThread().isInterrupted();
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running.get());
+        stats.put("purgedLanes", purgedLanes.get());
+        stats.put("purgedTasks", purgedTasks.get());
+        stats.put("purgedComments", purgedComments.get());
+        stats.put("purgedArchivedTasks", purgedArchivedTasks.get());
+        stats.put("purgedArchivedComments", purgedArchivedComments.get());
+        stats.put("chunks", chunks.get());
+        stats.put("backoffs", backoffs.get());
+        stats.put("failedRuns", failedRuns.get());
+        stats.put("backlog", backlog.get());
+        stats.put("lastRunAt", lastRunAt.get());
+        stats.put("lastRunMs", lastRunMs.get());
+        return stats;
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.todo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * OperationTracker - Completion status of write-behind operations.
+ *
+ * Every queued operation gets a monotonic id (returned to the client in the
+ * {@code X-Operation-Id} header) and a PENDING entry in a bounded status
+ * table. When the entity is flushed, all of its operations up to the flushed
+ * one - including those coalesced into it - become COMMITTED or FAILED and an
+ * {@code operation-status} SSE event carrying their ids is broadcast.
+ * Entries are kept for {@code app.operations.retention-seconds}, up to
+ * {@code app.operations.max-entries}; older ids report UNKNOWN.
+ * The user that issued each operation is kept for as long, so the flush can
+ * tell whose writes it committed.
+ */
+@Service
+@Log4j2
+public class OperationTracker {
+
+    public enum Status {
+        PENDING,
+        COMMITTED,
+        FAILED,
+        UNKNOWN
+    }
+
+    /**
+     * Status of one operation, as returned by {@code GET /api/operations}.
+     */
+    public record OperationStatus(long id, String entity, WriteOperation.Type type, Status status, String error) {
+
+        private OperationStatus complete(Status newStatus, String newError) {
+            return new OperationStatus(id, entity, type, newStatus, newError);
+        }
+    }
+
+    private final Cache<Long, OperationStatus> statuses;
+    private final Cache<Long, String> owners;
+    private final ConcurrentHashMap<String, NavigableSet<Long>> pendingByKey = new ConcurrentHashMap<>();
+    private final ThreadLocal<List<Long>> requestOperations = new ThreadLocal<>();
+    private final ConcurrentHashMap<Long, CompletableFuture<OperationStatus>> waiters = new ConcurrentHashMap<>();
+
+    public OperationTracker(@Value("${app.operations.max-entries:10000}") long maxEntries,
+            @Value("${app.operations.retention-seconds:300}") long retentionSeconds) {
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(retentionSeconds))
+                .build();
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(retentionSeconds))
+                .build();
+    }
+
+    /**
+     * Start collecting the ids of operations accepted on the current thread.
+     */
+    public void beginRequest() {
+        requestOperations.set(new ArrayList<>());
+    }
+
+    /**
+     * Stop collecting and return the ids accepted since {@link #beginRequest}.
+     */
+    public List<Long> endRequest() {
+        List<Long> ids = requestOperations.get();
+        requestOperations.remove();
+        return ids != null ? ids : List.of();
+    }
+
+    /**
+     * Register a newly queued operation as PENDING, owned by the current
+     * thread's user.
+     */
+    public void accepted(WriteOperation op) {
+        long id = op.getSequence();
+        statuses.put(id, new OperationStatus(id, op.getKey(), op.getType(), Status.PENDING, null));
+        String owner = currentUser();
+        if (owner != null) {
+            owners.put(id, owner);
+        }
+        pendingByKey.computeIfAbsent(op.getKey(), k -> new ConcurrentSkipListSet<>()).add(id);
+        List<Long> ids = requestOperations.get();
+        if (ids != null) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * Resolve every pending operation of an entity up to (and including) the
+     * given id.
+     *
+     * @return the ids that were resolved
+     */
+    public List<Long> complete(String key, long upToId, boolean committed, String error) {
+        List<Long> resolved = new ArrayList<>();
+        pendingByKey.computeIfPresent(key, (k, ids) -> {
+            NavigableSet<Long> done = ids.headSet(upToId, true);
+            resolved.addAll(done);
+            done.clear();
+            return ids.isEmpty() ? null : ids;
+        });
+        Status status = committed ? Status.COMMITTED : Status.FAILED;
+        for (Long id : resolved) {
+            OperationStatus completed = statuses.asMap()
+                    .computeIfPresent(id, (i, current) -> current.complete(status, error));
+            CompletableFuture<OperationStatus> waiter = waiters.remove(id);
+            if (waiter != null) {
+                waiter.complete(completed != null ? completed
+                        : new OperationStatus(id, key, null, status, error));
+            }
+        }
+        log.debug("[OPERATIONS] {} operation(s) of {} are {}", resolved.size(), key, status);
+        return resolved;
+    }
+
+    /**
+     * The users that issued the given operations (those issued without a user,
+     * such as replayed ones, have none).
+     */
+    public Set<String> getOwners(Collection<Long> ids) {
+        return Set.copyOf(owners.getAllPresent(ids).values());
+    }
+
+    /**
+     * Block until the given operations are resolved or the timeout expires.
+     *
+     * @return the status of each operation; PENDING if it timed out
+     */
+    public List<OperationStatus> await(List<Long> ids, Duration timeout) {
+        List<CompletableFuture<OperationStatus>> futures = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            CompletableFuture<OperationStatus> future = waiters.computeIfAbsent(id, k -> new CompletableFuture<>());
+            // Resolved before the waiter was registered
+            OperationStatus current = statuses.getIfPresent(id);
+            if (current == null || current.status() != Status.PENDING) {
+                waiters.remove(id, future);
+                future.complete(current != null ? current
+                        : new OperationStatus(id, null, null, Status.UNKNOWN, null));
+            }
+            futures.add(future);
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<OperationStatus> result = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            try {
+                result.add(futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                waiters.remove(ids.get(i), futures.get(i));
+                result.add(getStatuses(List.of(ids.get(i))).get(0));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.add(getStatuses(List.of(ids.get(i))).get(0));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Bulk status lookup, in the order requested.
+     */
+    public List<OperationStatus> getStatuses(Collection<Long> ids) {
+        Map<Long, OperationStatus> known = statuses.getAllPresent(ids);
+        List<OperationStatus> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            OperationStatus status = known.get(id);
+            result.add(status != null ? status : new OperationStatus(id, null, null, Status.UNKNOWN, null));
+        }
+        return result;
+    }
+
+    /**
+     * Status counts of tracked operations (for monitoring).
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Status status : List.of(Status.PENDING, Status.COMMITTED, Status.FAILED)) {
+            stats.put(status.name().toLowerCase(),
+                    statuses.asMap().values().stream().filter(s -> s.status() == status).count());
+        }
+        return stats;
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.todo.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * PageCache - Keyset page windows of the lane and task listings.
+ *
+ * Pages are cached in {@code pageWindows} one window (cursor + limit) at a
+ * time, so a request for the first page never loads or holds a full list.
+ * Every key carries the generation of its owner (a user for lane pages, a
+ * lane for task pages): invalidating an owner bumps its generation, which
+ * orphans all of its windows at once without knowing which ones exist;
+ * orphans age out of the cache by size and idle time. Generations are kept
+ * the same way, bounded and dropped when idle; they come from one counter,
+ * so an owner whose generation was dropped never gets an old one back.
+ *
+ * A page loaded while a write was in flight is cached under the generation
+ * read before loading, and the write bumps it after it commits, so such a
+ * page is never served again.
+ */
+@Component
+@Log4j2
+public class PageCache {
+
+    private static final String CACHE_NAME = "pageWindows";
+
+    private final CacheManager cacheManager;
+    private final AtomicLong nextGeneration = new AtomicLong();
+    private final LoadingCache<String, Long> generations = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build(owner -> nextGeneration.incrementAndGet());
+
+    public PageCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * The cached window of an owner, loading and caching it on a miss.
+     *
+     * @param owner  {@link #userOwner} or {@link #laneOwner}
+     * @param window cursor and limit of the page
+     */
+    public <T> T get(String owner, String window, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        String key = owner + "#" + generation(owner) + "|" + window;
+        if (cache == null) {
+            return loader.get();
+        }
+        @SuppressWarnings("unchecked")
+        T page = (T) cache.get(key, Object.class);
+        if (page == null) {
+            log.info("[CACHE MISS] Loading page window {}", key);
+            page = loader.get();
+            cache.put(key, page);
+        }
+        return page;
+    }
+
+    /**
+     * Drop every cached window of an owner, once the current transaction (if
+     * any) has committed.
+     */
+    public void invalidate(String owner) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(owner);
+                }
+            });
+        } else {
+            bump(owner);
+        }
+    }
+
+    public static String userOwner(Long userId) {
+        return "user:" + userId;
+    }
+
+    public static String laneOwner(Long laneId) {
+        return "lane:" + laneId;
+    }
+
+    private long generation(String owner) {
+        return generations.get(owner);
+    }
+
+    private void bump(String owner) {
+        generations.put(owner, nextGeneration.incrementAndGet());
+        log.debug("[CACHE EVICT] Invalidated page windows of {}", owner);
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.todo.service;
+
+import com.example.todo.dao.TaskDAO;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.model.TaskView;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PendingWriteOverlay - Read-your-writes view of queued task writes.
+ *
+ * Every task operation accepted by {@link AsyncWriteService} is indexed here
+ * until its transaction commits, and {@link TaskService#getTasksBySwimLaneId}
+ * merges that state over the committed (DB or cached) lane list. The
+ * {@code tasksByLane} cache therefore only ever holds committed rows:
+ * - writes no longer evict lanes up front, so hot lanes stay cached
+ * - when a write commits, the lanes it touched are evicted and their
+ *   generation is bumped, so a lane loaded from the DB before the commit is
+ *   served but not cached (see {@link #getGeneration})
+ */
+@Component
+@Log4j2
+public class PendingWriteOverlay {
+
+    private static final String CACHE_NAME = "tasksByLane";
+    private static final Comparator<TaskView> BY_RANK = Comparator
+            .comparing(TaskView::position, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskView::id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final CacheManager cacheManager;
+    private final TaskDAO taskDAO;
+    private final PageCache pageCache;
+
+    private final ConcurrentHashMap<Long, PendingTask> pendingByTask = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Long>> pendingByLane = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, AtomicLong> laneGenerations = new ConcurrentHashMap<>();
+
+    public PendingWriteOverlay(CacheManager cacheManager, TaskDAO taskDAO, PageCache pageCache) {
+        this.cacheManager = cacheManager;
+        this.taskDAO = taskDAO;
+        this.pageCache = pageCache;
+    }
+
+    /**
+     * Index a queued task operation. Lane operations are ignored.
+     */
+    public void record(WriteOperation op) {
+        if (!op.isTaskOperation()) {
+            return;
+        }
+        pendingByTask.compute(op.getEntityId(), (id, previous) -> {
+            PendingTask pending = previous != null ? previous : new PendingTask(id);
+            Long oldTarget = pending.deleted ? null : pending.laneId;
+            pending.apply(op);
+            if (oldTarget != null && !oldTarget.equals(pending.laneId)) {
+                removeFromLane(oldTarget, id);
+            }
+            if (!pending.deleted && pending.laneId != null) {
+                pendingByLane.computeIfAbsent(pending.laneId, k -> ConcurrentHashMap.newKeySet()).add(id);
+            } else if (pending.laneId != null) {
+                removeFromLane(pending.laneId, id);
+            }
+            return pending;
+        });
+    }
+
+    /**
+     * Drop the overlay of a task once its operations up to the given sequence
+     * have committed (or been given up on), and finalise the cache entries of
+     * every lane they touched.
+     */
+    public void release(Long taskId, long upToSequence) {
+        release(Map.of(taskId, upToSequence));
+    }
+
+    /**
+     * Release the tasks of a group commit together: each lane they touched is
+     * evicted once, however many of its tasks were written.
+     *
+     * @param upToSequences task id to the last committed sequence of the task
+     */
+    public void release(Map<Long, Long> upToSequences) {
+        Set<Long> lanes = new LinkedHashSet<>();
+        upToSequences.forEach((taskId, upToSequence) -> pendingByTask.computeIfPresent(taskId, (id, pending) -> {
+            lanes.addAll(pending.affectedLanes);
+            pending.affectedLanes.forEach(this::bumpGeneration);
+            if (pending.sequence > upToSequence) {
+                return pending; // newer writes are still queued
+            }
+            if (pending.laneId != null) {
+                removeFromLane(pending.laneId, id);
+            }
+            return null;
+        }));
+        var cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null && !lanes.isEmpty()) {
+            lanes.forEach(cache::evict);
+            log.info("[CACHE EVICT] Evicted tasksByLane cache for lanes {} after commit of tasks {}", lanes,
+                    upToSequences.keySet());
+        }
+    }
+
+    /**
+     * Finalise the cache entry of a lane whose committed rows changed outside
+     * a task write (e.g. its ranks were re-spaced).
+     */
+    public void invalidateLane(Long laneId) {
+        bumpGeneration(laneId);
+        var cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evict(laneId);
+            log.info("[CACHE EVICT] Evicted tasksByLane cache for lane {}", laneId);
+        }
+    }
+
+    /**
+     * Commit generation of a lane. Capture it before loading a lane from the DB
+     * and only cache the result if it is unchanged afterwards.
+     */
+    public long getGeneration(Long laneId) {
+        AtomicLong generation = laneGenerations.get(laneId);
+        return generation != null ? generation.get() : 0;
+    }
+
+    /**
+     * Merge pending writes over the committed task list of a lane: pending
+     * deletes and moves out of the lane are hidden, pending edits and moves into
+     * the lane are applied. A pending move only knows its drop index, so the
+     * task gets a provisional rank between its neighbours at that index (the
+     * flush allocates the real one the same way). The given list is not
+     * modified.
+     */
+    public List<TaskView> merge(Long laneId, List<TaskView> committed) {
+        if (pendingByTask.isEmpty()) {
+            return committed;
+        }
+        boolean changed = false;
+        Set<Long> seen = new HashSet<>();
+        List<TaskView> result = new ArrayList<>(committed.size());
+        List<Placement> moved = new ArrayList<>();
+        for (TaskView task : committed) {
+            PendingTask pending = pendingByTask.get(task.id());
+            if (pending == null) {
+                result.add(task);
+                continue;
+            }
+            changed = true;
+            seen.add(task.id());
+            if (pending.isIn(laneId)) {
+                add(pending, pending.applyTo(task, laneId), result, moved);
+            }
+        }
+        for (Long taskId : pendingByLane.getOrDefault(laneId, Set.of())) {
+            PendingTask pending = pendingByTask.get(taskId);
+            if (seen.contains(taskId) || pending == null || !pending.isIn(laneId)) {
+                continue;
+            }
+            TaskView base = pending.snapshot != null
+                    ? pending.snapshot
+                    : taskDAO.findById(taskId).map(TaskView::of).orElse(null);
+            if (base != null) {
+                changed = true;
+                add(pending, pending.applyTo(base, laneId), result, moved);
+            }
+        }
+        if (!changed) {
+            return committed;
+        }
+        result.sort(BY_RANK);
+        // Place moves in the order they were accepted, as the flush will
+        moved.sort(Comparator.comparingLong(placement -> placement.pending().sequence));
+        for (Placement placement : moved) {
+            TaskView task = placement.task();
+            result.add(task.withPosition(provisionalRank(result, task.status(), placement.pending().targetIndex)));
+            result.sort(BY_RANK);
+        }
+        return result;
+    }
+
+    private static void add(PendingTask pending, TaskView task, List<TaskView> result, List<Placement> moved) {
+        if (pending.moved) {
+            moved.add(new Placement(pending, task));
+        } else {
+            result.add(task);
+        }
+    }
+
+    /**
+     * Rank between the neighbours at the given index of a column (or after its
+     * last task), falling back to the lower neighbour when they are adjacent.
+     */
+    private static Long provisionalRank(List<TaskView> tasks, TaskStatus status, Integer index) {
+        List<Long> ranks = tasks.stream()
+                .filter(task -> task.status() == status && task.position() != null)
+                .map(TaskView::position)
+                .toList();
+        int target = index == null ? ranks.size() : Math.min(Math.max(0, index), ranks.size());
+        Long before = target > 0 ? ranks.get(target - 1) : null;
+        Long rank = TaskRanking.between(before, target < ranks.size() ? ranks.get(target) : null);
+        return rank != null ? rank : before;
+    }
+
+    /**
+     * Whether any queued task write targets or leaves the given lane.
+     */
+    public boolean hasPendingWrites(Long laneId) {
+        if (pendingByLane.containsKey(laneId)) {
+            return true;
+        }
+        return pendingByTask.values().stream().anyMatch(pending -> pending.affectedLanes.contains(laneId));
+    }
+
+    /**
+     * Number of tasks with uncommitted writes (for monitoring/testing).
+     */
+    public int getPendingTaskCount() {
+        return pendingByTask.size();
+    }
+
+    private void removeFromLane(Long laneId, Long taskId) {
+        pendingByLane.computeIfPresent(laneId, (k, ids) -> {
+            ids.remove(taskId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private void bumpGeneration(Long laneId) {
+        laneGenerations.computeIfAbsent(laneId, k -> new AtomicLong()).incrementAndGet();
+        pageCache.invalidate(PageCache.laneOwner(laneId));
+    }
+
+    /**
+     * A pending move waiting to be placed at its drop index.
+     */
+    private record Placement(PendingTask pending, TaskView task) {
+    }
+
+    /**
+     * Net effect of the queued operations of one task.
+     */
+    private static final class PendingTask {
+        private final Long taskId;
+        private final Set<Long> affectedLanes = new LinkedHashSet<>();
+        private long sequence;
+        private boolean deleted;
+        private Long laneId;
+        private TaskStatus status;
+        private Long position;
+        private boolean moved;
+        private Integer targetIndex;
+        private TaskView snapshot;
+
+        private PendingTask(Long taskId) {
+            this.taskId = taskId;
+        }
+
+        private void apply(WriteOperation op) {
+            sequence = op.getSequence();
+            if (op.getFromLaneId() != null) {
+                affectedLanes.add(op.getFromLaneId());
+            }
+            switch (op.getType()) {
+                case SAVE_TASK -> {
+                    deleted = false;
+                    snapshot = TaskView.of(op.getTask());
+                    setLane(snapshot.laneId());
+                    status = snapshot.status();
+                    position = snapshot.position();
+                    moved = false;
+                }
+                case MOVE_TASK -> {
+                    deleted = false;
+                    // updatePosition also writes the lane, so a move without a lane detaches the task
+                    setLane(op.getLaneId());
+                    status = op.getStatus();
+                    moved = true;
+                    targetIndex = op.getPosition();
+                }
+                case DELETE_TASK -> deleted = true;
+                default -> throw new IllegalArgumentException("Not a task operation: " + op.getType());
+            }
+        }
+
+        private void setLane(Long newLaneId) {
+            laneId = newLaneId;
+            if (newLaneId != null) {
+                affectedLanes.add(newLaneId);
+            }
+        }
+
+        private boolean isIn(Long lane) {
+            return !deleted && lane.equals(laneId);
+        }
+
+        /**
+         * The task with the pending state applied; the comment count is the
+         * committed one.
+         */
+        private TaskView applyTo(TaskView base, Long lane) {
+            TaskView source = snapshot != null ? snapshot : base;
+            return new TaskView(taskId, source.name(), status, source.tags(), position, lane, base.commentCount());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.todo.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SseEventPublisher - Transactional outbox for SSE events.
+ *
+ * Events published inside a transaction are collected and only handed to the
+ * dispatcher once that transaction commits; on rollback they are discarded,
+ * so clients never see updates for data that was not persisted. Events
+ * published outside a transaction are dispatched straight away.
+ *
+ * Delivery to the emitters runs on the single-threaded sseDispatchExecutor,
+ * never on the thread that holds the DB connection, and keeps the order in
+ * which events were handed over. If its queue is full the event is dropped
+ * (clients resync on their next load) rather than blocking the writer.
+ */
+@Service
+@Log4j2
+public class SseEventPublisher {
+
+    private final SseService sseService;
+    private final Executor dispatchExecutor;
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public SseEventPublisher(SseService sseService, @Qualifier("sseDispatchExecutor") Executor dispatchExecutor) {
+        this.sseService = sseService;
+        this.dispatchExecutor = dispatchExecutor;
+    }
+
+    /**
+     * Publish an event after the current transaction commits, or immediately
+     * if no transaction is active.
+     */
+    public void publish(String eventName, Object data) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(List.of(new Event(eventName, data)));
+            return;
+        }
+        outbox().add(new Event(eventName, data));
+    }
+
+    /**
+     * Dispatcher metrics (for monitoring).
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("dispatched", dispatched.get());
+        stats.put("discardedOnRollback", discarded.get());
+        stats.put("dropped", dropped.get());
+        return stats;
+    }
+
+    /**
+     * Outbox of the current transaction, registered on first use.
+     */
+    private List<Event> outbox() {
+        @SuppressWarnings("unchecked")
+        List<Event> events = (List<Event>) TransactionSynchronizationManager.getResource(this);
+        if (events == null) {
+            List<Event> outbox = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, outbox);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(outbox);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SseEventPublisher.this);
+                    if (status != STATUS_COMMITTED && !outbox.isEmpty()) {
+                        discarded.addAndGet(outbox.size());
+                        log.debug("[SSE OUTBOX] Discarded {} event(s) of a rolled back transaction", outbox.size());
+                    }
+                }
+            });
+            events = outbox;
+        }
+        return events;
+    }
+
+    private void dispatch(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Event> batch = List.copyOf(events);
+        try {
+            dispatchExecutor.execute(() -> batch.forEach(event -> sseService.broadcast(event.name(), event.data())));
+            dispatched.addAndGet(batch.size());
+        } catch (RejectedExecutionException e) {
+            dropped.addAndGet(batch.size());
+            log.warn("[SSE OUTBOX] Dispatch queue full, dropped {} event(s)", batch.size());
+        }
+    }
+
+    private record Event(String name, Object data) {
+    }
+}
@@ -3,18 +3,23 @@ package com.example.todo.service;
 import com.example.todo.annotation.Idempotent;
 import com.example.todo.dao.SwimLaneDAO;
 import com.example.todo.model.SwimLane;
+import com.example.todo.model.SwimLaneView;
 import com.example.todo.model.User;
+import com.example.todo.repository.PageCursor;
 import com.example.todo.repository.UserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import lombok.extern.log4j.Log4j2;
 
@@ -25,12 +30,26 @@ public class SwimLaneService {
     private final SwimLaneDAO swimLaneDAO;
     private final AsyncWriteService asyncWriteService;
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final PageCache pageCache;
+
+    /**
+     * One keyset page of lanes; pass {@code next} as {@code after} for the
+     * following page (null on the last page).
+     */
+    public record LanePage(List<SwimLaneView> items, String next) {
+    }
+
+    static final int DEFAULT_LANE_PAGE = 50;
+    static final int MAX_LANE_PAGE = 200;
 
     public SwimLaneService(SwimLaneDAO swimLaneDAO, AsyncWriteService asyncWriteService,
-            UserRepository userRepository) {
+            UserRepository userRepository, CacheManager cacheManager, PageCache pageCache) {
         this.swimLaneDAO = swimLaneDAO;
         this.asyncWriteService = asyncWriteService;
         this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.pageCache = pageCache;
     }
 
     /**
@@ -47,11 +66,11 @@ public class SwimLaneService {
     }
 
     @Cacheable(value = "lanesByUser", key = "#root.target.currentUserId")
-    public List<SwimLane> getAllSwimLanes() {
+    public List<SwimLaneView> getAllSwimLanes() {
         long start = System.currentTimeMillis();
         User user = getCurrentUser();
         log.info("[CACHE MISS] Fetching swimlanes for user: {} (id={})", user.getEmail(), user.getId());
-        List<SwimLane> result = swimLaneDAO.findByUserIdAndIsDeletedFalseOrderByPositionAsc(user.getId());
+        List<SwimLaneView> result = views(swimLaneDAO.findByUserIdAndIsDeletedFalseOrderByPositionAsc(user.getId()));
         log.info("[TIMING] getAllSwimLanes() completed in {}ms, returned {} lanes", System.currentTimeMillis() - start,
                 result.size());
         return result;
@@ -62,12 +81,12 @@ public class SwimLaneService {
     }
 
     @Cacheable(value = "lanesByUser", key = "'active-' + #root.target.currentUserId")
-    public List<SwimLane> getActiveSwimLanes() {
+    public List<SwimLaneView> getActiveSwimLanes() {
         long start = System.currentTimeMillis();
         User user = getCurrentUser();
         log.info("[CACHE MISS] Fetching ACTIVE swimlanes for user: {} (id={})", user.getEmail(), user.getId());
-        List<SwimLane> result = swimLaneDAO
-                .findByUserIdAndIsCompletedFalseAndIsDeletedFalseOrderByPositionAsc(user.getId());
+        List<SwimLaneView> result = views(swimLaneDAO
+                .findByUserIdAndIsCompletedFalseAndIsDeletedFalseOrderByPositionAsc(user.getId()));
         log.info("[TIMING] getActiveSwimLanes() completed in {}ms, returned {} lanes",
                 System.currentTimeMillis() - start, result.size());
         return result;
@@ -77,19 +96,60 @@ public class SwimLaneService {
      * Get active swimlanes for a specific user ID (for cache warmup, bypasses SecurityContext).
      */
     @Cacheable(value = "lanesByUser", key = "'active-' + #userId")
-    public List<SwimLane> getActiveSwimLanesForUser(Long userId) {
+    public List<SwimLaneView> getActiveSwimLanesForUser(Long userId) {
         long start = System.currentTimeMillis();
         log.info("[CACHE MISS] Fetching ACTIVE swimlanes for userId: {}", userId);
-        List<SwimLane> result = swimLaneDAO
-                .findByUserIdAndIsCompletedFalseAndIsDeletedFalseOrderByPositionAsc(userId);
+        List<SwimLaneView> result = views(swimLaneDAO
+                .findByUserIdAndIsCompletedFalseAndIsDeletedFalseOrderByPositionAsc(userId));
         log.info("[TIMING] getActiveSwimLanesForUser({}) completed in {}ms, returned {} lanes",
                 userId, System.currentTimeMillis() - start, result.size());
         return result;
     }
 
-    public List<SwimLane> getCompletedSwimLanes() {
+    public List<SwimLaneView> getCompletedSwimLanes() {
         User user = getCurrentUser();
-        return swimLaneDAO.findByUserIdAndIsCompletedTrueAndIsDeletedFalseOrderByPositionAsc(user.getId());
+        return views(swimLaneDAO.findByUserIdAndIsCompletedTrueAndIsDeletedFalseOrderByPositionAsc(user.getId()));
+    }
+
+    /**
+     * A page of the current user's lanes in board order, read from the
+     * matching lane index from the cursor on (never the full list) and cached
+     * per window.
+     *
+     * @param completed completed (true) or active (false) lanes, or all if null
+     * @param after     {@code next} of the previous page, null for the first
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public LanePage getLanePage(Boolean completed, String after, Integer limit) {
+        Long userId = getCurrentUser().getId();
+        PageCursor cursor = PageCursor.parse(after);
+        int size = limit == null ? DEFAULT_LANE_PAGE : Math.min(Math.max(1, limit), MAX_LANE_PAGE);
+        String window = completed + "|" + (after != null ? after : "") + "|" + size;
+        return pageCache.get(PageCache.userOwner(userId), window, () -> {
+            long start = System.currentTimeMillis();
+            // One extra row tells whether another page follows
+            List<SwimLane> page = swimLaneDAO.findPage(userId, completed, cursor, size + 1);
+            LanePage result;
+            if (page.size() <= size) {
+                result = new LanePage(views(page), null);
+            } else {
+                SwimLane last = page.get(size - 1);
+                result = new LanePage(views(page.subList(0, size)),
+                        PageCursor.after(last.getPosition() != null ? last.getPosition().longValue() : null,
+                                last.getId()).encode());
+            }
+            log.info("[TIMING] getLanePage(completed={}) completed in {}ms, returned {} lanes", completed,
+                    System.currentTimeMillis() - start, result.items().size());
+            return result;
+        });
+    }
+
+    /**
+     * Immutable copies of loaded lanes: what is cached in {@code lanesByUser}
+     * and serialised, instead of the entities.
+     */
+    private static List<SwimLaneView> views(List<SwimLane> lanes) {
+        return lanes.stream().map(SwimLaneView::of).toList();
     }
 
     @Idempotent(keyExpression = "'createLane:' + #swimLane.name")
@@ -103,7 +163,9 @@ public class SwimLaneService {
         Integer maxPos = swimLaneDAO.findMaxPositionByUserId(user.getId());
         swimLane.setPosition(maxPos == null ? 0 : maxPos + 1);
         log.info("Creating new swimlane '{}' for user: {}", swimLane.getName(), user.getEmail());
-        return swimLaneDAO.save(swimLane);
+        SwimLane saved = swimLaneDAO.save(swimLane);
+        pageCache.invalidate(PageCache.userOwner(user.getId()));
+        return saved;
     }
 
     @Idempotent(keyExpression = "'completeLane:' + #id")
@@ -168,6 +230,7 @@ public class SwimLaneService {
         }
 
         swimLane.setIsDeleted(true);
+        swimLane.setDeletedAt(LocalDateTime.now());
         log.info("Delegating DELETE for swimlane {} to Async Service", id);
         asyncWriteService.saveSwimLane(swimLane);
     }
@@ -176,29 +239,55 @@ public class SwimLaneService {
         swimLaneDAO.deleteById(id);
     }
 
+    /**
+     * Reorder the current user's lanes: each lane gets its index in the list.
+     * One set-based statement scoped by owner, so ids of other users' (or
+     * missing) lanes are ignored without being loaded. Instead of evicting
+     * every user's lanes, the caller's cached lane lists are re-sorted.
+     */
     @Idempotent(keyExpression = "'reorderLanes:' + #orderedIds.hashCode()")
-    @CacheEvict(value = "lanesByUser", allEntries = true)
     public void reorderSwimLanes(List<Long> orderedIds) {
-        log.info("[CACHE EVICT] Invalidating 'lanesByUser' cache - reordering lanes");
+        long start = System.currentTimeMillis();
         User user = getCurrentUser();
-        List<SwimLane> lanes = swimLaneDAO.findAllById(orderedIds);
-
-        // Filter to only lanes owned by current user
-        lanes = lanes.stream()
-                .filter(lane -> lane.getUser() != null && lane.getUser().getId().equals(user.getId()))
-                .collect(Collectors.toList());
+        // A lane listed twice keeps its last index
+        Map<Long, Integer> positions = new LinkedHashMap<>();
+        for (int i = 0; i < orderedIds.size(); i++) {
+            positions.put(orderedIds.get(i), i);
+        }
 
-        // Create a map for O(1) lookup
-        Map<Long, SwimLane> laneMap = lanes.stream()
-                .collect(Collectors.toMap(SwimLane::getId, Function.identity()));
+        int updated = swimLaneDAO.updatePositions(user.getId(), positions);
+        if (updated < positions.size()) {
+            log.warn("Reorder by user {} skipped {} lanes that are missing or owned by another user",
+                    user.getEmail(), positions.size() - updated);
+        }
+        updateCachedPositions(user.getId(), positions);
+        pageCache.invalidate(PageCache.userOwner(user.getId()));
+        log.info("[TIMING] reorderSwimLanes() updated {} lanes in {}ms", updated,
+                System.currentTimeMillis() - start);
+    }
 
-        for (int i = 0; i < orderedIds.size(); i++) {
-            Long id = orderedIds.get(i);
-            SwimLane lane = laneMap.get(id);
-            if (lane != null) {
-                lane.setPosition(i);
+    /**
+     * Apply new positions to the cached lane lists of one user (all and active
+     * lanes) and re-sort them.
+     */
+    @SuppressWarnings("unchecked")
+    private void updateCachedPositions(Long userId, Map<Long, Integer> positions) {
+        Cache cache = cacheManager.getCache("lanesByUser");
+        if (cache == null) {
+            return;
+        }
+        for (Object key : List.of(userId, "active-" + userId)) {
+            List<SwimLaneView> cached = cache.get(key, List.class);
+            if (cached == null) {
+                continue;
             }
+            List<SwimLaneView> reordered = cached.stream()
+                    .map(lane -> positions.containsKey(lane.id()) ? lane.withPosition(positions.get(lane.id())) : lane)
+                    .sorted(Comparator.comparing(SwimLaneView::position,
+                            Comparator.nullsLast(Comparator.naturalOrder())))
+                    .toList();
+            cache.put(key, reordered);
+            log.info("[CACHE UPDATE] Re-sorted lanesByUser '{}' ({} lanes) after reorder", key, reordered.size());
         }
-        swimLaneDAO.saveAll(lanes);
     }
 }
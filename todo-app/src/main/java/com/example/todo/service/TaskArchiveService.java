@@ -0,0 +1,517 @@
+package com.example.todo.service;
+
+import com.example.todo.config.PartitionedWriteExecutor.PartitionedTask;
+import com.example.todo.dao.SwimLaneDAO;
+import com.example.todo.model.ArchivedComment;
+import com.example.todo.model.ArchivedTask;
+import com.example.todo.model.Comment;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.repository.ArchivedCommentRepository;
+import com.example.todo.repository.ArchivedTaskRepository;
+import com.example.todo.repository.PageCursor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TaskArchiveService - Hot/cold split of finished work.
+ *
+ * DONE tasks of completed lanes are moved, with their comments, from
+ * {@code tasks}/{@code comments} into {@code tasks_archive}/{@code comments_archive}
+ * (same columns, same ids), so the hot tables and their indexes only hold
+ * work that can still change. Every {@code app.archive.interval-ms} the
+ * completed lanes that still have hot DONE tasks are archived, each on its
+ * lane's write partition (never interleaving with a flush of that lane) and
+ * skipped while writes to it are queued. A lane is moved in chunks of
+ * {@code app.archive.chunk-size} tasks, one short transaction each, with
+ * set-based {@code INSERT ... SELECT} and {@code DELETE} statements.
+ *
+ * The archive is transparent to clients: lane listings, pages, tag search,
+ * single task reads and comment pages also read it, and tasks look the same
+ * whichever tier they are in. Writing to an archived task moves it back
+ * first ({@link #restoreTask}; the flush uses {@link #restoreForWrite} and
+ * {@link #restoreForMoves}, which skip tasks of active lanes); a move into a column with archived tasks is
+ * ranked against both tiers ({@link #findColumnRanks}) and leaves them where
+ * they are. Only reopening a lane moves the whole lane back
+ * ({@link #restoreLane}). Moves in both directions lock the lane row, so they
+ * never interleave.
+ *
+ * Lanes themselves stay in {@code swim_lanes}: completed lanes are already a
+ * separate range of the (user, completed, deleted) index.
+ */
+@Service
+@Log4j2
+public class TaskArchiveService {
+
+    private static final String LOCK_COMPLETED_LANE = "SELECT id FROM swim_lanes "
+            + "WHERE id = :laneId AND is_completed = true AND is_deleted = false FOR UPDATE";
+
+    private static final String LOCK_LANE = "SELECT id FROM swim_lanes WHERE id = :laneId FOR UPDATE";
+
+    private static final String LANES_TO_ARCHIVE = "SELECT l.id FROM swim_lanes l "
+            + "WHERE l.is_completed = true AND l.is_deleted = false "
+            + "AND EXISTS (SELECT 1 FROM tasks t WHERE t.swim_lane_id = l.id AND t.status = :status) "
+            + "ORDER BY l.id LIMIT :limit";
+
+    private static final String TASKS_TO_ARCHIVE = "SELECT id FROM tasks "
+            + "WHERE swim_lane_id = :laneId AND status = :status ORDER BY id LIMIT :limit FOR UPDATE";
+
+    private static final String ARCHIVE_COMMENTS = "INSERT INTO comments_archive "
+            + "(id, text, created_at, updated_at, task_id) "
+            + "SELECT id, text, created_at, updated_at, task_id FROM comments WHERE task_id IN (:ids)";
+
+    private static final String ARCHIVE_TASKS = "INSERT INTO tasks_archive "
+            + "(id, name, status, tag_list, swim_lane_id, sort_rank, archived_at) "
+            + "SELECT id, name, status, tag_list, swim_lane_id, sort_rank, :archivedAt FROM tasks WHERE id IN (:ids)";
+
+    private static final String DELETE_HOT_COMMENTS = "DELETE FROM comments WHERE task_id IN (:ids)";
+
+    private static final String DELETE_HOT_TASKS = "DELETE FROM tasks WHERE id IN (:ids)";
+
+    private static final String LOCK_LANES = "SELECT id FROM swim_lanes WHERE id IN (:laneIds) ORDER BY id FOR UPDATE";
+
+    private static final String LANES_OF_ARCHIVED_TASKS = "SELECT DISTINCT swim_lane_id FROM tasks_archive "
+            + "WHERE id IN (:ids)";
+
+    private static final String TASK_OF_ARCHIVED_COMMENT = "SELECT task_id FROM comments_archive WHERE id = :id";
+
+    private static final String ARCHIVED_TASKS_OF_LANE = "SELECT id FROM tasks_archive WHERE swim_lane_id = :laneId";
+
+    private static final String RESTORE_TASKS = "INSERT INTO tasks (id, name, status, tag_list, swim_lane_id, sort_rank) "
+            + "SELECT id, name, status, tag_list, swim_lane_id, sort_rank FROM tasks_archive WHERE id IN (:ids)";
+
+    private static final String RESTORE_COMMENTS = "INSERT INTO comments (id, text, created_at, updated_at, task_id) "
+            + "SELECT id, text, created_at, updated_at, task_id FROM comments_archive WHERE task_id IN (:ids)";
+
+    private static final String DELETE_ARCHIVED_COMMENTS = "DELETE FROM comments_archive WHERE task_id IN (:ids)";
+
+    private static final String DELETE_ARCHIVED_TASKS = "DELETE FROM tasks_archive WHERE id IN (:ids)";
+
+    private static final String COLUMN_RANKS = "SELECT sort_rank FROM ("
+            + "SELECT id, sort_rank FROM tasks WHERE swim_lane_id = :laneId AND status = :status "
+            + "AND id <> :excludeTaskId AND sort_rank IS NOT NULL "
+            + "UNION ALL SELECT id, sort_rank FROM tasks_archive WHERE swim_lane_id = :laneId AND status = :status "
+            + "AND id <> :excludeTaskId AND sort_rank IS NOT NULL"
+            + ") c ORDER BY sort_rank, id LIMIT :limit OFFSET :offset";
+
+    private static final String ARCHIVED_COLUMN = "SELECT id, sort_rank FROM tasks_archive "
+            + "WHERE swim_lane_id = :laneId AND status = :status AND sort_rank IS NOT NULL ORDER BY sort_rank, id";
+
+    private static final String UPDATE_ARCHIVED_RANK = "UPDATE tasks_archive SET sort_rank = :rank WHERE id = :id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ArchivedCommentRepository archivedCommentRepository;
+    private final SwimLaneDAO swimLaneDAO;
+    private final PendingWriteOverlay overlay;
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final Executor asyncWriteExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int lanesPerRun;
+
+    private final AtomicLong archivedLanes = new AtomicLong();
+    private final AtomicLong archivedTasks = new AtomicLong();
+    private final AtomicLong archivedComments = new AtomicLong();
+    private final AtomicLong restoredTasks = new AtomicLong();
+    private final AtomicLong skippedLanes = new AtomicLong();
+    private final AtomicLong failedLanes = new AtomicLong();
+
+    public TaskArchiveService(JdbcTemplate jdbcTemplate, ArchivedTaskRepository archivedTaskRepository,
+            ArchivedCommentRepository archivedCommentRepository, SwimLaneDAO swimLaneDAO,
+            PendingWriteOverlay overlay, WriteBehindBuffer writeBehindBuffer,
+            @Qualifier("asyncWriteExecutor") Executor asyncWriteExecutor,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.archive.chunk-size:500}") int chunkSize,
+            @Value("${app.archive.lanes-per-run:100}") int lanesPerRun) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.archivedCommentRepository = archivedCommentRepository;
+        this.swimLaneDAO = swimLaneDAO;
+        this.overlay = overlay;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.asyncWriteExecutor = asyncWriteExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.lanesPerRun = Math.max(1, lanesPerRun);
+    }
+
+    // =========================================================================
+    // ARCHIVING (hot -> cold)
+    // =========================================================================
+
+    /**
+     * Archive the DONE tasks of completed lanes, each lane on its write
+     * partition. Lanes with queued writes are left for the next run.
+     */
+    @Scheduled(initialDelayString = "${app.archive.interval-ms:300000}",
+            fixedDelayString = "${app.archive.interval-ms:300000}")
+    public void archiveCompletedLanes() {
+        List<Long> laneIds = jdbcTemplate.queryForList(LANES_TO_ARCHIVE, new MapSqlParameterSource()
+                .addValue("status", TaskStatus.DONE.name())
+                .addValue("limit", lanesPerRun), Long.class);
+        for (Long laneId : laneIds) {
+            if (overlay.hasPendingWrites(laneId)) {
+                skippedLanes.incrementAndGet();
+                log.debug("[ARCHIVE] Lane {} has queued writes, archiving it later", laneId);
+                continue;
+            }
+            int partition = writeBehindBuffer.partitionFor("lane:" + laneId);
+            asyncWriteExecutor.execute(new PartitionedTask(partition, () -> archive(laneId)));
+        }
+    }
+
+    private void archive(Long laneId) {
+        try {
+            int tasks = archiveLane(laneId);
+            if (tasks > 0) {
+                archivedLanes.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            failedLanes.incrementAndGet();
+            log.error("[ARCHIVE] Failed to archive lane {}: {}", laneId, e.getMessage());
+        }
+    }
+
+    /**
+     * Move the DONE tasks of a completed, live lane and their comments to the
+     * archive, one chunk per transaction. Does nothing for other lanes.
+     *
+     * @return the number of tasks archived
+     */
+    public int archiveLane(Long laneId) {
+        long start = System.currentTimeMillis();
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveChunk(laneId));
+            total += moved;
+        } while (moved == chunkSize);
+        if (total > 0) {
+            overlay.invalidateLane(laneId);
+            log.info("[ARCHIVE] Archived {} tasks of lane {} in {}ms", total, laneId,
+                    System.currentTimeMillis() - start);
+        }
+        return total;
+    }
+
+    private int archiveChunk(Long laneId) {
+        MapSqlParameterSource lane = new MapSqlParameterSource("laneId", laneId);
+        if (jdbcTemplate.queryForList(LOCK_COMPLETED_LANE, lane, Long.class).isEmpty()) {
+            return 0; // reopened or deleted since it was picked
+        }
+        List<Long> ids = jdbcTemplate.queryForList(TASKS_TO_ARCHIVE, new MapSqlParameterSource()
+                .addValue("laneId", laneId)
+                .addValue("status", TaskStatus.DONE.name())
+                .addValue("limit", chunkSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+        int comments = jdbcTemplate.update(ARCHIVE_COMMENTS, params);
+        jdbcTemplate.update(ARCHIVE_TASKS, params);
+        jdbcTemplate.update(DELETE_HOT_COMMENTS, params);
+        jdbcTemplate.update(DELETE_HOT_TASKS, params);
+        archivedTasks.addAndGet(ids.size());
+        archivedComments.addAndGet(comments);
+        return ids.size();
+    }
+
+    // =========================================================================
+    // RESTORING (cold -> hot)
+    // =========================================================================
+
+    /**
+     * Move an archived task and its comments back to the hot tables, e.g.
+     * before it is written to.
+     *
+     * @return false if the task is not archived
+     */
+    @Transactional
+    public boolean restoreTask(Long taskId) {
+        return restoreTasks(List.of(taskId)) > 0;
+    }
+
+    /**
+     * Move those of the given tasks that are archived back to the hot tables.
+     *
+     * @return the number of tasks restored
+     */
+    @Transactional
+    public int restoreTasks(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> laneIds = jdbcTemplate.queryForList(LANES_OF_ARCHIVED_TASKS,
+                new MapSqlParameterSource("ids", taskIds), Long.class);
+        if (laneIds.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.queryForList(LOCK_LANES, new MapSqlParameterSource("laneIds", laneIds), Long.class);
+        return restore(List.copyOf(taskIds));
+    }
+
+    /**
+     * Move a task back from the archive before the write-behind flush writes
+     * it, if it may be archived.
+     *
+     * @param laneId lane the task was in when the write was accepted, or null
+     *               if unknown
+     * @return false if the task is not archived
+     */
+    @Transactional
+    public boolean restoreForWrite(Long taskId, Long laneId) {
+        return mayBeArchived(laneId) && restoreTask(taskId);
+    }
+
+    /**
+     * Move those of the moved tasks that are archived back before a batch of
+     * moves is written, checking the archive only for tasks of completed
+     * lanes.
+     *
+     * @return the number of tasks restored
+     */
+    @Transactional
+    public int restoreForMoves(Collection<WriteOperation> moves) {
+        return restoreTasks(moves.stream()
+                .filter(op -> mayBeArchived(op.getFromLaneId()))
+                .map(WriteOperation::getEntityId)
+                .toList());
+    }
+
+    /**
+     * Only tasks of completed lanes are archived (reopening a lane restores
+     * them), so writes to active lanes skip the archive. The lane usually
+     * comes from the second-level cache.
+     */
+    private boolean mayBeArchived(Long laneId) {
+        return laneId == null || swimLaneDAO.findById(laneId)
+                .map(lane -> Boolean.TRUE.equals(lane.getIsCompleted()))
+                .orElse(true);
+    }
+
+    /**
+     * Restore the archived task a comment belongs to.
+     *
+     * @return false if the comment is not archived
+     */
+    @Transactional
+    public boolean restoreTaskOfComment(Long commentId) {
+        List<Long> taskId = jdbcTemplate.queryForList(TASK_OF_ARCHIVED_COMMENT,
+                new MapSqlParameterSource("id", commentId), Long.class);
+        return !taskId.isEmpty() && restoreTask(taskId.get(0));
+    }
+
+    /**
+     * Move every archived task of a lane back to the hot tables: the lane was
+     * reopened, or a task is being moved among its archived tasks.
+     *
+     * @return the number of tasks restored
+     */
+    @Transactional
+    public int restoreLane(Long laneId) {
+        if (!archivedTaskRepository.existsBySwimLaneId(laneId)) {
+            return 0;
+        }
+        MapSqlParameterSource lane = new MapSqlParameterSource("laneId", laneId);
+        jdbcTemplate.queryForList(LOCK_LANE, lane, Long.class);
+        int restored = restore(jdbcTemplate.queryForList(ARCHIVED_TASKS_OF_LANE, lane, Long.class));
+        log.info("[ARCHIVE] Restored {} tasks of lane {}", restored, laneId);
+        return restored;
+    }
+
+    private int restore(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        int restored = jdbcTemplate.update(RESTORE_TASKS, params);
+        jdbcTemplate.update(RESTORE_COMMENTS, params);
+        jdbcTemplate.update(DELETE_ARCHIVED_COMMENTS, params);
+        jdbcTemplate.update(DELETE_ARCHIVED_TASKS, params);
+        restoredTasks.addAndGet(restored);
+        return restored;
+    }
+
+    /**
+     * Drop the archived tasks and comments of a lane that is being deleted.
+     *
+     * @return the number of archived tasks deleted
+     */
+    @Transactional
+    public int deleteLane(Long laneId) {
+        MapSqlParameterSource lane = new MapSqlParameterSource("laneId", laneId);
+        List<Long> ids = jdbcTemplate.queryForList(ARCHIVED_TASKS_OF_LANE, lane, Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update(DELETE_ARCHIVED_COMMENTS, params);
+        return jdbcTemplate.update(DELETE_ARCHIVED_TASKS, params);
+    }
+
+    // =========================================================================
+    // READS (cold tier, as detached read-only tasks and comments)
+    // =========================================================================
+
+    /**
+     * Archived tasks of the given lanes, by lane and then rank.
+     */
+    public List<Task> getArchivedTasks(Collection<Long> laneIds) {
+        if (laneIds.isEmpty()) {
+            return List.of();
+        }
+        return archivedTaskRepository.findBySwimLaneIdIn(laneIds).stream().map(task -> task.toTask(null)).toList();
+    }
+
+    /**
+     * The archived part of a lane's task page (see {@code TaskRepositoryCustom#findPage}):
+     * only DONE columns are archived, so other columns and cursors past the
+     * DONE column return nothing.
+     */
+    public List<Task> getArchivedPage(Long laneId, TaskStatus status, PageCursor after, int limit) {
+        TaskStatus column = TaskStatus.DONE;
+        if ((status != null && status != column)
+                || (after != null && after.status() != null && after.status().compareTo(column) > 0)) {
+            return List.of();
+        }
+        PageCursor from = after != null && after.status() == column ? after : null;
+        List<Task> page = new ArrayList<>();
+        if (from == null || from.position() != null) {
+            archivedTaskRepository.findRankedAfter(laneId, column, from != null ? from.position() : null,
+                    from != null ? from.id() : 0, Limit.of(limit))
+                    .forEach(task -> page.add(task.toTask(null)));
+        }
+        if (page.size() < limit) {
+            long afterId = from != null && from.position() == null ? from.id() : 0;
+            archivedTaskRepository.findUnrankedAfter(laneId, column, afterId, Limit.of(limit - page.size()))
+                    .forEach(task -> page.add(task.toTask(null)));
+        }
+        return page;
+    }
+
+    /**
+     * Archived tasks carrying a tag in a user's live lanes, with their lanes.
+     */
+    public List<Task> getArchivedTasksByTag(Long userId, String tag) {
+        return archivedTaskRepository.findByUserIdAndTag(userId, tag).stream()
+                .map(row -> ((ArchivedTask) row[0]).toTask((SwimLane) row[1]))
+                .toList();
+    }
+
+    public Optional<Task> getArchivedTask(Long id) {
+        return archivedTaskRepository.findById(id)
+                .map(task -> task.toTask(swimLaneDAO.findById(task.getSwimLaneId()).orElse(null)));
+    }
+
+    public List<Task> getArchivedTasksById(Collection<Long> ids) {
+        return archivedTaskRepository.findAllById(ids).stream().map(task -> task.toTask(null)).toList();
+    }
+
+    public boolean isArchived(Long taskId) {
+        return archivedTaskRepository.existsById(taskId);
+    }
+
+    /**
+     * One page of an archived task's comments after the given id, oldest first.
+     */
+    public List<Comment> getArchivedComments(Long taskId, Long afterId, int limit) {
+        return archivedCommentRepository.findByTaskIdAndIdGreaterThanOrderByIdAsc(taskId, afterId, Limit.of(limit))
+                .stream()
+                .map(ArchivedComment::toComment)
+                .toList();
+    }
+
+    /**
+     * Highest rank among the archived tasks of a column (null if none).
+     */
+    public Long findMaxRank(Long laneId, TaskStatus status) {
+        return archivedTaskRepository.findMaxRank(laneId, status);
+    }
+
+    public boolean hasArchivedTasks(Long laneId) {
+        return archivedTaskRepository.existsBySwimLaneId(laneId);
+    }
+
+    /**
+     * Ranks of a column with its archived tasks, in order, skipping the given
+     * task: {@code TaskDAO#findColumnRanks} across both tiers, so a move into
+     * a partly archived column is ranked without restoring it.
+     */
+    public List<Long> findColumnRanks(Long laneId, TaskStatus status, Long excludeTaskId, int offset, int limit) {
+        return jdbcTemplate.queryForList(COLUMN_RANKS, new MapSqlParameterSource()
+                .addValue("laneId", laneId)
+                .addValue("status", status.name())
+                .addValue("excludeTaskId", excludeTaskId)
+                .addValue("offset", offset)
+                .addValue("limit", limit), Long.class);
+    }
+
+    /**
+     * Ranked archived tasks of a column in order, as task id to rank.
+     */
+    public Map<Long, Long> findColumn(Long laneId, TaskStatus status) {
+        Map<Long, Long> column = new LinkedHashMap<>();
+        jdbcTemplate.query(ARCHIVED_COLUMN, new MapSqlParameterSource()
+                .addValue("laneId", laneId)
+                .addValue("status", status.name()),
+                row -> {
+                    column.put(row.getLong("id"), row.getLong("sort_rank"));
+                });
+        return column;
+    }
+
+    /**
+     * Re-rank archived tasks in place (a column being re-spaced), in one batch.
+     *
+     * @param ranks task id to its new rank
+     */
+    public void updateRanks(Map<Long, Long> ranks) {
+        if (ranks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_ARCHIVED_RANK, ranks.entrySet().stream()
+                .map(rank -> new MapSqlParameterSource()
+                        .addValue("id", rank.getKey())
+                        .addValue("rank", rank.getValue()))
+                .toArray(MapSqlParameterSource[]::new));
+    }
+
+    /**
+     * Archiving counters (for monitoring).
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("archivedLanes", archivedLanes.get());
+        stats.put("archivedTasks", archivedTasks.get());
+        stats.put("archivedComments", archivedComments.get());
+        stats.put("restoredTasks", restoredTasks.get());
+        stats.put("skippedLanes", skippedLanes.get());
+        stats.put("failedLanes", failedLanes.get());
+        return stats;
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.todo.service;
+
+import com.example.todo.config.PartitionedWriteExecutor.PartitionedTask;
+import com.example.todo.dao.TaskDAO;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.model.TaskView;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * TaskRanking - Gapped order keys for tasks within a column (lane + status).
+ *
+ * Tasks are ordered by a sparse long rank ({@code tasks.sort_rank}, exposed
+ * as {@code position}) instead of a dense index. Ranks start {@link #GAP}
+ * apart, so a move takes the midpoint of its new neighbours and writes a
+ * single row; nothing below the drop point is shifted.
+ *
+ * Repeated drops into the same spot halve the gap each time. A column whose
+ * gap falls below {@code app.ranking.min-gap} is marked dense and re-spaced
+ * in the background every {@code app.ranking.rebalance-interval-ms}; if a
+ * gap is exhausted before that, the column is re-spaced inline by the move
+ * that needs the room. Re-spacing runs on the lane's write partition, so it
+ * never interleaves with a flush that allocates ranks in the same lane.
+ * Several moves into one column in the same flush are ranked together from
+ * one read of the column ({@link #ranksFor(Long, TaskStatus, List)}).
+ *
+ * A DONE column of a completed lane may be partly archived
+ * ({@link TaskArchiveService}); its archived tasks are ranked and re-spaced
+ * in place along with the hot ones, so a move never restores them.
+ */
+@Component
+@Log4j2
+public class TaskRanking {
+
+    /** Distance between neighbouring ranks after (re-)spacing. */
+    public static final long GAP = 1L << 16;
+
+    private final TaskDAO taskDAO;
+    private final PendingWriteOverlay overlay;
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final SseEventPublisher eventPublisher;
+    private final Executor asyncWriteExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskArchiveService taskArchiveService;
+    private final long minGap;
+
+    private final Set<Column> denseColumns = ConcurrentHashMap.newKeySet();
+    private final AtomicLong rebalancedColumns = new AtomicLong();
+    private final AtomicLong respacedTasks = new AtomicLong();
+    private final AtomicLong inlineRebalances = new AtomicLong();
+
+    /**
+     * A column of the board: the tasks of one lane with one status.
+     */
+    public record Column(Long laneId, TaskStatus status) {
+    }
+
+    /**
+     * A task dropped at an index of a column (null for the end).
+     */
+    public record Drop(Long taskId, Integer index) {
+    }
+
+    public TaskRanking(TaskDAO taskDAO, PendingWriteOverlay overlay, WriteBehindBuffer writeBehindBuffer,
+            SseEventPublisher eventPublisher, @Qualifier("asyncWriteExecutor") Executor asyncWriteExecutor,
+            PlatformTransactionManager transactionManager, TaskArchiveService taskArchiveService,
+            @Value("${app.ranking.min-gap:64}") long minGap) {
+        this.taskDAO = taskDAO;
+        this.overlay = overlay;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.eventPublisher = eventPublisher;
+        this.asyncWriteExecutor = asyncWriteExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskArchiveService = taskArchiveService;
+        this.minGap = Math.max(2, minGap);
+    }
+
+    /**
+     * Rank between two neighbours; either may be null at the ends of a column.
+     *
+     * @return the midpoint, or null if no rank fits between them
+     */
+    public static Long between(Long before, Long after) {
+        if (before == null && after == null) {
+            return GAP;
+        }
+        if (before == null) {
+            return after - GAP;
+        }
+        if (after == null) {
+            return before + GAP;
+        }
+        return after - before > 1 ? before + (after - before) / 2 : null;
+    }
+
+    /**
+     * Rank for a task appended after the given highest rank of a column.
+     */
+    public static long after(Long maxRank) {
+        return maxRank != null ? maxRank + GAP : GAP;
+    }
+
+    /**
+     * Rank that places a task at the given index of a column (among the other
+     * tasks of the column), or at its end when the index is null or past the
+     * end. Must run inside the flush transaction of the lane.
+     */
+    public Long rankFor(Long laneId, TaskStatus status, Integer index, Long taskId) {
+        boolean archived = hasArchive(laneId, status);
+        if (index == null) {
+            return after(maxRank(laneId, status, taskId, archived));
+        }
+        int target = Math.max(0, index);
+        int offset = Math.max(0, target - 1);
+        int limit = target > 0 ? 2 : 1;
+        List<Long> neighbours = archived
+                ? taskArchiveService.findColumnRanks(laneId, status, taskId, offset, limit)
+                : taskDAO.findColumnRanks(laneId, status, taskId, offset, limit);
+        if (target > 0 && neighbours.isEmpty()) {
+            return after(maxRank(laneId, status, taskId, archived));
+        }
+        Long before = target > 0 ? neighbours.get(0) : null;
+        Long after = target > 0
+                ? (neighbours.size() > 1 ? neighbours.get(1) : null)
+                : (neighbours.isEmpty() ? null : neighbours.get(0));
+
+        Long rank = between(before, after);
+        if (rank == null) {
+            inlineRebalances.incrementAndGet();
+            log.warn("[RANKING] No rank left between {} and {} in lane {} column {}, re-spacing inline", before,
+                    after, laneId, status);
+            return rankAfterRespace(laneId, status, target, taskId);
+        }
+        if (before != null && after != null && after - before < minGap) {
+            markDense(laneId, status);
+        }
+        return rank;
+    }
+
+    /**
+     * Ranks for several drops into one column, placed in order exactly as the
+     * same moves would be one by one, but from a single read of the column.
+     * If a gap is exhausted the column is re-spaced in memory, so the re-ranked
+     * tasks are returned along with the dropped ones and written by the same
+     * statement. Must run inside the flush transaction of the lane.
+     *
+     * @return task id to new rank for every task whose rank changes
+     */
+    public Map<Long, Long> ranksFor(Long laneId, TaskStatus status, List<Drop> drops) {
+        Map<Long, Long> column = taskDAO.findColumn(laneId, status);
+        Map<Long, Long> archived = hasArchive(laneId, status)
+                ? taskArchiveService.findColumn(laneId, status)
+                : Map.of();
+        if (!archived.isEmpty()) {
+            column = merge(column, archived);
+        }
+        List<Long> order = new ArrayList<>(column.keySet());
+        Map<Long, Long> ranks = new HashMap<>(column);
+        Map<Long, Long> changed = new LinkedHashMap<>();
+        for (Drop drop : drops) {
+            order.remove(drop.taskId());
+            int target = drop.index() == null ? order.size() : Math.min(Math.max(0, drop.index()), order.size());
+            Long before = target > 0 ? ranks.get(order.get(target - 1)) : null;
+            Long after = target < order.size() ? ranks.get(order.get(target)) : null;
+            Long rank = between(before, after);
+            if (rank == null) {
+                inlineRebalances.incrementAndGet();
+                log.warn("[RANKING] No rank left between {} and {} in lane {} column {}, re-spacing {} tasks inline",
+                        before, after, laneId, status, order.size());
+                long next = 0;
+                for (Long taskId : order) {
+                    ranks.put(taskId, next += GAP);
+                    changed.put(taskId, next);
+                }
+                respacedTasks.addAndGet(order.size());
+                rank = between(target > 0 ? ranks.get(order.get(target - 1)) : null,
+                        target < order.size() ? ranks.get(order.get(target)) : null);
+            } else if (before != null && after != null && after - before < minGap) {
+                markDense(laneId, status);
+            }
+            order.add(target, drop.taskId());
+            ranks.put(drop.taskId(), rank);
+            changed.put(drop.taskId(), rank);
+        }
+        if (!archived.isEmpty()) {
+            // Re-spaced archived tasks stay archived: write their ranks here
+            Map<Long, Long> rerankedArchive = new LinkedHashMap<>();
+            for (Long taskId : archived.keySet()) {
+                Long rank = changed.remove(taskId);
+                if (rank != null) {
+                    rerankedArchive.put(taskId, rank);
+                }
+            }
+            taskArchiveService.updateRanks(rerankedArchive);
+            taskArchiveService.getArchivedTasksById(rerankedArchive.keySet())
+                    .forEach(task -> eventPublisher.publish("task-updated", TaskView.of(task)));
+        }
+        return changed;
+    }
+
+    /**
+     * Only DONE columns of completed lanes have archived tasks.
+     */
+    private boolean hasArchive(Long laneId, TaskStatus status) {
+        return status == TaskStatus.DONE && taskArchiveService.hasArchivedTasks(laneId);
+    }
+
+    private Long maxRank(Long laneId, TaskStatus status, Long taskId, boolean archived) {
+        Long max = taskDAO.findMaxRank(laneId, status, taskId);
+        Long archivedMax = archived ? taskArchiveService.findMaxRank(laneId, status) : null;
+        return archivedMax != null && (max == null || archivedMax > max) ? archivedMax : max;
+    }
+
+    /**
+     * Hot and archived ranks of a column in one order (rank, then id).
+     */
+    private static Map<Long, Long> merge(Map<Long, Long> hot, Map<Long, Long> archived) {
+        Map<Long, Long> merged = new LinkedHashMap<>();
+        Stream.concat(hot.entrySet().stream(), archived.entrySet().stream())
+                .sorted(Map.Entry.<Long, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> merged.put(entry.getKey(), entry.getValue()));
+        return merged;
+    }
+
+    /**
+     * Queue a column for re-spacing by the background rebalancer.
+     */
+    public void markDense(Long laneId, TaskStatus status) {
+        if (denseColumns.add(new Column(laneId, status))) {
+            log.debug("[RANKING] Lane {} column {} is getting dense, queued for rebalancing", laneId, status);
+        }
+    }
+
+    /**
+     * Re-space every column marked dense, each on the write partition of its
+     * lane so it cannot interleave with a flush allocating ranks there.
+     */
+    @Scheduled(fixedDelayString = "${app.ranking.rebalance-interval-ms:60000}")
+    public void rebalanceDenseColumns() {
+        for (Column column : new ArrayList<>(denseColumns)) {
+            denseColumns.remove(column);
+            int partition = writeBehindBuffer.partitionFor("lane:" + column.laneId());
+            asyncWriteExecutor.execute(new PartitionedTask(partition, () -> rebalance(column)));
+        }
+    }
+
+    private void rebalance(Column column) {
+        try {
+            int respaced = transactionTemplate.execute(status -> respace(column.laneId(), column.status(), null)
+                    .size());
+            overlay.invalidateLane(column.laneId());
+            rebalancedColumns.incrementAndGet();
+            log.info("[RANKING] Re-spaced {} tasks in lane {} column {}", respaced, column.laneId(),
+                    column.status());
+        } catch (RuntimeException e) {
+            log.error("[RANKING] Failed to re-space lane {} column {}: {}", column.laneId(), column.status(),
+                    e.getMessage());
+            markDense(column.laneId(), column.status());
+        }
+    }
+
+    private Long rankAfterRespace(Long laneId, TaskStatus status, int index, Long taskId) {
+        List<Long> ranks = respace(laneId, status, taskId).stream()
+                .filter(task -> !task.getId().equals(taskId))
+                .map(Task::getPosition)
+                .toList();
+        int target = Math.min(index, ranks.size());
+        return between(target > 0 ? ranks.get(target - 1) : null, target < ranks.size() ? ranks.get(target) : null);
+    }
+
+    /**
+     * Rewrite the ranks of a column {@link #GAP} apart, keeping its order, and
+     * publish the re-ranked tasks (except the one being moved) so clients
+     * compare fresh ranks. Hibernate batches the resulting updates. Archived
+     * tasks of the column are re-ranked in the archive.
+     */
+    private List<Task> respace(Long laneId, TaskStatus status, Long movingTaskId) {
+        List<Task> hot = taskDAO.findBySwimLaneId(laneId).stream()
+                .filter(task -> task.getStatus() == status)
+                .toList();
+        List<Task> archived = hasArchive(laneId, status)
+                ? taskArchiveService.getArchivedTasks(List.of(laneId)).stream()
+                        .filter(task -> task.getStatus() == status)
+                        .toList()
+                : List.of();
+        List<Task> column = archived.isEmpty() ? hot : Stream.concat(hot.stream(), archived.stream())
+                .sorted(Comparator.comparing(Task::getPosition, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Task::getId))
+                .toList();
+        long rank = 0;
+        for (Task task : column) {
+            task.setPosition(rank += GAP);
+        }
+        taskDAO.saveAll(hot);
+        Map<Long, Long> archivedRanks = new LinkedHashMap<>();
+        archived.forEach(task -> archivedRanks.put(task.getId(), task.getPosition()));
+        taskArchiveService.updateRanks(archivedRanks);
+        respacedTasks.addAndGet(column.size());
+        column.stream()
+                .filter(task -> !task.getId().equals(movingTaskId))
+                .forEach(task -> eventPublisher.publish("task-updated", TaskView.of(task)));
+        return column;
+    }
+
+    /**
+     * Rebalancing counters (for monitoring).
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("denseColumns", denseColumns.size());
+        stats.put("rebalancedColumns", rebalancedColumns.get());
+        stats.put("inlineRebalances", inlineRebalances.get());
+        stats.put("respacedTasks", respacedTasks.get());
+        return stats;
+    }
+}
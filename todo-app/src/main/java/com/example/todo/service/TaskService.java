@@ -7,15 +7,24 @@ import com.example.todo.model.Comment;
 import com.example.todo.model.SwimLane;
 import com.example.todo.model.Task;
 import com.example.todo.model.TaskStatus;
+import com.example.todo.model.TaskView;
 import com.example.todo.repository.CommentRepository;
+import com.example.todo.repository.PageCursor;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import lombok.extern.log4j.Log4j2;
 
@@ -23,27 +32,87 @@ import lombok.extern.log4j.Log4j2;
  * TaskService - Manages task CRUD operations.
  * 
  * Cache Strategy:
- * - Uses only 'tasksByLane' cache (keyed by swimLaneId)
- * - Cache is evicted on create/update/delete operations
+ * - Uses only 'tasksByLane' cache (keyed by swimLaneId), holding immutable
+ *   {@link TaskView}s built when the lane is loaded, never entities
+ * - Cache holds committed rows only; queued (write-behind) updates, moves and
+ *   deletes are merged on read by the {@link PendingWriteOverlay}, which also
+ *   evicts the affected lanes once the writes commit
+ * - Synchronous creates evict the lane immediately
  * - No global 'tasks' cache - tasks are always fetched per lane
+ *
+ * Archive: DONE tasks of completed lanes live in the archive tables
+ * ({@link TaskArchiveService}). Every read here also reads the archive, so
+ * tasks are listed the same whichever tier they are in, and writes move an
+ * archived task back to the hot tables before it is changed.
  */
 @Service
 @Log4j2
 public class TaskService {
 
+    /**
+     * One entry of a batch move: like a single move, position is the drop
+     * index in the target column (null to append).
+     */
+    public record TaskMove(Long taskId, TaskStatus status, Long swimLaneId, Integer position) {
+    }
+
+    /**
+     * One page of a task's comments, oldest first. {@code next} is the
+     * {@code after} cursor for the following page (null on the last page).
+     */
+    public record CommentPage(List<Comment> items, Long next) {
+    }
+
+    /**
+     * One keyset page of a lane's tasks; pass {@code next} as {@code after}
+     * for the following page (null on the last page).
+     */
+    public record TaskPage(List<TaskView> items, String next) {
+    }
+
+    /** Board order within a lane: column, then rank (nulls last), then id. */
+    private static final Comparator<Task> BY_COLUMN_AND_RANK = Comparator
+            .comparing(Task::getStatus)
+            .thenComparing(Task::getPosition, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Task::getId);
+
+    /** Board order across lanes: lane position, lane id, then rank (nulls last) and id. */
+    private static final Comparator<Task> BY_BOARD_ORDER = Comparator
+            .comparing((Task task) -> task.getSwimLane().getPosition(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(task -> task.getSwimLane().getId())
+            .thenComparing(Task::getPosition, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Task::getId);
+
+    private static final Comparator<TaskView> BY_RANK = Comparator
+            .comparing(TaskView::position, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskView::id);
+
+    static final int DEFAULT_TASK_PAGE = 100;
+    static final int MAX_TASK_PAGE = 500;
+
+    static final int DEFAULT_COMMENT_PAGE = 50;
+    static final int MAX_COMMENT_PAGE = 200;
+
     private final TaskDAO taskDAO;
     private final SwimLaneDAO swimLaneDAO;
     private final CommentRepository commentRepository;
     private final AsyncWriteService asyncWriteService;
     private final CacheManager cacheManager;
+    private final PendingWriteOverlay pendingWriteOverlay;
+    private final PageCache pageCache;
+    private final TaskArchiveService taskArchiveService;
 
     public TaskService(TaskDAO taskDAO, SwimLaneDAO swimLaneDAO, CommentRepository commentRepository,
-            AsyncWriteService asyncWriteService, CacheManager cacheManager) {
+            AsyncWriteService asyncWriteService, CacheManager cacheManager, PendingWriteOverlay pendingWriteOverlay,
+            PageCache pageCache, TaskArchiveService taskArchiveService) {
         this.taskDAO = taskDAO;
         this.swimLaneDAO = swimLaneDAO;
         this.commentRepository = commentRepository;
         this.asyncWriteService = asyncWriteService;
         this.cacheManager = cacheManager;
+        this.pendingWriteOverlay = pendingWriteOverlay;
+        this.pageCache = pageCache;
+        this.taskArchiveService = taskArchiveService;
     }
 
     // =========================================================================
@@ -60,6 +129,7 @@ public class TaskService {
             cache.evict(laneId);
             log.info("[CACHE EVICT] Evicted tasksByLane cache for lane {}", laneId);
         }
+        pageCache.invalidate(PageCache.laneOwner(laneId));
     }
 
     // =========================================================================
@@ -67,21 +137,185 @@ public class TaskService {
     // =========================================================================
 
     /**
-     * Get tasks for a specific swimlane (cached).
+     * Get tasks for a specific swimlane (cached), with queued writes applied.
+     *
+     * The committed list is only cached if no write to the lane committed while
+     * it was being loaded; otherwise it may predate that commit.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksBySwimLaneId(Long swimLaneId) {
+        var cache = cacheManager.getCache("tasksByLane");
+        @SuppressWarnings("unchecked")
+        List<TaskView> committed = cache != null ? cache.get(swimLaneId, List.class) : null;
+        if (committed == null) {
+            long start = System.currentTimeMillis();
+            long generation = pendingWriteOverlay.getGeneration(swimLaneId);
+            log.info("[CACHE MISS] Fetching tasks for lane {} from database", swimLaneId);
+            committed = withArchived(taskDAO.findBySwimLaneId(swimLaneId).stream().map(TaskView::of).toList(),
+                    taskArchiveService.getArchivedTasks(List.of(swimLaneId)));
+            if (cache != null && pendingWriteOverlay.getGeneration(swimLaneId) == generation) {
+                cache.put(swimLaneId, committed);
+            }
+            log.info("[TIMING] getTasksBySwimLaneId({}) completed in {}ms, returned {} tasks", swimLaneId,
+                    System.currentTimeMillis() - start, committed.size());
+        }
+        return pendingWriteOverlay.merge(swimLaneId, committed);
+    }
+
+    /**
+     * Tasks of several lanes at once, with queued writes applied: the lanes
+     * missing from {@code tasksByLane} are loaded with one query and cached
+     * like {@link #getTasksBySwimLaneId}, so later per-lane reads are hits.
+     *
+     * @return tasks per lane in the order of the ids; empty for lanes without tasks
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<TaskView>> getTasksBySwimLaneIds(List<Long> swimLaneIds) {
+        var cache = cacheManager.getCache("tasksByLane");
+        Map<Long, List<TaskView>> committed = new LinkedHashMap<>();
+        Map<Long, Long> generations = new HashMap<>();
+        for (Long laneId : swimLaneIds) {
+            @SuppressWarnings("unchecked")
+            List<TaskView> cached = cache != null ? cache.get(laneId, List.class) : null;
+            committed.put(laneId, cached);
+            if (cached == null) {
+                generations.put(laneId, pendingWriteOverlay.getGeneration(laneId));
+            }
+        }
+        if (!generations.isEmpty()) {
+            long start = System.currentTimeMillis();
+            log.info("[CACHE MISS] Fetching tasks for {} lanes from database", generations.size());
+            Map<Long, List<TaskView>> loaded = new HashMap<>();
+            generations.keySet().forEach(laneId -> loaded.put(laneId, new ArrayList<>()));
+            for (Task task : taskDAO.findBySwimLaneIdIn(generations.keySet())) {
+                loaded.get(task.getSwimLane().getId()).add(TaskView.of(task));
+            }
+            Map<Long, List<Task>> archived = new HashMap<>();
+            for (Task task : taskArchiveService.getArchivedTasks(generations.keySet())) {
+                archived.computeIfAbsent(task.getSwimLane().getId(), k -> new ArrayList<>()).add(task);
+            }
+            loaded.forEach((laneId, tasks) -> {
+                List<TaskView> views = withArchived(tasks, archived.getOrDefault(laneId, List.of()));
+                committed.put(laneId, views);
+                if (cache != null && pendingWriteOverlay.getGeneration(laneId) == generations.get(laneId)) {
+                    cache.put(laneId, views);
+                }
+            });
+            log.info("[TIMING] getTasksBySwimLaneIds({} lanes) completed in {}ms", generations.size(),
+                    System.currentTimeMillis() - start);
+        }
+        Map<Long, List<TaskView>> merged = new LinkedHashMap<>();
+        committed.forEach((laneId, tasks) -> merged.put(laneId, pendingWriteOverlay.merge(laneId, tasks)));
+        return merged;
+    }
+
+    /**
+     * A page of a lane's tasks, column by column in board order, read from
+     * {@code idx_tasks_lane_status_rank} from the cursor on and cached per
+     * window. Like the tag search it reflects committed writes only; the full
+     * lane listing is the one that applies queued writes.
+     *
+     * @param status only this column, or every column if null
+     * @param after  {@code next} of the previous page, null for the first
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    @Cacheable(value = "tasksByLane", key = "#swimLaneId")
     @Transactional(readOnly = true)
-    public List<Task> getTasksBySwimLaneId(Long swimLaneId) {
+    public TaskPage getTaskPage(Long swimLaneId, TaskStatus status, String after, Integer limit) {
+        PageCursor cursor = PageCursor.parse(after);
+        int size = limit == null ? DEFAULT_TASK_PAGE : Math.min(Math.max(1, limit), MAX_TASK_PAGE);
+        String window = status + "|" + (after != null ? after : "") + "|" + size;
+        return pageCache.get(PageCache.laneOwner(swimLaneId), window, () -> {
+            long start = System.currentTimeMillis();
+            // One extra row tells whether another page follows
+            List<Task> page = new ArrayList<>(taskDAO.findPage(swimLaneId, status, cursor, size + 1));
+            List<Task> archived = taskArchiveService.getArchivedPage(swimLaneId, status, cursor, size + 1);
+            if (!archived.isEmpty()) {
+                page.addAll(archived);
+                page.sort(BY_COLUMN_AND_RANK);
+                page = page.subList(0, Math.min(page.size(), size + 1));
+            }
+            TaskPage result;
+            if (page.size() <= size) {
+                result = new TaskPage(page.stream().map(TaskView::of).toList(), null);
+            } else {
+                Task last = page.get(size - 1);
+                result = new TaskPage(page.subList(0, size).stream().map(TaskView::of).toList(),
+                        PageCursor.after(last.getStatus(), last.getPosition(), last.getId()).encode());
+            }
+            log.info("[TIMING] getTaskPage({}, status={}) completed in {}ms, returned {} tasks", swimLaneId, status,
+                    System.currentTimeMillis() - start, result.items().size());
+            return result;
+        });
+    }
+
+    /**
+     * Tasks of a user carrying a tag, across all of the user's live lanes, in
+     * board order. Answered by one indexed query instead of loading every lane.
+     * Not cached and reflects committed writes only; clients merge the result
+     * into the lanes they hold, which already carry their own queued edits.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksByTag(Long userId, String tag) {
         long start = System.currentTimeMillis();
-        log.info("[CACHE MISS] Fetching tasks for lane {} from database", swimLaneId);
-        List<Task> result = taskDAO.findBySwimLaneId(swimLaneId);
-        log.info("[TIMING] getTasksBySwimLaneId({}) completed in {}ms, returned {} tasks", swimLaneId,
-                System.currentTimeMillis() - start, result.size());
-        return result;
+        List<Task> found = new ArrayList<>(taskDAO.findByUserIdAndTag(userId, tag.trim()));
+        List<Task> archived = taskArchiveService.getArchivedTasksByTag(userId, tag.trim());
+        if (!archived.isEmpty()) {
+            found.addAll(archived);
+            found.sort(BY_BOARD_ORDER);
+        }
+        List<TaskView> tasks = found.stream().map(TaskView::of).toList();
+        log.info("[TIMING] getTasksByTag({}) completed in {}ms, returned {} tasks", tag,
+                System.currentTimeMillis() - start, tasks.size());
+        return tasks;
     }
 
+    /**
+     * A task by id, from the hot tables or else the archive (as a detached,
+     * read-only copy).
+     */
     public Optional<Task> getTask(Long id) {
-        return taskDAO.findById(id);
+        return taskDAO.findById(id).or(() -> taskArchiveService.getArchivedTask(id));
+    }
+
+    /**
+     * Hot tasks of a lane with its archived tasks, in lane order (rank, nulls
+     * last, then id). Archived rows never replace hot ones.
+     */
+    private static List<TaskView> withArchived(List<TaskView> hot, List<Task> archived) {
+        if (archived.isEmpty()) {
+            return List.copyOf(hot);
+        }
+        Set<Long> hotIds = new HashSet<>();
+        hot.forEach(task -> hotIds.add(task.id()));
+        List<TaskView> merged = new ArrayList<>(hot);
+        archived.stream().filter(task -> !hotIds.contains(task.getId())).map(TaskView::of).forEach(merged::add);
+        merged.sort(BY_RANK);
+        return List.copyOf(merged);
+    }
+
+    /**
+     * A comment to be changed, restoring its task from the archive if needed.
+     */
+    private Optional<Comment> findCommentForWrite(Long commentId) {
+        Optional<Comment> comment = commentRepository.findById(commentId);
+        if (comment.isEmpty() && taskArchiveService.restoreTaskOfComment(commentId)) {
+            log.info("[ARCHIVE] Restored the task of comment {} for a write", commentId);
+            return commentRepository.findById(commentId);
+        }
+        return comment;
+    }
+
+    /**
+     * A task to be changed: the hot row, after moving it back from the archive
+     * if it was archived.
+     */
+    private Optional<Task> findForWrite(Long id) {
+        Optional<Task> task = taskDAO.findById(id);
+        if (task.isEmpty() && taskArchiveService.restoreTask(id)) {
+            log.info("[ARCHIVE] Restored task {} for a write", id);
+            return taskDAO.findById(id);
+        }
+        return task;
     }
 
 
@@ -90,7 +324,7 @@ public class TaskService {
     // =========================================================================
 
     /**
-     * Create a new task and evict the lane cache.
+     * Create a new task at the end of its column and evict the lane cache.
      * Protected by @Idempotent to prevent duplicate tasks from rapid clicks.
      */
     @Idempotent(keyExpression = "'createTask:' + #task.name + ':' + (#task.swimLane != null ? #task.swimLane.id : 'null')")
@@ -100,6 +334,16 @@ public class TaskService {
         if (task.getStatus() == null) {
             task.setStatus(TaskStatus.TODO);
         }
+        if (task.getSwimLane() != null && task.getSwimLane().getId() != null) {
+            Long laneId = task.getSwimLane().getId();
+            // Archived tasks of the column keep their place above the new one
+            Long maxRank = taskDAO.findMaxRank(laneId, task.getStatus(), null);
+            Long archivedMaxRank = taskArchiveService.findMaxRank(laneId, task.getStatus());
+            if (archivedMaxRank != null && (maxRank == null || archivedMaxRank > maxRank)) {
+                maxRank = archivedMaxRank;
+            }
+            task.setPosition(TaskRanking.after(maxRank));
+        }
         Task savedTask = taskDAO.save(task);
         
         // Evict the lane cache so next fetch gets updated data
@@ -111,11 +355,11 @@ public class TaskService {
     }
 
     /**
-     * Update a task and evict the lane cache.
+     * Update a task; lane caches are finalised when the write commits.
      */
     public Task updateTask(Long id, Task updatedTask) {
         log.info("Updating task {}", id);
-        return taskDAO.findById(id)
+        return findForWrite(id)
                 .map(existing -> {
                     Long oldLaneId = existing.getSwimLane() != null ? existing.getSwimLane().getId() : null;
                     
@@ -131,13 +375,8 @@ public class TaskService {
                         existing.setSwimLane(lane);
                     }
 
-                    // Evict cache for both old and new lane
-                    evictTasksByLaneCache(oldLaneId);
-                    if (existing.getSwimLane() != null) {
-                        evictTasksByLaneCache(existing.getSwimLane().getId());
-                    }
-
-                    asyncWriteService.saveTask(existing);
+                    // Old and new lane caches are finalised when the write commits
+                    asyncWriteService.saveTask(existing, oldLaneId);
                     log.info("Returning immediate response to UI for task {}", id);
                     return existing;
                 })
@@ -148,46 +387,39 @@ public class TaskService {
     }
 
     /**
-     * Delete a task and evict the lane cache.
+     * Delete a task; its lane cache is evicted when the delete commits.
      */
     @Idempotent(keyExpression = "'deleteTask:' + #id")
     public void deleteTask(Long id) {
         log.info("Deleting task {}", id);
         
-        // Get the task to find its lane before deletion
-        taskDAO.findById(id).ifPresent(task -> {
-            if (task.getSwimLane() != null) {
-                evictTasksByLaneCache(task.getSwimLane().getId());
-            }
-        });
+        // Get the task to find its lane before deletion (an archived task is restored by the flush)
+        Long laneId = getTask(id)
+                .map(task -> task.getSwimLane() != null ? task.getSwimLane().getId() : null)
+                .orElse(null);
         
-        asyncWriteService.deleteTask(id);
+        asyncWriteService.deleteTask(id, laneId);
         log.info("Returning immediate response to UI for delete task {}", id);
     }
 
     /**
-     * Move a task between statuses/lanes.
+     * Move a task between statuses/lanes. {@code position} is the drop index in
+     * the target column; the flush turns it into a rank, so the optimistic
+     * response carries no rank.
      */
     @Transactional
     public Task moveTask(Long id, TaskStatus newStatus, Long swimLaneId, Integer position) {
         long start = System.currentTimeMillis();
         log.info("Moving task {} to status={}, lane={}, position={}", id, newStatus, swimLaneId, position);
 
-        // Get old lane ID for cache eviction
-        Task existingTask = taskDAO.findById(id).orElse(null);
+        // Get old lane ID: its cache is finalised when the move commits
+        Task existingTask = getTask(id).orElse(null);
         Long oldLaneId = (existingTask != null && existingTask.getSwimLane() != null) 
                 ? existingTask.getSwimLane().getId() : null;
 
-        // Evict cache for both old and new lane
-        evictTasksByLaneCache(oldLaneId);
-        if (swimLaneId != null && !swimLaneId.equals(oldLaneId)) {
-            evictTasksByLaneCache(swimLaneId);
-        }
-
         Task dummyTask = new Task();
         dummyTask.setId(id);
         dummyTask.setStatus(newStatus);
-        dummyTask.setPosition(position);
 
         if (swimLaneId != null) {
             SwimLane lane = new SwimLane();
@@ -195,21 +427,109 @@ public class TaskService {
             dummyTask.setSwimLane(lane);
         }
 
-        asyncWriteService.moveTask(id, newStatus, swimLaneId, position);
+        asyncWriteService.moveTask(id, newStatus, swimLaneId, position, oldLaneId);
         log.info("[TIMING] Optimistic UI response for task {} returned in {}ms", id,
                 System.currentTimeMillis() - start);
         return dummyTask;
     }
 
+    /**
+     * Move several tasks at once (multi-select drag, column reorder). The moves
+     * are applied in the given order, like the same single moves, but are
+     * queued together so they commit in one transaction per lane partition.
+     *
+     * @return optimistic responses, as for {@link #moveTask}
+     * @throws IllegalArgumentException if the batch is empty, an entry lacks a
+     *                                  task id or status, a task is listed twice
+     *                                  or does not exist
+     */
+    public List<Task> moveTasks(List<TaskMove> moves) {
+        long start = System.currentTimeMillis();
+        if (moves == null || moves.isEmpty()) {
+            throw new IllegalArgumentException("No moves given");
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (TaskMove move : moves) {
+            if (move.taskId() == null || move.status() == null) {
+                throw new IllegalArgumentException("Every move needs a taskId and a status");
+            }
+            if (!ids.add(move.taskId())) {
+                throw new IllegalArgumentException("Task " + move.taskId() + " is moved twice");
+            }
+        }
+        log.info("Moving {} tasks: {}", moves.size(), ids);
+
+        // Current lanes of all tasks in one query: their caches are finalised when the moves commit
+        Map<Long, Long> oldLaneIds = new HashMap<>();
+        for (Task task : taskDAO.findAllById(List.copyOf(ids))) {
+            oldLaneIds.put(task.getId(), task.getSwimLane() != null ? task.getSwimLane().getId() : null);
+        }
+        if (oldLaneIds.size() < ids.size()) {
+            // The flush restores archived tasks before moving them
+            Set<Long> missing = new HashSet<>(ids);
+            missing.removeAll(oldLaneIds.keySet());
+            taskArchiveService.getArchivedTasksById(missing)
+                    .forEach(task -> oldLaneIds.put(task.getId(), task.getSwimLane().getId()));
+        }
+        if (oldLaneIds.size() < ids.size()) {
+            ids.removeAll(oldLaneIds.keySet());
+            throw new IllegalArgumentException("Tasks not found: " + ids);
+        }
+
+        List<WriteOperation> operations = new ArrayList<>(moves.size());
+        List<Task> responses = new ArrayList<>(moves.size());
+        for (TaskMove move : moves) {
+            operations.add(WriteOperation.moveTask(move.taskId(), move.status(), move.swimLaneId(), move.position())
+                    .withFromLaneId(oldLaneIds.get(move.taskId())));
+            Task dummyTask = new Task();
+            dummyTask.setId(move.taskId());
+            dummyTask.setStatus(move.status());
+            if (move.swimLaneId() != null) {
+                dummyTask.setSwimLane(SwimLane.builder().id(move.swimLaneId()).build());
+            }
+            responses.add(dummyTask);
+        }
+        asyncWriteService.moveTasks(operations);
+        log.info("[TIMING] Optimistic UI response for {} moved tasks returned in {}ms", moves.size(),
+                System.currentTimeMillis() - start);
+        return responses;
+    }
+
     // =========================================================================
     // COMMENT CRUD (Using CommentRepository)
     // =========================================================================
 
+    /**
+     * Page through a task's comments by id (keyset): comments are not loaded
+     * with the task, lane listings carry only {@code commentCount}.
+     *
+     * @param afterId cursor from the previous page (null for the first page)
+     * @param limit   page size (null for the default, capped at the maximum)
+     */
+    @Transactional(readOnly = true)
+    public CommentPage getComments(Long taskId, Long afterId, Integer limit) {
+        boolean hot = taskDAO.existsById(taskId);
+        if (!hot && !taskArchiveService.isArchived(taskId)) {
+            throw new IllegalArgumentException("Task not found: " + taskId);
+        }
+        int size = limit == null ? DEFAULT_COMMENT_PAGE : Math.min(Math.max(1, limit), MAX_COMMENT_PAGE);
+        // One extra row tells whether another page follows
+        long after = afterId != null ? afterId : 0L;
+        List<Comment> page = hot
+                ? commentRepository.findByTaskIdAndIdGreaterThanOrderByIdAsc(taskId, after, Limit.of(size + 1))
+                : taskArchiveService.getArchivedComments(taskId, after, size + 1);
+        if (page.size() <= size) {
+            return new CommentPage(page, null);
+        }
+        List<Comment> items = page.subList(0, size);
+        return new CommentPage(List.copyOf(items), items.get(size - 1).getId());
+    }
+
     @Idempotent(keyExpression = "'addComment:' + #taskId + ':' + #text.hashCode()")
     @Transactional
     public Comment addComment(Long taskId, String text) {
         log.info("Adding comment to task {}", taskId);
-        Task task = getTask(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found: " + taskId));
+        Task task = findForWrite(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found: " + taskId));
 
         Comment comment = Comment.builder()
                 .text(text)
@@ -218,6 +538,10 @@ public class TaskService {
 
         Comment saved = commentRepository.save(comment);
         log.info("Comment {} added to task {}", saved.getId(), taskId);
+        // Cached lane listings carry the comment count
+        if (task.getSwimLane() != null) {
+            evictTasksByLaneCache(task.getSwimLane().getId());
+        }
         return saved;
     }
 
@@ -225,7 +549,7 @@ public class TaskService {
     @Transactional
     public Comment updateComment(Long taskId, Long commentId, String newText) {
         log.info("Updating comment {} in task {}", commentId, taskId);
-        Comment comment = commentRepository.findById(commentId)
+        Comment comment = findCommentForWrite(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("Comment not found: " + commentId));
 
         if (!comment.getTask().getId().equals(taskId)) {
@@ -242,7 +566,7 @@ public class TaskService {
     @Transactional
     public void deleteComment(Long taskId, Long commentId) {
         log.info("Deleting comment {} from task {}", commentId, taskId);
-        Comment comment = commentRepository.findById(commentId)
+        Comment comment = findCommentForWrite(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("Comment not found: " + commentId));
 
         if (!comment.getTask().getId().equals(taskId)) {
@@ -251,5 +575,8 @@ public class TaskService {
 
         commentRepository.delete(comment);
         log.info("Comment {} deleted", commentId);
+        if (comment.getTask().getSwimLane() != null) {
+            evictTasksByLaneCache(comment.getTask().getSwimLane().getId());
+        }
     }
 }
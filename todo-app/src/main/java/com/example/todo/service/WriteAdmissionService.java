@@ -0,0 +1,98 @@
+package com.example.todo.service;
+
+import com.example.todo.exception.WriteBacklogException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WriteAdmissionService - Admission control for the write-behind path.
+ *
+ * A write is rejected up front (503 + Retry-After) when the write-behind
+ * backlog is too deep ({@code app.write-behind.admission.max-pending} dirty
+ * entities) or too old (the oldest pending write has waited longer than
+ * {@code app.write-behind.admission.max-age-ms}), instead of queueing work
+ * the database cannot absorb. Priority writes (deletes) are always admitted:
+ * they shrink the backlog by discarding pending mutations of their entity.
+ */
+@Service
+@Log4j2
+public class WriteAdmissionService {
+
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final boolean enabled;
+    private final int maxPending;
+    private final long maxAgeMs;
+    private final int maxRetryAfterSeconds;
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public WriteAdmissionService(WriteBehindBuffer writeBehindBuffer,
+            @Value("${app.write-behind.admission.enabled:true}") boolean enabled,
+            @Value("${app.write-behind.admission.max-pending:1000}") int maxPending,
+            @Value("${app.write-behind.admission.max-age-ms:5000}") long maxAgeMs,
+            @Value("${app.write-behind.admission.max-retry-after-seconds:30}") int maxRetryAfterSeconds) {
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.maxAgeMs = maxAgeMs;
+        this.maxRetryAfterSeconds = Math.max(1, maxRetryAfterSeconds);
+    }
+
+    /**
+     * Admit a write or throw {@link WriteBacklogException}.
+     *
+     * @param priority true for writes that bypass the thresholds (deletes)
+     */
+    public void admit(boolean priority) {
+        if (!enabled) {
+            return;
+        }
+        if (priority) {
+            bypassed.incrementAndGet();
+            return;
+        }
+
+        int pending = writeBehindBuffer.getPendingEntityCount();
+        if (pending >= maxPending) {
+            reject("Write backlog of " + pending + " entities exceeds " + maxPending,
+                    writeBehindBuffer.getOldestPendingAgeMillis());
+        }
+        long oldestAgeMs = writeBehindBuffer.getOldestPendingAgeMillis();
+        if (oldestAgeMs >= maxAgeMs) {
+            reject("Oldest pending write is " + oldestAgeMs + "ms old (limit " + maxAgeMs + "ms)", oldestAgeMs);
+        }
+        admitted.incrementAndGet();
+    }
+
+    /**
+     * Admission counters and thresholds (for monitoring).
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("maxPending", maxPending);
+        stats.put("maxAgeMs", maxAgeMs);
+        stats.put("admitted", admitted.get());
+        stats.put("bypassed", bypassed.get());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    /**
+     * Suggest retrying once the current backlog has had time to drain: roughly
+     * the age of the oldest pending write, capped.
+     */
+    private void reject(String reason, long oldestAgeMs) {
+        rejected.incrementAndGet();
+        int retryAfterSeconds = (int) Math.min(maxRetryAfterSeconds, Math.max(1, (oldestAgeMs + 999) / 1000));
+        log.warn("[ADMISSION] Rejecting write: {} - retry after {}s", reason, retryAfterSeconds);
+        throw new WriteBacklogException(reason, retryAfterSeconds);
+    }
+}
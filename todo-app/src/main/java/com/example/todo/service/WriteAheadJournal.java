@@ -0,0 +1,391 @@
+package com.example.todo.service;
+
+import com.example.todo.model.TagListDeserializer;
+import com.example.todo.model.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * WriteAheadJournal - Durable, append-only journal of queued write-behind
+ * operations.
+ *
+ * Every operation is appended to a memory-mapped segment file before the HTTP
+ * request is acknowledged, and flagged as committed once its transaction
+ * commits. An append is a memory copy into the page cache (microseconds), which
+ * survives a JVM crash; set {@code app.journal.force=true} to also fsync every
+ * append and survive power loss.
+ *
+ * Record layout (a zero length marks the end of a segment):
+ * <pre>
+ * int length | byte state | long sequence | int crc32(sequence, payload) | byte[length] payload
+ * </pre>
+ * The length is written last, so a torn append is never visible. Fully
+ * committed segments are deleted; pending records found on startup are handed
+ * to {@link AsyncWriteService#replayJournal()} before the app reports ready.
+ */
+@Component
+@Log4j2
+public class WriteAheadJournal {
+
+    /**
+     * Journal payload - a self-contained copy of a {@link WriteOperation}.
+     * {@code position} is the drop index of a move or the position of a lane;
+     * {@code rank} is the order key of a saved task. Tags written before they
+     * became an array (a JSON string) are still read.
+     */
+    public record Entry(long sequence, WriteOperation.Type type, Long entityId, String name,
+            TaskStatus status, @JsonDeserialize(using = TagListDeserializer.class) List<String> tags,
+            Long laneId, Integer position, Boolean completed, Boolean deleted, Long rank) {
+
+        static Entry of(long sequence, WriteOperation op) {
+            return switch (op.getType()) {
+                case SAVE_TASK -> new Entry(sequence, op.getType(), op.getEntityId(), op.getTask().getName(),
+                        op.getTask().getStatus(), op.getTask().getTags(),
+                        op.getTask().getSwimLane() != null ? op.getTask().getSwimLane().getId() : null,
+                        null, null, null, op.getTask().getPosition());
+                case MOVE_TASK -> new Entry(sequence, op.getType(), op.getEntityId(), null, op.getStatus(), null,
+                        op.getLaneId(), op.getPosition(), null, null, null);
+                case SAVE_LANE -> new Entry(sequence, op.getType(), op.getEntityId(), op.getLane().getName(), null,
+                        null, null, op.getLane().getPosition(), op.getLane().getIsCompleted(),
+                        op.getLane().getIsDeleted(), null);
+                case DELETE_TASK, DELETE_LANE -> new Entry(sequence, op.getType(), op.getEntityId(), null, null,
+                        null, null, null, null, null, null);
+            };
+        }
+
+        public String key() {
+            return WriteOperation.builder().type(type).entityId(entityId).build().getKey();
+        }
+    }
+
+    static final int HEADER_SIZE = 4 + 1 + 8 + 4;
+    private static final byte STATE_PENDING = 1;
+    private static final byte STATE_COMMITTED = 2;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean force;
+    private final ObjectMapper objectMapper;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<String, TreeMap<Long, Location>> pendingByKey = new HashMap<>();
+    private final List<Entry> recovered = new ArrayList<>();
+    private Segment active;
+    private long nextSequence = 1;
+    private long syncedSequence;
+    private long nextSegmentId = 1;
+
+    public WriteAheadJournal(@Value("${app.journal.enabled:true}") boolean enabled,
+            @Value("${app.journal.dir:data/journal}") String directory,
+            @Value("${app.journal.segment-size-kb:16384}") int segmentSizeKb,
+            @Value("${app.journal.force:false}") boolean force,
+            ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSizeKb * 1024;
+        this.force = force;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Scan existing segments for pending records and open a fresh active segment.
+     */
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) {
+            log.info("[JOURNAL] Write-ahead journal disabled");
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                        && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .sorted(Comparator.comparing(p -> p.getFileName().toString()))
+                        .toList();
+            }
+            for (Path file : files) {
+                recoverSegment(file);
+            }
+            recovered.sort(Comparator.comparingLong(Entry::sequence));
+            active = newSegment();
+            log.info("[JOURNAL] Opened journal in {} - {} pending operation(s) to replay", directory,
+                    recovered.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open write-ahead journal in " + directory, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                log.warn("[JOURNAL] Failed to close segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+        segments.clear();
+        active = null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Durably record an operation before it is acknowledged.
+     *
+     * @return the journal sequence of the record, or 0 if journaling is disabled
+     */
+    public synchronized long append(WriteOperation op) {
+        if (!enabled) {
+            return 0;
+        }
+        long sequence = nextSequence++;
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(Entry.of(sequence, op));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize journal entry for " + op.getKey(), e);
+        }
+        int size = HEADER_SIZE + payload.length;
+        if (size + 4 > segmentSize) {
+            throw new IllegalStateException("Journal entry of " + size + " bytes exceeds segment size");
+        }
+        if (active.writePosition + size + 4 > segmentSize) {
+            active = newSegment();
+        }
+
+        MappedByteBuffer buffer = active.buffer;
+        int offset = active.writePosition;
+        CRC32 crc = new CRC32();
+        crc.update(longBytes(sequence));
+        crc.update(payload);
+
+        buffer.putInt(offset + size, 0); // end marker
+        buffer.put(offset + 4, STATE_PENDING);
+        buffer.putLong(offset + 5, sequence);
+        buffer.putInt(offset + 13, (int) crc.getValue());
+        buffer.put(offset + HEADER_SIZE, payload);
+        buffer.putInt(offset, payload.length); // publish the record
+        if (force) {
+            buffer.force();
+        }
+
+        active.writePosition += size;
+        active.live++;
+        pendingByKey.computeIfAbsent(op.getKey(), k -> new TreeMap<>()).put(sequence, new Location(active, offset));
+        return sequence;
+    }
+
+    /**
+     * Force every record appended so far to disk, for callers that need an
+     * fsync-durable acknowledgement while {@code app.journal.force} is off.
+     * Returns at once if a completed sync already covered every record. The
+     * force itself runs outside the journal lock, so appends are not blocked
+     * by it.
+     */
+    public void sync() {
+        long appended;
+        List<Segment> dirty;
+        synchronized (this) {
+            appended = nextSequence - 1;
+            if (!enabled || force || appended <= syncedSequence) {
+                return;
+            }
+            dirty = List.copyOf(segments);
+        }
+        dirty.forEach(segment -> segment.buffer.force());
+        synchronized (this) {
+            syncedSequence = Math.max(syncedSequence, appended);
+        }
+    }
+
+    /**
+     * Mark every record of an entity up to (and including) the given sequence as
+     * committed. Superseded records of coalesced operations are covered too.
+     */
+    public synchronized void commit(String key, long upToSequence) {
+        TreeMap<Long, Location> entries = pendingByKey.get(key);
+        if (entries == null) {
+            return;
+        }
+        var committed = entries.headMap(upToSequence, true);
+        for (Location location : committed.values()) {
+            location.segment.buffer.put(location.offset + 4, STATE_COMMITTED);
+            location.segment.live--;
+            if (location.segment.live == 0) {
+                release(location.segment);
+            }
+        }
+        committed.clear();
+        if (entries.isEmpty()) {
+            pendingByKey.remove(key);
+        }
+    }
+
+    /**
+     * Pending records recovered from a previous run, in sequence order.
+     * Returned once; replayed entries must be {@link #commit committed}.
+     */
+    public synchronized List<Entry> takeRecovered() {
+        List<Entry> result = List.copyOf(recovered);
+        recovered.clear();
+        return result;
+    }
+
+    /**
+     * Number of appended records that are not committed yet (for monitoring).
+     */
+    public synchronized int getPendingCount() {
+        return pendingByKey.values().stream().mapToInt(Map::size).sum();
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    // =========================================================================
+    // SEGMENT MANAGEMENT
+    // =========================================================================
+
+    private void recoverSegment(Path file) throws IOException {
+        long id = Long.parseLong(file.getFileName().toString()
+                .substring(SEGMENT_PREFIX.length(), file.getFileName().toString().length() - SEGMENT_SUFFIX.length()));
+        nextSegmentId = Math.max(nextSegmentId, id + 1);
+        Segment segment = map(file, (int) Files.size(file));
+
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        while (offset + HEADER_SIZE <= segment.size) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + HEADER_SIZE + length > segment.size) {
+                break;
+            }
+            byte state = buffer.get(offset + 4);
+            long sequence = buffer.getLong(offset + 5);
+            int storedCrc = buffer.getInt(offset + 13);
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER_SIZE, payload);
+            CRC32 crc = new CRC32();
+            crc.update(longBytes(sequence));
+            crc.update(payload);
+            if ((int) crc.getValue() != storedCrc) {
+                log.warn("[JOURNAL] CRC mismatch in {} at offset {} - ignoring the rest of the segment", file,
+                        offset);
+                break;
+            }
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            if (state == STATE_PENDING) {
+                Entry entry = objectMapper.readValue(payload, Entry.class);
+                recovered.add(entry);
+                pendingByKey.computeIfAbsent(entry.key(), k -> new TreeMap<>())
+                        .put(sequence, new Location(segment, offset));
+                segment.live++;
+            }
+            offset += HEADER_SIZE + length;
+        }
+        segment.writePosition = offset;
+
+        if (segment.live == 0) {
+            segment.channel.close();
+            Files.deleteIfExists(file);
+        } else {
+            segments.add(segment);
+        }
+    }
+
+    private Segment newSegment() {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSegmentId++, SEGMENT_SUFFIX));
+        try {
+            Segment segment = map(file, segmentSize);
+            segments.add(segment);
+            log.debug("[JOURNAL] Rolled to new segment {}", file);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create journal segment " + file, e);
+        }
+    }
+
+    private Segment map(Path file, int size) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return new Segment(file, channel, buffer, size);
+    }
+
+    /**
+     * A segment without pending records is no longer needed: older segments are
+     * deleted, the active one is rewound and reused.
+     */
+    private void release(Segment segment) {
+        if (segment == active) {
+            segment.buffer.putInt(0, 0);
+            segment.writePosition = 0;
+            return;
+        }
+        segments.remove(segment);
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+            log.debug("[JOURNAL] Deleted fully committed segment {}", segment.path);
+        } catch (IOException e) {
+            log.warn("[JOURNAL] Failed to delete segment {}: {}", segment.path, e.getMessage());
+        }
+    }
+
+    private static byte[] longBytes(long value) {
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int size;
+        private int writePosition;
+        private int live;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer, int size) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.size = size;
+        }
+    }
+
+    private record Location(Segment segment, int offset) {
+    }
+}
@@ -0,0 +1,414 @@
+package com.example.todo.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * WriteBehindBuffer - Coalesces pending write-behind operations per entity.
+ *
+ * Rapid edits of the same task/lane (repeated drags, quick rename + retag) are
+ * merged while they wait for the write executor, so only the final state of
+ * each entity is written and broadcast:
+ * - a newer save replaces a pending save, a newer move replaces a pending move
+ * - a delete discards every pending mutation of the entity
+ * - different operation types keep their relative order
+ *
+ * Group commit: dirty entities are kept in arrival order so the flusher can
+ * take up to {@code app.write-behind.batch-size} of them at once (waiting up to
+ * {@code app.write-behind.linger-ms} for stragglers) and commit them together.
+ *
+ * Partitioning: each dirty entity is assigned to one of
+ * {@code app.write-behind.partitions} queues by the lane it writes to, so a
+ * lane has a single writer. An entity is flushed by one partition at a time,
+ * so its operations are never applied concurrently or out of order. When an
+ * operation moves it to a lane of another partition, its pending operations
+ * follow if none of them writes to another lane; otherwise the operation
+ * waits in a segment of its own. A segment is handed to its partition once
+ * the entity's in-flight flush on another partition completes.
+ *
+ * Retries: an entity whose flush failed is held (see {@link #holdForRetry})
+ * until its backoff expires. New operations for it are buffered but not
+ * scheduled, and {@link #requeue} puts the failed operations back in front of
+ * them, so a retry can never overwrite a newer write.
+ */
+@Component
+@Log4j2
+public class WriteBehindBuffer {
+
+    /** Returned by {@link #add} when the operation joined an already scheduled flush. */
+    public static final int ALREADY_SCHEDULED = -1;
+
+    private final ConcurrentHashMap<String, PendingEntity> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> heldForRetry = ConcurrentHashMap.newKeySet();
+    private final List<LinkedBlockingQueue<String>> dirtyKeys;
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final int batchSize;
+    private final long lingerMs;
+
+    public WriteBehindBuffer(@Value("${app.write-behind.batch-size:50}") int batchSize,
+            @Value("${app.write-behind.linger-ms:5}") long lingerMs,
+            @Value("${app.write-behind.partitions:4}") int partitions) {
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerMs = Math.max(0, lingerMs);
+        this.dirtyKeys = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, partitions); i++) {
+            dirtyKeys.add(new LinkedBlockingQueue<>());
+        }
+    }
+
+    /**
+     * Add an operation to the buffer, merging it with pending operations for the
+     * same entity.
+     *
+     * @return the partition a flush must be scheduled on if the entity was not
+     *         pending yet, or {@link #ALREADY_SCHEDULED} if the operation was
+     *         folded into an already scheduled flush
+     */
+    public int add(WriteOperation op) {
+        int partition = merge(op);
+        if (partition != ALREADY_SCHEDULED) {
+            dirtyKeys.get(partition).offer(op.getKey());
+        }
+        return partition;
+    }
+
+    /**
+     * Add operations that belong together (e.g. the moves of one batch
+     * request). Their entities are marked dirty atomically per partition, so
+     * the flusher takes them in one group commit unless they exceed batchSize.
+     *
+     * @return the partitions flushes must be scheduled on
+     */
+    public Set<Integer> addAll(List<WriteOperation> ops) {
+        Map<Integer, List<String>> dirty = new LinkedHashMap<>();
+        for (WriteOperation op : ops) {
+            int partition = merge(op);
+            if (partition != ALREADY_SCHEDULED) {
+                dirty.computeIfAbsent(partition, k -> new ArrayList<>()).add(op.getKey());
+            }
+        }
+        dirty.forEach((partition, keys) -> {
+            LinkedBlockingQueue<String> queue = dirtyKeys.get(partition);
+            synchronized (queue) {
+                keys.forEach(queue::offer);
+            }
+        });
+        return dirty.keySet();
+    }
+
+    private int merge(WriteOperation op) {
+        Integer target = lanePartition(op);
+        int[] scheduledPartition = { ALREADY_SCHEDULED };
+        pending.compute(op.getKey(), (key, head) -> {
+            if (head == null) {
+                // Without a lane of its own, stick to the partition of an in-flight flush
+                Integer flying = inFlight.get(key);
+                head = new PendingEntity(target != null ? target
+                        : flying != null ? flying : partitionFor(op.getRoutingKey()));
+                head.ops.add(op);
+                // Behind an in-flight flush of another partition, wait for complete()
+                if ((flying == null || flying == head.partition) && !heldForRetry.contains(key)) {
+                    head.queued = true;
+                    scheduledPartition[0] = head.partition;
+                }
+                return head;
+            }
+            PendingEntity tail = head;
+            while (tail.next != null) {
+                tail = tail.next;
+            }
+            List<WriteOperation> ops = new ArrayList<>(tail.ops);
+            int coalesced = coalesce(ops, op);
+            if (target == null || target == tail.partition
+                    || ops.stream().allMatch(o -> lanePartition(o) == null || lanePartition(o).equals(target))) {
+                coalescedCount.addAndGet(coalesced);
+                tail.ops.clear();
+                tail.ops.addAll(ops);
+                if (target != null && target != tail.partition) {
+                    // Follow the entity to its new lane; the entry left on the old queue is skipped
+                    tail.partition = target;
+                    if (tail.queued) {
+                        scheduledPartition[0] = target;
+                    }
+                }
+            } else {
+                // Pending operations write to another lane: flush them there first
+                tail.next = new PendingEntity(target);
+                tail.next.ops.add(op);
+            }
+            return head;
+        });
+        if (scheduledPartition[0] == ALREADY_SCHEDULED) {
+            log.debug("[WRITE-BEHIND] Coalesced {} into pending writes for {}", op.getType(), op.getKey());
+        }
+        return scheduledPartition[0];
+    }
+
+    /**
+     * Append an operation to the pending operations of its entity by the
+     * merge rules.
+     *
+     * @return the number of operations merged away
+     */
+    private static int coalesce(List<WriteOperation> ops, WriteOperation op) {
+        int coalesced = 0;
+        if (op.isDelete()) {
+            coalesced = ops.size();
+            ops.clear();
+        } else if (!ops.isEmpty() && op.supersedes(ops.get(ops.size() - 1))) {
+            coalesced = 1;
+            ops.remove(ops.size() - 1);
+        }
+        ops.add(op);
+        return coalesced;
+    }
+
+    /**
+     * The partition of the lane an operation writes to, or null if it has
+     * none and can be flushed on any partition.
+     */
+    private Integer lanePartition(WriteOperation op) {
+        String routingKey = op.getRoutingKey();
+        return routingKey.equals(op.getKey()) ? null : partitionFor(routingKey);
+    }
+
+    /**
+     * Remove and return all pending operations for an entity, in order, and mark
+     * the entity as in flight on its partition until {@link #complete} is called.
+     * Operations added after this call start a new pending entry. Entities held
+     * for a retry are not drained.
+     */
+    public List<WriteOperation> drain(String key) {
+        return drain(key, null);
+    }
+
+    /**
+     * {@link #drain(String)} for the flusher of a partition: entities that
+     * have since moved to another partition, or wait for an in-flight flush,
+     * are left alone.
+     */
+    private List<WriteOperation> drain(String key, Integer partition) {
+        AtomicReference<List<WriteOperation>> drained = new AtomicReference<>(Collections.emptyList());
+        pending.computeIfPresent(key, (k, head) -> {
+            if (heldForRetry.contains(k) || !head.queued || (partition != null && partition != head.partition)) {
+                return head;
+            }
+            inFlight.put(k, head.partition);
+            drained.set(head.ops);
+            return head.next;
+        });
+        return drained.get();
+    }
+
+    /**
+     * Release the partition affinity of flushed entities and hand operations
+     * that waited for them to their partitions. Entities held for a retry keep
+     * it until they are requeued.
+     *
+     * @return the partitions flushes must be scheduled on
+     */
+    public Set<Integer> complete(Collection<String> keys) {
+        Set<Integer> scheduled = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (heldForRetry.contains(key)) {
+                continue;
+            }
+            pending.compute(key, (k, head) -> {
+                inFlight.remove(k);
+                if (head != null && !head.queued && !heldForRetry.contains(k)) {
+                    head.queued = true;
+                    dirtyKeys.get(head.partition).offer(k);
+                    scheduled.add(head.partition);
+                }
+                return head;
+            });
+        }
+        return scheduled;
+    }
+
+    /**
+     * Keep a failed in-flight entity on its partition and stop scheduling its
+     * new operations until {@link #requeue} is called.
+     */
+    public void holdForRetry(String key) {
+        heldForRetry.add(key);
+    }
+
+    /**
+     * Put the operations of a failed flush back in front of the operations that
+     * arrived since, merging them by the usual rules, and mark the entity dirty
+     * again. With no failed operations this just lifts the hold.
+     *
+     * @return the partition a flush must be scheduled on, or
+     *         {@link #ALREADY_SCHEDULED} if nothing is pending for the entity
+     */
+    public int requeue(String key, List<WriteOperation> failed) {
+        int[] partition = { ALREADY_SCHEDULED };
+        pending.compute(key, (k, head) -> {
+            heldForRetry.remove(k);
+            Integer affinity = inFlight.remove(k);
+            if (failed.isEmpty()) {
+                if (head != null) {
+                    head.queued = true;
+                    partition[0] = head.partition;
+                }
+                return head;
+            }
+            PendingEntity requeued = new PendingEntity(affinity != null ? affinity
+                    : head != null ? head.partition : partitionFor(failed.get(0).getRoutingKey()));
+            requeued.queued = true;
+            if (head != null && head.partition != requeued.partition) {
+                // The newer operations write to another lane: they follow the retry
+                requeued.ops.addAll(failed);
+                requeued.next = head;
+            } else {
+                List<WriteOperation> newer = head != null ? head.ops : List.of();
+                if (newer.stream().noneMatch(WriteOperation::isDelete)) {
+                    requeued.ops.addAll(failed);
+                    if (!newer.isEmpty() && newer.get(0).supersedes(failed.get(failed.size() - 1))) {
+                        coalescedCount.incrementAndGet();
+                        requeued.ops.remove(requeued.ops.size() - 1);
+                    }
+                } else {
+                    coalescedCount.addAndGet(failed.size());
+                }
+                requeued.ops.addAll(newer);
+                requeued.next = head != null ? head.next : null;
+            }
+            partition[0] = requeued.partition;
+            return requeued;
+        });
+        if (partition[0] != ALREADY_SCHEDULED) {
+            dirtyKeys.get(partition[0]).offer(key);
+        }
+        return partition[0];
+    }
+
+    /**
+     * Take the next group-commit batch of a partition: up to batchSize dirty
+     * entities in the order they became dirty, with their pending operations.
+     * If fewer are available, waits up to lingerMs for more to arrive.
+     *
+     * @return entity key to ordered operations; empty if nothing is pending
+     */
+    public Map<String, List<WriteOperation>> nextBatch(int partition) {
+        LinkedBlockingQueue<String> queue = dirtyKeys.get(partition);
+        List<String> keys = new ArrayList<>(Math.min(batchSize, 64));
+        drainTo(queue, keys, batchSize);
+        if (!keys.isEmpty() && keys.size() < batchSize && lingerMs > 0) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+            try {
+                while (keys.size() < batchSize) {
+                    String key = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (key == null) {
+                        break;
+                    }
+                    keys.add(key);
+                    drainTo(queue, keys, batchSize - keys.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        Map<String, List<WriteOperation>> batch = new LinkedHashMap<>();
+        for (String key : keys) {
+            List<WriteOperation> ops = drain(key, partition);
+            if (!ops.isEmpty()) {
+                batch.put(key, ops);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Drain under the queue lock, so keys added by {@link #addAll} are taken
+     * all together or not at all.
+     */
+    private static void drainTo(LinkedBlockingQueue<String> queue, List<String> keys, int max) {
+        synchronized (queue) {
+            queue.drainTo(keys, max);
+        }
+    }
+
+    public int partitionFor(String routingKey) {
+        return Math.floorMod(routingKey.hashCode(), dirtyKeys.size());
+    }
+
+    public int getPartitionCount() {
+        return dirtyKeys.size();
+    }
+
+    /**
+     * Number of entities waiting for a flush on a partition (for monitoring).
+     */
+    public int getDirtyCount(int partition) {
+        return dirtyKeys.get(partition).size();
+    }
+
+    /**
+     * Age of the oldest entity still waiting for a flush, across partitions.
+     * Only the head of each partition queue is inspected, as entities become
+     * dirty in arrival order.
+     */
+    public long getOldestPendingAgeMillis() {
+        long now = System.nanoTime();
+        long oldest = 0;
+        for (LinkedBlockingQueue<String> queue : dirtyKeys) {
+            String head = queue.peek();
+            PendingEntity entity = head != null ? pending.get(head) : null;
+            if (entity != null) {
+                oldest = Math.max(oldest, now - entity.since);
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(oldest);
+    }
+
+    /**
+     * Number of entities with pending writes (for monitoring/testing).
+     */
+    public int getPendingEntityCount() {
+        return pending.size();
+    }
+
+    /**
+     * Total number of operations merged away since startup (for monitoring/testing).
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Pending operations of an entity that are flushed together on one
+     * partition, followed by those that must be flushed after them on
+     * another one.
+     */
+    private static final class PendingEntity {
+        private int partition;
+        // Offered to the partition's queue; false while waiting for a flush elsewhere
+        private boolean queued;
+        private PendingEntity next;
+        private final long since = System.nanoTime();
+        private final List<WriteOperation> ops = new ArrayList<>();
+
+        private PendingEntity(int partition) {
+            this.partition = partition;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.todo.service;
+
+import com.example.todo.exception.WriteNotCommittedException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * WriteDurabilityService - Per-request durability of write-behind mutations.
+ *
+ * Every mode takes the same path: the operations are queued and journaled as
+ * usual, then the request waits for the requested guarantee before returning:
+ * - {@link Durability#ASYNC}: nothing more (interactive UI)
+ * - {@link Durability#ACK_ON_JOURNAL}: the journal is forced to disk; without
+ *   a journal this is upgraded to SYNC_COMMIT
+ * - {@link Durability#SYNC_COMMIT}: the operations are committed, for batch
+ *   scripts and integrations that would otherwise poll
+ *
+ * The default is {@code app.durability.default}; SYNC_COMMIT waits up to
+ * {@code app.durability.sync-timeout-ms}, including retries.
+ */
+@Service
+@Log4j2
+public class WriteDurabilityService {
+
+    private final OperationTracker operationTracker;
+    private final WriteAheadJournal journal;
+    private final Durability defaultDurability;
+    private final Duration syncTimeout;
+
+    public WriteDurabilityService(OperationTracker operationTracker, WriteAheadJournal journal,
+            @Value("${app.durability.default:async}") String defaultDurability,
+            @Value("${app.durability.sync-timeout-ms:10000}") long syncTimeoutMs) {
+        this.operationTracker = operationTracker;
+        this.journal = journal;
+        this.defaultDurability = Durability.fromValue(defaultDurability);
+        this.syncTimeout = Duration.ofMillis(syncTimeoutMs);
+    }
+
+    /**
+     * Mode of a request: the requested one, or the configured default.
+     *
+     * @throws IllegalArgumentException if the requested mode is unknown
+     */
+    public Durability resolve(String requested) {
+        if (requested == null || requested.isBlank()) {
+            return defaultDurability;
+        }
+        Durability mode = Durability.fromValue(requested);
+        return mode == Durability.ACK_ON_JOURNAL && !journal.isEnabled() ? Durability.SYNC_COMMIT : mode;
+    }
+
+    /**
+     * Wait until the operations queued by a request meet its durability mode.
+     *
+     * @throws WriteNotCommittedException if SYNC_COMMIT operations failed or
+     *                                    were not committed in time
+     */
+    public void await(Durability mode, List<Long> operationIds) {
+        if (operationIds.isEmpty() || mode == Durability.ASYNC) {
+            return;
+        }
+        if (mode == Durability.ACK_ON_JOURNAL) {
+            journal.sync();
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<OperationTracker.OperationStatus> statuses = operationTracker.await(operationIds, syncTimeout);
+        List<OperationTracker.OperationStatus> failed = statuses.stream()
+                .filter(status -> status.status() == OperationTracker.Status.FAILED)
+                .toList();
+        if (!failed.isEmpty()) {
+            throw new WriteNotCommittedException("Write failed: " + failed.get(0).error(), operationIds, false);
+        }
+        if (statuses.stream().anyMatch(status -> status.status() == OperationTracker.Status.PENDING)) {
+            throw new WriteNotCommittedException("Write not committed within " + syncTimeout.toMillis()
+                    + "ms; it is still queued", operationIds, true);
+        }
+        log.debug("[DURABILITY] Operations {} committed in {}ms",
+                operationIds.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.todo.service;
+
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.With;
+
+/**
+ * A single pending write-behind mutation, queued by {@link AsyncWriteService}.
+ *
+ * Operations are keyed by the entity they touch ("task:{id}" / "lane:{id}") so
+ * that {@link WriteBehindBuffer} can merge redundant edits of the same entity
+ * before they are flushed to the database.
+ */
+@Getter
+@Builder
+@ToString(exclude = { "task", "lane" })
+public class WriteOperation {
+
+    public enum Type {
+        SAVE_TASK,
+        MOVE_TASK,
+        DELETE_TASK,
+        SAVE_LANE,
+        DELETE_LANE
+    }
+
+    private final Type type;
+    private final Long entityId;
+
+    // SAVE_TASK payload
+    private final Task task;
+
+    // MOVE_TASK payload (position is the drop index within the target column)
+    private final TaskStatus status;
+    private final Long laneId;
+    private final Integer position;
+
+    // SAVE_LANE payload
+    private final SwimLane lane;
+
+    // Lane the task was in before this operation, if known (for cache finalisation)
+    @With
+    private final Long fromLaneId;
+
+    // Order in which the operation was accepted (assigned by AsyncWriteService)
+    @With
+    private final long sequence;
+
+    // Sequence of the write-ahead journal record (0 when not journaled)
+    @With
+    private final long journalSequence;
+
+    /**
+     * Coalescing key - all pending operations for the same entity share a key.
+     */
+    public String getKey() {
+        return isTaskOperation() ? "task:" + entityId : "lane:" + entityId;
+    }
+
+    /**
+     * Partition routing key - the swim lane the operation writes to, so that
+     * ranks within a lane are allocated by one writer at a time. Falls back to the
+     * entity key when the lane is unknown.
+     */
+    public String getRoutingKey() {
+        if (type == Type.MOVE_TASK && laneId != null) {
+            return "lane:" + laneId;
+        }
+        if (type == Type.SAVE_TASK && task.getSwimLane() != null && task.getSwimLane().getId() != null) {
+            return "lane:" + task.getSwimLane().getId();
+        }
+        return getKey();
+    }
+
+    public boolean isTaskOperation() {
+        return type == Type.SAVE_TASK || type == Type.MOVE_TASK || type == Type.DELETE_TASK;
+    }
+
+    public boolean isDelete() {
+        return type == Type.DELETE_TASK || type == Type.DELETE_LANE;
+    }
+
+    /**
+     * Whether this (newer) operation makes the given pending operation redundant.
+     * A save carries the full entity state and a move carries the final
+     * status/lane/position, so only the latest of each is worth writing.
+     * A delete makes every earlier mutation of the entity redundant.
+     */
+    public boolean supersedes(WriteOperation previous) {
+        return isDelete() || previous.type == type;
+    }
+
+    public static WriteOperation saveTask(Task task) {
+        return WriteOperation.builder().type(Type.SAVE_TASK).entityId(task.getId()).task(task).build();
+    }
+
+    public static WriteOperation moveTask(Long id, TaskStatus status, Long laneId, Integer position) {
+        return WriteOperation.builder().type(Type.MOVE_TASK).entityId(id)
+                .status(status).laneId(laneId).position(position).build();
+    }
+
+    public static WriteOperation deleteTask(Long id) {
+        return WriteOperation.builder().type(Type.DELETE_TASK).entityId(id).build();
+    }
+
+    public static WriteOperation saveSwimLane(SwimLane lane) {
+        return WriteOperation.builder().type(Type.SAVE_LANE).entityId(lane.getId()).lane(lane).build();
+    }
+
+    public static WriteOperation deleteSwimLane(Long id) {
+        return WriteOperation.builder().type(Type.DELETE_LANE).entityId(id).build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.todo.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WriteRetryPolicy - Backoff schedule for failed write-behind flushes.
+ *
+ * An entity whose flush fails is retried with exponential backoff and full
+ * jitter ({@code random(0, min(max-backoff, initial * multiplier^(attempt-1)))}),
+ * so a burst of failures during a DB failover does not come back as a
+ * synchronised retry storm. Once the attempts of its operation type are
+ * exhausted the operations are dead-lettered.
+ *
+ * Configuration ({@code app.write-behind.retry.*}): {@code max-attempts},
+ * {@code initial-backoff-ms}, {@code max-backoff-ms}, {@code multiplier}, each
+ * overridable per operation type, e.g.
+ * {@code app.write-behind.retry.delete-task.max-attempts}.
+ */
+@Component
+@Log4j2
+public class WriteRetryPolicy {
+
+    private static final String PREFIX = "app.write-behind.retry.";
+
+    /**
+     * Retry settings of one operation type.
+     */
+    public record Settings(int maxAttempts, long initialBackoffMs, long maxBackoffMs, double multiplier) {
+    }
+
+    private final TaskScheduler taskScheduler;
+    private final Map<WriteOperation.Type, Settings> settings = new EnumMap<>(WriteOperation.Type.class);
+    private final ConcurrentHashMap<String, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    private final AtomicLong scheduled = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+
+    public WriteRetryPolicy(TaskScheduler taskScheduler, Environment environment) {
+        this.taskScheduler = taskScheduler;
+        Settings defaults = new Settings(
+                environment.getProperty(PREFIX + "max-attempts", Integer.class, 5),
+                environment.getProperty(PREFIX + "initial-backoff-ms", Long.class, 200L),
+                environment.getProperty(PREFIX + "max-backoff-ms", Long.class, 30_000L),
+                environment.getProperty(PREFIX + "multiplier", Double.class, 2.0));
+        for (WriteOperation.Type type : WriteOperation.Type.values()) {
+            String typePrefix = PREFIX + type.name().toLowerCase().replace('_', '-') + ".";
+            settings.put(type, new Settings(
+                    Math.max(1, environment.getProperty(typePrefix + "max-attempts", Integer.class,
+                            defaults.maxAttempts())),
+                    environment.getProperty(typePrefix + "initial-backoff-ms", Long.class,
+                            defaults.initialBackoffMs()),
+                    environment.getProperty(typePrefix + "max-backoff-ms", Long.class, defaults.maxBackoffMs()),
+                    environment.getProperty(typePrefix + "multiplier", Double.class, defaults.multiplier())));
+        }
+    }
+
+    /**
+     * Record a failed flush of an entity and schedule its retry, unless the
+     * attempts of the operation type are exhausted.
+     *
+     * @return false if the operations must be dead-lettered instead
+     */
+    public boolean onFailure(String key, WriteOperation.Type type, Runnable retry) {
+        int attempt = failedAttempts.merge(key, 1, Integer::sum);
+        Settings policy = settings.get(type);
+        if (attempt >= policy.maxAttempts()) {
+            failedAttempts.remove(key);
+            exhausted.incrementAndGet();
+            return false;
+        }
+        long delay = backoffMillis(type, attempt);
+        scheduled.incrementAndGet();
+        log.warn("[RETRY] Flush of {} failed (attempt {}/{}), retrying in {}ms", key, attempt,
+                policy.maxAttempts(), delay);
+        taskScheduler.schedule(retry, Instant.now().plus(Duration.ofMillis(delay)));
+        return true;
+    }
+
+    /**
+     * Record a successful flush, ending the retry sequence of the entity.
+     */
+    public void onSuccess(String key) {
+        if (!failedAttempts.isEmpty() && failedAttempts.remove(key) != null) {
+            recovered.incrementAndGet();
+            log.info("[RETRY] {} committed after retrying", key);
+        }
+    }
+
+    /**
+     * Jittered delay before the given retry (attempt 1 is the first retry).
+     */
+    long backoffMillis(WriteOperation.Type type, int attempt) {
+        Settings policy = settings.get(type);
+        double ceiling = policy.initialBackoffMs() * Math.pow(policy.multiplier(), attempt - 1);
+        long cap = (long) Math.min(policy.maxBackoffMs(), ceiling);
+        return cap > 0 ? ThreadLocalRandom.current().nextLong(cap + 1) : 0;
+    }
+
+    public Settings getSettings(WriteOperation.Type type) {
+        return settings.get(type);
+    }
+
+    /**
+     * Retry counters (for monitoring).
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("retrying", failedAttempts.size());
+        stats.put("retriesScheduled", scheduled.get());
+        stats.put("recovered", recovered.get());
+        stats.put("exhausted", exhausted.get());
+        return stats;
+    }
+}
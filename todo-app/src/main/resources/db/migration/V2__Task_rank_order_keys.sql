@@ -0,0 +1,31 @@
+-- V2__Task_rank_order_keys.sql
+-- Replace the dense position_order index of tasks with a sparse rank, so a
+-- move writes one row instead of shifting every task below the drop point.
+-- TaskRankMigration performs the same backfill on startup for any task it
+-- finds without a rank.
+
+-- ================================================================
+-- TASKS TABLE
+-- ================================================================
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS sort_rank BIGINT;
+
+-- Rank existing tasks in their current order, 65536 apart per column
+UPDATE tasks t
+   SET sort_rank = ranked.rn * 65536
+  FROM (SELECT id,
+               ROW_NUMBER() OVER (PARTITION BY swim_lane_id, status
+                                  ORDER BY position_order NULLS LAST, id) AS rn
+          FROM tasks) ranked
+ WHERE t.id = ranked.id
+   AND t.sort_rank IS NULL;
+
+-- Composite index for ordered column reads and neighbour lookups
+CREATE INDEX IF NOT EXISTS idx_tasks_lane_status_rank
+    ON tasks(swim_lane_id, status, sort_rank);
+
+DROP INDEX IF EXISTS idx_tasks_lane_status_position;
+
+-- position_order is no longer read or written; drop it once every instance
+-- runs with ranks:
+-- ALTER TABLE tasks DROP COLUMN position_order;
@@ -0,0 +1,16 @@
+-- V3__Comment_keyset_index.sql
+-- Comments are no longer loaded with their task: lane listings count them
+-- per task and the detail view pages through them by id
+-- (GET /api/tasks/{id}/comments?after=&limit=). Both are served by one
+-- composite index.
+
+-- ================================================================
+-- COMMENTS TABLE
+-- ================================================================
+
+-- Keyset pages (task_id = ? AND id > ? ORDER BY id) and per-task counts
+CREATE INDEX IF NOT EXISTS idx_comments_task_id_id
+    ON comments(task_id, id);
+
+-- The single-column index is a prefix of the composite one
+DROP INDEX IF EXISTS idx_comments_task_id;
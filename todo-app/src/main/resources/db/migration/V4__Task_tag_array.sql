@@ -0,0 +1,31 @@
+-- V4__Task_tag_array.sql
+-- Tags move from a JSON array string in a large object (tasks.tags, an oid
+-- on Postgres, fetched out of line for every task) to a text array read with
+-- the row and filterable in SQL (GET /api/tasks?tag=).
+-- TaskTagMigration performs the same backfill and creates the GIN index on
+-- startup for any task it finds without a tag array.
+
+-- ================================================================
+-- TASKS TABLE
+-- ================================================================
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS tag_list VARCHAR(255)[];
+
+-- Unpack the legacy JSON arrays
+UPDATE tasks
+   SET tag_list = ARRAY(SELECT btrim(tag)
+                          FROM json_array_elements_text(
+                                   convert_from(lo_get(tags), 'UTF8')::json) AS tag
+                         WHERE btrim(tag) <> '')
+ WHERE tags IS NOT NULL
+   AND tag_list IS NULL;
+
+-- Containment filter (tag_list @> ARRAY['x']) within a user's tasks; the
+-- owner is resolved through idx_swim_lanes_user_deleted_position
+CREATE INDEX IF NOT EXISTS idx_tasks_tag_list
+    ON tasks USING GIN (tag_list);
+
+-- tags is no longer read or written; free the large objects and drop it once
+-- every instance runs with tag arrays:
+-- SELECT lo_unlink(tags) FROM tasks WHERE tags IS NOT NULL;
+-- ALTER TABLE tasks DROP COLUMN tags;
@@ -0,0 +1,33 @@
+-- V5__Pooled_id_sequences.sql
+-- Ids come from sequences with the pooled-lo optimizer instead of identity
+-- columns: one nextval reserves a block of 50 ids (app.id.allocation-size),
+-- so Hibernate knows ids before inserting and can batch the INSERTs.
+-- The INCREMENT BY of each sequence must equal app.id.allocation-size.
+-- IdSequenceMigration performs the same catch-up on startup, before Hibernate
+-- allocates ids, for any sequence found behind its table.
+
+-- ================================================================
+-- SEQUENCES
+-- ================================================================
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50 START WITH 1;
+CREATE SEQUENCE IF NOT EXISTS swim_lanes_seq INCREMENT BY 50 START WITH 1;
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50 START WITH 1;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50 START WITH 1;
+
+-- Continue after the ids handed out by the identity columns
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+SELECT setval('swim_lanes_seq', COALESCE((SELECT MAX(id) FROM swim_lanes), 0) + 1, false);
+SELECT setval('tasks_seq', COALESCE((SELECT MAX(id) FROM tasks), 0) + 1, false);
+SELECT setval('comments_seq', COALESCE((SELECT MAX(id) FROM comments), 0) + 1, false);
+
+-- ================================================================
+-- ID COLUMNS
+-- ================================================================
+
+-- Ids are always supplied by the application now; drop the identity
+-- defaults (and their implicit *_id_seq sequences)
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE swim_lanes ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
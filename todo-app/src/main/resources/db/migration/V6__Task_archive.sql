@@ -0,0 +1,33 @@
+-- V6__Task_archive.sql
+-- Cold tier for finished work: DONE tasks of completed lanes, with their
+-- comments, are moved out of tasks/comments into these tables by
+-- TaskArchiveService, so the hot tables and their indexes only hold work
+-- that can still change. Same columns and ids as the hot rows; no foreign
+-- keys, archived rows are removed with their lane or moved back when it is
+-- reopened. ddl-auto creates the same tables from ArchivedTask and
+-- ArchivedComment; TaskTagMigration creates the GIN index.
+
+CREATE TABLE IF NOT EXISTS tasks_archive (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    tag_list VARCHAR(255)[],
+    swim_lane_id BIGINT NOT NULL,
+    sort_rank BIGINT,
+    archived_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_lane_status_rank
+    ON tasks_archive (swim_lane_id, status, sort_rank);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_tag_list ON tasks_archive USING GIN (tag_list);
+
+CREATE TABLE IF NOT EXISTS comments_archive (
+    id BIGINT PRIMARY KEY,
+    text TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    task_id BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_comments_archive_task_id_id ON comments_archive (task_id, id);
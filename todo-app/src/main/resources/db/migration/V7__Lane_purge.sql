@@ -0,0 +1,11 @@
+-- V7__Lane_purge.sql
+-- Deletion time of soft-deleted lanes. LanePurgeService removes lanes
+-- deleted more than app.purge.retention-days ago, with their tasks and
+-- comments in both tiers. Lanes already deleted start their retention now.
+-- ddl-auto creates the column and index from SwimLane.
+
+ALTER TABLE swim_lanes ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+
+UPDATE swim_lanes SET deleted_at = now() WHERE is_deleted = true AND deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_swim_lanes_deleted_at ON swim_lanes (is_deleted, deleted_at);
@@ -215,7 +215,11 @@ Alpine.data('todoApp', () => ({
         Api.initSSE(
             (t) => this.onServerTaskUpdate(t),
             (id) => this.onServerTaskDelete(id),
-            (l) => console.log('[App] SSE Lane update received:', l)
+            (l) => console.log('[App] SSE Lane update received:', l),
+            (summary) => {
+                console.log('[App] Board import finished, reloading lanes:', summary);
+                this.loadViaApi();
+            }
         );
 
         // Start proactive connection monitoring
@@ -459,6 +463,23 @@ Alpine.data('todoApp', () => ({
                 !l.tasksLoaded && this.isLaneVisible(l.id)
             );
 
+            // Several active lanes to fill: one board request instead of one per lane
+            if (lanesToLoad.length > 1 && this.viewMode === 'ACTIVE') {
+                lanesToLoad.forEach(lane => { lane.loading = true; });
+                try {
+                    await this.fetchBoardTasks();
+                    lanesToLoad.forEach(lane => { lane.tasksLoaded = true; });
+                    this.$nextTick(() => {
+                        lanesToLoad.forEach(lane => this.reinitSortableForLane(lane.id));
+                    });
+                } catch (e) {
+                    console.error('[App] Failed to load the board:', e);
+                } finally {
+                    lanesToLoad.forEach(lane => { lane.loading = false; });
+                }
+                return;
+            }
+
             const loadPromises = lanesToLoad.map(async (lane) => {
                 lane.loading = true;
                 try {
@@ -525,6 +546,27 @@ Alpine.data('todoApp', () => ({
      */
     async loadViaApi() {
         console.log('[App] loadViaApi: Starting async API fetch...');
+
+        if (this.isMobile && this.viewMode === 'ACTIVE') {
+            // Mobile eager-loads every lane: lanes and tasks in one request
+            console.log('[App] loadViaApi: Mobile mode - loading the board snapshot');
+            this.tasks = [];
+            const lanes = await this.fetchBoardTasks();
+            this.lanesNext = null;
+            this.lanes = lanes.map(l => ({
+                ...l,
+                loading: false,
+                tasksLoaded: true,
+                collapsed: !this.tasks.some(t => t.swimLane && t.swimLane.id === l.id)
+            }));
+            this.$nextTick(() => {
+                this.lanes.forEach(lane => this.reinitSortableForLane(lane.id));
+            });
+            console.log('[App] Data load phase complete');
+            this.isLoading = false;
+            return;
+        }
+
         const data = await this.loadData();
         this.lanes = data.lanes;
 
@@ -826,11 +868,13 @@ Alpine.data('todoApp', () => ({
         return Array.from(validTags);
     },
 
-    toggleTag(tag) {
+    async toggleTag(tag) {
         if (this.selectedTags.includes(tag)) {
             this.selectedTags = this.selectedTags.filter(t => t !== tag);
         } else {
             this.selectedTags.push(tag);
+            // Pull matches from lanes that were never loaded (server-side filter)
+            await this.fetchTasksByTag(tag);
         }
         this.applySmartCollapse();
     },
@@ -1087,9 +1131,39 @@ Alpine.data('todoApp', () => ({
             this.taskDetail.task = task;
             this.taskDetail.open = true;
             this.taskDetail.newComment = '';
+            this.loadTaskComments(task);
+        }
+    },
+
+    /**
+     * Load the first page of a task's comments (they are not part of the
+     * lane listing, which only carries commentCount), or the next page when
+     * more is true
+     */
+    async loadTaskComments(task, more = false) {
+        const after = more ? task.commentsNext : null;
+        if (more && after == null) return;
+        try {
+            const page = await Api.getComments(task.id, after);
+            task.comments = more ? [...this.getTaskComments(task), ...page.items] : page.items;
+            task.commentsNext = page.next;
+            if (this.taskDetail.task && this.taskDetail.task.id === task.id) {
+                this.taskDetail.task = { ...task };
+            }
+        } catch (e) {
+            console.error('[App] Failed to load comments:', e);
+            this.showError('Failed to load comments');
         }
     },
 
+    /**
+     * Load the next page of comments in the detail pane
+     */
+    loadMoreComments() {
+        const task = this.taskDetail.task && this.tasks.find(t => t.id === this.taskDetail.task.id);
+        if (task) this.loadTaskComments(task, true);
+    },
+
     /**
      * Close task detail pane
      */
@@ -1470,8 +1544,8 @@ Alpine.data('todoApp', () => ({
     },
 
     /**
-     * Get comments array from task
-     * Comments are now stored as an array via JPA @OneToMany
+     * Get the loaded comments of a task
+     * Comments are paged in by loadTaskComments when the detail pane opens
      */
     getTaskComments(task) {
         if (!task || !task.comments) return [];
@@ -1497,6 +1571,7 @@ Alpine.data('todoApp', () => ({
             if (task) {
                 if (!task.comments) task.comments = [];
                 task.comments.push(newComment);
+                task.commentCount = (task.commentCount || 0) + 1;
                 this.taskDetail.newComment = '';
 
                 // Force reactivity update
@@ -1652,6 +1727,7 @@ Alpine.data('todoApp', () => ({
             const task = this.tasks.find(t => t.id == taskId);
             if (task && task.comments) {
                 task.comments = task.comments.filter(c => c.id != commentId);
+                task.commentCount = Math.max(0, (task.commentCount || 1) - 1);
                 // Force reactivity update
                 this.taskDetail.task = { ...task };
             }
@@ -1694,12 +1770,11 @@ Alpine.data('todoApp', () => ({
 
         // Optimistic update
         this.taskDetail.isLoading = true;
-        const tagsJson = JSON.stringify(currentTags);
 
         // Prepare payload (Full task object to be safe, but overriding tags)
         const payload = {
             ...task,
-            tags: tagsJson,
+            tags: currentTags,
             // Ensure swimLane object has ID if it exists
             swimLane: task.swimLane ? { id: task.swimLane.id } : null
         };
@@ -1710,7 +1785,7 @@ Alpine.data('todoApp', () => ({
 
             // Local state update is handled by updateTask's optimistic logic + SSE
             // But we ensure taskDetail reflects it immediately
-            this.taskDetail.task.tags = tagsJson;
+            this.taskDetail.task.tags = currentTags;
 
         } catch (e) {
             console.error('[App] Failed to add tag:', e);
@@ -1737,17 +1812,16 @@ Alpine.data('todoApp', () => ({
 
         // Optimistic Update
         this.taskDetail.isLoading = true;
-        const tagsJson = JSON.stringify(newTags);
 
         const payload = {
             ...task,
-            tags: tagsJson,
+            tags: newTags,
             swimLane: task.swimLane ? { id: task.swimLane.id } : null
         };
 
         try {
             await this.updateTask(task.id, payload);
-            this.taskDetail.task.tags = tagsJson;
+            this.taskDetail.task.tags = newTags;
         } catch (e) {
             console.error('[App] Failed to remove tag:', e);
         } finally {
@@ -20,9 +20,18 @@
 
 const TASKS_URL = '/api/tasks';
 const SWIMLANES_URL = '/api/swimlanes';
+const BOARD_URL = '/api/board';
 const USER_URL = '/api/user';
 const SSE_URL = '/api/sse/stream';
 
+/**
+ * Tasks arrive as compact read models that reference their lane by laneId;
+ * the UI groups tasks by swimLane.id, so give each one a lane reference.
+ */
+const toClientTask = (task) => (task && task.laneId != null)
+    ? { ...task, swimLane: { id: task.laneId } }
+    : task;
+
 // ===========================================================================
 // AXIOS INTERCEPTORS - Global request/response logging
 // ===========================================================================
@@ -109,7 +118,28 @@ export const Api = {
         console.log(`[API] fetchTasksByLane() - Params: { swimLaneId: ${swimLaneId} }`);
         const response = await axios.get(`${TASKS_URL}/swimlane/${swimLaneId}`);
         console.log(`[API] fetchTasksByLane(${swimLaneId}) - Returned ${response.data.length} tasks`);
-        return response.data;
+        return response.data.map(toClientTask);
+    },
+
+    /**
+     * Fetch the user's tasks carrying a tag, across all lanes (one server query)
+     * @param {string} tag - The tag to match exactly
+     */
+    async fetchTasksByTag(tag) {
+        console.log(`[API] fetchTasksByTag() - Params: { tag: ${tag} }`);
+        const response = await axios.get(TASKS_URL, { params: { tag } });
+        console.log(`[API] fetchTasksByTag(${tag}) - Returned ${response.data.length} tasks`);
+        return response.data.map(toClientTask);
+    },
+
+    /**
+     * Fetch the active board in one request: {lanes, tasks}
+     */
+    async fetchBoard() {
+        console.log('[API] fetchBoard() - Fetching lanes and tasks');
+        const response = await axios.get(BOARD_URL);
+        console.log(`[API] fetchBoard() - Returned ${response.data.lanes.length} lanes, ${response.data.tasks.length} tasks`);
+        return { lanes: response.data.lanes, tasks: response.data.tasks.map(toClientTask) };
     },
 
     /**
@@ -120,7 +150,7 @@ export const Api = {
         console.log('[API] createTask() - Params:', taskData);
         const response = await axios.post(TASKS_URL, taskData);
         console.log('[API] createTask() - Created task:', response.data);
-        return response.data;
+        return toClientTask(response.data);
     },
 
     /**
@@ -132,7 +162,7 @@ export const Api = {
         console.log(`[API] updateTask() - Params: { id: ${id}, data:`, taskData, '}');
         const response = await axios.put(`${TASKS_URL}/${id}`, taskData);
         console.log('[API] updateTask() - Updated task:', response.data);
-        return response.data;
+        return toClientTask(response.data);
     },
 
     /**
@@ -153,7 +183,7 @@ export const Api = {
         console.log(`[API] moveTask() - Full URL: ${url}`);
         const response = await axios.patch(url);
         console.log('[API] moveTask() - Response:', response.data);
-        return response.data;
+        return toClientTask(response.data);
     },
 
     /**
@@ -170,6 +200,22 @@ export const Api = {
     // COMMENTS
     // =========================================================================
 
+    /**
+     * One page of a task's comments, oldest first
+     * @param {number} taskId - Task ID
+     * @param {number|null} after - Cursor from the previous page (null for the first)
+     * @param {number} [limit] - Page size
+     * @returns {Promise<{items: Array, next: number|null}>}
+     */
+    async getComments(taskId, after = null, limit = 50) {
+        console.log('[API] getComments() - Params:', { taskId, after, limit });
+        const params = { limit };
+        if (after != null) params.after = after;
+        const response = await axios.get(`${TASKS_URL}/${taskId}/comments`, { params });
+        console.log(`[API] getComments(${taskId}) - Response: ${response.data.items.length} comments`);
+        return response.data;
+    },
+
     /**
      * Add a comment to a task
      * @param {number} taskId - Task ID
@@ -234,6 +280,19 @@ export const Api = {
         return response.data;
     },
 
+    /**
+     * Fetch one page of completed swimlanes ({items, next}); pass next as
+     * after for the following page
+     */
+    async fetchCompletedSwimLanesPage(after = null, limit = 50) {
+        console.log('[API] fetchCompletedSwimLanesPage() - Params:', { after, limit });
+        const params = { limit };
+        if (after != null) params.after = after;
+        const response = await axios.get(`${SWIMLANES_URL}/completed`, { params });
+        console.log(`[API] fetchCompletedSwimLanesPage() - Returned ${response.data.items.length} lanes`);
+        return response.data;
+    },
+
     /**
      * Fetch completed swimlanes
      */
@@ -438,7 +497,8 @@ export const Api = {
                         this.initSSE(
                             this.callbacks.onTaskUpdate,
                             this.callbacks.onTaskDelete,
-                            this.callbacks.onLaneUpdate
+                            this.callbacks.onLaneUpdate,
+                            this.callbacks.onBoardImport
                         );
                     }
                 }
@@ -454,12 +514,13 @@ export const Api = {
      * @param {Function} onTaskUpdate - Callback for task updates
      * @param {Function} onTaskDelete - Callback for task deletions
      * @param {Function} onLaneUpdate - Callback for lane updates
+     * @param {Function} onBoardImport - Callback when a bulk import of the current user finished
      */
-    initSSE(onTaskUpdate, onTaskDelete, onLaneUpdate) {
+    initSSE(onTaskUpdate, onTaskDelete, onLaneUpdate, onBoardImport) {
         console.log('[SSE] Initializing connection to', SSE_URL);
 
         // Store callbacks for reconnection logic in connectionMonitor
-        this.callbacks = { onTaskUpdate, onTaskDelete, onLaneUpdate };
+        this.callbacks = { onTaskUpdate, onTaskDelete, onLaneUpdate, onBoardImport };
 
         // Close any existing connection before creating a new one
         if (this.currentEventSource) {
@@ -500,7 +561,14 @@ export const Api = {
         eventSource.addEventListener('task-updated', (e) => {
             const data = JSON.parse(e.data);
             console.log('[SSE] Event: task-updated', data);
-            onTaskUpdate(data);
+            onTaskUpdate(toClientTask(data));
+        });
+
+        // Batch moves arrive as one event listing every moved task
+        eventSource.addEventListener('tasks-moved', (e) => {
+            const tasks = JSON.parse(e.data);
+            console.log('[SSE] Event: tasks-moved', { count: tasks.length });
+            tasks.forEach(task => onTaskUpdate(toClientTask(task)));
         });
 
         eventSource.addEventListener('task-deleted', (e) => {
@@ -515,6 +583,16 @@ export const Api = {
             onLaneUpdate(lane);
         });
 
+        // One event per bulk import, sent once the imported lanes are visible
+        eventSource.addEventListener('board-imported', (e) => {
+            const summary = JSON.parse(e.data);
+            console.log('[SSE] Event: board-imported', summary);
+            const user = window.initialData?.user;
+            if (onBoardImport && (!user?.id || String(summary.userId) === user.id)) {
+                onBoardImport(summary);
+            }
+        });
+
         eventSource.addEventListener('heartbeat', (e) => {
             console.log('[SSE] Heartbeat received from server');
             this.lastHeartbeat = Date.now();
@@ -548,7 +626,7 @@ export const Api = {
                 const delay = Math.min(2000 * this.reconnectAttempts, 10000); // 2s, 4s, 6s... Max 10s for faster recovery
                 this.updateReconnectStatus(`Attempt ${this.reconnectAttempts}/${this.maxReconnectAttempts}... (${delay / 1000}s)`);
                 console.log(`[SSE] Reconnecting in ${delay}ms (attempt ${this.reconnectAttempts})`);
-                setTimeout(() => this.initSSE(onTaskUpdate, onTaskDelete, onLaneUpdate), delay);
+                setTimeout(() => this.initSSE(onTaskUpdate, onTaskDelete, onLaneUpdate, onBoardImport), delay);
             } else {
                 this.updateReconnectStatus('Connection failed. Please refresh the page.');
                 console.error('[SSE] Max reconnect attempts reached');
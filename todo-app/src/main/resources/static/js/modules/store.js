@@ -25,6 +25,7 @@ export const Store = {
     isUpdatingComment: false,
     isDeletingComment: false,
     isSubmittingModal: false,
+    lanesNext: null, // Cursor of the next page of completed lanes (null when all are loaded)
 
     // UI State
     showSaved: false,
@@ -84,9 +85,13 @@ export const Store = {
         console.log('[Store] loadData() - Fetching lanes for mode:', this.viewMode);
         let lanes;
         if (this.viewMode === 'COMPLETED') {
-            lanes = await Api.fetchCompletedSwimLanes();
+            // Completed lanes accumulate forever: load them a page at a time
+            const page = await Api.fetchCompletedSwimLanesPage();
+            lanes = page.items;
+            this.lanesNext = page.next;
         } else {
             lanes = await Api.fetchSwimLanes();
+            this.lanesNext = null;
         }
 
         // Initialize UI state
@@ -95,6 +100,24 @@ export const Store = {
         return { lanes: processedLanes };
     },
 
+    /**
+     * Append the next page of completed lanes
+     */
+    async loadMoreLanes() {
+        if (this.lanesNext == null) return;
+        try {
+            const page = await Api.fetchCompletedSwimLanesPage(this.lanesNext);
+            const known = new Set(this.lanes.map(l => l.id));
+            this.lanes.push(...page.items
+                .filter(l => !known.has(l.id))
+                .map(l => ({ ...l, collapsed: true, loading: false, tasksLoaded: false })));
+            this.lanesNext = page.next;
+        } catch (e) {
+            console.error('[Store] Failed to load more lanes', e);
+            this.showError('Failed to load more boards');
+        }
+    },
+
     async setViewMode(mode) {
         if (this.viewMode === mode) return;
 
@@ -185,6 +208,47 @@ export const Store = {
         }
     },
 
+    /**
+     * Fetch the tasks of every active lane in one request (GET /api/board)
+     * instead of one request per lane. Returns the board's lanes.
+     */
+    async fetchBoardTasks() {
+        console.log('[Store] fetchBoardTasks - Calling API');
+        try {
+            const board = await Api.fetchBoard();
+            console.log(`[Store] fetchBoardTasks - Received ${board.tasks.length} tasks for ${board.lanes.length} lanes`);
+
+            const laneIds = new Set(board.lanes.map(l => l.id));
+            this.tasks = this.tasks.filter(t => !t.swimLane || !laneIds.has(t.swimLane.id));
+            this.tasks.push(...board.tasks);
+
+            return board.lanes;
+        } catch (e) {
+            console.error('[Store] fetchBoardTasks - FAILED:', e);
+            throw e;
+        }
+    },
+
+    /**
+     * Fetch every task carrying a tag, across all lanes (loaded or not), and
+     * merge them into the task list so the tag filter sees matches in lanes
+     * whose tasks were never fetched.
+     */
+    async fetchTasksByTag(tag) {
+        console.log('[Store] fetchTasksByTag - Calling API with:', { tag });
+        try {
+            const matches = await Api.fetchTasksByTag(tag);
+            const byId = new Map(matches.map(t => [t.id, t]));
+            this.tasks = this.tasks.map(t => byId.has(t.id) ? { ...t, ...byId.get(t.id) } : t);
+            const known = new Set(this.tasks.map(t => t.id));
+            this.tasks.push(...matches.filter(t => !known.has(t.id)));
+            return matches;
+        } catch (e) {
+            console.error(`[Store] fetchTasksByTag - FAILED for tag ${tag}:`, e);
+            return [];
+        }
+    },
+
     toggleLaneCollapse(laneId) {
         const lane = this.lanes.find(l => l.id === laneId);
         if (lane) {
@@ -441,13 +505,10 @@ export const Store = {
                 return;
             }
 
-            // Convert tags array to JSON string
-            const tagsJson = tags.length > 0 ? JSON.stringify(tags) : null;
-
             const taskPayload = {
                 name: name,
                 status: status,
-                tags: tagsJson,
+                tags: tags, // Plain JSON array (stored as an array column)
                 swimLane: { id: laneId }
             };
             console.log('[Store] createTask - Full payload:', taskPayload);
@@ -513,7 +574,7 @@ export const Store = {
         }
 
         if (newIndex !== undefined && newIndex !== null) {
-            task.position = newIndex;
+            task.position = this.rankAt(task, newIndex);
         }
         console.log(`[TIMING] Optimistic UI update completed in ${(performance.now() - startTime).toFixed(1)}ms`);
 
@@ -537,6 +598,24 @@ export const Store = {
         }
     },
 
+    /**
+     * Provisional rank placing a task at an index of its (new) column.
+     * Positions are sparse ranks, so take the midpoint of the neighbours;
+     * the server allocates the real rank the same way.
+     */
+    rankAt(task, index) {
+        const ranks = this.tasks
+            .filter(t => t !== task && t.status == task.status && t.swimLane?.id == task.swimLane?.id)
+            .map(t => t.position || 0)
+            .sort((a, b) => a - b);
+        const before = index > 0 ? ranks[index - 1] : undefined;
+        const after = ranks[index];
+        if (before === undefined && after === undefined) return 65536;
+        if (before === undefined) return after - 65536;
+        if (after === undefined) return before + 65536;
+        return before + (after - before) / 2;
+    },
+
     async reorderLanesOptimistic(newIds) {
         // Guard: Prevent duplicate reorder calls
         if (this.isReorderingLanes) {
@@ -0,0 +1,58 @@
+package com.example.todo;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.repository.SwimLaneRepository;
+import com.example.todo.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("null")
+public class BatchInsertIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SwimLaneRepository swimLaneRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAll_ShouldTakeIdsFromOneSequenceBlock_AndBatchTheInserts() {
+        SwimLane lane = swimLaneRepository.saveAndFlush(SwimLane.builder().name("Bulk").user(testUser).build());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(Task.builder().name("Task " + i).status(TaskStatus.TODO).swimLane(lane).build());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            List<Task> saved = taskRepository.saveAll(tasks);
+            taskRepository.flush();
+
+            assertEquals(20, statistics.getEntityInsertCount());
+            // At most two sequence calls (a block may end mid-way) and one batched INSERT per block
+            assertTrue(statistics.getPrepareStatementCount() <= 4,
+                    "Expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+            long first = saved.get(0).getId();
+            assertTrue(saved.stream().allMatch(task -> task.getId() != null));
+            assertEquals(20, saved.stream().map(Task::getId).distinct().count());
+            assertTrue(saved.get(19).getId() > first, "Ids are handed out in order from the block");
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.todo;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.Comment;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.model.User;
+import com.example.todo.repository.ArchivedCommentRepository;
+import com.example.todo.repository.ArchivedTaskRepository;
+import com.example.todo.repository.CommentRepository;
+import com.example.todo.repository.SwimLaneRepository;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.BoardImportService;
+import com.example.todo.service.LanePurgeService;
+import com.example.todo.service.TaskArchiveService;
+import com.example.todo.service.TaskRanking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("null")
+class LanePurgeIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private LanePurgeService lanePurgeService;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private SwimLaneRepository swimLaneRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Autowired
+    private BoardImportService boardImportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void purgeExpiredLanes_ShouldRemoveLanesDeletedBeforeTheRetention_WithTheirTasksAndComments() {
+        SwimLane expired = swimLaneRepository.save(SwimLane.builder().name("Old").user(testUser)
+                .isCompleted(true).build());
+        Task open = task(expired, "Open", TaskStatus.TODO);
+        Task done = task(expired, "Done", TaskStatus.DONE);
+        Comment openComment = commentRepository.save(Comment.builder().text("Hot").task(open).build());
+        Comment doneComment = commentRepository.save(Comment.builder().text("Cold").task(done).build());
+        entityManager.flush();
+        assertEquals(1, taskArchiveService.archiveLane(expired.getId()));
+        SwimLane recent = swimLaneRepository.save(SwimLane.builder().name("Recent").user(testUser).build());
+        Task recentTask = task(recent, "Recent", TaskStatus.TODO);
+        SwimLane unstamped = swimLaneRepository.save(SwimLane.builder().name("Replayed").user(testUser)
+                .isDeleted(true).build());
+        SwimLane live = swimLaneRepository.save(SwimLane.builder().name("Live").user(testUser).build());
+        entityManager.flush();
+        entityManager.clear();
+        softDelete(expired.getId(), LocalDateTime.now().minusDays(40));
+        softDelete(recent.getId(), LocalDateTime.now().minusDays(1));
+
+        assertEquals(1, lanePurgeService.purgeExpiredLanes());
+        entityManager.clear();
+
+        assertFalse(swimLaneRepository.existsById(expired.getId()));
+        assertFalse(taskRepository.existsById(open.getId()));
+        assertFalse(commentRepository.existsById(openComment.getId()));
+        assertFalse(archivedTaskRepository.existsById(done.getId()));
+        assertFalse(archivedCommentRepository.existsById(doneComment.getId()));
+        assertTrue(swimLaneRepository.existsById(recent.getId()));
+        assertTrue(taskRepository.existsById(recentTask.getId()));
+        assertTrue(swimLaneRepository.existsById(live.getId()));
+        assertNotNull(swimLaneRepository.findById(unstamped.getId()).orElseThrow().getDeletedAt());
+
+        assertEquals(0, lanePurgeService.purgeExpiredLanes());
+        assertEquals(0L, lanePurgeService.getStats().get("backlog"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void purgeExpiredLanes_ShouldStampAndEvictUnstampedLanes_ButNotThoseOfARunningImport() throws Exception {
+        User importer = userRepository.save(User.builder().name("Importer").email("purge-import@example.com")
+                .build());
+        SwimLane unstamped = swimLaneRepository.save(SwimLane.builder().name("Replayed").user(testUser)
+                .isDeleted(true).build());
+        SwimLane hidden = swimLaneRepository.save(SwimLane.builder().name("Importing").user(importer)
+                .isDeleted(true).build());
+        swimLaneRepository.findById(unstamped.getId()).orElseThrow();
+        assertTrue(entityManagerFactory.getCache().contains(SwimLane.class, unstamped.getId()));
+        // An import that waits for its payload stays running
+        PipedOutputStream payload = new PipedOutputStream();
+        PipedInputStream in = new PipedInputStream(payload);
+        CompletableFuture<?> running = CompletableFuture.runAsync(() -> {
+            try {
+                boardImportService.importBoard(importer.getId(), in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!boardImportService.getImportingUserIds().contains(importer.getId())) {
+                assertTrue(System.currentTimeMillis() < deadline, "Import started");
+                Thread.sleep(10);
+            }
+
+            lanePurgeService.purgeExpiredLanes();
+
+            assertFalse(entityManagerFactory.getCache().contains(SwimLane.class, unstamped.getId()),
+                    "Stamped over JDBC, so evicted");
+            assertNotNull(swimLaneRepository.findById(unstamped.getId()).orElseThrow().getDeletedAt());
+            assertNull(swimLaneRepository.findById(hidden.getId()).orElseThrow().getDeletedAt());
+        } finally {
+            // A malformed payload ends the import without writing anything
+            payload.write("oops".getBytes());
+            payload.close();
+            assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+            swimLaneRepository.deleteById(unstamped.getId());
+            swimLaneRepository.deleteById(hidden.getId());
+            userRepository.deleteById(importer.getId());
+        }
+    }
+
+    private void softDelete(Long laneId, LocalDateTime deletedAt) {
+        SwimLane lane = swimLaneRepository.findById(laneId).orElseThrow();
+        lane.setIsDeleted(true);
+        lane.setDeletedAt(deletedAt);
+        swimLaneRepository.saveAndFlush(lane);
+    }
+
+    private Task task(SwimLane lane, String name, TaskStatus status) {
+        return taskRepository.save(Task.builder().name(name).status(status).swimLane(lane)
+                .position(TaskRanking.GAP).tags(List.of()).build());
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.todo;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.SwimLaneView;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.model.TaskView;
+import com.example.todo.model.User;
+import com.example.todo.repository.SwimLaneRepository;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.SwimLaneService;
+import com.example.todo.service.TaskArchiveService;
+import com.example.todo.service.TaskRanking;
+import com.example.todo.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pages through lanes and lane tasks against the database until the cursor
+ * runs out: every row must come back exactly once, in board order.
+ */
+@SuppressWarnings("null")
+class PaginationIntegrationTest extends BaseIntegrationTest {
+
+    private static final long GAP = TaskRanking.GAP;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SwimLaneService swimLaneService;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SwimLaneRepository swimLaneRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void getTaskPage_ShouldReturnEveryTaskOnce_AcrossColumnsUnrankedTasksAndTheArchive() {
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Paged").user(testUser)
+                .isCompleted(true).build());
+        List<Long> archived = List.of(
+                task(lane, TaskStatus.DONE, GAP),
+                task(lane, TaskStatus.DONE, 2 * GAP),
+                task(lane, TaskStatus.DONE, null));
+        entityManager.flush();
+        assertEquals(archived.size(), taskArchiveService.archiveLane(lane.getId()));
+        entityManager.clear();
+        List<Long> expected = List.of(
+                // Ranked with a tie broken by id, then unranked by id
+                task(lane, TaskStatus.TODO, GAP),
+                task(lane, TaskStatus.TODO, GAP),
+                task(lane, TaskStatus.TODO, 3 * GAP),
+                task(lane, TaskStatus.TODO, null),
+                task(lane, TaskStatus.TODO, null),
+                // A column of unranked tasks only
+                task(lane, TaskStatus.IN_PROGRESS, null),
+                // Archived tasks merged with hot ones
+                archived.get(0),
+                task(lane, TaskStatus.DONE, GAP + GAP / 2),
+                archived.get(1),
+                archived.get(2),
+                task(lane, TaskStatus.DONE, null),
+                task(lane, TaskStatus.BLOCKED, 5L));
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int limit = 1; limit <= expected.size() + 1; limit++) {
+            List<Long> seen = new ArrayList<>();
+            String after = null;
+            int pages = 0;
+            do {
+                TaskService.TaskPage page = taskService.getTaskPage(lane.getId(), null, after, limit);
+                assertTrue(page.items().size() <= limit);
+                page.items().stream().map(TaskView::id).forEach(seen::add);
+                after = page.next();
+                assertTrue(++pages <= expected.size() + 1, "Paging must end");
+            } while (after != null);
+
+            assertEquals(expected, seen, "Page size " + limit);
+        }
+    }
+
+    @Test
+    void getTaskPage_ShouldPageWithinAColumn_WhenFilteredByStatus() {
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Filtered").user(testUser).build());
+        task(lane, TaskStatus.TODO, GAP);
+        List<Long> expected = List.of(
+                task(lane, TaskStatus.IN_PROGRESS, 2 * GAP),
+                task(lane, TaskStatus.IN_PROGRESS, null),
+                task(lane, TaskStatus.IN_PROGRESS, null));
+        task(lane, TaskStatus.DONE, GAP);
+        entityManager.flush();
+        entityManager.clear();
+
+        TaskService.TaskPage first = taskService.getTaskPage(lane.getId(), TaskStatus.IN_PROGRESS, null, 2);
+        TaskService.TaskPage second = taskService.getTaskPage(lane.getId(), TaskStatus.IN_PROGRESS,
+                first.next(), 2);
+
+        assertEquals(expected.subList(0, 2), first.items().stream().map(TaskView::id).toList());
+        assertEquals(expected.subList(2, 3), second.items().stream().map(TaskView::id).toList());
+        assertNull(second.next());
+    }
+
+    @Test
+    @WithMockUser(username = "pager@example.com", roles = "USER")
+    void getLanePage_ShouldReturnEveryLiveLaneOnce_RankedThenUnranked() {
+        User pager = userRepository.findByEmail("pager@example.com").orElseGet(() -> {
+            User user = new User();
+            user.setEmail("pager@example.com");
+            user.setName("Pager");
+            user.setPasswordHash("$2a$10$test");
+            return userRepository.save(user);
+        });
+        List<Long> expected = List.of(
+                lane(pager, 0, false),
+                lane(pager, 1, false),
+                lane(pager, 1, false),
+                lane(pager, 3, true),
+                lane(pager, null, false),
+                lane(pager, null, true));
+        swimLaneRepository.save(SwimLane.builder().name("Deleted").user(pager).position(2).isDeleted(true)
+                .build());
+        swimLaneRepository.save(SwimLane.builder().name("Other user").user(testUser).position(0).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int limit = 1; limit <= expected.size() + 1; limit++) {
+            List<Long> seen = new ArrayList<>();
+            String after = null;
+            int pages = 0;
+            do {
+                SwimLaneService.LanePage page = swimLaneService.getLanePage(null, after, limit);
+                assertTrue(page.items().size() <= limit);
+                page.items().stream().map(SwimLaneView::id).forEach(seen::add);
+                after = page.next();
+                assertTrue(++pages <= expected.size() + 1, "Paging must end");
+            } while (after != null);
+
+            assertEquals(expected, seen, "Page size " + limit);
+        }
+        assertEquals(List.of(expected.get(3), expected.get(5)), swimLaneService.getLanePage(true, null, 10)
+                .items().stream().map(SwimLaneView::id).toList());
+    }
+
+    private Long task(SwimLane lane, TaskStatus status, Long rank) {
+        return taskRepository.save(Task.builder().name(status + " " + rank).status(status).swimLane(lane)
+                .position(rank).tags(List.of()).build()).getId();
+    }
+
+    private Long lane(User user, Integer position, boolean completed) {
+        return swimLaneRepository.save(SwimLane.builder().name("Lane " + position).user(user)
+                .position(position).isCompleted(completed).build()).getId();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.todo;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.User;
+import com.example.todo.repository.SwimLaneRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hibernate only fills the second-level cache from committed rows, so these
+ * tests commit their own user and lane and delete them afterwards.
+ */
+@SuppressWarnings("null")
+public class SecondLevelCacheIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private SwimLaneRepository swimLaneRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findByEmail_ShouldBeAnsweredFromTheNaturalIdCache() {
+        User owner = userRepository.save(User.builder().name("Cached").email("l2-user@example.com").build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        try {
+            userRepository.findByEmail(owner.getEmail()).orElseThrow();
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+
+            User user = userRepository.findByEmail(owner.getEmail()).orElseThrow();
+
+            assertEquals(owner.getId(), user.getId());
+            assertEquals(0, statistics.getPrepareStatementCount(), "Email and row come from the cache");
+            assertEquals(1, statistics.getNaturalIdCacheHitCount());
+            assertTrue(userRepository.findByEmail("nobody@example.com").isEmpty());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+            userRepository.deleteById(owner.getId());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findById_ShouldServeLanesFromTheCache_AndReorderShouldEvictOnlyTheReorderedLanes() {
+        User owner = userRepository.save(User.builder().name("Lanes").email("l2-lanes@example.com").build());
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Cached").position(0).user(owner).build());
+        SwimLane other = swimLaneRepository.save(SwimLane.builder().name("Other").position(1).user(owner).build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        try {
+            swimLaneRepository.findById(lane.getId()).orElseThrow();
+            swimLaneRepository.findById(other.getId()).orElseThrow();
+            assertTrue(entityManagerFactory.getCache().contains(SwimLane.class, lane.getId()));
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+
+            assertEquals("Cached", swimLaneRepository.findById(lane.getId()).orElseThrow().getName());
+            assertEquals(0, statistics.getPrepareStatementCount(), "Lane comes from the cache");
+
+            swimLaneRepository.updatePositions(owner.getId(), Map.of(lane.getId(), 5));
+
+            assertFalse(entityManagerFactory.getCache().contains(SwimLane.class, lane.getId()),
+                    "The reorder evicts the reordered lane");
+            assertTrue(entityManagerFactory.getCache().contains(SwimLane.class, other.getId()),
+                    "Lanes outside the reorder stay cached");
+            assertEquals(5, swimLaneRepository.findById(lane.getId()).orElseThrow().getPosition());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+            swimLaneRepository.deleteById(lane.getId());
+            swimLaneRepository.deleteById(other.getId());
+            userRepository.deleteById(owner.getId());
+        }
+    }
+}
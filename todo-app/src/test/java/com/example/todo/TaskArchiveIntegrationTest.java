@@ -0,0 +1,198 @@
+package com.example.todo;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.ArchivedTask;
+import com.example.todo.model.Comment;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.repository.ArchivedTaskRepository;
+import com.example.todo.repository.CommentRepository;
+import com.example.todo.repository.SwimLaneRepository;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.TaskArchiveService;
+import com.example.todo.service.TaskRanking;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SuppressWarnings("null")
+class TaskArchiveIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SwimLaneRepository swimLaneRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void archiveLane_ShouldMoveDoneTasksOfCompletedLanes_AndReadsShouldNotChange() throws Exception {
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Shipped").user(testUser)
+                .isCompleted(true).build());
+        Task open = task(lane, "Open", TaskStatus.TODO, 1, List.of("release"));
+        Task first = task(lane, "First", TaskStatus.DONE, 1, List.of("release"));
+        Task second = task(lane, "Second", TaskStatus.DONE, 2, List.of());
+        commentRepository.save(Comment.builder().text("Looks good").task(first).build());
+        entityManager.flush();
+        entityManager.clear();
+        String before = mockMvc.perform(get("/api/tasks/swimlane/" + lane.getId()))
+                .andReturn().getResponse().getContentAsString();
+        cacheManager.getCache("tasksByLane").clear();
+
+        assertEquals(2, taskArchiveService.archiveLane(lane.getId()));
+        entityManager.clear();
+
+        assertEquals(List.of(open.getId()), taskRepository.findBySwimLaneId(lane.getId()).stream()
+                .map(Task::getId).toList());
+        assertEquals(List.of(first.getId(), second.getId()), archived(lane));
+        assertTrue(commentRepository.findByTaskIdOrderByCreatedAtAsc(first.getId()).isEmpty());
+
+        mockMvc.perform(get("/api/tasks/swimlane/" + lane.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(before, true));
+        mockMvc.perform(get("/api/tasks/" + first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("First")))
+                .andExpect(jsonPath("$.commentCount", is(1)));
+        mockMvc.perform(get("/api/tasks/" + first.getId() + "/comments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].text", is("Looks good")));
+        mockMvc.perform(get("/api/tasks").param("tag", "release"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(open.getId().intValue(), first.getId().intValue())));
+        String page = mockMvc.perform(get("/api/tasks/swimlane/" + lane.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(open.getId().intValue(), first.getId().intValue())))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/tasks/swimlane/" + lane.getId()).param("limit", "2")
+                .param("after", objectMapper.readTree(page).get("next").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(second.getId().intValue())))
+                .andExpect(jsonPath("$.next", nullValue()));
+    }
+
+    @Test
+    void archiveLane_ShouldLeaveActiveLanesAlone() {
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Active").user(testUser).build());
+        task(lane, "Done", TaskStatus.DONE, 1, List.of());
+        entityManager.flush();
+
+        assertEquals(0, taskArchiveService.archiveLane(lane.getId()));
+        assertEquals(List.of(), archived(lane));
+    }
+
+    @Test
+    void writingToAnArchivedTask_ShouldRestoreItWithItsComments() throws Exception {
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Shipped").user(testUser)
+                .isCompleted(true).build());
+        Task done = task(lane, "Done", TaskStatus.DONE, 1, List.of());
+        commentRepository.save(Comment.builder().text("Kept").task(done).build());
+        entityManager.flush();
+        taskArchiveService.archiveLane(lane.getId());
+        entityManager.clear();
+
+        mockMvc.perform(post("/api/tasks/" + done.getId() + "/comments")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("Reopened"))
+                .andExpect(status().isOk());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(taskRepository.existsById(done.getId()));
+        assertFalse(archivedTaskRepository.existsById(done.getId()));
+        assertEquals(List.of("Kept", "Reopened"), commentRepository
+                .findByTaskIdOrderByCreatedAtAsc(done.getId()).stream().map(Comment::getText).toList());
+    }
+
+    @Test
+    void restoreForWrite_ShouldCheckTheArchive_OnlyForTasksOfCompletedLanes() {
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Closed").user(testUser)
+                .isCompleted(true).build());
+        SwimLane active = swimLaneRepository.save(SwimLane.builder().name("Active").user(testUser).build());
+        Task done = task(lane, "Done", TaskStatus.DONE, 1, List.of());
+        entityManager.flush();
+        assertEquals(1, taskArchiveService.archiveLane(lane.getId()));
+
+        assertFalse(taskArchiveService.restoreForWrite(done.getId(), active.getId()), "Active lanes skip the archive");
+        assertEquals(List.of(done.getId()), archived(lane));
+        assertTrue(taskArchiveService.restoreForWrite(done.getId(), lane.getId()));
+        assertTrue(archived(lane).isEmpty());
+    }
+
+    @Test
+    void reopeningALane_ShouldRestoreItsArchivedTasks() throws Exception {
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Shipped").user(testUser)
+                .isCompleted(true).build());
+        Task done = task(lane, "Done", TaskStatus.DONE, 1, List.of());
+        entityManager.flush();
+        taskArchiveService.archiveLane(lane.getId());
+        entityManager.clear();
+
+        mockMvc.perform(patch("/api/swimlanes/" + lane.getId() + "/uncomplete"))
+                .andExpect(status().isOk());
+        entityManager.clear();
+
+        assertEquals(List.of(done.getId()), taskRepository.findBySwimLaneId(lane.getId()).stream()
+                .map(Task::getId).toList());
+        assertEquals(List.of(), archived(lane));
+    }
+
+    @Test
+    void movingATaskIntoAnArchivedColumn_ShouldRankItAmongTheArchivedTasks_WithoutRestoringThem() throws Exception {
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Shipped").user(testUser)
+                .isCompleted(true).build());
+        Task first = task(lane, "First", TaskStatus.DONE, 1, List.of());
+        Task second = task(lane, "Second", TaskStatus.DONE, 2, List.of());
+        Task open = task(lane, "Open", TaskStatus.TODO, 1, List.of());
+        entityManager.flush();
+        assertEquals(2, taskArchiveService.archiveLane(lane.getId()));
+        entityManager.clear();
+
+        mockMvc.perform(patch("/api/tasks/" + open.getId() + "/move")
+                .param("status", "DONE")
+                .param("swimLaneId", lane.getId().toString())
+                .param("position", "1"))
+                .andExpect(status().isOk());
+        entityManager.clear();
+
+        assertEquals(List.of(first.getId(), second.getId()), archived(lane));
+        Task moved = taskRepository.findById(open.getId()).orElseThrow();
+        assertEquals(TaskStatus.DONE, moved.getStatus());
+        assertTrue(moved.getPosition() > TaskRanking.GAP && moved.getPosition() < 2 * TaskRanking.GAP,
+                "Placed between the archived tasks");
+        mockMvc.perform(get("/api/tasks/swimlane/" + lane.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(first.getId().intValue(), open.getId().intValue(),
+                        second.getId().intValue())));
+    }
+
+    private List<Long> archived(SwimLane lane) {
+        return archivedTaskRepository.findBySwimLaneIdIn(List.of(lane.getId())).stream()
+                .map(ArchivedTask::getId).toList();
+    }
+
+    private Task task(SwimLane lane, String name, TaskStatus status, int rank, List<String> tags) {
+        return taskRepository.save(Task.builder().name(name).status(status).swimLane(lane)
+                .position(rank * TaskRanking.GAP).tags(tags).build());
+    }
+}
@@ -6,10 +6,17 @@ import com.example.todo.model.Task;
 import com.example.todo.model.TaskStatus;
 import com.example.todo.repository.SwimLaneRepository;
 import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.TaskRanking;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -44,6 +51,78 @@ public class TaskMoveIntegrationTest extends BaseIntegrationTest {
                 .param("swimLaneId", lane2.getId().toString()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status", is("IN_PROGRESS")))
-                .andExpect(jsonPath("$.swimLane.id", is(lane2.getId().intValue())));
+                .andExpect(jsonPath("$.laneId", is(lane2.getId().intValue())));
+    }
+
+    @Test
+    void shouldRankMovedTaskBetweenNeighbours_WithoutShiftingOthers() throws Exception {
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Lane").user(testUser).build());
+        Task first = taskRepository.save(Task.builder().name("First").status(TaskStatus.TODO)
+                .swimLane(lane).position(TaskRanking.GAP).build());
+        Task second = taskRepository.save(Task.builder().name("Second").status(TaskStatus.TODO)
+                .swimLane(lane).position(2 * TaskRanking.GAP).build());
+        Task third = taskRepository.save(Task.builder().name("Third").status(TaskStatus.TODO)
+                .swimLane(lane).position(3 * TaskRanking.GAP).build());
+
+        mockMvc.perform(patch("/api/tasks/" + third.getId() + "/move")
+                .param("status", "TODO")
+                .param("swimLaneId", lane.getId().toString())
+                .param("position", "1"))
+                .andExpect(status().isOk());
+
+        assertEquals(TaskRanking.GAP + TaskRanking.GAP / 2,
+                taskRepository.findById(third.getId()).orElseThrow().getPosition());
+        assertEquals(TaskRanking.GAP, taskRepository.findById(first.getId()).orElseThrow().getPosition());
+        assertEquals(2 * TaskRanking.GAP, taskRepository.findById(second.getId()).orElseThrow().getPosition());
+        assertEquals(List.of(first.getId(), third.getId(), second.getId()),
+                taskRepository.findBySwimLaneId(lane.getId()).stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void shouldMoveTasksAcrossLanes_WithOneStatementPerColumn() throws Exception {
+        SwimLane from = swimLaneRepository.save(SwimLane.builder().name("From").user(testUser).build());
+        SwimLane to = swimLaneRepository.save(SwimLane.builder().name("To").user(testUser).build());
+        Task first = taskRepository.save(Task.builder().name("First").status(TaskStatus.TODO)
+                .swimLane(from).position(TaskRanking.GAP).build());
+        Task second = taskRepository.save(Task.builder().name("Second").status(TaskStatus.TODO)
+                .swimLane(from).position(2 * TaskRanking.GAP).build());
+        Task doneBefore = taskRepository.save(Task.builder().name("Done before").status(TaskStatus.DONE)
+                .swimLane(to).position(TaskRanking.GAP).build());
+        Task doneAfter = taskRepository.save(Task.builder().name("Done after").status(TaskStatus.DONE)
+                .swimLane(to).position(2 * TaskRanking.GAP).build());
+        Task back = taskRepository.save(Task.builder().name("Back").status(TaskStatus.TODO)
+                .swimLane(to).position(TaskRanking.GAP).build());
+
+        mockMvc.perform(patch("/api/tasks/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                        move(first, TaskStatus.DONE, to, 1),
+                        move(second, TaskStatus.DONE, to, 2),
+                        move(back, TaskStatus.IN_PROGRESS, from, 0)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+
+        Task movedFirst = taskRepository.findById(first.getId()).orElseThrow();
+        Task movedSecond = taskRepository.findById(second.getId()).orElseThrow();
+        Task movedBack = taskRepository.findById(back.getId()).orElseThrow();
+        assertEquals(to.getId(), movedFirst.getSwimLane().getId());
+        assertEquals(TaskStatus.DONE, movedFirst.getStatus());
+        assertEquals(to.getId(), movedSecond.getSwimLane().getId());
+        assertEquals(TaskStatus.DONE, movedSecond.getStatus());
+        assertEquals(from.getId(), movedBack.getSwimLane().getId());
+        assertEquals(TaskStatus.IN_PROGRESS, movedBack.getStatus());
+        assertTrue(TaskRanking.GAP < movedFirst.getPosition()
+                && movedFirst.getPosition() < movedSecond.getPosition()
+                && movedSecond.getPosition() < 2 * TaskRanking.GAP,
+                "Both moves land between the DONE tasks, in request order");
+        assertEquals(TaskRanking.GAP, taskRepository.findById(doneBefore.getId()).orElseThrow().getPosition());
+        assertEquals(2 * TaskRanking.GAP, taskRepository.findById(doneAfter.getId()).orElseThrow().getPosition());
+        assertEquals(List.of(doneBefore.getId(), first.getId(), second.getId(), doneAfter.getId()),
+                taskRepository.findBySwimLaneId(to.getId()).stream()
+                        .filter(task -> task.getStatus() == TaskStatus.DONE).map(Task::getId).toList());
+    }
+
+    private static Map<String, Object> move(Task task, TaskStatus status, SwimLane lane, int position) {
+        return Map.of("taskId", task.getId(), "status", status, "swimLaneId", lane.getId(), "position", position);
     }
 }
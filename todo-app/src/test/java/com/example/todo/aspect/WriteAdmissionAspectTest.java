@@ -0,0 +1,46 @@
+package com.example.todo.aspect;
+
+import com.example.todo.annotation.WriteAdmission;
+import com.example.todo.exception.WriteBacklogException;
+import com.example.todo.service.WriteAdmissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WriteAdmissionAspectTest {
+
+    @Mock
+    private WriteAdmissionService writeAdmissionService;
+
+    @Mock
+    private WriteAdmission writeAdmission;
+
+    private WriteAdmissionAspect writeAdmissionAspect;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        writeAdmissionAspect = new WriteAdmissionAspect(writeAdmissionService);
+    }
+
+    @Test
+    void testAdmit_PassesPriority() {
+        when(writeAdmission.priority()).thenReturn(true);
+
+        writeAdmissionAspect.admit(writeAdmission);
+
+        verify(writeAdmissionService).admit(true);
+    }
+
+    @Test
+    void testAdmit_PropagatesRejection() {
+        when(writeAdmission.priority()).thenReturn(false);
+        doThrow(new WriteBacklogException("Backlog", 3)).when(writeAdmissionService).admit(false);
+
+        assertThrows(WriteBacklogException.class, () -> writeAdmissionAspect.admit(writeAdmission));
+    }
+}
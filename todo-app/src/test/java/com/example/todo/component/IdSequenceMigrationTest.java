@@ -0,0 +1,50 @@
+package com.example.todo.component;
+
+import com.example.todo.base.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdSequenceMigrationTest extends BaseIntegrationTest {
+
+    private static final long LEGACY_ID = 1_000_000L;
+
+    @Autowired
+    private IdSequenceMigration idSequenceMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void migration_ShouldRunBeforeTheEntityManagerFactoryIsBuilt() {
+        String[] dependsOn = beanFactory.getBeanDefinition("entityManagerFactory").getDependsOn();
+
+        assertTrue(dependsOn != null && Arrays.asList(dependsOn).contains("idSequenceMigration"),
+                "Hibernate must not hand out ids before the sequences are caught up");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // ALTER SEQUENCE commits on H2
+    void migrate_ShouldMoveSequencesPastLegacyIdentityIds() {
+        jdbcTemplate.update("INSERT INTO tasks (id, name, status) VALUES (?, 'Legacy', 'TODO')", LEGACY_ID);
+        try {
+            assertTrue(idSequenceMigration.migrate() >= 1);
+
+            assertEquals(LEGACY_ID + 1, idSequenceMigration.nextValue("tasks_seq", false));
+            assertEquals(0, idSequenceMigration.migrate(), "Sequences ahead of their tables are left alone");
+        } finally {
+            jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", LEGACY_ID);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.todo.component;
+
+import com.example.todo.service.AsyncWriteService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.ApplicationArguments;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JournalReplayRunnerTest {
+
+    @Mock
+    private AsyncWriteService asyncWriteService;
+
+    @Mock
+    private ApplicationArguments args;
+
+    @Test
+    void run_ShouldReplayJournal() {
+        when(asyncWriteService.replayJournal()).thenReturn(3);
+
+        new JournalReplayRunner(asyncWriteService).run(args);
+
+        verify(asyncWriteService).replayJournal();
+    }
+}
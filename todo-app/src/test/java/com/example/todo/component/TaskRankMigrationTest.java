@@ -0,0 +1,52 @@
+package com.example.todo.component;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.repository.SwimLaneRepository;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.TaskRanking;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskRankMigrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TaskRankMigration taskRankMigration;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SwimLaneRepository swimLaneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_ShouldRankUnrankedTasksAfterRankedOnes() {
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Lane").user(testUser).build());
+        Task ranked = taskRepository.save(Task.builder().name("Ranked").status(TaskStatus.TODO)
+                .swimLane(lane).position(5 * TaskRanking.GAP).build());
+        Task legacyA = taskRepository.save(Task.builder().name("A").status(TaskStatus.TODO).swimLane(lane).build());
+        Task legacyB = taskRepository.save(Task.builder().name("B").status(TaskStatus.TODO).swimLane(lane).build());
+        Task done = taskRepository.save(Task.builder().name("Done").status(TaskStatus.DONE).swimLane(lane).build());
+        taskRepository.flush();
+
+        assertEquals(3, taskRankMigration.migrate());
+
+        assertEquals(5 * TaskRanking.GAP, rankOf(ranked));
+        assertEquals(6 * TaskRanking.GAP, rankOf(legacyA));
+        assertEquals(7 * TaskRanking.GAP, rankOf(legacyB));
+        assertEquals(TaskRanking.GAP, rankOf(done), "Each column is ranked on its own");
+        assertEquals(0, taskRankMigration.migrate(), "Ranked tasks are left alone");
+    }
+
+    private Long rankOf(Task task) {
+        return jdbcTemplate.queryForObject("SELECT sort_rank FROM tasks WHERE id = ?", Long.class, task.getId());
+    }
+}
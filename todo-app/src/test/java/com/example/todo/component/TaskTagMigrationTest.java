@@ -0,0 +1,53 @@
+package com.example.todo.component;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskTagMigrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TaskTagMigration taskTagMigration;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void migrate_ShouldUnpackLegacyJsonTags() {
+        assertEquals(0, taskTagMigration.migrate(), "Nothing to do without the legacy column");
+
+        jdbcTemplate.execute("ALTER TABLE tasks ADD COLUMN IF NOT EXISTS tags CLOB");
+        Task legacy = taskRepository.save(Task.builder().name("Legacy").status(TaskStatus.TODO).build());
+        Task broken = taskRepository.save(Task.builder().name("Broken").status(TaskStatus.TODO).build());
+        Task current = taskRepository.save(Task.builder().name("Current").status(TaskStatus.TODO)
+                .tags(List.of("kept")).build());
+        taskRepository.flush();
+        jdbcTemplate.update("UPDATE tasks SET tags = ? WHERE id = ?", "[\"work\", \" home \", \"work\"]",
+                legacy.getId());
+        jdbcTemplate.update("UPDATE tasks SET tags = ? WHERE id = ?", "not json", broken.getId());
+        jdbcTemplate.update("UPDATE tasks SET tags = ? WHERE id = ?", "[\"ignored\"]", current.getId());
+
+        assertEquals(2, taskTagMigration.migrate());
+        entityManager.clear();
+
+        assertEquals(List.of("work", "home"), taskRepository.findById(legacy.getId()).orElseThrow().getTags());
+        assertEquals(List.of(), taskRepository.findById(broken.getId()).orElseThrow().getTags());
+        assertEquals(List.of("kept"), taskRepository.findById(current.getId()).orElseThrow().getTags());
+        assertEquals(0, taskTagMigration.migrate(), "Converted tasks are left alone");
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCache;
 
+import java.net.URI;
 import java.util.Collections;
 import java.util.Set;
 
@@ -30,11 +31,14 @@ class CacheLoggingConfigTest {
     @Mock
     private org.springframework.cache.Cache nonCaffeineCache;
 
+    @Mock
+    private javax.cache.CacheManager secondLevelCacheManager;
+
     private CacheLoggingConfig config;
 
     @BeforeEach
     void setUp() {
-        config = new CacheLoggingConfig(cacheManager);
+        config = new CacheLoggingConfig(cacheManager, secondLevelCacheManager);
     }
 
     @Test
@@ -98,4 +102,14 @@ class CacheLoggingConfigTest {
 
         verify(nativeCache).stats();
     }
+
+    @Test
+    void logSecondLevelCacheStats_ShouldSkipRegionsWithoutStatistics() {
+        when(secondLevelCacheManager.getCacheNames()).thenReturn(Set.of("users"));
+        when(secondLevelCacheManager.getURI()).thenReturn(URI.create("unregistered-manager"));
+
+        config.logSecondLevelCacheStats();
+
+        verify(secondLevelCacheManager).getCacheNames();
+    }
 }
@@ -1,11 +1,15 @@
 package com.example.todo.config;
 
 import com.example.todo.exception.DuplicateOperationException;
+import com.example.todo.exception.WriteBacklogException;
+import com.example.todo.exception.WriteNotCommittedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +42,16 @@ class GlobalExceptionHandlerTest {
         assertFalse(response.getBody().containsKey("operationKey"));
     }
 
+    @Test
+    void testHandleWriteBacklog() {
+        WriteBacklogException ex = new WriteBacklogException("Backlog too deep", 7);
+        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleWriteBacklog(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("7", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(7, response.getBody().get("retryAfterSeconds"));
+    }
+
     @Test
     void testHandleIllegalArgument() {
         IllegalArgumentException ex = new IllegalArgumentException("Bad input");
@@ -46,4 +60,16 @@ class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Bad input", response.getBody().get("message"));
     }
+
+    @Test
+    void testHandleWriteNotCommitted() {
+        ResponseEntity<Map<String, Object>> timedOut = exceptionHandler.handleWriteNotCommitted(
+                new WriteNotCommittedException("Still queued", List.of(1L, 2L), true));
+        ResponseEntity<Map<String, Object>> failed = exceptionHandler.handleWriteNotCommitted(
+                new WriteNotCommittedException("Write failed", List.of(3L), false));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, timedOut.getStatusCode());
+        assertEquals(List.of(1L, 2L), timedOut.getBody().get("operationIds"));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, failed.getStatusCode());
+    }
 }
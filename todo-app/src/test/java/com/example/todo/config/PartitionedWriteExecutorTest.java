@@ -0,0 +1,109 @@
+package com.example.todo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedWriteExecutorTest {
+
+    private PartitionedWriteExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void execute_ShouldKeepOrderWithinPartition() throws InterruptedException {
+        executor = new PartitionedWriteExecutor(4, 100, "TestDB-");
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            int value = i;
+            executor.execute(new PartitionedWriteExecutor.PartitionedTask(2, () -> {
+                seen.add(value);
+                done.countDown();
+            }));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, seen.get(i));
+        }
+    }
+
+    @Test
+    void execute_ShouldRunPartitionsInParallel() throws InterruptedException {
+        executor = new PartitionedWriteExecutor(2, 100, "TestDB-");
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch otherPartitionRan = new CountDownLatch(1);
+
+        executor.execute(new PartitionedWriteExecutor.PartitionedTask(0, () -> {
+            try {
+                blocker.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        executor.execute(new PartitionedWriteExecutor.PartitionedTask(1, otherPartitionRan::countDown));
+
+        assertTrue(otherPartitionRan.await(5, TimeUnit.SECONDS),
+                "A slow partition must not stall the others");
+        blocker.countDown();
+    }
+
+    @Test
+    void execute_ShouldDropSignals_WhenPartitionQueueIsFull() throws InterruptedException {
+        executor = new PartitionedWriteExecutor(1, 1, "TestDB-");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        String caller = Thread.currentThread().getName();
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                blocker.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> threads.add(Thread.currentThread().getName())); // queued
+        executor.execute(() -> threads.add(Thread.currentThread().getName())); // dropped
+
+        var stats = executor.getStats().get(0);
+        assertEquals(1, stats.queued());
+        assertEquals(1, stats.active());
+        assertEquals(1, stats.dropped());
+        assertFalse(threads.contains(caller), "Full queue must never run work on the caller thread");
+        blocker.countDown();
+    }
+
+    @Test
+    void getStats_ShouldCoverEveryPartition() {
+        executor = new PartitionedWriteExecutor(3, 10, "TestDB-");
+
+        assertEquals(3, executor.getPartitionCount());
+        assertEquals(3, executor.getStats().size());
+        assertDoesNotThrow(executor::logStats);
+    }
+
+    @Test
+    void constructor_ShouldClampPartitionCount() {
+        executor = new PartitionedWriteExecutor(0, 10, "TestDB-");
+
+        assertEquals(1, executor.getPartitionCount());
+        assertDoesNotThrow(() -> executor.execute(new PartitionedWriteExecutor.PartitionedTask(5, () -> {
+        })));
+    }
+}
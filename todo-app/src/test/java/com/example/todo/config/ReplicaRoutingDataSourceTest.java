@@ -0,0 +1,123 @@
+package com.example.todo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes through two H2 databases that each know their own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+    private final ReplicaLagGuard lagGuard = new ReplicaLagGuard(60_000);
+    private final AtomicInteger downAttempts = new AtomicInteger();
+    private final DataSource down = new DriverManagerDataSource() {
+        @Override
+        public Connection getConnection() throws SQLException {
+            downAttempts.incrementAndGet();
+            throw new SQLException("Connection refused");
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        for (DataSource dataSource : List.of(primary, replica)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+            jdbcTemplate.update("INSERT INTO node VALUES (?)", dataSource == primary ? "primary" : "replica");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldUseTheReplica_AndOthersThePrimary() {
+        DataSource dataSource = routing(List.of(replica));
+
+        assertEquals("replica", readNode(dataSource, true));
+        assertEquals("primary", readNode(dataSource, false));
+    }
+
+    @Test
+    void readsAfterAWrite_ShouldStayOnThePrimaryForThatUser() throws Exception {
+        DataSource dataSource = routing(List.of(replica));
+        signIn("writer@example.com");
+        lagGuard.preHandle(new MockHttpServletRequest("GET", "/api/board"), new MockHttpServletResponse(), null);
+        assertEquals("replica", readNode(dataSource, true), "Reads do not make a user sticky");
+
+        lagGuard.afterCompletion(new MockHttpServletRequest("PUT", "/api/tasks/1"), new MockHttpServletResponse(),
+                null, null);
+
+        assertEquals("primary", readNode(dataSource, true));
+        signIn("reader@example.com");
+        assertEquals("replica", readNode(dataSource, true));
+    }
+
+    @Test
+    void unavailableReplica_ShouldBeSkippedUntilRetry_AndThePrimaryUsedWhenNoneIsUp() {
+        DataSource withFallback = routing(List.of(down, replica));
+
+        assertEquals("replica", readNode(withFallback, true));
+        assertEquals("replica", readNode(withFallback, true));
+        assertEquals(1, downAttempts.get(), "A failed replica is not retried before retry-after");
+
+        assertEquals("primary", readNode(routing(List.of(down)), true));
+    }
+
+    @Test
+    void connectionsForExplicitCredentials_ShouldComeFromThePrimary() throws Exception {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), lagGuard, 60_000);
+
+        try (Connection connection = dataSource.getConnection("sa", "")) {
+            assertEquals("primary", new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                    .queryForObject("SELECT name FROM node", String.class));
+        }
+    }
+
+    private DataSource routing(List<DataSource> replicas) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas, lagGuard, 60_000));
+        return dataSource;
+    }
+
+    private static String readNode(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(email, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "sa", "");
+    }
+}
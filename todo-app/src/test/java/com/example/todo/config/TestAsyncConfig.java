@@ -20,4 +20,10 @@ public class TestAsyncConfig {
     public TaskExecutor asyncWriteExecutor() {
         return new SyncTaskExecutor();
     }
+
+    @Bean(name = "sseDispatchExecutor")
+    @Primary
+    public TaskExecutor sseDispatchExecutor() {
+        return new SyncTaskExecutor();
+    }
 }
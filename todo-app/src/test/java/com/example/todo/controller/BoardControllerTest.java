@@ -0,0 +1,65 @@
+package com.example.todo.controller;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.repository.SwimLaneRepository;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.TaskRanking;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class BoardControllerTest extends BaseIntegrationTest {
+
+    @Autowired
+    private SwimLaneRepository swimLaneRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void getBoard_ShouldReturnActiveLanesWithTheirTasks_AndCacheEachLane() throws Exception {
+        SwimLane first = swimLaneRepository.save(SwimLane.builder().name("First").position(0).user(testUser).build());
+        SwimLane second = swimLaneRepository.save(SwimLane.builder().name("Second").position(1).user(testUser).build());
+        SwimLane empty = swimLaneRepository.save(SwimLane.builder().name("Empty").position(2).user(testUser).build());
+        SwimLane done = swimLaneRepository.save(SwimLane.builder().name("Done").position(3).isCompleted(true)
+                .user(testUser).build());
+        Task a = taskRepository.save(Task.builder().name("A").status(TaskStatus.TODO).swimLane(first)
+                .position(TaskRanking.GAP).build());
+        Task b = taskRepository.save(Task.builder().name("B").status(TaskStatus.DONE).swimLane(second)
+                .position(TaskRanking.GAP).build());
+        taskRepository.save(Task.builder().name("Hidden").status(TaskStatus.TODO).swimLane(done).build());
+        taskRepository.flush();
+
+        mockMvc.perform(get("/api/board"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.lanes.length()").value(3))
+                .andExpect(jsonPath("$.lanes[0].id").value(first.getId()))
+                .andExpect(jsonPath("$.lanes[2].id").value(empty.getId()))
+                .andExpect(jsonPath("$.tasks.length()").value(2))
+                .andExpect(jsonPath("$.tasks[0].id").value(a.getId()))
+                .andExpect(jsonPath("$.tasks[0].laneId").value(first.getId()))
+                .andExpect(jsonPath("$.tasks[1].id").value(b.getId()));
+
+        var tasksByLane = cacheManager.getCache("tasksByLane");
+        assertNotNull(tasksByLane.get(first.getId()));
+        assertEquals(List.of(), tasksByLane.get(empty.getId()).get());
+        assertNull(tasksByLane.get(done.getId()), "Completed lanes are not part of the board");
+    }
+
+    @Test
+    void getBoard_ShouldReturnEmptyBoard_ForUserWithoutLanes() throws Exception {
+        mockMvc.perform(get("/api/board"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"lanes\":[],\"tasks\":[]}", true));
+    }
+}
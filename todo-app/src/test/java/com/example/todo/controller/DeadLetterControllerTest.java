@@ -0,0 +1,78 @@
+package com.example.todo.controller;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.repository.SwimLaneRepository;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.DeadLetterStore;
+import com.example.todo.service.WriteOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SuppressWarnings("null")
+class DeadLetterControllerTest extends BaseIntegrationTest {
+
+        @Autowired
+        private DeadLetterStore deadLetterStore;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private SwimLaneRepository swimLaneRepository;
+
+        @AfterEach
+        void clearDeadLetters() {
+                deadLetterStore.list().forEach(entry -> deadLetterStore.remove(entry.id()));
+        }
+
+        @Test
+        void getDeadLetters_ShouldListEntries() throws Exception {
+                long id = deadLetterStore.add("task:99", List.of(WriteOperation.deleteTask(99L)), 5, "DB down").id();
+
+                mockMvc.perform(get("/api/write-behind/dead-letters"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value(id))
+                                .andExpect(jsonPath("$[0].key").value("task:99"))
+                                .andExpect(jsonPath("$[0].attempts").value(5))
+                                .andExpect(jsonPath("$[0].operations[0].type").value("DELETE_TASK"));
+        }
+
+        @Test
+        void replayDeadLetter_ShouldApplyOperations() throws Exception {
+                SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Lane").user(testUser).build());
+                Task task = taskRepository.save(Task.builder().name("Lost Move").status(TaskStatus.TODO)
+                                .swimLane(lane).position(0L).build());
+                WriteOperation move = WriteOperation.moveTask(task.getId(), TaskStatus.DONE, lane.getId(), 0);
+                long id = deadLetterStore.add("task:" + task.getId(), List.of(move), 5, "DB down").id();
+
+                mockMvc.perform(post("/api/write-behind/dead-letters/{id}/replay", id))
+                                .andExpect(status().isAccepted())
+                                .andExpect(jsonPath("$.queued").value(1))
+                                .andExpect(header().exists("X-Operation-Id"));
+
+                assertEquals(TaskStatus.DONE, taskRepository.findById(task.getId()).orElseThrow().getStatus());
+                assertEquals(0, deadLetterStore.size());
+        }
+
+        @Test
+        void discardDeadLetter_ShouldRemoveEntry() throws Exception {
+                long id = deadLetterStore.add("lane:7", List.of(WriteOperation.deleteSwimLane(7L)), 5, "x").id();
+
+                mockMvc.perform(delete("/api/write-behind/dead-letters/{id}", id))
+                                .andExpect(status().isNoContent());
+                mockMvc.perform(delete("/api/write-behind/dead-letters/{id}", id))
+                                .andExpect(status().isNotFound());
+                mockMvc.perform(post("/api/write-behind/dead-letters/{id}/replay", id))
+                                .andExpect(status().isNotFound());
+        }
+}
@@ -0,0 +1,47 @@
+package com.example.todo.controller;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.service.BoardExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ExportControllerTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BoardExportService boardExportService;
+
+    @Test
+    void exportBoard_ShouldStreamNdjsonAsAttachment() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("board-export.ndjson")))
+                .andExpect(content().string(startsWith("{\"type\":\"board\",\"version\":1")));
+    }
+
+    @Test
+    void exportBoard_ShouldReturnServiceUnavailable_WhenAllSlotsAreTaken() throws Exception {
+        while (boardExportService.tryAcquire()) {
+            // take every slot
+        }
+        try {
+            mockMvc.perform(get("/api/export").param("gzip", "true"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists("Retry-After"));
+        } finally {
+            boardExportService.release();
+            boardExportService.release();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.todo.controller;
 
 import com.example.todo.model.SwimLane;
+import com.example.todo.model.SwimLaneView;
 import com.example.todo.service.SwimLaneService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -85,7 +86,7 @@ class HomeControllerTest {
     @Test
     void index_ShouldAddInitialDataJsonToModel() throws Exception {
         // Arrange
-        List<SwimLane> lanes = Arrays.asList(testLane);
+        List<SwimLaneView> lanes = Arrays.asList(SwimLaneView.of(testLane));
         String expectedJson = "{\"lanes\":[],\"tasks\":[]}";
 
         when(swimLaneService.getActiveSwimLanes()).thenReturn(lanes);
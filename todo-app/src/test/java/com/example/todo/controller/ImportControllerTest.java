@@ -0,0 +1,128 @@
+package com.example.todo.controller;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.repository.CommentRepository;
+import com.example.todo.repository.SwimLaneRepository;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.TaskRanking;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ImportControllerTest extends BaseIntegrationTest {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private SwimLaneRepository swimLaneRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void importBoard_ShouldCreateLanesTasksAndComments_AfterExistingLanes() throws Exception {
+        swimLaneRepository.saveAndFlush(SwimLane.builder().name("Existing").position(4).user(testUser).build());
+        String body = String.join("\n",
+                "{\"type\":\"board\",\"version\":1,\"exportedAt\":\"2026-01-01T00:00:00Z\"}",
+                "{\"type\":\"lane\",\"id\":10,\"name\":\"Imported\",\"isCompleted\":false,\"position\":0}",
+                "{\"type\":\"lane\",\"id\":11,\"name\":\"Done lane\",\"isCompleted\":true,\"position\":1}",
+                "{\"type\":\"task\",\"id\":20,\"laneId\":10,\"name\":\"First\",\"status\":\"TODO\",\"tags\":[\"x\",\" y \"]}",
+                "{\"type\":\"task\",\"id\":21,\"laneId\":10,\"name\":\"Second\",\"status\":\"TODO\",\"position\":1}",
+                "{\"type\":\"task\",\"id\":22,\"laneId\":99,\"name\":\"Dangling\",\"status\":\"TODO\"}",
+                "{\"type\":\"task\",\"id\":23,\"laneId\":10,\"name\":\"Odd\",\"status\":\"SOMEDAY\"}",
+                "{\"type\":\"comment\",\"id\":30,\"taskId\":20,\"text\":\"Hello\",\"createdAt\":\"2025-05-01T10:15:30\"}",
+                "{\"type\":\"widget\"}") + "\n";
+
+        mockMvc.perform(post("/api/import").contentType(NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.running").value(false))
+                .andExpect(jsonPath("$.lanes").value(2))
+                .andExpect(jsonPath("$.tasks").value(2))
+                .andExpect(jsonPath("$.comments").value(1))
+                .andExpect(jsonPath("$.skipped").value(3));
+        entityManager.clear();
+
+        List<SwimLane> lanes = swimLaneRepository.findAll().stream()
+                .filter(lane -> lane.getUser().getId().equals(testUser.getId()))
+                .sorted(Comparator.comparing(SwimLane::getPosition)).toList();
+        assertEquals(List.of("Existing", "Imported", "Done lane"), lanes.stream().map(SwimLane::getName).toList());
+        assertEquals(List.of(4, 5, 6), lanes.stream().map(SwimLane::getPosition).toList());
+        assertTrue(lanes.stream().noneMatch(SwimLane::getIsDeleted), "Imported lanes are published");
+        assertTrue(lanes.get(2).getIsCompleted());
+
+        List<Task> tasks = taskRepository.findAll().stream()
+                .filter(task -> task.getSwimLane().getId().equals(lanes.get(1).getId()))
+                .sorted(Comparator.comparing(Task::getPosition)).toList();
+        assertEquals(List.of("First", "Second"), tasks.stream().map(Task::getName).toList());
+        assertEquals(List.of(TaskRanking.GAP, 2 * TaskRanking.GAP), tasks.stream().map(Task::getPosition).toList(),
+                "Ranked in file order");
+        assertEquals(List.of("x", "y"), tasks.get(0).getTags());
+        assertEquals(TaskStatus.TODO, tasks.get(1).getStatus());
+        var comments = commentRepository.findAll().stream()
+                .filter(comment -> comment.getTask().getId().equals(tasks.get(0).getId())).toList();
+        assertEquals(1, comments.size());
+        assertEquals("Hello", comments.get(0).getText());
+        assertEquals(2025, comments.get(0).getCreatedAt().getYear());
+
+        mockMvc.perform(get("/api/swimlanes/active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].name").value("Imported"));
+        mockMvc.perform(get("/api/import/progress"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks").value(2));
+    }
+
+    @Test
+    void importBoard_ShouldAcceptGzippedJsonArray() throws Exception {
+        String body = "[{\"type\":\"lane\",\"id\":1,\"name\":\"Zipped\"},"
+                + "{\"type\":\"task\",\"laneId\":1,\"name\":\"Inside\"}]";
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        // The import writes over JDBC, so the test user must be in the database first
+        entityManager.flush();
+
+        mockMvc.perform(post("/api/import").contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip").content(gzipped.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lanes").value(1))
+                .andExpect(jsonPath("$.tasks").value(1));
+    }
+
+    @Test
+    void importBoard_ShouldRejectMalformedPayload_AndLeaveNothingVisible() throws Exception {
+        String body = "{\"type\":\"lane\",\"id\":1,\"name\":\"Half\"}\n{\"type\":\"task\",\"laneId\":1,";
+
+        mockMvc.perform(post("/api/import").contentType(NDJSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Malformed import")));
+
+        mockMvc.perform(get("/api/swimlanes/active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.todo.controller;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.repository.SwimLaneRepository;
+import com.example.todo.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SuppressWarnings("null")
+class OperationControllerTest extends BaseIntegrationTest {
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private SwimLaneRepository swimLaneRepository;
+
+        @Test
+        void moveTask_ShouldReturnOperationIdThatIsCommitted() throws Exception {
+                SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Lane").build());
+                Task task = taskRepository.save(Task.builder().name("Track Me").status(TaskStatus.TODO).build());
+
+                String operationId = mockMvc.perform(patch("/api/tasks/{id}/move", task.getId())
+                                .param("status", "DONE")
+                                .param("swimLaneId", lane.getId().toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("X-Operation-Id", matchesPattern("\\d+")))
+                                .andReturn().getResponse().getHeader("X-Operation-Id");
+
+                // The test executor flushes synchronously, so the write has already committed
+                mockMvc.perform(get("/api/operations").param("ids", operationId))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value(Long.parseLong(operationId)))
+                                .andExpect(jsonPath("$[0].entity").value("task:" + task.getId()))
+                                .andExpect(jsonPath("$[0].status").value("COMMITTED"));
+        }
+
+        @Test
+        void deleteSwimLane_ShouldReturnOperationId() throws Exception {
+                SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Lane").user(testUser).build());
+
+                mockMvc.perform(delete("/api/swimlanes/{id}", lane.getId()))
+                                .andExpect(status().isOk())
+                                .andExpect(header().exists("X-Operation-Id"));
+        }
+
+        @Test
+        void moveTask_ShouldWaitForCommit_WhenSyncCommitIsRequested() throws Exception {
+                SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Lane").build());
+                Task task = taskRepository.save(Task.builder().name("Integration").status(TaskStatus.TODO).build());
+
+                mockMvc.perform(patch("/api/tasks/{id}/move", task.getId())
+                                .header("X-Durability", "sync-commit")
+                                .param("status", "DONE")
+                                .param("swimLaneId", lane.getId().toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("X-Durability", "sync-commit"));
+
+                assertEquals(TaskStatus.DONE, taskRepository.findById(task.getId()).orElseThrow().getStatus());
+        }
+
+        @Test
+        void completeSwimLane_ShouldAcceptDurabilityParameter() throws Exception {
+                SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Lane").user(testUser).build());
+
+                // Journal is disabled in tests, so ack-on-journal is upgraded to sync-commit
+                mockMvc.perform(patch("/api/swimlanes/{id}/complete", lane.getId())
+                                .param("durability", "ack-on-journal"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("X-Durability", "sync-commit"));
+        }
+
+        @Test
+        void moveTask_ShouldRejectUnknownDurability_BeforeQueueing() throws Exception {
+                Task task = taskRepository.save(Task.builder().name("Task").status(TaskStatus.TODO).build());
+
+                mockMvc.perform(patch("/api/tasks/{id}/move", task.getId())
+                                .header("X-Durability", "eventually")
+                                .param("status", "DONE"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(header().doesNotExist("X-Operation-Id"));
+
+                assertEquals(TaskStatus.TODO, taskRepository.findById(task.getId()).orElseThrow().getStatus());
+        }
+
+        @Test
+        void getStatuses_ShouldReportUnknownIds() throws Exception {
+                mockMvc.perform(get("/api/operations").param("ids", "1", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].status").value("UNKNOWN"))
+                                .andExpect(jsonPath("$[1].id").value(2));
+        }
+}
@@ -2,6 +2,7 @@ package com.example.todo.controller;
 
 import com.example.todo.base.BaseIntegrationTest;
 import com.example.todo.model.SwimLane;
+import com.example.todo.model.User;
 import com.example.todo.repository.SwimLaneRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -153,5 +154,75 @@ class SwimLaneControllerTest extends BaseIntegrationTest {
                 .content("[" + lane2.getId() + ", " + lane1.getId() + "]"))
                 .andExpect(status().isOk());
     }
-}
 
+    @Test
+    void reorderSwimLanes_ShouldOnlyRepositionTheCallersLanes() throws Exception {
+        User other = new User();
+        other.setEmail("other@example.com");
+        other.setName("Other User");
+        other.setPasswordHash("$2a$10$test");
+        other = userRepository.save(other);
+        SwimLane mine = swimLaneRepository.save(SwimLane.builder().name("Mine").position(0).user(testUser).build());
+        SwimLane theirs = swimLaneRepository.save(SwimLane.builder().name("Theirs").position(7).user(other).build());
+        SwimLane ownerless = swimLaneRepository.save(SwimLane.builder().name("Ownerless").position(5).build());
+        SwimLane last = swimLaneRepository.save(SwimLane.builder().name("Last").position(1).user(testUser).build());
+
+        mockMvc.perform(patch("/api/swimlanes/reorder")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + last.getId() + ", " + theirs.getId() + ", " + ownerless.getId() + ", "
+                        + mine.getId() + "]"))
+                .andExpect(status().isOk());
+
+        assertEquals(0, swimLaneRepository.findById(last.getId()).orElseThrow().getPosition());
+        assertEquals(3, swimLaneRepository.findById(mine.getId()).orElseThrow().getPosition());
+        assertEquals(7, swimLaneRepository.findById(theirs.getId()).orElseThrow().getPosition(),
+                "Lanes of other users are not touched");
+        assertEquals(5, swimLaneRepository.findById(ownerless.getId()).orElseThrow().getPosition());
+    }
+
+    @Test
+    void getSwimLanePage_ShouldContinueFromCursor_WithUnpositionedLanesLast() throws Exception {
+        SwimLane second = swimLaneRepository.save(SwimLane.builder().name("Second").position(1).user(testUser).build());
+        SwimLane unpositioned = swimLaneRepository.save(SwimLane.builder().name("Unpositioned").user(testUser).build());
+        SwimLane first = swimLaneRepository.save(SwimLane.builder().name("First").position(0).user(testUser).build());
+        swimLaneRepository.save(SwimLane.builder().name("Deleted").position(2).isDeleted(true).user(testUser).build());
+
+        String body = mockMvc.perform(get("/api/swimlanes").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(first.getId()))
+                .andExpect(jsonPath("$.items[1].id").value(second.getId()))
+                .andExpect(jsonPath("$.next").isString())
+                .andReturn().getResponse().getContentAsString();
+        String next = objectMapper.readTree(body).get("next").asText();
+
+        mockMvc.perform(get("/api/swimlanes").param("after", next).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(unpositioned.getId()))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void getCompletedSwimLanePage_ShouldOnlyReturnCompletedLanes() throws Exception {
+        swimLaneRepository.save(SwimLane.builder().name("Open").position(0).isCompleted(false).user(testUser).build());
+        SwimLane done = swimLaneRepository.save(SwimLane.builder().name("Done").position(1).isCompleted(true)
+                .user(testUser).build());
+
+        mockMvc.perform(get("/api/swimlanes/completed").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(done.getId()))
+                .andExpect(jsonPath("$.next").doesNotExist());
+        mockMvc.perform(get("/api/swimlanes/active").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Open"));
+    }
+
+    @Test
+    void getSwimLanePage_ShouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/swimlanes").param("after", "not-a-cursor").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+    }
+}
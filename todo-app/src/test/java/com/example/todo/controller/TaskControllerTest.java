@@ -5,9 +5,13 @@ import com.example.todo.model.Comment;
 import com.example.todo.model.SwimLane;
 import com.example.todo.model.Task;
 import com.example.todo.model.TaskStatus;
+import com.example.todo.model.User;
 import com.example.todo.repository.CommentRepository;
 import com.example.todo.repository.SwimLaneRepository;
 import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.TaskRanking;
+import com.example.todo.service.TaskService;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
@@ -15,6 +19,7 @@ import org.springframework.http.MediaType;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +36,9 @@ class TaskControllerTest extends BaseIntegrationTest {
         @Autowired
         private CommentRepository commentRepository;
 
+        @Autowired
+        private EntityManager entityManager;
+
         @Test
         void createTask_ShouldReturnCreatedTask() throws Exception {
                 Task task = new Task();
@@ -190,6 +198,53 @@ class TaskControllerTest extends BaseIntegrationTest {
                 assertFalse(commentRepository.findById(comment.getId()).isPresent());
         }
 
+        @Test
+        void getComments_ShouldPageByCursor() throws Exception {
+                Task task = taskRepository.save(Task.builder().name("Paged").status(TaskStatus.TODO).build());
+                List<Long> ids = new ArrayList<>();
+                for (String text : List.of("first", "second", "third")) {
+                        ids.add(commentRepository.save(Comment.builder().text(text).task(task).build()).getId());
+                }
+
+                mockMvc.perform(get("/api/tasks/{id}/comments", task.getId()).param("limit", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(2))
+                                .andExpect(jsonPath("$.items[0].text").value("first"))
+                                .andExpect(jsonPath("$.next").value(ids.get(1)));
+
+                mockMvc.perform(get("/api/tasks/{id}/comments", task.getId())
+                                .param("after", ids.get(1).toString()).param("limit", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(1))
+                                .andExpect(jsonPath("$.items[0].text").value("third"))
+                                .andExpect(jsonPath("$.next").doesNotExist());
+        }
+
+        @Test
+        void getComments_ShouldReturnNotFound_ForUnknownTask() throws Exception {
+                mockMvc.perform(get("/api/tasks/{id}/comments", 999_999L))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void getTasksBySwimLane_ShouldCountComments_WithoutLoadingThem() throws Exception {
+                SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Counted").user(testUser).build());
+                Task task = taskRepository.save(Task.builder().name("Discussed").status(TaskStatus.TODO)
+                                .swimLane(lane).build());
+                commentRepository.save(Comment.builder().text("one").task(task).build());
+                commentRepository.save(Comment.builder().text("two").task(task).build());
+                // The count is read with the task, so load it afresh
+                entityManager.flush();
+                entityManager.clear();
+
+                mockMvc.perform(get("/api/tasks/swimlane/{id}", lane.getId()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].commentCount").value(2))
+                                .andExpect(jsonPath("$[0].comments").doesNotExist())
+                                .andExpect(jsonPath("$[0].laneId").value(lane.getId()))
+                                .andExpect(jsonPath("$[0].swimLane").doesNotExist());
+        }
+
         @Test
         void getTasksBySwimLane_ShouldReturnTasksForLane() throws Exception {
                 SwimLane lane = new SwimLane();
@@ -207,6 +262,107 @@ class TaskControllerTest extends BaseIntegrationTest {
                                 .andExpect(jsonPath("$[?(@.name == 'Task in Lane')]").exists());
         }
 
+        @Test
+        void getTaskPageBySwimLane_ShouldContinueAcrossColumns() throws Exception {
+                SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Paged").user(testUser).build());
+                Task secondTodo = taskRepository.save(Task.builder().name("Second todo").status(TaskStatus.TODO)
+                                .swimLane(lane).position(2 * TaskRanking.GAP).build());
+                Task firstTodo = taskRepository.save(Task.builder().name("First todo").status(TaskStatus.TODO)
+                                .swimLane(lane).position(TaskRanking.GAP).build());
+                Task unranked = taskRepository.save(Task.builder().name("Unranked todo").status(TaskStatus.TODO)
+                                .swimLane(lane).build());
+                Task done = taskRepository.save(Task.builder().name("Done").status(TaskStatus.DONE)
+                                .swimLane(lane).position(TaskRanking.GAP).build());
+                taskRepository.flush();
+
+                String body = mockMvc.perform(get("/api/tasks/swimlane/{id}", lane.getId()).param("limit", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(2))
+                                .andExpect(jsonPath("$.items[0].id").value(firstTodo.getId()))
+                                .andExpect(jsonPath("$.items[1].id").value(secondTodo.getId()))
+                                .andExpect(jsonPath("$.next").isString())
+                                .andReturn().getResponse().getContentAsString();
+                String next = objectMapper.readTree(body).get("next").asText();
+
+                mockMvc.perform(get("/api/tasks/swimlane/{id}", lane.getId())
+                                .param("after", next).param("limit", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(2))
+                                .andExpect(jsonPath("$.items[0].id").value(unranked.getId()))
+                                .andExpect(jsonPath("$.items[1].id").value(done.getId()))
+                                .andExpect(jsonPath("$.next").doesNotExist());
+        }
+
+        @Test
+        void getTaskPageBySwimLane_ShouldFilterByStatus() throws Exception {
+                SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Filtered").user(testUser).build());
+                taskRepository.save(Task.builder().name("Todo").status(TaskStatus.TODO).swimLane(lane)
+                                .position(TaskRanking.GAP).build());
+                Task done = taskRepository.save(Task.builder().name("Done").status(TaskStatus.DONE).swimLane(lane)
+                                .position(TaskRanking.GAP).build());
+                taskRepository.flush();
+
+                mockMvc.perform(get("/api/tasks/swimlane/{id}", lane.getId())
+                                .param("status", "DONE").param("limit", "10"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(1))
+                                .andExpect(jsonPath("$.items[0].id").value(done.getId()))
+                                .andExpect(jsonPath("$.next").doesNotExist());
+        }
+
+        @Test
+        void getTasksByTag_ShouldSearchAllLiveLanesOfTheUser() throws Exception {
+                User other = userRepository.save(User.builder().email("other@example.com").name("Other")
+                                .passwordHash("$2a$10$test").build());
+                SwimLane first = swimLaneRepository.save(SwimLane.builder().name("First").position(0).user(testUser).build());
+                SwimLane second = swimLaneRepository.save(SwimLane.builder().name("Second").position(1).user(testUser).build());
+                SwimLane deleted = swimLaneRepository.save(SwimLane.builder().name("Gone").isDeleted(true).user(testUser).build());
+                SwimLane foreign = swimLaneRepository.save(SwimLane.builder().name("Foreign").user(other).build());
+                Task later = taskRepository.save(Task.builder().name("Later").status(TaskStatus.TODO)
+                                .tags(List.of("urgent")).swimLane(second).position(TaskRanking.GAP).build());
+                Task earlier = taskRepository.save(Task.builder().name("Earlier").status(TaskStatus.TODO)
+                                .tags(List.of("home", "urgent")).swimLane(first).position(TaskRanking.GAP).build());
+                taskRepository.save(Task.builder().name("Untagged").status(TaskStatus.TODO).swimLane(first).build());
+                taskRepository.save(Task.builder().name("Other tag").status(TaskStatus.TODO)
+                                .tags(List.of("home")).swimLane(first).build());
+                taskRepository.save(Task.builder().name("Deleted lane").status(TaskStatus.TODO)
+                                .tags(List.of("urgent")).swimLane(deleted).build());
+                taskRepository.save(Task.builder().name("Not mine").status(TaskStatus.TODO)
+                                .tags(List.of("urgent")).swimLane(foreign).build());
+                taskRepository.flush();
+
+                mockMvc.perform(get("/api/tasks").param("tag", "urgent"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(2))
+                                .andExpect(jsonPath("$[0].id").value(earlier.getId()))
+                                .andExpect(jsonPath("$[0].tags[1]").value("urgent"))
+                                .andExpect(jsonPath("$[1].id").value(later.getId()))
+                                .andExpect(jsonPath("$[1].laneId").value(second.getId()));
+        }
+
+        @Test
+        void getTasksByTag_ShouldRejectBlankTag() throws Exception {
+                mockMvc.perform(get("/api/tasks").param("tag", " "))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void createTask_ShouldStoreTagsAsArray_AcceptingTheLegacyJsonString() throws Exception {
+                mockMvc.perform(post("/api/tasks")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"name\":\"Legacy\",\"tags\":\"[\\\"a\\\", \\\" b \\\",\\\"a\\\"]\"}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.tags[0]").value("a"))
+                                .andExpect(jsonPath("$.tags[1]").value("b"))
+                                .andExpect(jsonPath("$.tags.length()").value(2));
+
+                mockMvc.perform(post("/api/tasks")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"name\":\"Current\",\"tags\":[\"x\"]}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.tags[0]").value("x"));
+        }
+
         @Test
         void moveTask_ShouldWorkWithPositionParameter() throws Exception {
                 SwimLane lane = new SwimLane();
@@ -223,8 +379,51 @@ class TaskControllerTest extends BaseIntegrationTest {
                                 .param("swimLaneId", lane.getId().toString())
                                 .param("position", "5"))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
-                                .andExpect(jsonPath("$.position").value(5));
+                                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+
+                // The position is a drop index; past the end of the (empty) column it appends
+                assertEquals(TaskRanking.GAP, taskRepository.findById(task.getId()).orElseThrow().getPosition());
+        }
+
+        @Test
+        void moveTasks_ShouldMoveAllTasksIntoTheColumnInOrder() throws Exception {
+                SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Target").build());
+                Task existing = taskRepository.save(Task.builder().name("Existing").status(TaskStatus.DONE)
+                                .swimLane(lane).position(TaskRanking.GAP).build());
+                Task first = taskRepository.save(Task.builder().name("First").status(TaskStatus.TODO).build());
+                Task second = taskRepository.save(Task.builder().name("Second").status(TaskStatus.TODO).build());
+
+                List<TaskService.TaskMove> moves = List.of(
+                                new TaskService.TaskMove(first.getId(), TaskStatus.DONE, lane.getId(), 0),
+                                new TaskService.TaskMove(second.getId(), TaskStatus.DONE, lane.getId(), 1));
+                mockMvc.perform(patch("/api/tasks/move")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(moves)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(2))
+                                .andExpect(jsonPath("$[1].status").value("DONE"))
+                                .andExpect(header().string("X-Operation-Id", containsString(",")));
+
+                List<Task> column = taskRepository.findBySwimLaneId(lane.getId());
+                assertEquals(List.of(first.getId(), second.getId(), existing.getId()),
+                                column.stream().map(Task::getId).toList());
+                assertTrue(column.stream().allMatch(task -> task.getStatus() == TaskStatus.DONE));
+                assertEquals(TaskRanking.GAP, column.get(2).getPosition(), "Tasks below the drop are not shifted");
+        }
+
+        @Test
+        void moveTasks_ShouldReturnBadRequest_WhenATaskDoesNotExist() throws Exception {
+                Task task = taskRepository.save(Task.builder().name("Real").status(TaskStatus.TODO).build());
+
+                mockMvc.perform(patch("/api/tasks/move")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(List.of(
+                                                new TaskService.TaskMove(task.getId(), TaskStatus.DONE, null, null),
+                                                new TaskService.TaskMove(9999L, TaskStatus.DONE, null, null)))))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(header().doesNotExist("X-Operation-Id"));
+
+                assertEquals(TaskStatus.TODO, taskRepository.findById(task.getId()).orElseThrow().getStatus());
         }
 
         @Test
@@ -0,0 +1,25 @@
+package com.example.todo.controller;
+
+import com.example.todo.base.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class WriteBehindControllerTest extends BaseIntegrationTest {
+
+    @Test
+    void getStats_ShouldReturnPartitionMetrics() throws Exception {
+        mockMvc.perform(get("/api/write-behind/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pendingEntities").value(0))
+                .andExpect(jsonPath("$.coalescedOperations", greaterThanOrEqualTo(0)))
+                .andExpect(jsonPath("$.partitions[0].partition").value(0))
+                .andExpect(jsonPath("$.partitions[0].dirtyEntities").value(0))
+                .andExpect(jsonPath("$.admission.enabled").value(true))
+                .andExpect(jsonPath("$.admission.rejected").value(0))
+                .andExpect(jsonPath("$.events.dropped").value(0))
+                .andExpect(jsonPath("$.retry.deadLetters").value(0));
+    }
+}
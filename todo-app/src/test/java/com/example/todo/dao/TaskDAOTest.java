@@ -75,7 +75,7 @@ class TaskDAOTest {
         Long id = 1L;
         TaskStatus status = TaskStatus.IN_PROGRESS;
         Long laneId = 2L;
-        Integer position = 3;
+        Long position = 3L;
 
         doNothing().when(taskRepository).updatePosition(id, status, laneId, position);
 
@@ -100,19 +100,19 @@ class TaskDAOTest {
     }
 
     @Test
-    void shiftPositionsDown_ShouldDelegateToRepository() {
-        Long laneId = 1L;
-        TaskStatus status = TaskStatus.TODO;
-        Integer targetPosition = 2;
-        Long excludeTaskId = 5L;
-        int expectedShifted = 3;
+    void findColumnRanks_ShouldPassStatusName() {
+        when(taskRepository.findColumnRanks(1L, "TODO", 5L, 2, 2)).thenReturn(List.of(10L, 20L));
 
-        when(taskRepository.shiftPositionsDown(laneId, status, targetPosition, excludeTaskId))
-                .thenReturn(expectedShifted);
+        List<Long> result = taskDAO.findColumnRanks(1L, TaskStatus.TODO, 5L, 2, 2);
 
-        int result = taskDAO.shiftPositionsDown(laneId, status, targetPosition, excludeTaskId);
+        assertEquals(List.of(10L, 20L), result);
+        verify(taskRepository).findColumnRanks(1L, "TODO", 5L, 2, 2);
+    }
+
+    @Test
+    void findMaxRank_ShouldDelegateToRepository() {
+        when(taskRepository.findMaxRank(1L, TaskStatus.DONE, null)).thenReturn(42L);
 
-        assertEquals(expectedShifted, result);
-        verify(taskRepository).shiftPositionsDown(laneId, status, targetPosition, excludeTaskId);
+        assertEquals(42L, taskDAO.findMaxRank(1L, TaskStatus.DONE, null));
     }
 }
@@ -2,6 +2,7 @@ package com.example.todo.model;
 
 import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 class TaskTest {
@@ -12,8 +13,8 @@ class TaskTest {
         t.setId(1L);
         t.setName("Task");
         t.setStatus(TaskStatus.TODO);
-        t.setTags("[\"tag\"]");
-        t.setPosition(2);
+        t.setTags(List.of("tag"));
+        t.setPosition(2L);
         
         SwimLane s = new SwimLane();
         t.setSwimLane(s);
@@ -23,8 +24,8 @@ class TaskTest {
         assertEquals(1L, t.getId());
         assertEquals("Task", t.getName());
         assertEquals(TaskStatus.TODO, t.getStatus());
-        assertEquals("[\"tag\"]", t.getTags());
-        assertEquals(2, t.getPosition());
+        assertEquals(List.of("tag"), t.getTags());
+        assertEquals(2L, t.getPosition());
         assertEquals(s, t.getSwimLane());
         assertNotNull(t.getComments());
     }
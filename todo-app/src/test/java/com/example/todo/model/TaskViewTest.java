@@ -0,0 +1,41 @@
+package com.example.todo.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskViewTest {
+
+    @Test
+    void of_ShouldReferenceLaneById_AndInternTags() {
+        SwimLane lane = SwimLane.builder().id(5L).name("Lane").user(new User()).build();
+        Task first = Task.builder().id(1L).name("A").status(TaskStatus.TODO).tags(List.of(new String("x")))
+                .position(10L).swimLane(lane).commentCount(2).build();
+        Task second = Task.builder().id(2L).name("B").status(TaskStatus.TODO).tags(List.of(new String("x")))
+                .swimLane(lane).build();
+
+        TaskView view = TaskView.of(first);
+
+        assertEquals(new TaskView(1L, "A", TaskStatus.TODO, List.of("x"), 10L, 5L, 2), view);
+        assertSame(view.tags().get(0), TaskView.of(second).tags().get(0), "Equal tags share one instance");
+    }
+
+    @Test
+    void of_ShouldGiveEmptyTags_WhenTaskHasNone() throws Exception {
+        TaskView view = TaskView.of(Task.builder().id(1L).name("A").status(TaskStatus.TODO).build());
+
+        assertEquals(List.of(), view.tags());
+        assertTrue(new ObjectMapper().writeValueAsString(view).contains("\"tags\":[]"),
+                "Clearing the last tag must reach clients that merge updates");
+    }
+
+    @Test
+    void json_ShouldOmitNullFields() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(new TaskView(1L, "A", TaskStatus.DONE, null, 3L, null, null));
+
+        assertEquals("{\"id\":1,\"name\":\"A\",\"status\":\"DONE\",\"position\":3}", json);
+    }
+}
@@ -1,19 +1,46 @@
 package com.example.todo.service;
 
+import com.example.todo.config.PartitionedWriteExecutor;
+import com.example.todo.config.ReplicaLagGuard;
 import com.example.todo.dao.SwimLaneDAO;
 import com.example.todo.dao.TaskDAO;
 import com.example.todo.model.SwimLane;
+import com.example.todo.model.SwimLaneView;
 import com.example.todo.model.Task;
 import com.example.todo.model.TaskStatus;
+import com.example.todo.model.TaskView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -29,9 +56,55 @@ class AsyncWriteServiceTest {
     @Mock
     private SseService sseService;
 
-    @InjectMocks
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private TaskArchiveService taskArchiveService;
+
+    private PlatformTransactionManager transactionManager;
+
+    private SseEventPublisher eventPublisher;
+
+    private WriteBehindBuffer writeBehindBuffer;
+
+    private WriteAheadJournal journal;
+
+    private PendingWriteOverlay overlay;
+
+    private OperationTracker operationTracker;
+
+    private WriteRetryPolicy retryPolicy;
+
+    private DeadLetterStore deadLetterStore;
+
+    private TaskRanking taskRanking;
+
     private AsyncWriteService asyncWriteService;
 
+    private final PageCache pageCache = new PageCache(new ConcurrentMapCacheManager("pageWindows"));
+
+    // No ReplicaLagGuard unless a test adds one
+    private final StaticListableBeanFactory beans = new StaticListableBeanFactory();
+
+    @BeforeEach
+    void setUp() {
+        writeBehindBuffer = new WriteBehindBuffer(50, 0, 1);
+        journal = new WriteAheadJournal(false, "unused", 16, false, new ObjectMapper());
+        overlay = new PendingWriteOverlay(new ConcurrentMapCacheManager("tasksByLane"), taskDAO, pageCache);
+        operationTracker = new OperationTracker(100, 60);
+        retryPolicy = retryPolicy(1);
+        deadLetterStore = new DeadLetterStore("", new ObjectMapper());
+        transactionManager = spy(new NoOpTransactionManager());
+        eventPublisher = new SseEventPublisher(sseService, Runnable::run);
+        taskRanking = new TaskRanking(taskDAO, overlay, writeBehindBuffer, eventPublisher, new SyncTaskExecutor(),
+                transactionManager, taskArchiveService, 64);
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, new SyncTaskExecutor(), transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+    }
+
     @Test
     void saveTask_ShouldCallTaskDAO() {
         Task task = new Task();
@@ -41,7 +114,7 @@ class AsyncWriteServiceTest {
         asyncWriteService.saveTask(task);
 
         verify(taskDAO).save(task);
-        verify(sseService).broadcast(eq("task-updated"), any(Task.class));
+        verify(sseService).broadcast(eq("task-updated"), any(TaskView.class));
     }
 
     @Test
@@ -55,42 +128,43 @@ class AsyncWriteServiceTest {
     }
 
     @Test
-    void moveTask_ShouldCallTaskDAOUpdatePosition() {
+    void moveTask_ShouldRankBetweenNeighbours_WithoutShifting() {
         Long taskId = 1L;
         Long laneId = 2L;
-        Integer position = 0;
         TaskStatus status = TaskStatus.DONE;
 
         Task task = new Task();
         task.setId(taskId);
-        when(taskDAO.shiftPositionsDown(laneId, status, position, taskId)).thenReturn(0);
+        when(taskDAO.findColumnRanks(laneId, status, taskId, 0, 2))
+                .thenReturn(List.of(TaskRanking.GAP, 2 * TaskRanking.GAP));
         when(taskDAO.findById(taskId)).thenReturn(Optional.of(task));
 
-        asyncWriteService.moveTask(taskId, status, laneId, position);
+        asyncWriteService.moveTask(taskId, status, laneId, 1);
 
-        verify(taskDAO).updatePosition(taskId, status, laneId, position);
-        verify(sseService).broadcast(eq("task-updated"), any(Task.class));
+        verify(taskDAO).updatePosition(taskId, status, laneId, TaskRanking.GAP + TaskRanking.GAP / 2);
+        verify(taskDAO, never()).saveAll(any());
+        verify(sseService).broadcast(eq("task-updated"), any(TaskView.class));
     }
 
     @Test
-    void moveTask_ShouldSkipShift_WhenPositionIsNull() {
+    void moveTask_ShouldAppendToColumn_WhenPositionIsNull() {
         Long taskId = 1L;
         Long laneId = 2L;
         TaskStatus status = TaskStatus.IN_PROGRESS;
 
         Task task = new Task();
         task.setId(taskId);
+        when(taskDAO.findMaxRank(laneId, status, taskId)).thenReturn(5 * TaskRanking.GAP);
         when(taskDAO.findById(taskId)).thenReturn(Optional.of(task));
 
         asyncWriteService.moveTask(taskId, status, laneId, null);
 
-        verify(taskDAO, never()).shiftPositionsDown(any(), any(), any(), any());
-        verify(taskDAO).updatePosition(taskId, status, laneId, null);
-        verify(sseService).broadcast(eq("task-updated"), any(Task.class));
+        verify(taskDAO).updatePosition(taskId, status, laneId, 6 * TaskRanking.GAP);
+        verify(sseService).broadcast(eq("task-updated"), any(TaskView.class));
     }
 
     @Test
-    void moveTask_ShouldSkipShift_WhenLaneIdIsNull() {
+    void moveTask_ShouldSkipRanking_WhenLaneIdIsNull() {
         Long taskId = 1L;
         Integer position = 0;
         TaskStatus status = TaskStatus.TODO;
@@ -101,9 +175,29 @@ class AsyncWriteServiceTest {
 
         asyncWriteService.moveTask(taskId, status, null, position);
 
-        verify(taskDAO, never()).shiftPositionsDown(any(), any(), any(), any());
-        verify(taskDAO).updatePosition(taskId, status, null, position);
-        verify(sseService).broadcast(eq("task-updated"), any(Task.class));
+        verify(taskDAO, never()).findColumnRanks(any(), any(), any(), anyInt(), anyInt());
+        verify(taskDAO).updatePosition(taskId, status, null, null);
+        verify(sseService).broadcast(eq("task-updated"), any(TaskView.class));
+    }
+
+    @Test
+    void moveTask_ShouldRespaceColumn_WhenNeighboursAreAdjacent() {
+        Task first = Task.builder().id(5L).status(TaskStatus.TODO).position(10L).build();
+        Task second = Task.builder().id(6L).status(TaskStatus.TODO).position(11L).build();
+        Task moving = Task.builder().id(1L).status(TaskStatus.TODO).position(12L).build();
+        when(taskDAO.findColumnRanks(2L, TaskStatus.TODO, 1L, 0, 2)).thenReturn(List.of(10L, 11L));
+        when(taskDAO.findBySwimLaneId(2L)).thenReturn(List.of(first, second, moving));
+        when(taskDAO.findById(1L)).thenReturn(Optional.of(moving));
+
+        asyncWriteService.moveTask(1L, TaskStatus.TODO, 2L, 1);
+
+        assertEquals(TaskRanking.GAP, first.getPosition());
+        assertEquals(2 * TaskRanking.GAP, second.getPosition());
+        verify(taskDAO).saveAll(List.of(first, second, moving));
+        verify(taskDAO).updatePosition(1L, TaskStatus.TODO, 2L, TaskRanking.GAP + TaskRanking.GAP / 2);
+        verify(sseService).broadcast("task-updated", TaskView.of(first));
+        verify(sseService).broadcast("task-updated", TaskView.of(second));
+        assertEquals(1L, taskRanking.getStats().get("inlineRebalances"));
     }
 
     @Test
@@ -113,13 +207,12 @@ class AsyncWriteServiceTest {
         Integer position = 0;
         TaskStatus status = TaskStatus.DONE;
 
-        when(taskDAO.shiftPositionsDown(laneId, status, position, taskId)).thenReturn(0);
         when(taskDAO.findById(taskId)).thenReturn(Optional.empty());
 
         asyncWriteService.moveTask(taskId, status, laneId, position);
 
-        verify(taskDAO).updatePosition(taskId, status, laneId, position);
-        verify(sseService, never()).broadcast(eq("task-updated"), any(Task.class));
+        verify(taskDAO).updatePosition(taskId, status, laneId, TaskRanking.GAP);
+        verify(sseService, never()).broadcast(eq("task-updated"), any(TaskView.class));
     }
 
     @Test
@@ -131,7 +224,7 @@ class AsyncWriteServiceTest {
         asyncWriteService.saveSwimLane(lane);
 
         verify(swimLaneDAO).save(lane);
-        verify(sseService).broadcast(eq("lane-updated"), any(SwimLane.class));
+        verify(sseService).broadcast(eq("lane-updated"), any(SwimLaneView.class));
     }
 
     @Test
@@ -141,6 +234,543 @@ class AsyncWriteServiceTest {
         asyncWriteService.deleteSwimLane(laneId);
 
         verify(swimLaneDAO).deleteById(laneId);
-        verify(sseService).broadcast(eq("lane-updated"), any(SwimLane.class));
+        verify(sseService).broadcast(eq("lane-updated"), any(SwimLaneView.class));
+    }
+
+    @Test
+    void repeatedMoves_ShouldBeCoalescedIntoSingleWrite() {
+        List<Runnable> queued = new ArrayList<>();
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, queued::add, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        Task task = new Task();
+        task.setId(1L);
+        when(taskDAO.findById(1L)).thenReturn(Optional.of(task));
+
+        asyncWriteService.moveTask(1L, TaskStatus.TODO, 2L, 0);
+        asyncWriteService.moveTask(1L, TaskStatus.IN_PROGRESS, 2L, 3);
+        asyncWriteService.moveTask(1L, TaskStatus.DONE, 2L, 1);
+
+        assertEquals(1, queued.size(), "Only the first mutation should schedule a flush");
+        queued.forEach(Runnable::run);
+
+        verify(taskDAO, times(1)).updatePosition(any(), any(), any(), any());
+        verify(taskDAO).updatePosition(1L, TaskStatus.DONE, 2L, TaskRanking.GAP);
+        verify(sseService, times(1)).broadcast(eq("task-updated"), any(TaskView.class));
+        assertEquals(2, writeBehindBuffer.getCoalescedCount());
+    }
+
+    @Test
+    void flush_ShouldRestartTheStickyWindowOfTheOwner_WhenItCommitsAfterTheWindowExpired() throws Exception {
+        ReplicaLagGuard lagGuard = new ReplicaLagGuard(100);
+        beans.addBean("replicaLagGuard", lagGuard);
+        List<Runnable> queued = new ArrayList<>();
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, queued::add, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        Task task = new Task();
+        task.setId(1L);
+        when(taskDAO.save(any(Task.class))).thenReturn(task);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice@example.com", null, List.of()));
+        try {
+            lagGuard.recordWrite("alice@example.com");
+            asyncWriteService.saveTask(task);
+            Thread.sleep(200);
+            assertFalse(lagGuard.mustReadPrimary(), "The window of the request has expired");
+
+            queued.forEach(Runnable::run);
+
+            assertTrue(lagGuard.mustReadPrimary(), "The commit should restart the window");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void deleteAfterSave_ShouldOnlyDelete() {
+        List<Runnable> queued = new ArrayList<>();
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, queued::add, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        Task task = new Task();
+        task.setId(1L);
+
+        asyncWriteService.saveTask(task);
+        asyncWriteService.deleteTask(1L);
+        queued.forEach(Runnable::run);
+
+        verify(taskDAO, never()).save(any(Task.class));
+        verify(taskDAO).deleteById(1L);
+        verify(sseService).broadcast("task-deleted", 1L);
+    }
+
+    @Test
+    void flush_ShouldNotPropagateFailure() {
+        Task task = new Task();
+        task.setId(1L);
+        when(taskDAO.save(any(Task.class))).thenThrow(new RuntimeException("DB down"));
+
+        assertDoesNotThrow(() -> asyncWriteService.saveTask(task));
+
+        verify(sseService, never()).broadcast(eq("task-updated"), any());
+        assertEquals(0, writeBehindBuffer.getPendingEntityCount());
+    }
+
+    @Test
+    void flush_ShouldGroupCommitAllDirtyEntitiesInOneTransaction() {
+        List<Runnable> queued = new ArrayList<>();
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, queued::add, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        SwimLane lane = new SwimLane();
+        lane.setId(5L);
+        when(swimLaneDAO.save(any(SwimLane.class))).thenReturn(lane);
+
+        asyncWriteService.deleteTask(1L);
+        asyncWriteService.deleteTask(2L);
+        asyncWriteService.saveSwimLane(lane);
+        assertEquals(3, queued.size());
+
+        queued.forEach(Runnable::run);
+
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+        var order = inOrder(taskDAO, swimLaneDAO, transactionManager, sseService);
+        order.verify(taskDAO).deleteById(1L);
+        order.verify(taskDAO).deleteById(2L);
+        order.verify(swimLaneDAO).save(lane);
+        order.verify(transactionManager).commit(any());
+        order.verify(sseService).broadcast("task-deleted", 1L);
+        order.verify(sseService).broadcast("task-deleted", 2L);
+        order.verify(sseService).broadcast("lane-updated", SwimLaneView.of(lane));
+    }
+
+    @Test
+    void moveTasks_ShouldWriteEachColumnInOneStatement_AndPublishOneEvent() {
+        Task first = Task.builder().id(1L).build();
+        Task second = Task.builder().id(2L).build();
+        when(taskDAO.findColumn(5L, TaskStatus.DONE)).thenReturn(Map.of());
+        when(taskDAO.findAllById(List.of(1L, 2L))).thenReturn(List.of(first, second));
+
+        asyncWriteService.moveTasks(List.of(
+                WriteOperation.moveTask(1L, TaskStatus.DONE, 5L, 0),
+                WriteOperation.moveTask(2L, TaskStatus.DONE, 5L, 1)));
+
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(taskDAO).updateColumn(5L, TaskStatus.DONE, Map.of(1L, TaskRanking.GAP, 2L, 2 * TaskRanking.GAP));
+        verify(taskDAO, never()).updatePosition(any(), any(), any(), any());
+        verify(sseService).broadcast("tasks-moved", List.of(TaskView.of(first), TaskView.of(second)));
+        verify(sseService, never()).broadcast(eq("task-updated"), any());
+        assertEquals(0, overlay.getPendingTaskCount());
+    }
+
+    @Test
+    void moveTasks_ShouldMoveSingleTaskOfAColumnIndividually() {
+        Task task = Task.builder().id(1L).build();
+        when(taskDAO.findById(1L)).thenReturn(Optional.of(task));
+        when(taskDAO.findAllById(List.of(2L, 3L))).thenReturn(List.of());
+
+        asyncWriteService.moveTasks(List.of(
+                WriteOperation.moveTask(1L, TaskStatus.TODO, 5L, null),
+                WriteOperation.moveTask(2L, TaskStatus.DONE, 5L, null),
+                WriteOperation.moveTask(3L, TaskStatus.DONE, 5L, null)));
+
+        verify(taskDAO).updatePosition(1L, TaskStatus.TODO, 5L, TaskRanking.GAP);
+        verify(taskDAO).updateColumn(eq(5L), eq(TaskStatus.DONE), argThat(ranks -> ranks.size() == 2));
+        verify(sseService).broadcast("task-updated", TaskView.of(task));
+    }
+
+    @Test
+    void flush_ShouldRetryEntitiesIndividually_WhenGroupCommitFails() {
+        List<Runnable> queued = new ArrayList<>();
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, queued::add, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        doThrow(new RuntimeException("constraint violation")).when(taskDAO).deleteById(1L);
+
+        asyncWriteService.deleteTask(1L);
+        asyncWriteService.deleteTask(2L);
+        queued.forEach(Runnable::run);
+
+        // 1 failed batch + 2 individual transactions
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(sseService, never()).broadcast("task-deleted", 1L);
+        verify(sseService, times(1)).broadcast("task-deleted", 2L);
+    }
+
+    @Test
+    void flush_ShouldRunOnPartitionOfTargetLane() {
+        writeBehindBuffer = new WriteBehindBuffer(50, 0, 4);
+        List<Runnable> queued = new ArrayList<>();
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, queued::add, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+
+        asyncWriteService.moveTask(1L, TaskStatus.TODO, 10L, 0);
+        asyncWriteService.moveTask(2L, TaskStatus.TODO, 11L, 0);
+
+        assertEquals(2, queued.size());
+        var first = (PartitionedWriteExecutor.PartitionedTask) queued.get(0);
+        var second = (PartitionedWriteExecutor.PartitionedTask) queued.get(1);
+        assertEquals(writeBehindBuffer.partitionFor("lane:10"), first.partition());
+        assertEquals(writeBehindBuffer.partitionFor("lane:11"), second.partition());
+    }
+
+    @Test
+    void flush_ShouldCommitJournalRecords(@TempDir Path dir) {
+        journal = openJournal(dir);
+        List<Runnable> queued = new ArrayList<>();
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, queued::add, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+
+        asyncWriteService.moveTask(1L, TaskStatus.TODO, 2L, 0);
+        asyncWriteService.moveTask(1L, TaskStatus.DONE, 2L, 1);
+        assertEquals(2, journal.getPendingCount(), "Operations are journaled before the flush");
+
+        queued.forEach(Runnable::run);
+
+        assertEquals(0, journal.getPendingCount(), "Coalesced and flushed records are committed");
+        journal.close();
+    }
+
+    @Test
+    void flush_ShouldKeepJournalRecords_WhileRetrying(@TempDir Path dir) {
+        journal = openJournal(dir);
+        retryPolicy = retryPolicy(3);
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, new SyncTaskExecutor(), transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        doThrow(new RuntimeException("DB down")).when(taskDAO).deleteById(1L);
+
+        asyncWriteService.deleteTask(1L);
+
+        assertEquals(1, journal.getPendingCount());
+        journal.close();
+    }
+
+    @Test
+    void replayJournal_ShouldApplyOperationsLeftByCrash(@TempDir Path dir) {
+        journal = openJournal(dir);
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, task -> { }, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        asyncWriteService.moveTask(1L, TaskStatus.DONE, 2L, 3);
+        asyncWriteService.deleteTask(7L);
+        journal.close(); // crash before the flush ran
+
+        WriteAheadJournal restarted = openJournal(dir);
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                new WriteBehindBuffer(50, 0, 1), restarted, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, new SyncTaskExecutor(), transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+
+        assertEquals(2, asyncWriteService.replayJournal());
+
+        verify(taskDAO).updatePosition(1L, TaskStatus.DONE, 2L, TaskRanking.GAP);
+        verify(taskDAO).deleteById(7L);
+        assertEquals(0, restarted.getPendingCount());
+        assertEquals(0, asyncWriteService.replayJournal(), "Recovered operations are replayed once");
+        restarted.close();
+    }
+
+    @Test
+    void replayJournal_ShouldKeepRecordsAndRetry_WhenReplayFails(@TempDir Path dir) {
+        journal = openJournal(dir);
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, task -> { }, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        asyncWriteService.deleteTask(7L);
+        journal.close(); // crash before the flush ran
+
+        WriteAheadJournal restarted = openJournal(dir);
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                new WriteBehindBuffer(50, 0, 1), restarted, overlay, operationTracker, retryPolicy(3), deadLetterStore,
+                taskRanking, new SyncTaskExecutor(), transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        doThrow(new RuntimeException("DB down")).doNothing().when(taskDAO).deleteById(7L);
+
+        assertEquals(0, asyncWriteService.replayJournal());
+        assertEquals(1, restarted.getPendingCount(), "A failed replay keeps its journal records");
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(retry.capture(), any(Instant.class));
+
+        // A new write to the entity waits for the replay
+        asyncWriteService.moveTask(7L, TaskStatus.DONE, 2L, 0);
+        verify(taskDAO, never()).updatePosition(anyLong(), any(), anyLong(), anyLong());
+
+        retry.getValue().run();
+
+        verify(taskDAO, times(2)).deleteById(7L);
+        verify(taskDAO).updatePosition(eq(7L), eq(TaskStatus.DONE), eq(2L), anyLong());
+        assertEquals(0, restarted.getPendingCount());
+        assertTrue(deadLetterStore.list().isEmpty());
+        restarted.close();
+    }
+
+    @Test
+    void replayJournal_ShouldDeadLetterRecords_WhenReplayKeepsFailing(@TempDir Path dir) {
+        journal = openJournal(dir);
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, task -> { }, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        asyncWriteService.deleteTask(7L);
+        journal.close();
+
+        WriteAheadJournal restarted = openJournal(dir);
+        long journalSequence = restarted.takeRecovered().get(0).sequence();
+        restarted.close();
+        restarted = openJournal(dir);
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                new WriteBehindBuffer(50, 0, 1), restarted, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, new SyncTaskExecutor(), transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        doThrow(new RuntimeException("DB down")).when(taskDAO).deleteById(7L);
+
+        assertEquals(0, asyncWriteService.replayJournal());
+
+        DeadLetterStore.DeadLetter deadLetter = deadLetterStore.list().get(0);
+        assertEquals("task:7", deadLetter.key());
+        assertEquals(journalSequence, deadLetter.operations().get(0).sequence());
+        assertEquals(0, restarted.getPendingCount(), "The dead letter is the durable record now");
+        restarted.close();
+    }
+
+    @Test
+    void flush_ShouldLeaveTheArchiveCheckToTheArchiveService_WithTheLaneTheWriteWasAcceptedIn() {
+        asyncWriteService.deleteTask(1L, 10L);
+        asyncWriteService.deleteTask(2L, 20L);
+
+        verify(taskArchiveService).restoreForWrite(1L, 10L);
+        verify(taskArchiveService).restoreForWrite(2L, 20L);
+        verify(taskDAO).deleteById(1L);
+        verify(taskDAO).deleteById(2L);
+    }
+
+    @Test
+    void pendingWrites_ShouldBeVisibleInOverlayUntilCommitted() {
+        List<Runnable> queued = new ArrayList<>();
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, queued::add, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+
+        asyncWriteService.deleteTask(1L, 10L);
+        assertEquals(1, overlay.getPendingTaskCount());
+
+        queued.forEach(Runnable::run);
+        assertEquals(0, overlay.getPendingTaskCount());
+    }
+
+    @Test
+    void failedFlush_ShouldReleaseOverlay() {
+        doThrow(new RuntimeException("DB down")).when(taskDAO).deleteById(1L);
+
+        asyncWriteService.deleteTask(1L, 10L);
+
+        assertEquals(0, overlay.getPendingTaskCount());
+    }
+
+    @Test
+    void operations_ShouldBeTrackedUntilCommitted() {
+        List<Runnable> queued = new ArrayList<>();
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, queued::add, transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+
+        operationTracker.beginRequest();
+        asyncWriteService.moveTask(1L, TaskStatus.TODO, 2L, 0);
+        asyncWriteService.moveTask(1L, TaskStatus.DONE, 2L, 1);
+        List<Long> ids = operationTracker.endRequest();
+        assertEquals(2, ids.size());
+        assertTrue(ids.get(1) > ids.get(0), "Operation ids are monotonic");
+        assertEquals(OperationTracker.Status.PENDING, operationTracker.getStatuses(ids).get(0).status());
+
+        queued.forEach(Runnable::run);
+
+        assertTrue(operationTracker.getStatuses(ids).stream()
+                .allMatch(s -> s.status() == OperationTracker.Status.COMMITTED),
+                "Coalesced operations are committed with the surviving one");
+        verify(sseService).broadcast(eq("operation-status"),
+                argThat(data -> data instanceof java.util.Map<?, ?> map && ids.equals(map.get("operationIds"))
+                        && map.get("status") == OperationTracker.Status.COMMITTED));
+    }
+
+    @Test
+    void failedOperations_ShouldBeReportedAsFailed() {
+        doThrow(new RuntimeException("DB down")).when(taskDAO).deleteById(1L);
+
+        operationTracker.beginRequest();
+        asyncWriteService.deleteTask(1L);
+        List<Long> ids = operationTracker.endRequest();
+
+        OperationTracker.OperationStatus status = operationTracker.getStatuses(ids).get(0);
+        assertEquals(OperationTracker.Status.FAILED, status.status());
+        assertEquals("DB down", status.error());
+        verify(sseService).broadcast(eq("operation-status"),
+                argThat(data -> data instanceof java.util.Map<?, ?> map
+                        && map.get("status") == OperationTracker.Status.FAILED));
+    }
+
+    @Test
+    void getStats_ShouldReportPartitionMetrics() {
+        PartitionedWriteExecutor executor = new PartitionedWriteExecutor(1, 10, "TestDB-");
+        try {
+            asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                    writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                    taskRanking, executor, transactionManager, pageCache, taskArchiveService,
+                    beans.getBeanProvider(ReplicaLagGuard.class));
+
+            var stats = asyncWriteService.getStats();
+
+            assertEquals(0, stats.get("pendingEntities"));
+            assertEquals(0L, stats.get("coalescedOperations"));
+            @SuppressWarnings("unchecked")
+            var partitions = (List<java.util.Map<String, Object>>) stats.get("partitions");
+            assertEquals(1, partitions.size());
+            assertEquals(0, partitions.get(0).get("dirtyEntities"));
+            assertEquals(0, partitions.get(0).get("queuedFlushes"));
+        } finally {
+            assertDoesNotThrow(executor::destroy);
+        }
+    }
+
+    @Test
+    void failedFlush_ShouldBeRetried_AndKeepOperationsPending() {
+        retryPolicy = retryPolicy(3);
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, new SyncTaskExecutor(), transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        doThrow(new RuntimeException("DB down")).doNothing().when(taskDAO).deleteById(1L);
+
+        operationTracker.beginRequest();
+        asyncWriteService.deleteTask(1L, 10L);
+        List<Long> ids = operationTracker.endRequest();
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(retry.capture(), any(java.time.Instant.class));
+        assertEquals(OperationTracker.Status.PENDING, operationTracker.getStatuses(ids).get(0).status());
+        assertEquals(1, overlay.getPendingTaskCount(), "Retried writes stay visible to reads");
+
+        retry.getValue().run();
+
+        verify(taskDAO, times(2)).deleteById(1L);
+        verify(sseService).broadcast("task-deleted", 1L);
+        assertEquals(OperationTracker.Status.COMMITTED, operationTracker.getStatuses(ids).get(0).status());
+        assertEquals(1L, retryPolicy.getStats().get("recovered"));
+        assertEquals(0, deadLetterStore.size());
+    }
+
+    @Test
+    void retry_ShouldApplyFailedOperationsBeforeNewerOnes() {
+        retryPolicy = retryPolicy(3);
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, new SyncTaskExecutor(), transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        Task task = new Task();
+        task.setId(1L);
+        when(taskDAO.findById(1L)).thenReturn(Optional.of(task));
+        doThrow(new RuntimeException("DB down")).doNothing().when(taskDAO)
+                .updatePosition(1L, TaskStatus.TODO, 2L, TaskRanking.GAP);
+
+        asyncWriteService.moveTask(1L, TaskStatus.TODO, 2L, 0);
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(retry.capture(), any(java.time.Instant.class));
+        asyncWriteService.saveTask(task);
+        verify(taskDAO, never()).save(any(Task.class));
+
+        retry.getValue().run();
+
+        var order = inOrder(taskDAO);
+        order.verify(taskDAO).updatePosition(1L, TaskStatus.TODO, 2L, TaskRanking.GAP);
+        order.verify(taskDAO).save(task);
+    }
+
+    @Test
+    void exhaustedRetries_ShouldDeadLetterOperations(@TempDir Path dir) {
+        journal = openJournal(dir);
+        asyncWriteService = new AsyncWriteService(taskDAO, swimLaneDAO, eventPublisher,
+                writeBehindBuffer, journal, overlay, operationTracker, retryPolicy, deadLetterStore,
+                taskRanking, new SyncTaskExecutor(), transactionManager, pageCache, taskArchiveService,
+                beans.getBeanProvider(ReplicaLagGuard.class));
+        doThrow(new RuntimeException("DB down")).when(taskDAO)
+                .updatePosition(1L, TaskStatus.DONE, 2L, TaskRanking.GAP);
+
+        asyncWriteService.moveTask(1L, TaskStatus.DONE, 2L, 4);
+
+        verifyNoInteractions(taskScheduler);
+        assertEquals(1, deadLetterStore.size());
+        DeadLetterStore.DeadLetter deadLetter = deadLetterStore.list().get(0);
+        assertEquals("task:1", deadLetter.key());
+        assertEquals("DB down", deadLetter.error());
+        assertEquals(4, deadLetter.operations().get(0).position());
+        assertEquals(0, journal.getPendingCount(), "The dead letter replaces the journal record");
+        assertEquals(1L, retryPolicy.getStats().get("exhausted"));
+        journal.close();
+    }
+
+    @Test
+    void replayDeadLetter_ShouldQueueOperationsAgain() {
+        doThrow(new RuntimeException("DB down")).doNothing().when(taskDAO).deleteById(1L);
+        asyncWriteService.deleteTask(1L);
+        long id = deadLetterStore.list().get(0).id();
+
+        assertEquals(Optional.of(1), asyncWriteService.replayDeadLetter(id));
+
+        verify(taskDAO, times(2)).deleteById(1L);
+        verify(sseService).broadcast("task-deleted", 1L);
+        assertEquals(0, deadLetterStore.size());
+        assertTrue(asyncWriteService.replayDeadLetter(id).isEmpty());
+    }
+
+    private WriteRetryPolicy retryPolicy(int maxAttempts) {
+        return new WriteRetryPolicy(taskScheduler, new MockEnvironment()
+                .withProperty("app.write-behind.retry.max-attempts", String.valueOf(maxAttempts))
+                .withProperty("app.write-behind.retry.initial-backoff-ms", "0"));
+    }
+
+    private WriteAheadJournal openJournal(Path dir) {
+        WriteAheadJournal opened = new WriteAheadJournal(true, dir.toString(), 16, false, new ObjectMapper());
+        opened.open();
+        return opened;
+    }
+
+    /**
+     * Transaction manager without a resource, so transaction synchronization
+     * (and with it the SSE outbox) behaves as it does in production.
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
     }
 }
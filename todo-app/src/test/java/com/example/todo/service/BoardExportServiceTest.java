@@ -0,0 +1,108 @@
+package com.example.todo.service;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.Comment;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.model.User;
+import com.example.todo.repository.CommentRepository;
+import com.example.todo.repository.SwimLaneRepository;
+import com.example.todo.repository.TaskRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardExportServiceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BoardExportService boardExportService;
+
+    @Autowired
+    private SwimLaneRepository swimLaneRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    void export_ShouldWriteOneLinePerLaneTaskAndComment_OfTheUsersLiveLanes() throws Exception {
+        User other = userRepository.save(User.builder().email("export-other@example.com").name("Other")
+                .passwordHash("$2a$10$test").build());
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Lane").position(0).user(testUser).build());
+        SwimLane deleted = swimLaneRepository.save(SwimLane.builder().name("Gone").isDeleted(true).user(testUser)
+                .build());
+        SwimLane foreign = swimLaneRepository.save(SwimLane.builder().name("Foreign").user(other).build());
+        Task second = taskRepository.save(Task.builder().name("Second").status(TaskStatus.TODO).swimLane(lane)
+                .position(2 * TaskRanking.GAP).build());
+        Task first = taskRepository.save(Task.builder().name("First").status(TaskStatus.TODO).swimLane(lane)
+                .position(TaskRanking.GAP).tags(List.of("a", "b")).build());
+        taskRepository.save(Task.builder().name("Hidden").status(TaskStatus.TODO).swimLane(deleted).build());
+        taskRepository.save(Task.builder().name("Not mine").status(TaskStatus.TODO).swimLane(foreign).build());
+        commentRepository.save(Comment.builder().text("Note").task(first).build());
+        commentRepository.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BoardExportService.ExportSummary summary = boardExportService.export(testUser.getId(), out, false);
+
+        assertEquals(new BoardExportService.ExportSummary(1, 2, 1), summary);
+        List<JsonNode> lines = lines(out.toString(StandardCharsets.UTF_8));
+        assertEquals(5, lines.size());
+        assertEquals("board", lines.get(0).get("type").asText());
+        assertEquals(lane.getId(), lines.get(1).get("id").asLong());
+        assertEquals(first.getId(), lines.get(2).get("id").asLong(), "Tasks in rank order");
+        assertEquals("b", lines.get(2).get("tags").get(1).asText());
+        assertEquals(lane.getId(), lines.get(2).get("laneId").asLong());
+        assertEquals(second.getId(), lines.get(3).get("id").asLong());
+        assertEquals(0, lines.get(3).get("tags").size());
+        assertEquals("comment", lines.get(4).get("type").asText());
+        assertEquals(first.getId(), lines.get(4).get("taskId").asLong());
+        assertEquals("Note", lines.get(4).get("text").asText());
+    }
+
+    @Test
+    void export_ShouldGzip_WhenAsked() throws Exception {
+        swimLaneRepository.saveAndFlush(SwimLane.builder().name("Zipped").position(0).user(testUser).build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boardExportService.export(testUser.getId(), out, true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            List<JsonNode> lines = lines(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals("Zipped", lines.get(1).get("name").asText());
+        }
+    }
+
+    @Test
+    void tryAcquire_ShouldLimitConcurrentExports() {
+        List<Boolean> acquired = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            acquired.add(boardExportService.tryAcquire());
+        }
+        try {
+            assertEquals(List.of(true, true, false), acquired, "Two exports at once by default");
+        } finally {
+            acquired.stream().filter(Boolean::booleanValue).forEach(ok -> boardExportService.release());
+        }
+    }
+
+    private List<JsonNode> lines(String ndjson) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            assertTrue(line.startsWith("{"), "Each line is exactly one JSON object: " + line);
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
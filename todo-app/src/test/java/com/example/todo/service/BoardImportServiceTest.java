@@ -0,0 +1,105 @@
+package com.example.todo.service;
+
+import com.example.todo.base.BaseIntegrationTest;
+import com.example.todo.model.Comment;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.repository.CommentRepository;
+import com.example.todo.repository.SwimLaneRepository;
+import com.example.todo.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardImportServiceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BoardExportService boardExportService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SseEventPublisher sseEventPublisher;
+
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    private SwimLaneService swimLaneService;
+
+    @Autowired
+    private SwimLaneRepository swimLaneRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void importBoard_ShouldReadAnExportBack_AcrossChunks() throws Exception {
+        SwimLane lane = swimLaneRepository.save(SwimLane.builder().name("Source").position(0).user(testUser).build());
+        for (int i = 0; i < 5; i++) {
+            Task task = taskRepository.save(Task.builder().name("Task " + i).status(TaskStatus.IN_PROGRESS)
+                    .swimLane(lane).position((i + 1) * TaskRanking.GAP).tags(List.of("t" + i)).build());
+            commentRepository.save(Comment.builder().text("On " + i).task(task).build());
+        }
+        commentRepository.flush();
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        boardExportService.export(testUser.getId(), export, false);
+        assertEquals(1, swimLaneService.getActiveSwimLanesForUser(testUser.getId()).size(), "Cached before import");
+
+        // Three rows per transaction, so lanes, tasks and comments span several chunks
+        BoardImportService importer = new BoardImportService(dataSource, transactionManager, objectMapper,
+                cacheManager, sseEventPublisher, pageCache, entityManagerFactory, 3, 50);
+        BoardImportService.ImportSummary summary = importer.importBoard(testUser.getId(),
+                new ByteArrayInputStream(export.toByteArray()));
+
+        assertEquals(new BoardImportService.ImportSummary(false, 1, 5, 5, 0, summary.elapsedMs()), summary);
+        assertEquals(2, swimLaneService.getActiveSwimLanesForUser(testUser.getId()).size(),
+                "Lane lists evicted once the import is visible");
+        entityManager.clear();
+        SwimLane copy = swimLaneRepository.findAll().stream()
+                .filter(l -> l.getName().equals("Source") && !l.getId().equals(lane.getId())).findFirst()
+                .orElseThrow();
+        assertEquals(1, copy.getPosition());
+        List<Task> tasks = taskRepository.findBySwimLaneId(copy.getId());
+        assertEquals(List.of("Task 0", "Task 1", "Task 2", "Task 3", "Task 4"),
+                tasks.stream().map(Task::getName).toList());
+        assertEquals(List.of("t3"), tasks.get(3).getTags());
+        assertTrue(tasks.stream().allMatch(task -> task.getStatus() == TaskStatus.IN_PROGRESS));
+        assertEquals(1, commentRepository.findAll().stream()
+                .filter(comment -> comment.getTask().getId().equals(tasks.get(2).getId())
+                        && comment.getText().equals("On 2"))
+                .count());
+    }
+
+    @Test
+    void importBoard_ShouldRejectNewerFormatVersions() {
+        String body = "{\"type\":\"board\",\"version\":" + (BoardExportService.FORMAT_VERSION + 1) + "}\n";
+
+        assertThrows(IllegalArgumentException.class, () -> new BoardImportService(dataSource, transactionManager,
+                objectMapper, cacheManager, sseEventPublisher, pageCache, entityManagerFactory, 10, 50)
+                .importBoard(testUser.getId(), new ByteArrayInputStream(body.getBytes())));
+    }
+}
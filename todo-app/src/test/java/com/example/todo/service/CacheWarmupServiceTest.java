@@ -2,7 +2,9 @@ package com.example.todo.service;
 
 import com.example.todo.dao.UserDAO;
 import com.example.todo.model.SwimLane;
+import com.example.todo.model.SwimLaneView;
 import com.example.todo.model.Task;
+import com.example.todo.model.TaskView;
 import com.example.todo.model.TaskStatus;
 import com.example.todo.model.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -69,8 +71,8 @@ class CacheWarmupServiceTest {
     void warmUpCaches_ShouldFetchLanesForAllUsers() {
         // Arrange
         when(userDAO.findAll()).thenReturn(Collections.singletonList(testUser));
-        when(swimLaneService.getActiveSwimLanesForUser(1L)).thenReturn(Collections.singletonList(testLane));
-        when(taskService.getTasksBySwimLaneId(1L)).thenReturn(Collections.singletonList(testTask));
+        when(swimLaneService.getActiveSwimLanesForUser(1L)).thenReturn(Collections.singletonList(SwimLaneView.of(testLane)));
+        when(taskService.getTasksBySwimLaneId(1L)).thenReturn(Collections.singletonList(TaskView.of(testTask)));
 
         // Act
         cacheWarmupService.warmUpCaches();
@@ -83,8 +85,8 @@ class CacheWarmupServiceTest {
     void warmUpCaches_ShouldFetchTasksForAllLanes() {
         // Arrange
         when(userDAO.findAll()).thenReturn(Collections.singletonList(testUser));
-        when(swimLaneService.getActiveSwimLanesForUser(1L)).thenReturn(Collections.singletonList(testLane));
-        when(taskService.getTasksBySwimLaneId(1L)).thenReturn(Collections.singletonList(testTask));
+        when(swimLaneService.getActiveSwimLanesForUser(1L)).thenReturn(Collections.singletonList(SwimLaneView.of(testLane)));
+        when(taskService.getTasksBySwimLaneId(1L)).thenReturn(Collections.singletonList(TaskView.of(testTask)));
 
         // Act
         cacheWarmupService.warmUpCaches();
@@ -131,8 +133,8 @@ class CacheWarmupServiceTest {
         lane2.setName("Lane 2");
 
         when(userDAO.findAll()).thenReturn(Arrays.asList(testUser, user2));
-        when(swimLaneService.getActiveSwimLanesForUser(1L)).thenReturn(Collections.singletonList(testLane));
-        when(swimLaneService.getActiveSwimLanesForUser(2L)).thenReturn(Collections.singletonList(lane2));
+        when(swimLaneService.getActiveSwimLanesForUser(1L)).thenReturn(Collections.singletonList(SwimLaneView.of(testLane)));
+        when(swimLaneService.getActiveSwimLanesForUser(2L)).thenReturn(Collections.singletonList(SwimLaneView.of(lane2)));
         when(taskService.getTasksBySwimLaneId(anyLong())).thenReturn(Collections.emptyList());
 
         // Act
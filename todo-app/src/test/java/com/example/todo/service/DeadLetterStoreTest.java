@@ -0,0 +1,65 @@
+package com.example.todo.service;
+
+import com.example.todo.model.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadLetterStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void add_ShouldPersistEntries_AcrossRestarts() {
+        DeadLetterStore store = open();
+        WriteOperation move = WriteOperation.moveTask(1L, TaskStatus.DONE, 2L, 3).withSequence(42L);
+
+        DeadLetterStore.DeadLetter added = store.add("task:1", List.of(move), 5, "DB down");
+
+        DeadLetterStore restarted = open();
+        assertEquals(1, restarted.size());
+        DeadLetterStore.DeadLetter loaded = restarted.get(added.id()).orElseThrow();
+        assertEquals("task:1", loaded.key());
+        assertEquals(5, loaded.attempts());
+        assertEquals(42L, loaded.operations().get(0).sequence());
+        assertEquals(TaskStatus.DONE, loaded.operations().get(0).status());
+        assertEquals(added.failedAt(), loaded.failedAt());
+    }
+
+    @Test
+    void remove_ShouldDeleteEntry_AndKeepIdsUnique() {
+        DeadLetterStore store = open();
+        long first = store.add("task:1", List.of(WriteOperation.deleteTask(1L)), 1, "x").id();
+        long second = store.add("task:2", List.of(WriteOperation.deleteTask(2L)), 1, "y").id();
+
+        assertTrue(store.remove(first).isPresent());
+        assertTrue(store.remove(first).isEmpty());
+
+        DeadLetterStore restarted = open();
+        assertEquals(List.of(second), restarted.list().stream().map(DeadLetterStore.DeadLetter::id).toList());
+        assertTrue(restarted.add("task:3", List.of(WriteOperation.deleteTask(3L)), 1, "z").id() > second);
+    }
+
+    @Test
+    void emptyPath_ShouldKeepEntriesInMemory() {
+        DeadLetterStore store = new DeadLetterStore("", new ObjectMapper());
+        store.load();
+
+        store.add("lane:1", List.of(WriteOperation.deleteSwimLane(1L)), 1, "x");
+
+        assertEquals(1, store.size());
+    }
+
+    private DeadLetterStore open() {
+        DeadLetterStore store = new DeadLetterStore(dir.resolve("dead-letters.json").toString(),
+                new ObjectMapper().findAndRegisterModules());
+        store.load();
+        return store;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.todo.service;
+
+import com.example.todo.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationTrackerTest {
+
+    private OperationTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new OperationTracker(100, 60);
+    }
+
+    @Test
+    void accepted_ShouldCollectIdsForCurrentRequest() {
+        tracker.beginRequest();
+        tracker.accepted(op(WriteOperation.deleteTask(1L), 10));
+        tracker.accepted(op(WriteOperation.deleteTask(2L), 11));
+
+        assertEquals(List.of(10L, 11L), tracker.endRequest());
+        assertTrue(tracker.endRequest().isEmpty(), "Collection ends with the request");
+    }
+
+    @Test
+    void accepted_ShouldNotCollectOutsideRequest() {
+        tracker.accepted(op(WriteOperation.deleteTask(1L), 10));
+
+        assertTrue(tracker.endRequest().isEmpty());
+        assertEquals(OperationTracker.Status.PENDING, tracker.getStatuses(List.of(10L)).get(0).status());
+    }
+
+    @Test
+    void complete_ShouldResolveOperationsUpToId() {
+        tracker.accepted(op(WriteOperation.moveTask(1L, TaskStatus.TODO, 2L, 0), 10));
+        tracker.accepted(op(WriteOperation.moveTask(1L, TaskStatus.DONE, 2L, 1), 11));
+        tracker.accepted(op(WriteOperation.moveTask(1L, TaskStatus.BLOCKED, 2L, 2), 12));
+
+        assertEquals(List.of(10L, 11L), tracker.complete("task:1", 11, true, null));
+
+        List<OperationTracker.OperationStatus> statuses = tracker.getStatuses(List.of(10L, 11L, 12L));
+        assertEquals(OperationTracker.Status.COMMITTED, statuses.get(0).status());
+        assertEquals(OperationTracker.Status.COMMITTED, statuses.get(1).status());
+        assertEquals(OperationTracker.Status.PENDING, statuses.get(2).status());
+        assertEquals("task:1", statuses.get(2).entity());
+    }
+
+    @Test
+    void complete_ShouldRecordFailure() {
+        tracker.accepted(op(WriteOperation.deleteSwimLane(5L), 20));
+
+        tracker.complete("lane:5", 20, false, "constraint violation");
+
+        OperationTracker.OperationStatus status = tracker.getStatuses(List.of(20L)).get(0);
+        assertEquals(OperationTracker.Status.FAILED, status.status());
+        assertEquals("constraint violation", status.error());
+        assertEquals(1L, tracker.getStats().get("failed"));
+    }
+
+    @Test
+    void getStatuses_ShouldReportUnknownIds() {
+        OperationTracker.OperationStatus status = tracker.getStatuses(List.of(99L)).get(0);
+
+        assertEquals(99L, status.id());
+        assertEquals(OperationTracker.Status.UNKNOWN, status.status());
+    }
+
+    @Test
+    void await_ShouldReturnOnceOperationIsResolved() throws Exception {
+        tracker.accepted(op(WriteOperation.deleteTask(1L), 10));
+        Thread flusher = new Thread(() -> tracker.complete("task:1", 10, true, null));
+
+        flusher.start();
+        List<OperationTracker.OperationStatus> statuses = tracker.await(List.of(10L), Duration.ofSeconds(5));
+        flusher.join();
+
+        assertEquals(OperationTracker.Status.COMMITTED, statuses.get(0).status());
+    }
+
+    @Test
+    void await_ShouldReturnImmediately_WhenAlreadyResolved() {
+        tracker.accepted(op(WriteOperation.deleteTask(1L), 10));
+        tracker.complete("task:1", 10, false, "DB down");
+
+        OperationTracker.OperationStatus status = tracker.await(List.of(10L), Duration.ZERO).get(0);
+
+        assertEquals(OperationTracker.Status.FAILED, status.status());
+        assertEquals("DB down", status.error());
+    }
+
+    @Test
+    void await_ShouldReportPending_OnTimeout() {
+        tracker.accepted(op(WriteOperation.deleteTask(1L), 10));
+
+        assertEquals(OperationTracker.Status.PENDING,
+                tracker.await(List.of(10L), Duration.ofMillis(10)).get(0).status());
+    }
+
+    private static WriteOperation op(WriteOperation op, long id) {
+        return op.withSequence(id);
+    }
+}
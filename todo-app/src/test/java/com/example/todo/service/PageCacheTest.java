@@ -0,0 +1,63 @@
+package com.example.todo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCacheTest {
+
+    private final PageCache pageCache = new PageCache(new ConcurrentMapCacheManager("pageWindows"));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_ShouldLoadEachWindowOnce() {
+        assertEquals("page 1", load("user:1", "a"));
+        assertEquals("page 1", load("user:1", "a"));
+        assertEquals("page 2", load("user:1", "b"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_ShouldDropAllWindowsOfTheOwnerOnly() {
+        load("user:1", "a");
+        load("user:1", "b");
+        load("user:2", "a");
+
+        pageCache.invalidate("user:1");
+
+        assertEquals("page 4", load("user:1", "a"));
+        assertEquals("page 5", load("user:1", "b"));
+        assertEquals("page 3", load("user:2", "a"));
+    }
+
+    @Test
+    void invalidate_ShouldWaitForTheTransactionToCommit() {
+        load("lane:1", "a");
+        TransactionSynchronizationManager.initSynchronization();
+
+        pageCache.invalidate("lane:1");
+
+        assertEquals("page 1", load("lane:1", "a"), "Not dropped before the commit");
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertEquals("page 2", load("lane:1", "a"));
+    }
+
+    private String load(String owner, String window) {
+        return pageCache.get(owner, window, () -> "page " + loads.incrementAndGet());
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.todo.service;
+
+import com.example.todo.dao.TaskDAO;
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.model.TaskView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingWriteOverlayTest {
+
+    @Mock
+    private TaskDAO taskDAO;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private PendingWriteOverlay overlay;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("tasksByLane");
+        overlay = new PendingWriteOverlay(cacheManager, taskDAO, new PageCache(cacheManager));
+    }
+
+    @Test
+    void merge_ShouldReturnCommittedList_WhenNothingIsPending() {
+        List<TaskView> committed = List.of(view(1L, 10L, 0));
+
+        assertSame(committed, overlay.merge(10L, committed));
+    }
+
+    @Test
+    void merge_ShouldApplyPendingMoveWithinLane() {
+        TaskView original = view(1L, 10L, 0);
+        TaskView other = view(2L, 10L, 1);
+        record(WriteOperation.moveTask(1L, TaskStatus.DONE, 10L, 5).withFromLaneId(10L));
+
+        List<TaskView> result = overlay.merge(10L, List.of(original, other));
+
+        assertEquals(List.of(2L, 1L), result.stream().map(TaskView::id).toList(), "Sorted by pending position");
+        assertEquals(TaskStatus.DONE, result.get(1).status());
+        assertEquals(TaskRanking.GAP, result.get(1).position(), "First task of the DONE column");
+    }
+
+    @Test
+    void merge_ShouldPlacePendingMoveAtItsDropIndex() {
+        Task moved = task(1L, 20L, 0);
+        when(taskDAO.findById(1L)).thenReturn(Optional.of(moved));
+        record(WriteOperation.moveTask(1L, TaskStatus.TODO, 10L, 1).withFromLaneId(20L));
+
+        List<TaskView> result = overlay.merge(10L, List.of(view(2L, 10L, 100), view(3L, 10L, 200), view(4L, 10L, 300)));
+
+        assertEquals(List.of(2L, 1L, 3L, 4L), result.stream().map(TaskView::id).toList());
+        assertEquals(150L, result.get(1).position(), "Provisional rank between the neighbours");
+        assertEquals(0L, moved.getPosition(), "Committed entity must not be modified");
+    }
+
+    @Test
+    void invalidateLane_ShouldEvictLaneAndBumpGeneration() {
+        cacheManager.getCache("tasksByLane").put(10L, List.of());
+        long generation = overlay.getGeneration(10L);
+
+        overlay.invalidateLane(10L);
+
+        assertNull(cacheManager.getCache("tasksByLane").get(10L));
+        assertTrue(overlay.getGeneration(10L) > generation);
+    }
+
+    @Test
+    void merge_ShouldMoveTaskBetweenLanes() {
+        Task task = task(1L, 10L, 0);
+        when(taskDAO.findById(1L)).thenReturn(Optional.of(task));
+        record(WriteOperation.moveTask(1L, TaskStatus.IN_PROGRESS, 20L, 0).withFromLaneId(10L));
+
+        assertTrue(overlay.merge(10L, List.of(TaskView.of(task))).isEmpty());
+        List<TaskView> target = overlay.merge(20L, List.of());
+        assertEquals(1, target.size());
+        assertEquals(20L, target.get(0).laneId());
+        assertEquals(TaskStatus.IN_PROGRESS, target.get(0).status());
+    }
+
+    @Test
+    void merge_ShouldApplyPendingSave() {
+        Task edited = task(1L, 10L, 0);
+        edited.setName("Renamed");
+        record(WriteOperation.saveTask(edited).withFromLaneId(10L));
+
+        List<TaskView> result = overlay.merge(10L, List.of(view(1L, 10L, 0)));
+
+        assertEquals("Renamed", result.get(0).name());
+        verifyNoInteractions(taskDAO);
+    }
+
+    @Test
+    void merge_ShouldHidePendingDelete() {
+        record(WriteOperation.deleteTask(1L).withFromLaneId(10L));
+
+        assertTrue(overlay.merge(10L, List.of(view(1L, 10L, 0))).isEmpty());
+    }
+
+    @Test
+    void release_ShouldDropOverlayAndEvictTouchedLanes() {
+        cacheManager.getCache("tasksByLane").put(10L, List.of());
+        cacheManager.getCache("tasksByLane").put(20L, List.of());
+        cacheManager.getCache("tasksByLane").put(30L, List.of());
+        long generation = overlay.getGeneration(10L);
+        long seq = record(WriteOperation.moveTask(1L, TaskStatus.TODO, 20L, 0).withFromLaneId(10L));
+
+        overlay.release(1L, seq);
+
+        assertEquals(0, overlay.getPendingTaskCount());
+        assertNull(cacheManager.getCache("tasksByLane").get(10L));
+        assertNull(cacheManager.getCache("tasksByLane").get(20L));
+        assertNotNull(cacheManager.getCache("tasksByLane").get(30L));
+        assertTrue(overlay.getGeneration(10L) > generation);
+    }
+
+    @Test
+    void release_ShouldEvictEachLaneOnce_ForABatchOfTasks() {
+        ConcurrentMapCache cache = spy(new ConcurrentMapCache("tasksByLane"));
+        CacheManager manager = mock(CacheManager.class);
+        when(manager.getCache("tasksByLane")).thenReturn(cache);
+        overlay = new PendingWriteOverlay(manager, taskDAO, new PageCache(manager));
+        long first = record(WriteOperation.moveTask(1L, TaskStatus.TODO, 20L, 0).withFromLaneId(10L));
+        long second = record(WriteOperation.moveTask(2L, TaskStatus.TODO, 20L, 1).withFromLaneId(10L));
+
+        overlay.release(Map.of(1L, first, 2L, second));
+
+        assertEquals(0, overlay.getPendingTaskCount());
+        verify(cache, times(1)).evict(10L);
+        verify(cache, times(1)).evict(20L);
+    }
+
+    @Test
+    void release_ShouldKeepOverlay_WhenNewerWritesArePending() {
+        long first = record(WriteOperation.moveTask(1L, TaskStatus.TODO, 10L, 0));
+        record(WriteOperation.moveTask(1L, TaskStatus.DONE, 10L, 0));
+
+        overlay.release(1L, first);
+
+        assertEquals(1, overlay.getPendingTaskCount());
+        assertEquals(TaskStatus.DONE, overlay.merge(10L, List.of(view(1L, 10L, 0))).get(0).status());
+    }
+
+    @Test
+    void record_ShouldIgnoreLaneOperations() {
+        record(WriteOperation.deleteSwimLane(10L));
+
+        assertEquals(0, overlay.getPendingTaskCount());
+    }
+
+    private long record(WriteOperation op) {
+        long seq = ++sequence;
+        overlay.record(op.withSequence(seq));
+        return seq;
+    }
+
+    private static Task task(Long id, Long laneId, long position) {
+        return Task.builder().id(id).name("Task " + id).status(TaskStatus.TODO)
+                .swimLane(SwimLane.builder().id(laneId).build()).position(position).build();
+    }
+
+    private static TaskView view(Long id, Long laneId, long position) {
+        return TaskView.of(task(id, laneId, position));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.todo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SseEventPublisherTest {
+
+    @Mock
+    private SseService sseService;
+
+    private List<Runnable> dispatched;
+    private SseEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        dispatched = new ArrayList<>();
+        publisher = new SseEventPublisher(sseService, dispatched::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publish_ShouldDispatchImmediately_WithoutTransaction() {
+        publisher.publish("task-deleted", 1L);
+
+        assertEquals(1, dispatched.size());
+        verifyNoInteractions(sseService);
+        dispatched.forEach(Runnable::run);
+        verify(sseService).broadcast("task-deleted", 1L);
+    }
+
+    @Test
+    void publish_ShouldDeferUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publish("task-deleted", 1L);
+        publisher.publish("task-deleted", 2L);
+        assertTrue(dispatched.isEmpty(), "Nothing may leave the outbox before commit");
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(1, dispatched.size(), "One dispatch per committed transaction");
+        dispatched.forEach(Runnable::run);
+        var order = inOrder(sseService);
+        order.verify(sseService).broadcast("task-deleted", 1L);
+        order.verify(sseService).broadcast("task-deleted", 2L);
+        assertEquals(2L, publisher.getStats().get("dispatched"));
+    }
+
+    @Test
+    void publish_ShouldDiscardEvents_OnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publish("task-updated", "task");
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(dispatched.isEmpty());
+        assertEquals(1L, publisher.getStats().get("discardedOnRollback"));
+        assertFalse(TransactionSynchronizationManager.hasResource(publisher));
+    }
+
+    @Test
+    void publish_ShouldDropEvents_WhenDispatcherIsFull() {
+        publisher = new SseEventPublisher(sseService, task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        assertDoesNotThrow(() -> publisher.publish("task-deleted", 1L));
+
+        assertEquals(1L, publisher.getStats().get("dropped"));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(sync -> sync.afterCompletion(status));
+    }
+}
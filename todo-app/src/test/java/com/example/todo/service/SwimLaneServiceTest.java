@@ -2,6 +2,7 @@ package com.example.todo.service;
 
 import com.example.todo.dao.SwimLaneDAO;
 import com.example.todo.model.SwimLane;
+import com.example.todo.model.SwimLaneView;
 import com.example.todo.model.User;
 import com.example.todo.repository.UserRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,11 +19,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +43,8 @@ class SwimLaneServiceTest {
     @Mock
     private IdempotencyService idempotencyService;
 
+    private ConcurrentMapCacheManager cacheManager;
+
     private SwimLaneService swimLaneService;
 
     private User testUser;
@@ -46,7 +52,9 @@ class SwimLaneServiceTest {
     @BeforeEach
     void setUp() {
         // Note: IdempotencyService is now handled by AOP aspect, not injected here
-        swimLaneService = new SwimLaneService(swimLaneDAO, asyncWriteService, userRepository);
+        cacheManager = new ConcurrentMapCacheManager("lanesByUser");
+        swimLaneService = new SwimLaneService(swimLaneDAO, asyncWriteService, userRepository, cacheManager,
+                new PageCache(cacheManager));
 
         // Create test user
         testUser = new User();
@@ -153,6 +161,7 @@ class SwimLaneServiceTest {
         swimLaneService.deleteSwimLane(laneId);
 
         assertTrue(lane.getIsDeleted());
+        assertNotNull(lane.getDeletedAt());
         verify(asyncWriteService).saveSwimLane(lane);
         verify(swimLaneDAO, never()).save(lane);
     }
@@ -187,10 +196,9 @@ class SwimLaneServiceTest {
         when(swimLaneDAO.findByUserIdAndIsDeletedFalseOrderByPositionAsc(testUser.getId()))
                 .thenReturn(Arrays.asList(lane));
 
-        List<SwimLane> result = swimLaneService.getAllSwimLanes();
+        List<SwimLaneView> result = swimLaneService.getAllSwimLanes();
 
-        assertEquals(1, result.size());
-        assertEquals(lane, result.get(0));
+        assertEquals(List.of(SwimLaneView.of(lane)), result);
     }
 
     @Test
@@ -201,10 +209,9 @@ class SwimLaneServiceTest {
         when(swimLaneDAO.findByUserIdAndIsCompletedFalseAndIsDeletedFalseOrderByPositionAsc(testUser.getId()))
                 .thenReturn(Arrays.asList(lane));
 
-        List<SwimLane> result = swimLaneService.getActiveSwimLanes();
+        List<SwimLaneView> result = swimLaneService.getActiveSwimLanes();
 
-        assertEquals(1, result.size());
-        assertEquals(lane, result.get(0));
+        assertEquals(List.of(SwimLaneView.of(lane)), result);
     }
 
     @Test
@@ -215,10 +222,9 @@ class SwimLaneServiceTest {
         when(swimLaneDAO.findByUserIdAndIsCompletedTrueAndIsDeletedFalseOrderByPositionAsc(testUser.getId()))
                 .thenReturn(Arrays.asList(lane));
 
-        List<SwimLane> result = swimLaneService.getCompletedSwimLanes();
+        List<SwimLaneView> result = swimLaneService.getCompletedSwimLanes();
 
-        assertEquals(1, result.size());
-        assertEquals(lane, result.get(0));
+        assertEquals(List.of(SwimLaneView.of(lane)), result);
     }
 
     @Test
@@ -271,72 +277,40 @@ class SwimLaneServiceTest {
     }
 
     @Test
-    void reorderSwimLanes_ShouldUpdatePositions() {
-        SwimLane lane1 = new SwimLane();
-        lane1.setId(1L);
-        lane1.setPosition(0);
-        lane1.setUser(testUser);
-
-        SwimLane lane2 = new SwimLane();
-        lane2.setId(2L);
-        lane2.setPosition(1);
-        lane2.setUser(testUser);
-
-        SwimLane lane3 = new SwimLane();
-        lane3.setId(3L);
-        lane3.setPosition(2);
-        lane3.setUser(testUser);
-
+    void reorderSwimLanes_ShouldUpdatePositionsInOneStatementScopedByUser() {
         List<Long> orderedIds = Arrays.asList(3L, 1L, 2L);
-        when(swimLaneDAO.findAllById(orderedIds)).thenReturn(Arrays.asList(lane1, lane2, lane3));
 
         swimLaneService.reorderSwimLanes(orderedIds);
 
         // After reorder: 3L=0, 1L=1, 2L=2
-        assertEquals(1, lane1.getPosition()); // id=1 is at index 1
-        assertEquals(2, lane2.getPosition()); // id=2 is at index 2
-        assertEquals(0, lane3.getPosition()); // id=3 is at index 0
-        verify(swimLaneDAO).saveAll(anyList());
+        verify(swimLaneDAO).updatePositions(1L, Map.of(3L, 0, 1L, 1, 2L, 2));
+        verify(swimLaneDAO, never()).findAllById(anyList());
+        verify(swimLaneDAO, never()).saveAll(anyList());
     }
 
     @Test
-    void reorderSwimLanes_ShouldHandleMissingLanes() {
-        SwimLane lane1 = new SwimLane();
-        lane1.setId(1L);
-        lane1.setPosition(0);
-        lane1.setUser(testUser);
-
-        List<Long> orderedIds = Arrays.asList(999L, 1L);
-        when(swimLaneDAO.findAllById(orderedIds)).thenReturn(Arrays.asList(lane1));
-
-        swimLaneService.reorderSwimLanes(orderedIds);
+    void reorderSwimLanes_ShouldKeepLastIndex_WhenALaneIsListedTwice() {
+        swimLaneService.reorderSwimLanes(Arrays.asList(1L, 2L, 1L));
 
-        assertEquals(1, lane1.getPosition());
-        verify(swimLaneDAO).saveAll(anyList());
+        verify(swimLaneDAO).updatePositions(1L, Map.of(1L, 2, 2L, 1));
     }
 
     @Test
-    void reorderSwimLanes_ShouldFilterOutOtherUsersLanes() {
-        SwimLane myLane = new SwimLane();
-        myLane.setId(1L);
-        myLane.setPosition(0);
-        myLane.setUser(testUser);
-
-        SwimLane otherLane = new SwimLane();
-        otherLane.setId(2L);
-        otherLane.setPosition(1);
-        User otherUser = new User();
-        otherUser.setId(999L);
-        otherLane.setUser(otherUser);
-
-        List<Long> orderedIds = Arrays.asList(2L, 1L);
-        when(swimLaneDAO.findAllById(orderedIds)).thenReturn(Arrays.asList(myLane, otherLane));
-
-        swimLaneService.reorderSwimLanes(orderedIds);
-
-        // Only myLane should be reordered (index 1 in orderedIds)
-        assertEquals(1, myLane.getPosition());
-        verify(swimLaneDAO).saveAll(anyList());
+    void reorderSwimLanes_ShouldResortOnlyTheCallersCachedLanes() {
+        SwimLaneView first = new SwimLaneView(1L, "A", false, false, 0);
+        SwimLaneView second = new SwimLaneView(2L, "B", false, false, 1);
+        List<SwimLaneView> otherUsersLanes = List.of(new SwimLaneView(9L, "C", false, false, 0));
+        cacheManager.getCache("lanesByUser").put(1L, List.of(first, second));
+        cacheManager.getCache("lanesByUser").put("active-1", List.of(second));
+        cacheManager.getCache("lanesByUser").put(2L, otherUsersLanes);
+        when(swimLaneDAO.updatePositions(eq(1L), any())).thenReturn(2);
+
+        swimLaneService.reorderSwimLanes(Arrays.asList(2L, 1L));
+
+        assertEquals(List.of(second.withPosition(0), first.withPosition(1)),
+                cacheManager.getCache("lanesByUser").get(1L, List.class));
+        assertEquals(List.of(second.withPosition(0)), cacheManager.getCache("lanesByUser").get("active-1", List.class));
+        assertSame(otherUsersLanes, cacheManager.getCache("lanesByUser").get(2L, List.class));
     }
 
     @Test
@@ -394,28 +368,6 @@ class SwimLaneServiceTest {
         assertThrows(RuntimeException.class, () -> swimLaneService.getAllSwimLanes());
     }
 
-    @Test
-    void reorderSwimLanes_ShouldFilterOutLanesWithNullUser() {
-        SwimLane myLane = new SwimLane();
-        myLane.setId(1L);
-        myLane.setPosition(0);
-        myLane.setUser(testUser);
-
-        SwimLane laneWithNoUser = new SwimLane();
-        laneWithNoUser.setId(2L);
-        laneWithNoUser.setPosition(1);
-        laneWithNoUser.setUser(null);
-
-        List<Long> orderedIds = Arrays.asList(2L, 1L);
-        when(swimLaneDAO.findAllById(orderedIds)).thenReturn(Arrays.asList(myLane, laneWithNoUser));
-
-        swimLaneService.reorderSwimLanes(orderedIds);
-
-        // Only myLane should be reordered
-        assertEquals(1, myLane.getPosition());
-        verify(swimLaneDAO).saveAll(anyList());
-    }
-
     @Test
     void getCurrentUser_ShouldThrowException_WhenNotAuthenticated() {
         SecurityContextHolder.clearContext();
@@ -0,0 +1,172 @@
+package com.example.todo.service;
+
+import com.example.todo.dao.TaskDAO;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.example.todo.model.TaskView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskRankingTest {
+
+    @Mock
+    private TaskDAO taskDAO;
+
+    @Mock
+    private SseService sseService;
+
+    @Mock
+    private TaskArchiveService taskArchiveService;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private TaskRanking taskRanking;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("tasksByLane");
+        taskRanking = new TaskRanking(taskDAO, new PendingWriteOverlay(cacheManager, taskDAO, new PageCache(cacheManager)),
+                new WriteBehindBuffer(50, 0, 2), new SseEventPublisher(sseService, Runnable::run),
+                new SyncTaskExecutor(), new NoOpTransactionManager(), taskArchiveService, 64);
+    }
+
+    @Test
+    void between_ShouldTakeMidpointOrStepOutwards() {
+        assertEquals(TaskRanking.GAP, TaskRanking.between(null, null));
+        assertEquals(150L, TaskRanking.between(100L, 200L));
+        assertEquals(100L - TaskRanking.GAP, TaskRanking.between(null, 100L));
+        assertEquals(100L + TaskRanking.GAP, TaskRanking.between(100L, null));
+        assertNull(TaskRanking.between(100L, 101L), "No rank fits between adjacent ranks");
+    }
+
+    @Test
+    void rankFor_ShouldRankAgainstArchivedTasks_WhenColumnIsPartlyArchived() {
+        when(taskArchiveService.hasArchivedTasks(1L)).thenReturn(true);
+        when(taskArchiveService.findColumnRanks(1L, TaskStatus.DONE, 9L, 0, 2)).thenReturn(List.of(100L, 200L));
+
+        assertEquals(150L, taskRanking.rankFor(1L, TaskStatus.DONE, 1, 9L));
+        verify(taskDAO, never()).findColumnRanks(anyLong(), any(), anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void ranksFor_ShouldRerankArchivedTasksInTheArchive_WhenGapIsExhausted() {
+        Map<Long, Long> hot = new LinkedHashMap<>();
+        hot.put(1L, 100L);
+        when(taskDAO.findColumn(5L, TaskStatus.DONE)).thenReturn(hot);
+        when(taskArchiveService.hasArchivedTasks(5L)).thenReturn(true);
+        when(taskArchiveService.findColumn(5L, TaskStatus.DONE)).thenReturn(Map.of(2L, 101L));
+
+        Map<Long, Long> ranks = taskRanking.ranksFor(5L, TaskStatus.DONE, List.of(new TaskRanking.Drop(3L, 1)));
+
+        assertEquals(Map.of(1L, TaskRanking.GAP, 3L, TaskRanking.GAP + TaskRanking.GAP / 2), ranks);
+        verify(taskArchiveService).updateRanks(Map.of(2L, 2 * TaskRanking.GAP));
+    }
+
+    @Test
+    void rankFor_ShouldAppend_WhenIndexIsPastTheEnd() {
+        when(taskDAO.findMaxRank(1L, TaskStatus.TODO, 9L)).thenReturn(2 * TaskRanking.GAP);
+
+        assertEquals(3 * TaskRanking.GAP, taskRanking.rankFor(1L, TaskStatus.TODO, 7, 9L));
+    }
+
+    @Test
+    void rankFor_ShouldRankBeforeFirstTask_AtIndexZero() {
+        when(taskDAO.findColumnRanks(1L, TaskStatus.TODO, 9L, 0, 1)).thenReturn(List.of(TaskRanking.GAP));
+
+        assertEquals(0L, taskRanking.rankFor(1L, TaskStatus.TODO, 0, 9L));
+        assertEquals(0, taskRanking.getStats().get("denseColumns"));
+    }
+
+    @Test
+    void ranksFor_ShouldPlaceDropsInOrder_FromOneColumnRead() {
+        Map<Long, Long> column = new LinkedHashMap<>();
+        column.put(1L, TaskRanking.GAP);
+        column.put(2L, 2 * TaskRanking.GAP);
+        when(taskDAO.findColumn(5L, TaskStatus.TODO)).thenReturn(column);
+
+        Map<Long, Long> ranks = taskRanking.ranksFor(5L, TaskStatus.TODO, List.of(
+                new TaskRanking.Drop(7L, 1), new TaskRanking.Drop(8L, 2), new TaskRanking.Drop(2L, 0)));
+
+        long first = TaskRanking.GAP + TaskRanking.GAP / 2;
+        assertEquals(Map.of(7L, first, 8L, first + TaskRanking.GAP / 4, 2L, 0L), ranks);
+        verify(taskDAO, times(1)).findColumn(5L, TaskStatus.TODO);
+    }
+
+    @Test
+    void ranksFor_ShouldRespaceInMemory_WhenAGapIsExhausted() {
+        Map<Long, Long> column = new LinkedHashMap<>();
+        column.put(1L, 100L);
+        column.put(2L, 101L);
+        when(taskDAO.findColumn(5L, TaskStatus.TODO)).thenReturn(column);
+
+        Map<Long, Long> ranks = taskRanking.ranksFor(5L, TaskStatus.TODO, List.of(
+                new TaskRanking.Drop(7L, 1), new TaskRanking.Drop(8L, null)));
+
+        assertEquals(TaskRanking.GAP, ranks.get(1L), "Re-spaced tasks are written with the moves");
+        assertEquals(2 * TaskRanking.GAP, ranks.get(2L));
+        assertEquals(TaskRanking.GAP + TaskRanking.GAP / 2, ranks.get(7L));
+        assertEquals(3 * TaskRanking.GAP, ranks.get(8L));
+        assertEquals(1L, taskRanking.getStats().get("inlineRebalances"));
+        verify(taskDAO, never()).saveAll(any());
+    }
+
+    @Test
+    void denseColumn_ShouldBeRespacedInTheBackground() {
+        Task first = Task.builder().id(1L).status(TaskStatus.TODO).position(100L).build();
+        Task second = Task.builder().id(2L).status(TaskStatus.TODO).position(110L).build();
+        Task done = Task.builder().id(3L).status(TaskStatus.DONE).position(105L).build();
+        when(taskDAO.findColumnRanks(5L, TaskStatus.TODO, 9L, 0, 2)).thenReturn(List.of(100L, 110L));
+        when(taskDAO.findBySwimLaneId(5L)).thenReturn(List.of(first, done, second));
+        cacheManager.getCache("tasksByLane").put(5L, List.of());
+
+        assertEquals(105L, taskRanking.rankFor(5L, TaskStatus.TODO, 1, 9L));
+        assertEquals(1, taskRanking.getStats().get("denseColumns"));
+
+        taskRanking.rebalanceDenseColumns();
+
+        assertEquals(TaskRanking.GAP, first.getPosition());
+        assertEquals(2 * TaskRanking.GAP, second.getPosition());
+        assertEquals(105L, done.getPosition(), "Other columns of the lane keep their ranks");
+        verify(taskDAO).saveAll(List.of(first, second));
+        verify(sseService).broadcast("task-updated", TaskView.of(first));
+        assertNull(cacheManager.getCache("tasksByLane").get(5L));
+        assertEquals(0, taskRanking.getStats().get("denseColumns"));
+        assertEquals(1L, taskRanking.getStats().get("rebalancedColumns"));
+        assertEquals(2L, taskRanking.getStats().get("respacedTasks"));
+    }
+
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
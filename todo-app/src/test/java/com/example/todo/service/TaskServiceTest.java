@@ -6,6 +6,7 @@ import com.example.todo.model.Comment;
 import com.example.todo.model.SwimLane;
 import com.example.todo.model.Task;
 import com.example.todo.model.TaskStatus;
+import com.example.todo.model.TaskView;
 import com.example.todo.model.User;
 import com.example.todo.repository.CommentRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,14 +45,19 @@ class TaskServiceTest {
     @Mock
     private org.springframework.cache.Cache cache;
 
+    @Mock
+    private TaskArchiveService taskArchiveService;
+
     private TaskService taskService;
 
     @BeforeEach
     void setUp() {
         // Create TaskService with all dependencies
+        PageCache pageCache = new PageCache(cacheManager);
         taskService = new TaskService(
                 taskDAO, swimLaneDAO, commentRepository,
-                asyncWriteService, cacheManager);
+                asyncWriteService, cacheManager, new PendingWriteOverlay(cacheManager, taskDAO, pageCache), pageCache,
+                taskArchiveService);
 
         // Set up cache mock to return cache when requested
         lenient().when(cacheManager.getCache(anyString())).thenReturn(cache);
@@ -93,12 +99,56 @@ class TaskServiceTest {
         task2.setId(2L);
         when(taskDAO.findBySwimLaneId(swimLaneId)).thenReturn(java.util.Arrays.asList(task1, task2));
 
-        java.util.List<Task> result = taskService.getTasksBySwimLaneId(swimLaneId);
+        java.util.List<TaskView> result = taskService.getTasksBySwimLaneId(swimLaneId);
 
-        assertEquals(2, result.size());
+        assertEquals(java.util.List.of(1L, 2L), result.stream().map(TaskView::id).toList());
         verify(taskDAO).findBySwimLaneId(swimLaneId);
     }
 
+    @Test
+    void getTasksBySwimLaneId_ShouldCacheReadModels() {
+        Task task = Task.builder().id(1L).name("Cached").tags(java.util.List.of("a"))
+                .swimLane(SwimLane.builder().id(1L).name("Lane").build()).build();
+        when(taskDAO.findBySwimLaneId(1L)).thenReturn(java.util.List.of(task));
+
+        taskService.getTasksBySwimLaneId(1L);
+
+        // Immutable copies with a lane reference are cached, not the entities
+        verify(cache).put(1L, java.util.List.of(new TaskView(1L, "Cached", null, java.util.List.of("a"), null, 1L, null)));
+    }
+
+    @Test
+    void getTasksBySwimLaneId_ShouldServeCachedList() {
+        TaskView task = new TaskView(1L, "Cached", TaskStatus.TODO, null, 1L, 1L, 0);
+        when(cache.get(1L, java.util.List.class)).thenReturn(java.util.List.of(task));
+
+        java.util.List<TaskView> result = taskService.getTasksBySwimLaneId(1L);
+
+        assertEquals(1, result.size());
+        verify(taskDAO, never()).findBySwimLaneId(anyLong());
+    }
+
+    @Test
+    void getTasksBySwimLaneIds_ShouldLoadOnlyUncachedLanes_InOneQuery() {
+        SwimLane lane2 = SwimLane.builder().id(2L).name("Two").build();
+        TaskView cached = new TaskView(1L, "Cached", TaskStatus.TODO, java.util.List.of(), 1L, 1L, 0);
+        when(cache.get(1L, java.util.List.class)).thenReturn(java.util.List.of(cached));
+        when(taskDAO.findBySwimLaneIdIn(java.util.Set.of(2L, 3L))).thenReturn(java.util.List.of(
+                Task.builder().id(5L).name("Loaded").swimLane(lane2).build()));
+
+        java.util.Map<Long, java.util.List<TaskView>> result = taskService.getTasksBySwimLaneIds(
+                java.util.List.of(1L, 2L, 3L));
+
+        assertEquals(java.util.List.of(1L, 2L, 3L), java.util.List.copyOf(result.keySet()));
+        assertEquals(java.util.List.of(cached), result.get(1L));
+        assertEquals(5L, result.get(2L).get(0).id());
+        assertTrue(result.get(3L).isEmpty());
+        verify(taskDAO).findBySwimLaneIdIn(java.util.Set.of(2L, 3L));
+        verify(cache).put(2L, result.get(2L));
+        verify(cache).put(3L, java.util.List.of());
+        verify(cache, never()).put(eq(1L), any());
+    }
+
     @Test
     void getTask_ShouldReturnTask_WhenFound() {
         Long taskId = 1L;
@@ -139,7 +189,7 @@ class TaskServiceTest {
 
         assertEquals("New Name", result.getName());
         assertEquals(TaskStatus.IN_PROGRESS, result.getStatus());
-        verify(asyncWriteService).saveTask(existingTask);
+        verify(asyncWriteService).saveTask(existingTask, null);
     }
 
     @Test
@@ -174,7 +224,7 @@ class TaskServiceTest {
         Task result = taskService.updateTask(taskId, updatedInfo);
 
         assertEquals(swimLaneId, result.getSwimLane().getId());
-        verify(asyncWriteService).saveTask(existingTask);
+        verify(asyncWriteService).saveTask(existingTask, null);
     }
 
     @Test
@@ -202,7 +252,7 @@ class TaskServiceTest {
         Long taskId = 1L;
         taskService.deleteTask(taskId);
 
-        verify(asyncWriteService).deleteTask(taskId);
+        verify(asyncWriteService).deleteTask(taskId, null);
     }
 
     @Test
@@ -215,8 +265,8 @@ class TaskServiceTest {
 
         assertEquals(TaskStatus.DONE, result.getStatus());
         assertEquals(laneId, result.getSwimLane().getId());
-        assertEquals(position, result.getPosition());
-        verify(asyncWriteService).moveTask(taskId, TaskStatus.DONE, laneId, position);
+        assertNull(result.getPosition()); // rank is allocated when the move is flushed
+        verify(asyncWriteService).moveTask(taskId, TaskStatus.DONE, laneId, position, null);
     }
 
     @Test
@@ -227,7 +277,32 @@ class TaskServiceTest {
 
         assertEquals(TaskStatus.BLOCKED, result.getStatus());
         assertNull(result.getSwimLane());
-        verify(asyncWriteService).moveTask(taskId, TaskStatus.BLOCKED, null, 0);
+        verify(asyncWriteService).moveTask(taskId, TaskStatus.BLOCKED, null, 0, null);
+    }
+
+    @Test
+    void moveTasks_ShouldQueueAllMovesTogether_WithTheirSourceLanes() {
+        Task first = Task.builder().id(1L).swimLane(SwimLane.builder().id(7L).build()).build();
+        Task second = Task.builder().id(2L).build();
+        when(taskDAO.findAllById(java.util.List.of(1L, 2L))).thenReturn(java.util.List.of(first, second));
+
+        java.util.List<Task> result = taskService.moveTasks(java.util.List.of(
+                new TaskService.TaskMove(1L, TaskStatus.DONE, 3L, 0),
+                new TaskService.TaskMove(2L, TaskStatus.DONE, 3L, 1)));
+
+        assertEquals(2, result.size());
+        assertEquals(3L, result.get(0).getSwimLane().getId());
+        verify(asyncWriteService).moveTasks(argThat(ops -> ops.size() == 2
+                && ops.get(0).getFromLaneId().equals(7L) && ops.get(1).getFromLaneId() == null
+                && ops.get(1).getPosition() == 1));
+    }
+
+    @Test
+    void moveTasks_ShouldRejectTaskListedTwice() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.moveTasks(java.util.List.of(
+                new TaskService.TaskMove(1L, TaskStatus.DONE, 3L, 0),
+                new TaskService.TaskMove(1L, TaskStatus.TODO, 3L, 1))));
+        verifyNoInteractions(asyncWriteService);
     }
 
     // --- Comment Tests ---
@@ -340,6 +415,52 @@ class TaskServiceTest {
         verify(commentRepository).delete(comment);
     }
 
+    @Test
+    void addComment_ShouldEvictLaneCache_ForTheCommentCount() {
+        Task task = Task.builder().id(1L).swimLane(SwimLane.builder().id(5L).build()).build();
+        when(taskDAO.findById(1L)).thenReturn(Optional.of(task));
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        taskService.addComment(1L, "Counted");
+
+        verify(cache).evict(5L);
+    }
+
+    @Test
+    void getComments_ShouldFetchOneExtraRow_AndReturnCursor() {
+        java.util.List<Comment> rows = java.util.List.of(Comment.builder().id(11L).build(),
+                Comment.builder().id(12L).build(), Comment.builder().id(13L).build());
+        when(taskDAO.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByTaskIdAndIdGreaterThanOrderByIdAsc(1L, 10L,
+                org.springframework.data.domain.Limit.of(3))).thenReturn(rows);
+
+        TaskService.CommentPage page = taskService.getComments(1L, 10L, 2);
+
+        assertEquals(java.util.List.of(11L, 12L), page.items().stream().map(Comment::getId).toList());
+        assertEquals(12L, page.next());
+    }
+
+    @Test
+    void getComments_ShouldCapLimit_AndEndOnLastPage() {
+        when(taskDAO.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByTaskIdAndIdGreaterThanOrderByIdAsc(1L, 0L,
+                org.springframework.data.domain.Limit.of(TaskService.MAX_COMMENT_PAGE + 1)))
+                .thenReturn(java.util.List.of(Comment.builder().id(1L).build()));
+
+        TaskService.CommentPage page = taskService.getComments(1L, null, 10_000);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.next());
+    }
+
+    @Test
+    void getComments_ShouldThrowException_WhenTaskNotFound() {
+        when(taskDAO.existsById(999L)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.getComments(999L, null, null));
+        verifyNoInteractions(commentRepository);
+    }
+
     @Test
     void deleteComment_ShouldThrowException_WhenCommentNotFound() {
         Long taskId = 1L;
@@ -386,7 +507,21 @@ class TaskServiceTest {
     }
 
     @Test
-    void deleteTask_ShouldEvictCacheForLane() {
+    void createTask_ShouldAppendToColumn() {
+        SwimLane lane = new SwimLane();
+        lane.setId(1L);
+        Task task = Task.builder().name("Last").status(TaskStatus.DONE).swimLane(lane).build();
+
+        when(taskDAO.findMaxRank(1L, TaskStatus.DONE, null)).thenReturn(3 * TaskRanking.GAP);
+        when(taskDAO.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Task created = taskService.createTask(task);
+
+        assertEquals(4 * TaskRanking.GAP, created.getPosition());
+    }
+
+    @Test
+    void deleteTask_ShouldDeferLaneEvictionUntilCommit() {
         Long taskId = 1L;
         SwimLane lane = new SwimLane();
         lane.setId(2L);
@@ -399,7 +534,7 @@ class TaskServiceTest {
 
         taskService.deleteTask(taskId);
 
-        verify(cache).evict(2L);
-        verify(asyncWriteService).deleteTask(taskId);
+        verify(cache, never()).evict(any());
+        verify(asyncWriteService).deleteTask(taskId, 2L);
     }
 }
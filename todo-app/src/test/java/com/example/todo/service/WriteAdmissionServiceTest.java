@@ -0,0 +1,74 @@
+package com.example.todo.service;
+
+import com.example.todo.exception.WriteBacklogException;
+import com.example.todo.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAdmissionServiceTest {
+
+    private WriteBehindBuffer writeBehindBuffer;
+
+    @BeforeEach
+    void setUp() {
+        writeBehindBuffer = new WriteBehindBuffer(50, 0, 1);
+    }
+
+    @Test
+    void admit_ShouldAllowWrites_WhenBacklogIsShallow() {
+        WriteAdmissionService admission = new WriteAdmissionService(writeBehindBuffer, true, 2, 5000, 30);
+        writeBehindBuffer.add(WriteOperation.deleteTask(1L));
+
+        assertDoesNotThrow(() -> admission.admit(false));
+        assertEquals(1L, admission.getStats().get("admitted"));
+    }
+
+    @Test
+    void admit_ShouldReject_WhenTooManyEntitiesArePending() {
+        WriteAdmissionService admission = new WriteAdmissionService(writeBehindBuffer, true, 2, 5000, 30);
+        writeBehindBuffer.add(WriteOperation.moveTask(1L, TaskStatus.TODO, 1L, 0));
+        writeBehindBuffer.add(WriteOperation.moveTask(2L, TaskStatus.TODO, 1L, 0));
+
+        WriteBacklogException ex = assertThrows(WriteBacklogException.class, () -> admission.admit(false));
+
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertEquals(1L, admission.getStats().get("rejected"));
+    }
+
+    @Test
+    void admit_ShouldReject_WhenOldestPendingWriteIsTooOld() throws InterruptedException {
+        WriteAdmissionService admission = new WriteAdmissionService(writeBehindBuffer, true, 1000, 20, 30);
+        writeBehindBuffer.add(WriteOperation.moveTask(1L, TaskStatus.TODO, 1L, 0));
+        Thread.sleep(30);
+
+        assertThrows(WriteBacklogException.class, () -> admission.admit(false));
+    }
+
+    @Test
+    void admit_ShouldCapRetryAfter() throws InterruptedException {
+        WriteAdmissionService admission = new WriteAdmissionService(writeBehindBuffer, true, 1000, 0, 1);
+        writeBehindBuffer.add(WriteOperation.moveTask(1L, TaskStatus.TODO, 1L, 0));
+        Thread.sleep(5);
+
+        WriteBacklogException ex = assertThrows(WriteBacklogException.class, () -> admission.admit(false));
+
+        assertEquals(1, ex.getRetryAfterSeconds());
+    }
+
+    @Test
+    void admit_ShouldBypassThresholds_ForPriorityWrites() {
+        WriteAdmissionService admission = new WriteAdmissionService(writeBehindBuffer, true, 0, 0, 30);
+
+        assertDoesNotThrow(() -> admission.admit(true));
+        assertEquals(1L, admission.getStats().get("bypassed"));
+    }
+
+    @Test
+    void admit_ShouldAllowEverything_WhenDisabled() {
+        WriteAdmissionService admission = new WriteAdmissionService(writeBehindBuffer, false, 0, 0, 30);
+
+        assertDoesNotThrow(() -> admission.admit(false));
+    }
+}
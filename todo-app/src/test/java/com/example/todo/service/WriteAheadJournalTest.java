@@ -0,0 +1,171 @@
+package com.example.todo.service;
+
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<WriteAheadJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(WriteAheadJournal::close);
+    }
+
+    @Test
+    void append_ShouldRecoverPendingRecordsAfterRestart() {
+        WriteAheadJournal journal = open(16);
+        Task task = Task.builder().id(1L).name("Write docs").status(TaskStatus.TODO).tags(List.of("docs"))
+                .swimLane(SwimLane.builder().id(3L).build()).position(2L).build();
+
+        long first = journal.append(WriteOperation.saveTask(task));
+        long second = journal.append(WriteOperation.moveTask(2L, TaskStatus.DONE, 3L, 0));
+        journal.close();
+
+        List<WriteAheadJournal.Entry> recovered = open(16).takeRecovered();
+
+        assertEquals(2, recovered.size());
+        WriteAheadJournal.Entry save = recovered.get(0);
+        assertEquals(first, save.sequence());
+        assertEquals(WriteOperation.Type.SAVE_TASK, save.type());
+        assertEquals("task:1", save.key());
+        assertEquals("Write docs", save.name());
+        assertEquals(List.of("docs"), save.tags());
+        assertEquals(3L, save.laneId());
+        assertEquals(2L, save.rank());
+        WriteAheadJournal.Entry move = recovered.get(1);
+        assertEquals(second, move.sequence());
+        assertEquals(TaskStatus.DONE, move.status());
+    }
+
+    @Test
+    void commit_ShouldExcludeRecordsFromRecovery() {
+        WriteAheadJournal journal = open(16);
+        journal.append(WriteOperation.deleteTask(1L));
+        long committed = journal.append(WriteOperation.deleteTask(2L));
+        journal.commit("task:2", committed);
+        journal.close();
+
+        List<WriteAheadJournal.Entry> recovered = open(16).takeRecovered();
+
+        assertEquals(1, recovered.size());
+        assertEquals(1L, recovered.get(0).entityId());
+    }
+
+    @Test
+    void commit_ShouldCoverEarlierRecordsOfTheSameEntity() {
+        WriteAheadJournal journal = open(16);
+        journal.append(WriteOperation.moveTask(1L, TaskStatus.TODO, 3L, 0));
+        long last = journal.append(WriteOperation.moveTask(1L, TaskStatus.DONE, 3L, 1));
+        long later = journal.append(WriteOperation.deleteTask(1L));
+
+        journal.commit("task:1", last);
+
+        assertEquals(1, journal.getPendingCount(), "Records after the committed sequence stay pending");
+        journal.commit("task:1", later);
+        assertEquals(0, journal.getPendingCount());
+    }
+
+    @Test
+    void sequence_ShouldContinueAfterRestart() {
+        WriteAheadJournal journal = open(16);
+        long before = journal.append(WriteOperation.deleteTask(1L));
+        journal.close();
+
+        long after = open(16).append(WriteOperation.deleteTask(2L));
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    void append_ShouldRollSegmentsAndDeleteCommittedOnes() throws IOException {
+        WriteAheadJournal journal = open(1); // 1 KB segments
+        List<Long> sequences = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            sequences.add(journal.append(WriteOperation.deleteTask(id)));
+        }
+        assertTrue(journal.getSegmentCount() > 1);
+
+        for (int i = 0; i < sequences.size(); i++) {
+            journal.commit("task:" + (i + 1), sequences.get(i));
+        }
+
+        assertEquals(1, journal.getSegmentCount(), "Only the active segment is kept");
+        assertEquals(1, segmentFiles().size());
+    }
+
+    @Test
+    void recovery_ShouldStopAtCorruptRecord() throws IOException {
+        WriteAheadJournal journal = open(16);
+        journal.append(WriteOperation.deleteTask(1L));
+        journal.append(WriteOperation.deleteTask(2L));
+        journal.close();
+
+        // Flip a payload byte of the second record to simulate a torn write
+        Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int secondRecord = WriteAheadJournal.HEADER_SIZE + buffer.getInt(0);
+            int payloadOffset = secondRecord + WriteAheadJournal.HEADER_SIZE;
+            buffer.put(payloadOffset, (byte) (buffer.get(payloadOffset) ^ 0x7F));
+        }
+
+        List<WriteAheadJournal.Entry> recovered = open(16).takeRecovered();
+
+        assertEquals(1, recovered.size());
+        assertEquals(1L, recovered.get(0).entityId());
+    }
+
+    @Test
+    void disabledJournal_ShouldNotWriteAnything() throws IOException {
+        WriteAheadJournal journal = new WriteAheadJournal(false, dir.toString(), 16, false, new ObjectMapper());
+        journal.open();
+
+        assertEquals(0, journal.append(WriteOperation.deleteTask(1L)));
+        assertEquals(0, journal.getPendingCount());
+        assertTrue(segmentFiles().isEmpty());
+    }
+
+    @Test
+    void sync_ShouldForceAppendedRecords() {
+        WriteAheadJournal journal = open(16);
+        journal.append(WriteOperation.deleteTask(1L));
+
+        assertDoesNotThrow(journal::sync);
+        assertDoesNotThrow(journal::sync);
+        assertEquals(1, journal.getPendingCount());
+    }
+
+    private WriteAheadJournal open(int segmentSizeKb) {
+        WriteAheadJournal journal = new WriteAheadJournal(true, dir.toString(), segmentSizeKb, false,
+                new ObjectMapper());
+        journal.open();
+        opened.add(journal);
+        return journal;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.todo.service;
+
+import com.example.todo.model.SwimLane;
+import com.example.todo.model.Task;
+import com.example.todo.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindBufferTest {
+
+    private WriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new WriteBehindBuffer(50, 0, 1);
+    }
+
+    private Task task(Long id, String name) {
+        Task task = new Task();
+        task.setId(id);
+        task.setName(name);
+        return task;
+    }
+
+    @Test
+    void add_ShouldScheduleFlush_OnlyForFirstPendingOperation() {
+        assertNotEquals(WriteBehindBuffer.ALREADY_SCHEDULED, buffer.add(WriteOperation.saveTask(task(1L, "a"))));
+        assertEquals(WriteBehindBuffer.ALREADY_SCHEDULED, buffer.add(WriteOperation.saveTask(task(1L, "b"))));
+        assertNotEquals(WriteBehindBuffer.ALREADY_SCHEDULED, buffer.add(WriteOperation.saveTask(task(2L, "c"))));
+        assertEquals(2, buffer.getPendingEntityCount());
+    }
+
+    @Test
+    void add_ShouldReplacePendingOperationOfSameType() {
+        buffer.add(WriteOperation.saveTask(task(1L, "first")));
+        buffer.add(WriteOperation.saveTask(task(1L, "second")));
+
+        List<WriteOperation> ops = buffer.drain("task:1");
+
+        assertEquals(1, ops.size());
+        assertEquals("second", ops.get(0).getTask().getName());
+        assertEquals(1, buffer.getCoalescedCount());
+    }
+
+    @Test
+    void add_ShouldKeepOrder_ForDifferentOperationTypes() {
+        buffer.add(WriteOperation.saveTask(task(1L, "renamed")));
+        buffer.add(WriteOperation.moveTask(1L, TaskStatus.DONE, 3L, 0));
+        buffer.add(WriteOperation.moveTask(1L, TaskStatus.BLOCKED, 3L, 2));
+
+        List<WriteOperation> ops = buffer.drain("task:1");
+
+        assertEquals(2, ops.size());
+        assertEquals(WriteOperation.Type.SAVE_TASK, ops.get(0).getType());
+        assertEquals(WriteOperation.Type.MOVE_TASK, ops.get(1).getType());
+        assertEquals(TaskStatus.BLOCKED, ops.get(1).getStatus());
+        assertEquals(2, ops.get(1).getPosition());
+    }
+
+    @Test
+    void add_DeleteShouldDiscardPendingMutations() {
+        buffer.add(WriteOperation.saveTask(task(1L, "a")));
+        buffer.add(WriteOperation.moveTask(1L, TaskStatus.DONE, 3L, 0));
+        buffer.add(WriteOperation.deleteTask(1L));
+
+        List<WriteOperation> ops = buffer.drain("task:1");
+
+        assertEquals(1, ops.size());
+        assertEquals(WriteOperation.Type.DELETE_TASK, ops.get(0).getType());
+        assertEquals(2, buffer.getCoalescedCount());
+    }
+
+    @Test
+    void add_ShouldKeepTaskAndLaneKeysSeparate() {
+        SwimLane lane = new SwimLane();
+        lane.setId(1L);
+
+        assertNotEquals(WriteBehindBuffer.ALREADY_SCHEDULED, buffer.add(WriteOperation.saveTask(task(1L, "a"))));
+        assertNotEquals(WriteBehindBuffer.ALREADY_SCHEDULED, buffer.add(WriteOperation.saveSwimLane(lane)));
+        assertNotEquals(WriteBehindBuffer.ALREADY_SCHEDULED, buffer.add(WriteOperation.deleteSwimLane(2L)));
+
+        assertEquals(3, buffer.getPendingEntityCount());
+        assertEquals("lane:1", WriteOperation.saveSwimLane(lane).getKey());
+    }
+
+    @Test
+    void drain_ShouldRemoveEntry_AndReturnEmptyWhenNothingPending() {
+        buffer.add(WriteOperation.deleteTask(1L));
+
+        assertEquals(1, buffer.drain("task:1").size());
+        assertTrue(buffer.drain("task:1").isEmpty());
+        assertEquals(0, buffer.getPendingEntityCount());
+        assertNotEquals(WriteBehindBuffer.ALREADY_SCHEDULED, buffer.add(WriteOperation.deleteTask(1L)),
+                "Drained entity should schedule a new flush");
+    }
+
+    @Test
+    void nextBatch_ShouldReturnDirtyEntitiesInArrivalOrder_UpToBatchSize() {
+        buffer = new WriteBehindBuffer(2, 0, 1);
+        buffer.add(WriteOperation.deleteTask(3L));
+        buffer.add(WriteOperation.deleteTask(1L));
+        buffer.add(WriteOperation.deleteTask(2L));
+        buffer.add(WriteOperation.saveTask(task(3L, "recreated")));
+
+        var first = buffer.nextBatch(0);
+        var second = buffer.nextBatch(0);
+
+        assertEquals(List.of("task:3", "task:1"), List.copyOf(first.keySet()));
+        assertEquals(2, first.get("task:3").size());
+        assertEquals(List.of("task:2"), List.copyOf(second.keySet()));
+        assertTrue(buffer.nextBatch(0).isEmpty());
+    }
+
+    @Test
+    void addAll_ShouldScheduleEachPartitionOnce_AndFlushTheOperationsTogether() {
+        buffer = new WriteBehindBuffer(50, 0, 2);
+        buffer.add(WriteOperation.moveTask(1L, TaskStatus.TODO, 3L, 0));
+
+        var partitions = buffer.addAll(List.of(
+                WriteOperation.moveTask(1L, TaskStatus.DONE, 3L, 0),
+                WriteOperation.moveTask(2L, TaskStatus.DONE, 3L, 1),
+                WriteOperation.moveTask(3L, TaskStatus.DONE, 3L, 2)));
+
+        int partition = buffer.partitionFor("lane:3");
+        assertEquals(Set.of(partition), partitions, "Task 1 was already scheduled");
+        var batch = buffer.nextBatch(partition);
+        assertEquals(List.of("task:1", "task:2", "task:3"), List.copyOf(batch.keySet()));
+        assertEquals(TaskStatus.DONE, batch.get("task:1").get(0).getStatus());
+        assertEquals(1, buffer.getCoalescedCount());
+    }
+
+    @Test
+    void nextBatch_ShouldSkipKeysAlreadyDrained() {
+        buffer.add(WriteOperation.deleteTask(1L));
+        buffer.drain("task:1");
+
+        assertTrue(buffer.nextBatch(0).isEmpty());
+    }
+
+    @Test
+    void nextBatch_ShouldLingerForMoreWrites_WhenBatchIsNotFull() throws Exception {
+        buffer = new WriteBehindBuffer(10, 500, 1);
+        buffer.add(WriteOperation.deleteTask(1L));
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            buffer.add(WriteOperation.deleteTask(2L));
+        });
+        producer.start();
+
+        var batch = buffer.nextBatch(0);
+        producer.join();
+
+        assertTrue(batch.containsKey("task:1"));
+        assertTrue(batch.containsKey("task:2"), "Write arriving within the linger window joins the batch");
+    }
+
+    @Test
+    void add_ShouldRouteOperationsBySwimLane() {
+        buffer = new WriteBehindBuffer(50, 0, 8);
+        SwimLane lane = new SwimLane();
+        lane.setId(7L);
+        Task task = task(1L, "a");
+        task.setSwimLane(lane);
+
+        int movePartition = buffer.add(WriteOperation.moveTask(2L, TaskStatus.DONE, 7L, 0));
+        int savePartition = buffer.add(WriteOperation.saveTask(task));
+        int lanePartition = buffer.add(WriteOperation.saveSwimLane(lane));
+
+        assertEquals(buffer.partitionFor("lane:7"), movePartition);
+        assertEquals(movePartition, savePartition);
+        assertEquals(movePartition, lanePartition);
+        assertEquals(3, buffer.getDirtyCount(movePartition));
+    }
+
+    @Test
+    void add_ShouldStickToInFlightPartition_UntilComplete() {
+        buffer = new WriteBehindBuffer(50, 0, 8);
+        int first = buffer.add(WriteOperation.moveTask(1L, TaskStatus.DONE, 7L, 0));
+        var batch = buffer.nextBatch(first);
+        assertTrue(batch.containsKey("task:1"));
+
+        // Task 1 is being flushed on 'first': a delete (routed by task id) must follow it there
+        assertEquals(first, buffer.add(WriteOperation.deleteTask(1L)));
+        buffer.nextBatch(first);
+        buffer.complete(List.of("task:1"));
+
+        assertEquals(buffer.partitionFor("task:1"), buffer.add(WriteOperation.deleteTask(1L)));
+    }
+
+    @Test
+    void add_ShouldFlushAMoveIntoAnotherLane_OnThatLanesPartition_AfterTheSaveInTheOldLane() {
+        buffer = new WriteBehindBuffer(50, 0, 8);
+        int laneA = buffer.partitionFor("lane:1");
+        int laneB = buffer.partitionFor("lane:2");
+        assertNotEquals(laneA, laneB);
+        SwimLane lane = new SwimLane();
+        lane.setId(1L);
+        Task task = task(1L, "edited in A");
+        task.setSwimLane(lane);
+
+        assertEquals(laneA, buffer.add(WriteOperation.saveTask(task)));
+        assertEquals(WriteBehindBuffer.ALREADY_SCHEDULED,
+                buffer.add(WriteOperation.moveTask(1L, TaskStatus.DONE, 2L, 0)));
+        assertTrue(buffer.nextBatch(laneB).isEmpty(), "The move waits for the save in lane A");
+
+        var first = buffer.nextBatch(laneA);
+        assertEquals(List.of(WriteOperation.Type.SAVE_TASK),
+                first.get("task:1").stream().map(WriteOperation::getType).toList());
+        assertTrue(buffer.nextBatch(laneB).isEmpty(), "Not while the save is in flight");
+        assertEquals(Set.of(laneB), buffer.complete(first.keySet()));
+
+        var second = buffer.nextBatch(laneB);
+        assertEquals(List.of(WriteOperation.Type.MOVE_TASK),
+                second.get("task:1").stream().map(WriteOperation::getType).toList());
+        assertEquals(2L, second.get("task:1").get(0).getLaneId());
+    }
+
+    @Test
+    void add_ShouldMoveAPendingEntity_ToTheLaneItIsMovedTo() {
+        buffer = new WriteBehindBuffer(50, 0, 8);
+        int laneA = buffer.partitionFor("lane:1");
+        int laneB = buffer.partitionFor("lane:2");
+
+        assertEquals(laneA, buffer.add(WriteOperation.moveTask(1L, TaskStatus.TODO, 1L, 0)));
+        assertEquals(laneB, buffer.add(WriteOperation.moveTask(1L, TaskStatus.DONE, 2L, 0)));
+
+        assertTrue(buffer.nextBatch(laneA).isEmpty(), "Nothing is left to write in lane A");
+        List<WriteOperation> ops = buffer.nextBatch(laneB).get("task:1");
+        assertEquals(1, ops.size());
+        assertEquals(2L, ops.get(0).getLaneId());
+    }
+
+    @Test
+    void getOldestPendingAgeMillis_ShouldTrackWaitingEntities() throws InterruptedException {
+        assertEquals(0, buffer.getOldestPendingAgeMillis());
+
+        buffer.add(WriteOperation.deleteTask(1L));
+        Thread.sleep(20);
+
+        assertTrue(buffer.getOldestPendingAgeMillis() >= 20);
+        buffer.nextBatch(0);
+        assertEquals(0, buffer.getOldestPendingAgeMillis());
+    }
+
+    @Test
+    void holdForRetry_ShouldDeferNewOperations_UntilRequeued() {
+        buffer.add(WriteOperation.moveTask(1L, TaskStatus.TODO, 2L, 0));
+        List<WriteOperation> failed = buffer.drain("task:1");
+        buffer.holdForRetry("task:1");
+        buffer.complete(List.of("task:1"));
+
+        assertEquals(WriteBehindBuffer.ALREADY_SCHEDULED, buffer.add(WriteOperation.saveTask(task(1L, "newer"))));
+        assertTrue(buffer.drain("task:1").isEmpty(), "Held entities are not flushed");
+
+        assertNotEquals(WriteBehindBuffer.ALREADY_SCHEDULED, buffer.requeue("task:1", failed));
+        List<WriteOperation> ops = buffer.nextBatch(0).get("task:1");
+        assertEquals(List.of(WriteOperation.Type.MOVE_TASK, WriteOperation.Type.SAVE_TASK),
+                ops.stream().map(WriteOperation::getType).toList());
+    }
+
+    @Test
+    void requeue_ShouldDropFailedOperations_SupersededWhileHeld() {
+        buffer.add(WriteOperation.moveTask(1L, TaskStatus.TODO, 2L, 0));
+        List<WriteOperation> failed = buffer.drain("task:1");
+        buffer.holdForRetry("task:1");
+        buffer.add(WriteOperation.deleteTask(1L));
+
+        buffer.requeue("task:1", failed);
+
+        List<WriteOperation> ops = buffer.drain("task:1");
+        assertEquals(1, ops.size());
+        assertTrue(ops.get(0).isDelete());
+    }
+
+    @Test
+    void requeue_WithoutOperations_ShouldOnlyLiftHold() {
+        buffer.add(WriteOperation.deleteTask(1L));
+        buffer.drain("task:1");
+        buffer.holdForRetry("task:1");
+
+        assertEquals(WriteBehindBuffer.ALREADY_SCHEDULED, buffer.requeue("task:1", List.of()));
+        assertEquals(0, buffer.getPendingEntityCount());
+        assertNotEquals(WriteBehindBuffer.ALREADY_SCHEDULED, buffer.add(WriteOperation.deleteTask(1L)));
+    }
+}
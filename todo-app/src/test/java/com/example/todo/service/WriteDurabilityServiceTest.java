@@ -0,0 +1,85 @@
+package com.example.todo.service;
+
+import com.example.todo.exception.WriteNotCommittedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteDurabilityServiceTest {
+
+    @Mock
+    private WriteAheadJournal journal;
+
+    private OperationTracker tracker;
+    private WriteDurabilityService service;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new OperationTracker(100, 60);
+        service = new WriteDurabilityService(tracker, journal, "async", 50);
+    }
+
+    @Test
+    void resolve_ShouldUseDefault_WhenNothingRequested() {
+        assertEquals(Durability.ASYNC, service.resolve(null));
+        assertEquals(Durability.SYNC_COMMIT, service.resolve("Sync-Commit"));
+        assertThrows(IllegalArgumentException.class, () -> service.resolve("eventually"));
+    }
+
+    @Test
+    void resolve_ShouldUpgradeAckOnJournal_WhenJournalIsDisabled() {
+        when(journal.isEnabled()).thenReturn(true, false);
+
+        assertEquals(Durability.ACK_ON_JOURNAL, service.resolve("ack-on-journal"));
+        assertEquals(Durability.SYNC_COMMIT, service.resolve("ack-on-journal"));
+    }
+
+    @Test
+    void await_ShouldForceJournal_ForAckOnJournal() {
+        service.await(Durability.ACK_ON_JOURNAL, List.of(1L));
+        service.await(Durability.ASYNC, List.of(1L));
+
+        verify(journal, times(1)).sync();
+    }
+
+    @Test
+    void await_ShouldReturn_WhenCommitted() {
+        accept(10);
+        tracker.complete("task:1", 10, true, null);
+
+        assertDoesNotThrow(() -> service.await(Durability.SYNC_COMMIT, List.of(10L)));
+    }
+
+    @Test
+    void await_ShouldThrow_WhenFailed() {
+        accept(10);
+        tracker.complete("task:1", 10, false, "DB down");
+
+        WriteNotCommittedException ex = assertThrows(WriteNotCommittedException.class,
+                () -> service.await(Durability.SYNC_COMMIT, List.of(10L)));
+        assertFalse(ex.isTimedOut());
+        assertTrue(ex.getMessage().contains("DB down"));
+    }
+
+    @Test
+    void await_ShouldThrowTimeout_WhenStillPending() {
+        accept(10);
+
+        WriteNotCommittedException ex = assertThrows(WriteNotCommittedException.class,
+                () -> service.await(Durability.SYNC_COMMIT, List.of(10L)));
+        assertTrue(ex.isTimedOut());
+        assertEquals(List.of(10L), ex.getOperationIds());
+    }
+
+    private void accept(long id) {
+        tracker.accepted(WriteOperation.deleteTask(1L).withSequence(id));
+    }
+}
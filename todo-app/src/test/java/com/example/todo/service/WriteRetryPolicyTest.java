@@ -0,0 +1,76 @@
+package com.example.todo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteRetryPolicyTest {
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private WriteRetryPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        policy = new WriteRetryPolicy(taskScheduler, new MockEnvironment()
+                .withProperty("app.write-behind.retry.max-attempts", "3")
+                .withProperty("app.write-behind.retry.initial-backoff-ms", "100")
+                .withProperty("app.write-behind.retry.max-backoff-ms", "1000")
+                .withProperty("app.write-behind.retry.delete-task.max-attempts", "6"));
+    }
+
+    @Test
+    void settings_ShouldApplyPerTypeOverrides() {
+        assertEquals(3, policy.getSettings(WriteOperation.Type.MOVE_TASK).maxAttempts());
+        assertEquals(6, policy.getSettings(WriteOperation.Type.DELETE_TASK).maxAttempts());
+        assertEquals(2.0, policy.getSettings(WriteOperation.Type.DELETE_TASK).multiplier());
+    }
+
+    @Test
+    void backoff_ShouldGrowExponentially_WithinJitterBounds() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(policy.backoffMillis(WriteOperation.Type.MOVE_TASK, 1) <= 100);
+            assertTrue(policy.backoffMillis(WriteOperation.Type.MOVE_TASK, 3) <= 400);
+            long capped = policy.backoffMillis(WriteOperation.Type.MOVE_TASK, 10);
+            assertTrue(capped >= 0 && capped <= 1000, "Capped at max-backoff-ms");
+        }
+    }
+
+    @Test
+    void onFailure_ShouldScheduleRetries_UntilAttemptsAreExhausted() {
+        Runnable retry = () -> { };
+
+        assertTrue(policy.onFailure("task:1", WriteOperation.Type.MOVE_TASK, retry));
+        assertTrue(policy.onFailure("task:1", WriteOperation.Type.MOVE_TASK, retry));
+        assertFalse(policy.onFailure("task:1", WriteOperation.Type.MOVE_TASK, retry));
+
+        verify(taskScheduler, times(2)).schedule(eq(retry), any(Instant.class));
+        assertEquals(2L, policy.getStats().get("retriesScheduled"));
+        assertEquals(1L, policy.getStats().get("exhausted"));
+        assertEquals(0, policy.getStats().get("retrying"));
+    }
+
+    @Test
+    void onSuccess_ShouldResetAttempts() {
+        policy.onFailure("task:1", WriteOperation.Type.MOVE_TASK, () -> { });
+
+        policy.onSuccess("task:1");
+        policy.onSuccess("task:2");
+
+        assertEquals(1L, policy.getStats().get("recovered"));
+        assertTrue(policy.onFailure("task:1", WriteOperation.Type.MOVE_TASK, () -> { }),
+                "A new failure starts a new retry sequence");
+    }
+}